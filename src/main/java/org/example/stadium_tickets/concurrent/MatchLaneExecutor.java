@@ -0,0 +1,158 @@
+package org.example.stadium_tickets.concurrent;
+
+import org.example.stadium_tickets.exception.MutationBackpressureException;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks on single-threaded lanes chosen by match ID, so all tasks of one match run one after another
+ * while different matches run in parallel. Matches are assigned to lanes with a consistent hash ring,
+ * and every lane has a bounded queue: a full lane rejects new tasks instead of letting them pile up.
+ */
+public class MatchLaneExecutor {
+
+    private static final int VIRTUAL_NODES_PER_LANE = 64;
+
+    private final ThreadPoolExecutor[] lanes;
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+    private final long timeoutMillis;
+    private final ThreadLocal<Integer> currentLane = new ThreadLocal<>();
+
+    public MatchLaneExecutor(int laneCount, int queueCapacity, long timeoutMillis) {
+        if (laneCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Lane count and queue capacity must be positive");
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int lane = 0; lane < laneCount; lane++) {
+            int laneIndex = lane;
+            lanes[lane] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                        Thread thread = new Thread(() -> {
+                            currentLane.set(laneIndex);
+                            runnable.run();
+                        }, "ticket-lane-" + laneIndex);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            for (int node = 0; node < VIRTUAL_NODES_PER_LANE; node++) {
+                ring.put(mix(((long) lane << 32) | node), lane);
+            }
+        }
+    }
+
+    public int laneOf(Long matchId) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(mix(matchId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public int pendingTasks(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+
+    /**
+     * Runs the task on the lane of the match and waits for its result.
+     * A task submitted from its own lane runs directly, so nested mutations cannot deadlock the lane.
+     * When the wait times out before the task started, the task is dropped and the caller may retry;
+     * once it has started it is left to finish and its outcome is reported as unknown.
+     */
+    public <T> T execute(Long matchId, Callable<T> task) {
+        int lane = laneOf(matchId);
+        if (Integer.valueOf(lane).equals(currentLane.get())) {
+            return call(task);
+        }
+
+        // Claimed by the lane when the task starts, or by the caller when it gives up first
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = lanes[lane].submit(() -> claimed.compareAndSet(false, true) ? task.call() : null);
+        } catch (RejectedExecutionException e) {
+            throw new MutationBackpressureException("Too many pending changes for match " + matchId + ", try again later");
+        }
+        try {
+            return result(future, timeoutMillis);
+        } catch (TimeoutException e) {
+            if (claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                throw new MutationBackpressureException("Change for match " + matchId + " timed out in its queue, try again later");
+            }
+            throw new TicketOutcomeUnknownException("Change for match " + matchId
+                    + " is still running, check the tickets before trying again");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a ticket change", e);
+        }
+    }
+
+    /**
+     * Runs the task while holding the lanes of both matches, for a change that moves a ticket between them.
+     * The lanes are always entered in the order of their index, so two moves in opposite directions
+     * cannot each hold one lane while waiting for the other.
+     */
+    public <T> T executeOnBoth(Long matchId, Long otherMatchId, Callable<T> task) {
+        int lane = laneOf(matchId);
+        int otherLane = laneOf(otherMatchId);
+        if (lane == otherLane) {
+            return execute(matchId, task);
+        }
+        Long first = lane < otherLane ? matchId : otherMatchId;
+        Long second = lane < otherLane ? otherMatchId : matchId;
+        return execute(first, () -> execute(second, task));
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static <T> T result(Future<T> future, long timeoutMillis) throws TimeoutException, InterruptedException {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // 64-bit finalizer of MurmurHash3, spreads consecutive match IDs over the ring
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
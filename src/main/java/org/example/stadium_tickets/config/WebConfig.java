@@ -0,0 +1,38 @@
+package org.example.stadium_tickets.config;
+
+import org.example.stadium_tickets.security.WaitingRoomInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final WaitingRoomInterceptor waitingRoomInterceptor;
+    private final boolean waitingRoomEnabled;
+
+    @Autowired
+    public WebConfig(WaitingRoomInterceptor waitingRoomInterceptor,
+                     @Value("${tickets.waiting-room.enabled:false}") boolean waitingRoomEnabled) {
+        this.waitingRoomInterceptor = waitingRoomInterceptor;
+        this.waitingRoomEnabled = waitingRoomEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!waitingRoomEnabled) {
+            return;
+        }
+        // Purchase endpoints only, browsing and the queue itself stay open
+        registry.addInterceptor(waitingRoomInterceptor)
+                .addPathPatterns(
+                        "/api/tickets",
+                        "/api/tickets/cart",
+                        "/api/tickets/*/purchase",
+                        "/api/tickets/holds",
+                        "/api/tickets/holds/best-available",
+                        "/api/tickets/inventory/*/tickets/*/purchase");
+    }
+}
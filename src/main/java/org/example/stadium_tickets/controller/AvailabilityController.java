@@ -0,0 +1,38 @@
+package org.example.stadium_tickets.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.inventory.MatchAvailability;
+import org.example.stadium_tickets.payload.response.SeatAvailabilityResponse;
+import org.example.stadium_tickets.service.AvailabilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tickets/availability")
+@Tag(name = "Seat Availability", description = "Seat counts per match kept up to date in memory")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    @Autowired
+    public AvailabilityController(AvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    @GetMapping("/{matchId}")
+    @Operation(summary = "Get seat availability",
+            description = "Returns the seat counts of a match per status from the availability counters, "
+                    + "without counting tickets")
+    public ResponseEntity<SeatAvailabilityResponse> getAvailability(
+            @Parameter(description = "ID of the match", required = true, example = "1")
+            @PathVariable Long matchId) {
+        MatchAvailability availability = availabilityService.getAvailability(matchId);
+        return ResponseEntity.ok(new SeatAvailabilityResponse(matchId, availability.total(),
+                availability.count(TicketStatus.FREE), availability.count(TicketStatus.HELD),
+                availability.count(TicketStatus.SOLD), availability.count(TicketStatus.REFUNDED)));
+    }
+}
@@ -4,12 +4,22 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.payload.request.FixtureScheduleRequest;
+import org.example.stadium_tickets.payload.response.FixtureScheduleResponse;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.payload.response.TicketGenerationResponse;
+import org.example.stadium_tickets.payload.response.TicketImportResponse;
+import org.example.stadium_tickets.repository.projection.MatchSummaryView;
 import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.StadiumLayoutService;
+import org.example.stadium_tickets.service.TicketImportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/matches")
@@ -17,24 +27,36 @@ import java.util.List;
 public class MatchController {
 
     private final MatchService matchService;
+    private final StadiumLayoutService stadiumLayoutService;
+    private final TicketImportService ticketImportService;
 
     @Autowired
-    public MatchController(MatchService matchService) {
+    public MatchController(MatchService matchService, StadiumLayoutService stadiumLayoutService,
+                           TicketImportService ticketImportService) {
         this.matchService = matchService;
+        this.stadiumLayoutService = stadiumLayoutService;
+        this.ticketImportService = ticketImportService;
     }
 
     @GetMapping
-    @Operation(summary = "Get all matches", description = "Retrieves a list of all football matches")
-    public ResponseEntity<List<Match>> getAllMatches() {
-        return ResponseEntity.ok(matchService.getAllMatches());
+    @Operation(summary = "Get all matches",
+            description = "Retrieves one page of match summaries ordered by ID, with the stadium name and seat "
+                    + "counts per status. Tickets of a match are listed by GET /api/tickets/match/{matchId}")
+    public ResponseEntity<KeysetPage<MatchSummaryView>> getAllMatches(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 1000", example = "100")
+            @RequestParam(defaultValue = KeysetPage.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(matchService.getMatches(cursor, limit));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get match by ID", description = "Retrieves a specific football match by its ID")
-    public ResponseEntity<Match> getMatchById(
+    @Operation(summary = "Get match by ID",
+            description = "Retrieves the summary of a football match with the stadium name and seat counts per status")
+    public ResponseEntity<MatchSummaryView> getMatchById(
             @Parameter(description = "ID of the match to retrieve", required = true)
             @PathVariable Long id) {
-        return ResponseEntity.ok(matchService.getMatchById(id));
+        return ResponseEntity.ok(matchService.getMatchSummary(id));
     }
 
     @PostMapping(consumes = {"application/json", "application/json;charset=UTF-8"})
@@ -45,6 +67,16 @@ public class MatchController {
         return ResponseEntity.ok(matchService.createMatch(match));
     }
 
+    @PostMapping(path = "/bulk", consumes = {"application/json", "application/json;charset=UTF-8"})
+    @Operation(summary = "Create season fixtures",
+            description = "Creates all valid fixtures of a schedule in one batched transaction and reports "
+                    + "the created match or the rejection reason of every fixture")
+    public ResponseEntity<FixtureScheduleResponse> createFixtures(
+            @Parameter(description = "Fixtures to create", required = true)
+            @RequestBody FixtureScheduleRequest request) {
+        return ResponseEntity.ok(matchService.createFixtures(request));
+    }
+
     @PutMapping(path = "/{id}", consumes = {"application/json", "application/json;charset=UTF-8"})
     @Operation(summary = "Update a match", description = "Updates an existing football match")
     public ResponseEntity<Match> updateMatch(
@@ -63,4 +95,24 @@ public class MatchController {
         matchService.deleteMatch(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/tickets/generate")
+    @Operation(summary = "Generate match tickets", description = "Creates a free ticket for every seat of the stadium layout")
+    public ResponseEntity<TicketGenerationResponse> generateTickets(
+            @Parameter(description = "ID of the match", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(stadiumLayoutService.generateTickets(id));
+    }
+
+    @PostMapping(path = "/{id}/tickets/import", consumes = {"text/csv", "text/plain"})
+    @Operation(summary = "Import match tickets",
+            description = "Imports tickets from a CSV file with the columns seat_row, seat_number, price and optional status, "
+                    + "returning the rows that were rejected")
+    public ResponseEntity<TicketImportResponse> importTickets(
+            @Parameter(description = "ID of the match", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "CSV file", required = true)
+            InputStream csv) {
+        return ResponseEntity.ok(ticketImportService.importTickets(id, new InputStreamReader(csv, StandardCharsets.UTF_8)));
+    }
 }
@@ -0,0 +1,116 @@
+package org.example.stadium_tickets.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.stadium_tickets.payload.request.BestAvailableRequest;
+import org.example.stadium_tickets.payload.request.SeatHoldRequest;
+import org.example.stadium_tickets.payload.response.SeatHoldResponse;
+import org.example.stadium_tickets.service.SeatAllocationService;
+import org.example.stadium_tickets.service.SeatHoldService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tickets/holds")
+@Tag(name = "Seat Holds", description = "APIs for holding seats while the payment is completed")
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+    private final SeatAllocationService seatAllocationService;
+
+    @Autowired
+    public SeatHoldController(SeatHoldService seatHoldService, SeatAllocationService seatAllocationService) {
+        this.seatHoldService = seatHoldService;
+        this.seatAllocationService = seatAllocationService;
+    }
+
+    @PostMapping(consumes = {"application/json", "application/json;charset=UTF-8"})
+    @Operation(
+        summary = "Hold seats",
+        description = "Holds all requested seats or none of them, the hold expires after a configured time",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Seats held"),
+        @ApiResponse(responseCode = "409", description = "Some of the seats are not available")
+    })
+    public ResponseEntity<SeatHoldResponse> createHold(
+            @Parameter(description = "Seats to hold", required = true)
+            @RequestBody SeatHoldRequest request) {
+        return ResponseEntity.ok(SeatHoldResponse.from(
+                seatHoldService.createHold(request.getMatchId(), request.getTicketIds(), currentUsername())));
+    }
+
+    @PostMapping(path = "/best-available", consumes = {"application/json", "application/json;charset=UTF-8"})
+    @Operation(
+        summary = "Hold the best available seats",
+        description = "Finds a block of adjacent free seats in the price range and holds it",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Seats held"),
+        @ApiResponse(responseCode = "409", description = "No block of adjacent seats is available")
+    })
+    public ResponseEntity<SeatHoldResponse> holdBestAvailable(
+            @Parameter(description = "Number of seats and price range", required = true)
+            @RequestBody BestAvailableRequest request) {
+        return ResponseEntity.ok(SeatHoldResponse.from(seatAllocationService.holdBestAvailable(
+                request.getMatchId(), request.getQuantity(), request.getMinPrice(), request.getMaxPrice(),
+                currentUsername())));
+    }
+
+    @GetMapping("/{holdId}")
+    @Operation(summary = "Get a hold", description = "Retrieves an active seat hold")
+    public ResponseEntity<SeatHoldResponse> getHold(
+            @Parameter(description = "ID of the hold", required = true)
+            @PathVariable String holdId) {
+        return ResponseEntity.ok(SeatHoldResponse.from(seatHoldService.getHold(holdId)));
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    @Operation(
+        summary = "Confirm a hold",
+        description = "Sells all held seats",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Held seats sold"),
+        @ApiResponse(responseCode = "403", description = "Hold belongs to another user"),
+        @ApiResponse(responseCode = "409", description = "Hold is no longer active")
+    })
+    public ResponseEntity<SeatHoldResponse> confirmHold(
+            @Parameter(description = "ID of the hold", required = true)
+            @PathVariable String holdId) {
+        return ResponseEntity.ok(SeatHoldResponse.from(seatHoldService.confirmHold(holdId, currentUsername())));
+    }
+
+    @DeleteMapping("/{holdId}")
+    @Operation(
+        summary = "Release a hold",
+        description = "Releases all held seats",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Held seats released"),
+        @ApiResponse(responseCode = "403", description = "Hold belongs to another user"),
+        @ApiResponse(responseCode = "409", description = "Hold is no longer active")
+    })
+    public ResponseEntity<Void> releaseHold(
+            @Parameter(description = "ID of the hold", required = true)
+            @PathVariable String holdId) {
+        seatHoldService.releaseHold(holdId, currentUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.stadium_tickets.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.payload.response.SeatClaimResponse;
+import org.example.stadium_tickets.payload.response.SeatInventoryResponse;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.example.stadium_tickets.service.SeatMapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tickets/inventory")
+@Tag(name = "Seat Inventory", description = "In-memory seat inventory used during on-sale spikes")
+public class SeatInventoryController {
+
+    private final SeatInventoryService seatInventoryService;
+    private final SeatMapService seatMapService;
+
+    @Autowired
+    public SeatInventoryController(SeatInventoryService seatInventoryService, SeatMapService seatMapService) {
+        this.seatInventoryService = seatInventoryService;
+        this.seatMapService = seatMapService;
+    }
+
+    @GetMapping("/{matchId}")
+    @Operation(summary = "Get seat inventory", description = "Returns seat counts of a match from the in-memory inventory")
+    public ResponseEntity<SeatInventoryResponse> getInventory(
+            @Parameter(description = "ID of the match", required = true, example = "1")
+            @PathVariable Long matchId) {
+        MatchSeatInventory inventory = seatInventoryService.getInventory(matchId);
+        return ResponseEntity.ok(new SeatInventoryResponse(matchId, inventory.size(),
+                inventory.count(MatchSeatInventory.FREE), inventory.count(MatchSeatInventory.SOLD),
+                inventory.count(MatchSeatInventory.HELD)));
+    }
+
+    @GetMapping(value = "/{matchId}/seat-map", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+        summary = "Get binary seat map",
+        description = "Returns one bit per seat, set when the seat is free, optionally preceded by the layout index "
+                + "that maps every bit to its row and seat number. The header carries a hash of the layout index, "
+                + "a cached layout with another hash is stale. The format is described on the SeatMap class"
+    )
+    public ResponseEntity<byte[]> getSeatMap(
+            @Parameter(description = "ID of the match", required = true, example = "1")
+            @PathVariable Long matchId,
+            @Parameter(description = "Include the layout index, only needed on the first request", example = "true")
+            @RequestParam(defaultValue = "true") boolean layout) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(seatMapService.getSeatMap(matchId, layout));
+    }
+
+    @PostMapping("/{matchId}/tickets/{ticketId}/purchase")
+    @Operation(
+        summary = "Purchase a seat",
+        description = "Claims a free seat in the in-memory inventory and returns once the ticket table has been updated",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Seat purchased"),
+        @ApiResponse(responseCode = "202", description = "Purchase is still being saved, check the ticket before retrying"),
+        @ApiResponse(responseCode = "409", description = "Seat is not available")
+    })
+    public ResponseEntity<?> purchase(
+            @Parameter(description = "ID of the match", required = true) @PathVariable Long matchId,
+            @Parameter(description = "ID of the ticket to purchase", required = true) @PathVariable Long ticketId) {
+        if (!seatInventoryService.purchase(matchId, ticketId)) {
+            return conflict("Ticket is not available for purchase");
+        }
+        return ResponseEntity.ok(new SeatClaimResponse(matchId, ticketId, TicketStatus.SOLD));
+    }
+
+    @PostMapping("/{matchId}/tickets/{ticketId}/cancel")
+    @Operation(
+        summary = "Cancel a seat",
+        description = "Releases a sold seat in the in-memory inventory and returns once the ticket table has been updated",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Seat released"),
+        @ApiResponse(responseCode = "202", description = "Cancellation is still being saved, check the ticket before retrying"),
+        @ApiResponse(responseCode = "409", description = "Seat is not sold")
+    })
+    public ResponseEntity<?> cancel(
+            @Parameter(description = "ID of the match", required = true) @PathVariable Long matchId,
+            @Parameter(description = "ID of the ticket to cancel", required = true) @PathVariable Long ticketId) {
+        if (!seatInventoryService.cancel(matchId, ticketId)) {
+            return conflict("Ticket is not sold, cannot be canceled");
+        }
+        return ResponseEntity.ok(new SeatClaimResponse(matchId, ticketId, TicketStatus.FREE));
+    }
+
+    private ResponseEntity<Map<String, String>> conflict(String message) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", message);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+}
@@ -8,14 +8,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.service.StadiumService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/stadiums")
 @Tag(name = "Stadium Management", description = "APIs for managing stadiums")
@@ -31,18 +30,21 @@ public class StadiumController {
     @GetMapping
     @Operation(
         summary = "Get all stadiums", 
-        description = "Retrieves a list of all stadiums in the system"
+        description = "Retrieves one page of stadiums ordered by ID"
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200", 
             description = "Successfully retrieved stadiums",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Stadium.class))
-        ),
-        @ApiResponse(responseCode = "404", description = "No stadiums found")
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeysetPage.class))
+        )
     })
-    public ResponseEntity<List<Stadium>> getAllStadiums() {
-        return ResponseEntity.ok(stadiumService.getAllStadiums());
+    public ResponseEntity<KeysetPage<Stadium>> getAllStadiums(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 1000", example = "100")
+            @RequestParam(defaultValue = KeysetPage.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(stadiumService.getStadiums(cursor, limit));
     }
 
     @GetMapping("/{id}")
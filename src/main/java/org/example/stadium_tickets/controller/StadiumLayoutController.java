@@ -0,0 +1,42 @@
+package org.example.stadium_tickets.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest;
+import org.example.stadium_tickets.payload.response.StadiumLayoutResponse;
+import org.example.stadium_tickets.service.StadiumLayoutService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stadium-layouts")
+@Tag(name = "Stadium Layout Management", description = "APIs for managing seating layouts of stadiums")
+public class StadiumLayoutController {
+
+    private final StadiumLayoutService stadiumLayoutService;
+
+    @Autowired
+    public StadiumLayoutController(StadiumLayoutService stadiumLayoutService) {
+        this.stadiumLayoutService = stadiumLayoutService;
+    }
+
+    @GetMapping("/{stadiumId}")
+    @Operation(summary = "Get stadium layout", description = "Retrieves the price zones, sections and seat ranges of a stadium")
+    public ResponseEntity<StadiumLayoutResponse> getLayout(
+            @Parameter(description = "ID of the stadium", required = true)
+            @PathVariable Long stadiumId) {
+        return ResponseEntity.ok(stadiumLayoutService.getLayout(stadiumId));
+    }
+
+    @PutMapping(path = "/{stadiumId}", consumes = {"application/json", "application/json;charset=UTF-8"})
+    @Operation(summary = "Replace stadium layout", description = "Replaces the whole seating layout of a stadium")
+    public ResponseEntity<StadiumLayoutResponse> replaceLayout(
+            @Parameter(description = "ID of the stadium", required = true)
+            @PathVariable Long stadiumId,
+            @Parameter(description = "Seating layout", required = true)
+            @RequestBody StadiumLayoutRequest request) {
+        return ResponseEntity.ok(stadiumLayoutService.replaceLayout(stadiumId, request));
+    }
+}
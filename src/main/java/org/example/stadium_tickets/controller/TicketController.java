@@ -9,13 +9,25 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.payload.request.CartPurchaseRequest;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.service.InventoryVersionService;
+import org.example.stadium_tickets.service.TicketExportService;
 import org.example.stadium_tickets.service.TicketService;
 import org.example.stadium_tickets.service.MatchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,17 +38,23 @@ public class TicketController {
 
     private final TicketService ticketService;
     private final MatchService matchService;
+    private final TicketExportService ticketExportService;
+    private final InventoryVersionService inventoryVersionService;
 
     @Autowired
-    public TicketController(TicketService ticketService, MatchService matchService) {
+    public TicketController(TicketService ticketService, MatchService matchService,
+                            TicketExportService ticketExportService,
+                            InventoryVersionService inventoryVersionService) {
         this.ticketService = ticketService;
         this.matchService = matchService;
+        this.ticketExportService = ticketExportService;
+        this.inventoryVersionService = inventoryVersionService;
     }
 
     @GetMapping
     @Operation(
         summary = "Get all tickets", 
-        description = "Retrieves a list of all tickets in the system",
+        description = "Retrieves one page of tickets ordered by ID, optionally only the tickets with the given status",
         tags = {"Ticket Management"}
     )
     @ApiResponses(value = {
@@ -45,17 +63,18 @@ public class TicketController {
             description = "Successfully retrieved tickets",
             content = @Content(
                 mediaType = "application/json", 
-                array = @ArraySchema(schema = @Schema(implementation = Ticket.class))
+                schema = @Schema(implementation = KeysetPage.class)
             )
-        ),
-        @ApiResponse(
-            responseCode = "404", 
-            description = "No tickets found",
-            content = @Content
         )
     })
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        return ResponseEntity.ok(ticketService.getAllTickets());
+    public ResponseEntity<KeysetPage<Ticket>> getAllTickets(
+            @Parameter(description = "Only tickets with this status", example = "FREE")
+            @RequestParam(required = false) TicketStatus status,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 1000", example = "100")
+            @RequestParam(defaultValue = KeysetPage.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(ticketService.getTickets(status, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -84,12 +103,62 @@ public class TicketController {
     @GetMapping("/match/{matchId}")
     @Operation(
         summary = "Get tickets by match ID", 
-        description = "Retrieves all tickets for a specific match"
+        description = "Retrieves all tickets for a specific match. The response carries an ETag that changes "
+                + "with every ticket change of the match, send it back in If-None-Match to get 304 while nothing changed"
     )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tickets of the match"),
+        @ApiResponse(responseCode = "304", description = "Tickets have not changed since the given ETag"),
+        @ApiResponse(responseCode = "404", description = "Match not found")
+    })
     public ResponseEntity<List<Ticket>> getTicketsByMatchId(
             @Parameter(description = "ID of the match", required = true, example = "1")
-            @PathVariable Long matchId) {
-        return ResponseEntity.ok(ticketService.findByMatch(matchService.getMatchById(matchId)));
+            @PathVariable Long matchId,
+            @Parameter(description = "ETag of the tickets the client already has")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Take the tag before reading, so a change committed meanwhile makes the next poll read again
+        String eTag = inventoryVersionService.getETag(matchId);
+        // A tag only matches when it was issued for an existing match: removing the match changes its version
+        if (matchesETag(ifNoneMatch, eTag)) {
+            if (isWildcard(ifNoneMatch)) {
+                // A missing match is 404 even for If-None-Match: *
+                matchService.getMatchById(matchId);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+        }
+        Match match = matchService.getMatchById(matchId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(ticketService.findByMatch(match));
+    }
+
+    @GetMapping("/match/{matchId}/export")
+    @Operation(
+        summary = "Export tickets of a match",
+        description = "Streams all tickets of a match as CSV or NDJSON, row by row"
+    )
+    public ResponseEntity<StreamingResponseBody> exportTicketsByMatchId(
+            @Parameter(description = "ID of the match", required = true, example = "1")
+            @PathVariable Long matchId,
+            @Parameter(description = "Export format, csv or ndjson", example = "csv")
+            @RequestParam(defaultValue = TicketExportService.FORMAT_CSV) String format) {
+        MediaType contentType;
+        if (TicketExportService.FORMAT_CSV.equals(format)) {
+            contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else if (TicketExportService.FORMAT_NDJSON.equals(format)) {
+            contentType = MediaType.APPLICATION_NDJSON;
+        } else {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+        matchService.getMatchById(matchId);
+
+        StreamingResponseBody body = out -> ticketExportService.exportTickets(matchId, format, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"match-" + matchId + "-tickets." + format + "\"")
+                .body(body);
     }
 
 
@@ -104,6 +173,50 @@ public class TicketController {
         return ResponseEntity.ok(ticketService.createTicket(ticket));
     }
 
+    @PostMapping("/{id}/purchase")
+    @Operation(
+        summary = "Buy an existing ticket",
+        description = "Marks a free ticket as sold, returns 409 when the ticket is no longer available",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ticket sold",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Ticket.class))
+        ),
+        @ApiResponse(responseCode = "409", description = "Ticket is not available", content = @Content)
+    })
+    public ResponseEntity<Ticket> buyTicket(
+            @Parameter(description = "ID of the ticket to buy", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(ticketService.purchaseTicket(id));
+    }
+
+    @PostMapping(path = "/cart", consumes = {"application/json", "application/json;charset=UTF-8"})
+    @Operation(
+        summary = "Buy several tickets at once",
+        description = "Buys all tickets of the cart in one transaction, or none of them when any seat is taken",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "All tickets sold",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = Ticket.class))
+            )
+        ),
+        @ApiResponse(responseCode = "409", description = "Some of the seats are not available", content = @Content)
+    })
+    public ResponseEntity<List<Ticket>> purchaseCart(
+            @Parameter(description = "Tickets or seats to buy", required = true)
+            @RequestBody CartPurchaseRequest request) {
+        return ResponseEntity.ok(ticketService.purchaseTickets(
+                request.getMatchId(), request.getTicketIds(), request.getSeats()));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
         summary = "Cancel a ticket", 
@@ -116,4 +229,24 @@ public class TicketController {
         ticketService.cancelTicket(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * If-None-Match is compared weakly and may list several tags or "*".
+     */
+    private static boolean isWildcard(String ifNoneMatch) {
+        return ifNoneMatch.trim().equals("*");
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(eTag) || candidate.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
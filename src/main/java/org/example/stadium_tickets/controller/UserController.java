@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.example.stadium_tickets.entity.User;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +19,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -42,21 +42,25 @@ public class UserController {
     @GetMapping
     @Operation(
         summary = "Get all users", 
-        description = "Retrieves a list of all users in the system",
+        description = "Retrieves one page of users ordered by ID",
         security = { @SecurityRequirement(name = "bearer-key") }
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200", 
             description = "Successfully retrieved users",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = User.class))
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeysetPage.class))
         ),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<KeysetPage<User>> getAllUsers(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, empty for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 1000", example = "100")
+            @RequestParam(defaultValue = KeysetPage.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(userService.getUsers(cursor, limit));
     }
 
     @GetMapping("/{id}")
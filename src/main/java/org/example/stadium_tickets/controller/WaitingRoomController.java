@@ -0,0 +1,57 @@
+package org.example.stadium_tickets.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.stadium_tickets.payload.response.QueueStatusResponse;
+import org.example.stadium_tickets.security.WaitingRoomInterceptor;
+import org.example.stadium_tickets.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tickets/queue")
+@Tag(name = "Waiting Room", description = "APIs for queueing before ticket purchases open")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Autowired
+    public WaitingRoomController(WaitingRoomService waitingRoomService) {
+        this.waitingRoomService = waitingRoomService;
+    }
+
+    @PostMapping("/{matchId}")
+    @Operation(
+        summary = "Join the queue",
+        description = "Returns a signed queue token and the position in the queue of the match. " +
+                      "Once admitted, the token is sent in the " + WaitingRoomInterceptor.QUEUE_TOKEN_HEADER +
+                      " header of purchase requests of the same user for this match",
+        security = { @SecurityRequirement(name = "bearer-key") }
+    )
+    public ResponseEntity<QueueStatusResponse> joinQueue(
+            @Parameter(description = "ID of the match", required = true)
+            @PathVariable Long matchId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication != null ? authentication.getName() : null;
+        return ResponseEntity.ok(waitingRoomService.join(matchId, username));
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Get the queue position", description = "Returns the current position of a queue token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Queue position"),
+        @ApiResponse(responseCode = "429", description = "Queue token is invalid or its queue no longer exists")
+    })
+    public ResponseEntity<QueueStatusResponse> getStatus(
+            @Parameter(description = "Queue token", required = true)
+            @RequestHeader(WaitingRoomInterceptor.QUEUE_TOKEN_HEADER) String token) {
+        return ResponseEntity.ok(waitingRoomService.getStatus(token));
+    }
+}
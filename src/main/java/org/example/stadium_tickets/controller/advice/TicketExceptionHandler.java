@@ -0,0 +1,93 @@
+package org.example.stadium_tickets.controller.advice;
+
+import org.example.stadium_tickets.exception.MutationBackpressureException;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+import org.example.stadium_tickets.exception.WaitingRoomException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps ticket state conflicts to 409 responses, waiting room rejections to 429 responses,
+ * full mutation lanes to 503 responses and changes with an unknown result to 202 responses.
+ * Ordered before {@link AuthExceptionHandler} so its generic handler does not turn conflicts into 500 responses.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TicketExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketExceptionHandler.class);
+
+    @ExceptionHandler(TicketConflictException.class)
+    public ResponseEntity<Map<String, String>> handleTicketConflictException(TicketConflictException ex) {
+        logger.debug("Ticket conflict for ticket {}: {}", ex.getTicketId(), ex.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Ticket state conflict.");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        logger.debug("Optimistic locking failure: {}", ex.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Ticket was modified concurrently, reload it and try again.");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(WaitingRoomException.class)
+    public ResponseEntity<Map<String, String>> handleWaitingRoomException(WaitingRoomException ex) {
+        logger.debug("Request rejected by the waiting room: {}", ex.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Not admitted by the waiting room yet.");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    @ExceptionHandler(MutationBackpressureException.class)
+    public ResponseEntity<Map<String, String>> handleMutationBackpressureException(MutationBackpressureException ex) {
+        logger.debug("Ticket change rejected: {}", ex.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Ticket service is busy.");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * The change was accepted but may or may not be committed yet, so this is neither a success nor a retryable error.
+     */
+    @ExceptionHandler(TicketOutcomeUnknownException.class)
+    public ResponseEntity<Map<String, String>> handleTicketOutcomeUnknownException(TicketOutcomeUnknownException ex) {
+        logger.warn("Ticket change outcome unknown: {}", ex.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Ticket change outcome is unknown, check the tickets before trying again.");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.stadium_tickets.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: comma separated fields, optional double quotes, "" for a quote inside quotes,
+ * LF or CRLF line endings. Records are read one at a time from the underlying reader, and a record longer
+ * than the limit is skipped and returned with an error instead of being buffered, so memory use does not
+ * depend on the input.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private int recordChars;
+
+    public CsvReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * Returns the next record, or null at the end of the input. Blank lines are skipped.
+     */
+    public CsvRecord read() throws IOException {
+        int c;
+        while ((c = next()) == '\n' || c == '\r') {
+            if (c == '\n') {
+                line++;
+            }
+        }
+        if (c < 0) {
+            return null;
+        }
+
+        long startLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        recordChars = 0;
+        boolean quoted = false;
+        boolean afterQuote = false;
+        String error = null;
+        for (; c >= 0; c = next()) {
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        next();
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        afterQuote = true;
+                    }
+                    continue;
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                append(field, (char) c);
+                continue;
+            }
+            if (c == ',') {
+                if (recordChars++ < maxRecordChars) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\n' || (c == '\r' && peek() == '\n')) {
+                if (c == '\r') {
+                    next();
+                }
+                line++;
+                break;
+            } else if (c == '"' && field.length() == 0 && !afterQuote) {
+                quoted = true;
+            } else if (afterQuote) {
+                error = error != null ? error : "Unexpected character after a closing quote";
+            } else {
+                append(field, (char) c);
+            }
+        }
+        fields.add(field.toString());
+
+        if (quoted) {
+            error = "Unterminated quoted field";
+        }
+        if (recordChars > maxRecordChars) {
+            error = "Record is longer than " + maxRecordChars + " characters";
+        }
+        return error != null
+                ? new CsvRecord(startLine, Collections.emptyList(), error)
+                : new CsvRecord(startLine, fields, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Characters past the record limit are counted but not kept
+    private void append(StringBuilder field, char c) {
+        if (recordChars++ < maxRecordChars) {
+            field.append(c);
+        }
+    }
+
+    private int next() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, BUFFER_SIZE);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
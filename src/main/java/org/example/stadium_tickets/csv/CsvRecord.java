@@ -0,0 +1,14 @@
+package org.example.stadium_tickets.csv;
+
+import java.util.List;
+
+/**
+ * One record read by the {@link CsvReader}, with the line it starts on.
+ * A record that could not be read has an error and no usable fields.
+ */
+public record CsvRecord(long line, List<String> fields, String error) {
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.stadium_tickets.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -7,11 +8,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "match")
+@Table(name = "match", indexes = {
+        @Index(name = "match_stadium_id_idx", columnList = "stadium_id"),
+        @Index(name = "match_date_idx", columnList = "match_date"),
+        @Index(name = "match_teams_idx", columnList = "home_team, away_team"),
+        @Index(name = "match_away_team_idx", columnList = "away_team")
+})
 public class Match {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_id_seq")
+    @SequenceGenerator(name = "match_id_seq", sequenceName = "match_id_seq_bigint", allocationSize = 50)
     private Long id;
 
     @Column(name = "home_team", nullable = false, length = 100)
@@ -28,8 +35,9 @@ public class Match {
     @JsonManagedReference
     private Stadium stadium;
 
+    // Not serialized: a match can have tens of thousands of tickets, they are listed per match by the ticket API
     @OneToMany(mappedBy = "match", cascade = CascadeType.ALL)
-    @JsonManagedReference
+    @JsonIgnore
     private List<Ticket> tickets = new ArrayList<>();
 
     // Default constructor
@@ -0,0 +1,69 @@
+package org.example.stadium_tickets.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "price_zone", uniqueConstraints = @UniqueConstraint(name = "price_zone_stadium_name_key", columnNames = {"stadium_id", "name"}))
+public class PriceZone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "stadium_id", nullable = false)
+    @JsonIgnore
+    private Stadium stadium;
+
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "price", nullable = false, precision = 8, scale = 2)
+    private BigDecimal price;
+
+    // Default constructor
+    public PriceZone() {
+    }
+
+    // Constructor with fields
+    public PriceZone(Stadium stadium, String name, BigDecimal price) {
+        this.stadium = stadium;
+        this.name = name;
+        this.price = price;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Stadium getStadium() {
+        return stadium;
+    }
+
+    public void setStadium(Stadium stadium) {
+        this.stadium = stadium;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
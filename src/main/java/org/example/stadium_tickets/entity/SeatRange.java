@@ -0,0 +1,104 @@
+package org.example.stadium_tickets.entity;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+
+/**
+ * Consecutive seats of one row in a section, from the first to the last seat number inclusive.
+ * The price zone overrides the zone of the section when set.
+ */
+@Entity
+@Table(name = "seat_range", indexes = @Index(name = "seat_range_section_id_idx", columnList = "section_id"))
+public class SeatRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "section_id", nullable = false)
+    @JsonBackReference
+    private StadiumSection section;
+
+    @Column(name = "seat_row", nullable = false, length = 5)
+    private String seatRow;
+
+    @Column(name = "first_seat", nullable = false)
+    private Integer firstSeat;
+
+    @Column(name = "last_seat", nullable = false)
+    private Integer lastSeat;
+
+    @ManyToOne
+    @JoinColumn(name = "price_zone_id")
+    private PriceZone priceZone;
+
+    // Default constructor
+    public SeatRange() {
+    }
+
+    // Constructor with fields
+    public SeatRange(String seatRow, Integer firstSeat, Integer lastSeat, PriceZone priceZone) {
+        this.seatRow = seatRow;
+        this.firstSeat = firstSeat;
+        this.lastSeat = lastSeat;
+        this.priceZone = priceZone;
+    }
+
+    public int seatCount() {
+        return lastSeat - firstSeat + 1;
+    }
+
+    public PriceZone effectivePriceZone() {
+        return priceZone != null ? priceZone : section.getPriceZone();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public StadiumSection getSection() {
+        return section;
+    }
+
+    public void setSection(StadiumSection section) {
+        this.section = section;
+    }
+
+    public String getSeatRow() {
+        return seatRow;
+    }
+
+    public void setSeatRow(String seatRow) {
+        this.seatRow = seatRow;
+    }
+
+    public Integer getFirstSeat() {
+        return firstSeat;
+    }
+
+    public void setFirstSeat(Integer firstSeat) {
+        this.firstSeat = firstSeat;
+    }
+
+    public Integer getLastSeat() {
+        return lastSeat;
+    }
+
+    public void setLastSeat(Integer lastSeat) {
+        this.lastSeat = lastSeat;
+    }
+
+    public PriceZone getPriceZone() {
+        return priceZone;
+    }
+
+    public void setPriceZone(PriceZone priceZone) {
+        this.priceZone = priceZone;
+    }
+}
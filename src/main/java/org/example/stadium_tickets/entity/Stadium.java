@@ -7,11 +7,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "stadium")
+@Table(name = "stadium", indexes = {
+        @Index(name = "stadium_name_idx", columnList = "name"),
+        @Index(name = "stadium_city_idx", columnList = "city")
+})
 public class Stadium {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stadium_id_seq")
+    @SequenceGenerator(name = "stadium_id_seq", sequenceName = "stadium_id_seq_bigint", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
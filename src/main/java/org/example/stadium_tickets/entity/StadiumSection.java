@@ -0,0 +1,90 @@
+package org.example.stadium_tickets.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import jakarta.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "stadium_section", uniqueConstraints = @UniqueConstraint(name = "stadium_section_stadium_name_key", columnNames = {"stadium_id", "name"}))
+public class StadiumSection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "stadium_id", nullable = false)
+    @JsonIgnore
+    private Stadium stadium;
+
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    @ManyToOne
+    @JoinColumn(name = "price_zone_id", nullable = false)
+    private PriceZone priceZone;
+
+    @OneToMany(mappedBy = "section", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @JsonManagedReference
+    private List<SeatRange> seatRanges = new ArrayList<>();
+
+    // Default constructor
+    public StadiumSection() {
+    }
+
+    // Constructor with fields
+    public StadiumSection(Stadium stadium, String name, PriceZone priceZone) {
+        this.stadium = stadium;
+        this.name = name;
+        this.priceZone = priceZone;
+    }
+
+    public void addSeatRange(SeatRange seatRange) {
+        seatRange.setSection(this);
+        seatRanges.add(seatRange);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Stadium getStadium() {
+        return stadium;
+    }
+
+    public void setStadium(Stadium stadium) {
+        this.stadium = stadium;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public PriceZone getPriceZone() {
+        return priceZone;
+    }
+
+    public void setPriceZone(PriceZone priceZone) {
+        this.priceZone = priceZone;
+    }
+
+    public List<SeatRange> getSeatRanges() {
+        return seatRanges;
+    }
+
+    public void setSeatRanges(List<SeatRange> seatRanges) {
+        this.seatRanges = seatRanges;
+    }
+}
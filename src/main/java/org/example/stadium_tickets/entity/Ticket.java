@@ -5,11 +5,15 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "ticket")
+@Table(name = "ticket", indexes = {
+        @Index(name = "ticket_match_status_idx", columnList = "match_id, status_code"),
+        @Index(name = "ticket_status_id_idx", columnList = "status_code, id")
+}, uniqueConstraints = @UniqueConstraint(name = "ticket_match_seat_key", columnNames = {"match_id", "seat_row", "seat_number"}))
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_id_seq")
+    @SequenceGenerator(name = "ticket_id_seq", sequenceName = "ticket_id_seq_bigint", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -26,8 +30,13 @@ public class Ticket {
     @Column(name = "price", nullable = false, precision = 8, scale = 2)
     private BigDecimal price;
 
-    @Column(name = "status", nullable = false, length = 10)
-    private String status = "FREE";
+    @Convert(converter = TicketStatusConverter.class)
+    @Column(name = "status_code", nullable = false)
+    private TicketStatus status = TicketStatus.FREE;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     // Default constructor
     public Ticket() {
@@ -82,11 +91,19 @@ public class Ticket {
         this.price = price;
     }
 
-    public String getStatus() {
+    public TicketStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TicketStatus status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
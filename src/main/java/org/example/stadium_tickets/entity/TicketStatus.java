@@ -0,0 +1,64 @@
+package org.example.stadium_tickets.entity;
+
+/**
+ * Ticket status with its compact code. The code is what the ticket table stores in {@code status_code},
+ * what the in-memory seat inventory keeps per seat and what the sales journal writes, so codes must never change.
+ * <p>
+ * Allowed transitions are kept in one table: every status has a bit mask of the statuses it may move to.
+ */
+public enum TicketStatus {
+
+    FREE((byte) 0),
+    SOLD((byte) 1),
+    HELD((byte) 2),
+    REFUNDED((byte) 3);
+
+    private static final TicketStatus[] BY_CODE = new TicketStatus[values().length];
+
+    static {
+        for (TicketStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+        allow(FREE, HELD, SOLD);
+        allow(HELD, SOLD, FREE);
+        allow(SOLD, FREE, REFUNDED);
+        allow(REFUNDED, FREE);
+    }
+
+    private final byte code;
+    private int allowedTargets;
+
+    TicketStatus(byte code) {
+        this.code = code;
+    }
+
+    private static void allow(TicketStatus from, TicketStatus... targets) {
+        for (TicketStatus target : targets) {
+            from.allowedTargets |= 1 << target.code;
+        }
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static TicketStatus fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown ticket status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    public boolean canTransitionTo(TicketStatus target) {
+        return (allowedTargets & (1 << target.code)) != 0;
+    }
+
+    /**
+     * Fails when the ticket may not move from this status to the target. Staying in the same status is always allowed.
+     */
+    public void checkTransitionTo(TicketStatus target) {
+        if (target != this && !canTransitionTo(target)) {
+            throw new RuntimeException("Ticket status cannot change from " + this + " to " + target);
+        }
+    }
+}
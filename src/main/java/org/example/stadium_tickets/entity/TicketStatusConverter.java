@@ -0,0 +1,21 @@
+package org.example.stadium_tickets.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link TicketStatus} as its SMALLINT code.
+ */
+@Converter
+public class TicketStatusConverter implements AttributeConverter<TicketStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TicketStatus status) {
+        return status != null ? (short) status.getCode() : null;
+    }
+
+    @Override
+    public TicketStatus convertToEntityAttribute(Short code) {
+        return code != null ? TicketStatus.fromCode(code) : null;
+    }
+}
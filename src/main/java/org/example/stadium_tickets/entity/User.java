@@ -11,7 +11,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq_bigint", allocationSize = 50)
     private Long id;
 
     @Column(name = "username", nullable = false, unique = true, length = 50)
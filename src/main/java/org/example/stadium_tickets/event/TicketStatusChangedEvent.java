@@ -0,0 +1,73 @@
+package org.example.stadium_tickets.event;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published whenever tickets of a match change state.
+ * A null previous status means the tickets were created, a null new status means they were deleted.
+ * An event without ticket IDs means the inventory of the match changed in bulk and should be reloaded.
+ */
+public class TicketStatusChangedEvent extends ApplicationEvent {
+
+    private final Long matchId;
+    private final List<Long> ticketIds;
+    private final TicketStatus previousStatus;
+    private final TicketStatus newStatus;
+
+    public TicketStatusChangedEvent(Object source, Long matchId, List<Long> ticketIds,
+                                    TicketStatus previousStatus, TicketStatus newStatus) {
+        super(source);
+        this.matchId = matchId;
+        this.ticketIds = ticketIds != null
+                ? Collections.unmodifiableList(new ArrayList<>(ticketIds))
+                : Collections.emptyList();
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    public static TicketStatusChangedEvent transition(Object source, Long matchId, Long ticketId,
+                                                      TicketStatus previousStatus, TicketStatus newStatus) {
+        return new TicketStatusChangedEvent(source, matchId, Collections.singletonList(ticketId), previousStatus, newStatus);
+    }
+
+    public static TicketStatusChangedEvent created(Object source, Long matchId, Long ticketId, TicketStatus status) {
+        return new TicketStatusChangedEvent(source, matchId, Collections.singletonList(ticketId), null, status);
+    }
+
+    public static TicketStatusChangedEvent deleted(Object source, Long matchId, Long ticketId, TicketStatus status) {
+        return new TicketStatusChangedEvent(source, matchId, Collections.singletonList(ticketId), status, null);
+    }
+
+    public static TicketStatusChangedEvent bulkChange(Object source, Long matchId) {
+        return new TicketStatusChangedEvent(source, matchId, Collections.emptyList(), null, null);
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public List<Long> getTicketIds() {
+        return ticketIds;
+    }
+
+    public TicketStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public TicketStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public boolean isBulkChange() {
+        return ticketIds.isEmpty();
+    }
+
+    public boolean isTransition() {
+        return !ticketIds.isEmpty() && previousStatus != null && newStatus != null;
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.stadium_tickets.exception;
+
+/**
+ * Thrown when a ticket mutation cannot be queued because the lane of its match is full,
+ * or when it waited in the lane for too long.
+ */
+public class MutationBackpressureException extends RuntimeException {
+
+    public MutationBackpressureException(String message) {
+        super(message);
+    }
+}
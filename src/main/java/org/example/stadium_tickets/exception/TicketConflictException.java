@@ -0,0 +1,23 @@
+package org.example.stadium_tickets.exception;
+
+/**
+ * Thrown when a ticket is not in the state required by the requested operation,
+ * for example when two buyers race for the same seat.
+ */
+public class TicketConflictException extends RuntimeException {
+
+    private final Long ticketId;
+
+    public TicketConflictException(String message) {
+        this(null, message);
+    }
+
+    public TicketConflictException(Long ticketId, String message) {
+        super(message);
+        this.ticketId = ticketId;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+}
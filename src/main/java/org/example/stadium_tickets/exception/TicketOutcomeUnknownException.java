@@ -0,0 +1,12 @@
+package org.example.stadium_tickets.exception;
+
+/**
+ * Thrown when a ticket change was handed over but its result did not arrive in time.
+ * The change may still be committed, so the client has to check the tickets instead of retrying blindly.
+ */
+public class TicketOutcomeUnknownException extends RuntimeException {
+
+    public TicketOutcomeUnknownException(String message) {
+        super(message);
+    }
+}
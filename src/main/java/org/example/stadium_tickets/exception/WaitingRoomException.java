@@ -0,0 +1,18 @@
+package org.example.stadium_tickets.exception;
+
+/**
+ * Thrown when a purchase is attempted without a queue token that has been admitted by the waiting room.
+ */
+public class WaitingRoomException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public WaitingRoomException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
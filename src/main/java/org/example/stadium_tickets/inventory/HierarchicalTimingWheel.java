@@ -0,0 +1,139 @@
+package org.example.stadium_tickets.inventory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hierarchical timing wheel for expiring large numbers of deadlines.
+ * Level 0 has one slot per tick, every higher level has slots that span a full revolution of the level below.
+ * Scheduling and expiring an entry are O(1); an entry is moved down a level at most once per level it crosses.
+ * <p>
+ * {@link #schedule} may be called from any thread. {@link #advance} must only be called by a single ticker
+ * thread, which also owns the wheel buckets, so no locking is needed.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int slotBits;
+    private final int slotMask;
+    private final int levels;
+    private final long maxDelta;
+    private final ArrayDeque<Entry<T>>[][] buckets;
+    private final Queue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int slotBits, int levels, long startMillis) {
+        if (tickMillis <= 0 || slotBits <= 0 || levels <= 0 || slotBits * levels >= 62) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.slotBits = slotBits;
+        this.slotMask = (1 << slotBits) - 1;
+        this.levels = levels;
+        this.maxDelta = (1L << (slotBits * levels)) - 1;
+        this.buckets = new ArrayDeque[levels][1 << slotBits];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot <= slotMask; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(0, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        pending.add(new Entry<>(item, deadlineTick));
+    }
+
+    /**
+     * Moves the wheel forward to the given time and returns every item whose deadline has passed.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        drainPending(expired);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(expired);
+            expireSlot(expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Number of entries placed in the wheel, not counting entries scheduled since the last {@link #advance}.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void drainPending(List<T> expired) {
+        Entry<T> entry;
+        while ((entry = pending.poll()) != null) {
+            size++;
+            place(entry, expired);
+        }
+    }
+
+    private void place(Entry<T> entry, List<T> expired) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            size--;
+            expired.add(entry.item);
+            return;
+        }
+        // Deadlines beyond the wheel range are parked in the top level and re-placed when it cascades
+        long placementTick = delta > maxDelta ? currentTick + maxDelta : entry.deadlineTick;
+        int level = 0;
+        while (level < levels - 1 && (placementTick - currentTick) >>> (slotBits * (level + 1)) != 0) {
+            level++;
+        }
+        int slot = (int) ((placementTick >>> (slotBits * level)) & slotMask);
+        buckets[level][slot].add(entry);
+    }
+
+    // Moves the entries of every higher level slot that starts at the current tick down the hierarchy
+    private void cascade(List<T> expired) {
+        int topLevel = 0;
+        while (topLevel < levels - 1 && (currentTick & ((1L << (slotBits * (topLevel + 1))) - 1)) == 0) {
+            topLevel++;
+        }
+        for (int level = topLevel; level >= 1; level--) {
+            ArrayDeque<Entry<T>> bucket = buckets[level][(int) ((currentTick >>> (slotBits * level)) & slotMask)];
+            int count = bucket.size();
+            for (int i = 0; i < count; i++) {
+                place(bucket.poll(), expired);
+            }
+        }
+    }
+
+    private void expireSlot(List<T> expired) {
+        ArrayDeque<Entry<T>> bucket = buckets[0][(int) (currentTick & slotMask)];
+        int count = bucket.size();
+        for (int i = 0; i < count; i++) {
+            Entry<T> entry = bucket.poll();
+            if (entry.deadlineTick <= currentTick) {
+                size--;
+                expired.add(entry.item);
+            } else {
+                place(entry, expired);
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadlineTick;
+
+        private Entry(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.stadium_tickets.inventory;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Seat counts of a single match, one {@link LongAdder} per {@link TicketStatus} indexed by its code.
+ * Adders spread concurrent updates over striped cells, so buyers selling out a match do not contend
+ * on one counter, and a read only sums the cells of one status.
+ */
+public class MatchAvailability {
+
+    private final Long matchId;
+    private final LongAdder[] counts = new LongAdder[TicketStatus.values().length];
+
+    public MatchAvailability(Long matchId) {
+        this.matchId = matchId;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void add(TicketStatus status, long delta) {
+        counts[status.getCode()].add(delta);
+    }
+
+    public long count(TicketStatus status) {
+        return counts[status.getCode()].sum();
+    }
+
+    public long total() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+}
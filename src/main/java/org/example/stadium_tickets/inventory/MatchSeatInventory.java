@@ -0,0 +1,103 @@
+package org.example.stadium_tickets.inventory;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.repository.projection.TicketStatusView;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory seat state of a single match.
+ * Ticket IDs are kept in a sorted array and every seat state takes a single byte, the {@link TicketStatus} code,
+ * so a 90,000 seat match needs roughly 800 KB. Seats are claimed with compare-and-set,
+ * which lets concurrent buyers race for seats without any lock.
+ */
+public class MatchSeatInventory {
+
+    public static final byte FREE = TicketStatus.FREE.getCode();
+    public static final byte SOLD = TicketStatus.SOLD.getCode();
+    public static final byte HELD = TicketStatus.HELD.getCode();
+    public static final byte REFUNDED = TicketStatus.REFUNDED.getCode();
+
+    private static final VarHandle STATES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final Long matchId;
+    private final long[] ticketIds;
+    private final byte[] states;
+
+    private MatchSeatInventory(Long matchId, long[] ticketIds, byte[] states) {
+        this.matchId = matchId;
+        this.ticketIds = ticketIds;
+        this.states = states;
+    }
+
+    public static MatchSeatInventory of(Long matchId, List<? extends TicketStatusView> seats) {
+        TicketStatusView[] sorted = seats.toArray(new TicketStatusView[0]);
+        Arrays.sort(sorted, Comparator.comparing(TicketStatusView::getId));
+
+        long[] ticketIds = new long[sorted.length];
+        byte[] states = new byte[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ticketIds[i] = sorted[i].getId();
+            states[i] = sorted[i].getStatus().getCode();
+        }
+        return new MatchSeatInventory(matchId, ticketIds, states);
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public int size() {
+        return ticketIds.length;
+    }
+
+    public boolean contains(long ticketId) {
+        return slotOf(ticketId) >= 0;
+    }
+
+    public int slotOf(long ticketId) {
+        return Arrays.binarySearch(ticketIds, ticketId);
+    }
+
+    public long ticketIdAt(int slot) {
+        return ticketIds[slot];
+    }
+
+    public byte getState(long ticketId) {
+        return stateAt(requireSlot(ticketId));
+    }
+
+    public byte stateAt(int slot) {
+        return (byte) STATES.getVolatile(states, slot);
+    }
+
+    public boolean compareAndSet(long ticketId, byte expected, byte update) {
+        return STATES.compareAndSet(states, requireSlot(ticketId), expected, update);
+    }
+
+    public void setState(long ticketId, byte state) {
+        STATES.setVolatile(states, requireSlot(ticketId), state);
+    }
+
+    public int count(byte state) {
+        int count = 0;
+        for (int slot = 0; slot < states.length; slot++) {
+            if (stateAt(slot) == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int requireSlot(long ticketId) {
+        int slot = slotOf(ticketId);
+        if (slot < 0) {
+            throw new RuntimeException("Ticket " + ticketId + " does not belong to match " + matchId);
+        }
+        return slot;
+    }
+}
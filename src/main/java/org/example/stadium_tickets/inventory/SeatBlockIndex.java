@@ -0,0 +1,238 @@
+package org.example.stadium_tickets.inventory;
+
+import org.example.stadium_tickets.repository.projection.TicketSeatView;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of free seat runs of a single match, used to find blocks of adjacent seats.
+ * Every row keeps its seats in seat number order with a bitset of free seats and a bitset of
+ * positions where the numbering is not contiguous (an aisle or a gap). The longest free run of a row
+ * is cached, so rows that cannot fit the requested block are skipped without looking at their seats.
+ * <p>
+ * The index is only a hint: seats are claimed on the {@link MatchSeatInventory} it was built from,
+ * and a failed claim refreshes the affected seats from there.
+ */
+public class SeatBlockIndex {
+
+    // Shorter labels first, so that seat 9 comes before seat 10. Also the seat order of a SeatMap
+    static final Comparator<String> LABEL_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private final MatchSeatInventory inventory;
+    private final Row[] rows;
+    // Sorted ticket IDs with the row and position of every seat, for updates by ticket ID
+    private final long[] ticketIds;
+    private final int[] rowOf;
+    private final int[] positionOf;
+
+    private SeatBlockIndex(MatchSeatInventory inventory, Row[] rows) {
+        this.inventory = inventory;
+        this.rows = rows;
+
+        int seatCount = 0;
+        for (Row row : rows) {
+            seatCount += row.ticketIds.length;
+        }
+        long[][] entries = new long[seatCount][];
+        int next = 0;
+        for (int r = 0; r < rows.length; r++) {
+            for (int p = 0; p < rows[r].ticketIds.length; p++) {
+                entries[next++] = new long[] {rows[r].ticketIds[p], r, p};
+            }
+        }
+        Arrays.sort(entries, Comparator.comparingLong(entry -> entry[0]));
+        this.ticketIds = new long[seatCount];
+        this.rowOf = new int[seatCount];
+        this.positionOf = new int[seatCount];
+        for (int i = 0; i < seatCount; i++) {
+            ticketIds[i] = entries[i][0];
+            rowOf[i] = (int) entries[i][1];
+            positionOf[i] = (int) entries[i][2];
+        }
+    }
+
+    /**
+     * Builds the index from the seats of a match. Seats that are not part of the inventory are left out.
+     */
+    public static SeatBlockIndex of(MatchSeatInventory inventory, List<? extends TicketSeatView> seats) {
+        Map<String, List<TicketSeatView>> seatsByRow = new LinkedHashMap<>();
+        for (TicketSeatView seat : seats) {
+            if (inventory.contains(seat.getId())) {
+                seatsByRow.computeIfAbsent(seat.getSeatRow(), row -> new ArrayList<>()).add(seat);
+            }
+        }
+
+        List<String> labels = new ArrayList<>(seatsByRow.keySet());
+        labels.sort(LABEL_ORDER);
+        Row[] rows = new Row[labels.size()];
+        for (int r = 0; r < rows.length; r++) {
+            List<TicketSeatView> rowSeats = seatsByRow.get(labels.get(r));
+            rowSeats.sort(Comparator.comparing(TicketSeatView::getSeatNumber, LABEL_ORDER));
+            rows[r] = new Row(rowSeats, inventory);
+        }
+        return new SeatBlockIndex(inventory, rows);
+    }
+
+    public MatchSeatInventory getInventory() {
+        return inventory;
+    }
+
+    public int rowCount() {
+        return rows.length;
+    }
+
+    public boolean contains(long ticketId) {
+        return Arrays.binarySearch(ticketIds, ticketId) >= 0;
+    }
+
+    /**
+     * Finds the first block of adjacent free seats in the price range, scanning rows in row order.
+     * A null bound leaves that side of the range open. Returns an empty list when there is no such block.
+     */
+    public List<Long> findBlock(int quantity, BigDecimal minPrice, BigDecimal maxPrice) {
+        for (Row row : rows) {
+            if (!row.overlaps(minPrice, maxPrice)) {
+                continue;
+            }
+            long[] block = row.findBlock(quantity, minPrice, maxPrice);
+            if (block != null) {
+                List<Long> ticketIds = new ArrayList<>(block.length);
+                for (long ticketId : block) {
+                    ticketIds.add(ticketId);
+                }
+                return ticketIds;
+            }
+        }
+        return List.of();
+    }
+
+    public void setFree(long ticketId, boolean free) {
+        int index = Arrays.binarySearch(ticketIds, ticketId);
+        if (index < 0) {
+            throw new RuntimeException("Ticket " + ticketId + " is not part of the seat index");
+        }
+        rows[rowOf[index]].setFree(positionOf[index], free);
+    }
+
+    /**
+     * Re-reads the state of the given seats from the inventory, after a claim on them failed.
+     */
+    public void refresh(List<Long> ticketIds) {
+        for (Long ticketId : ticketIds) {
+            if (contains(ticketId)) {
+                setFree(ticketId, inventory.getState(ticketId) == MatchSeatInventory.FREE);
+            }
+        }
+    }
+
+    private static boolean inRange(BigDecimal price, BigDecimal minPrice, BigDecimal maxPrice) {
+        return (minPrice == null || price.compareTo(minPrice) >= 0)
+                && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+    }
+
+    private static final class Row {
+        private final long[] ticketIds;
+        private final BigDecimal[] prices;
+        private final BigDecimal minPrice;
+        private final BigDecimal maxPrice;
+        // Bit set where a seat does not directly follow the previous seat of the row
+        private final BitSet breaks;
+        private final BitSet free;
+        private int longestFreeRun = -1;
+
+        private Row(List<TicketSeatView> seats, MatchSeatInventory inventory) {
+            this.ticketIds = new long[seats.size()];
+            this.prices = new BigDecimal[seats.size()];
+            this.breaks = new BitSet(seats.size());
+            this.free = new BitSet(seats.size());
+
+            BigDecimal min = null;
+            BigDecimal max = null;
+            Integer previousNumber = null;
+            for (int i = 0; i < seats.size(); i++) {
+                TicketSeatView seat = seats.get(i);
+                ticketIds[i] = seat.getId();
+                prices[i] = seat.getPrice();
+                min = min == null || prices[i].compareTo(min) < 0 ? prices[i] : min;
+                max = max == null || prices[i].compareTo(max) > 0 ? prices[i] : max;
+
+                Integer number = parseNumber(seat.getSeatNumber());
+                if (number == null || previousNumber == null || number != previousNumber + 1) {
+                    breaks.set(i);
+                }
+                previousNumber = number;
+                if (inventory.getState(seat.getId()) == MatchSeatInventory.FREE) {
+                    free.set(i);
+                }
+            }
+            this.minPrice = min;
+            this.maxPrice = max;
+        }
+
+        private boolean overlaps(BigDecimal lower, BigDecimal upper) {
+            return ticketIds.length > 0
+                    && (lower == null || maxPrice.compareTo(lower) >= 0)
+                    && (upper == null || minPrice.compareTo(upper) <= 0);
+        }
+
+        private synchronized void setFree(int position, boolean isFree) {
+            if (free.get(position) != isFree) {
+                free.set(position, isFree);
+                longestFreeRun = -1;
+            }
+        }
+
+        private synchronized long[] findBlock(int quantity, BigDecimal lower, BigDecimal upper) {
+            if (longestFreeRun() < quantity) {
+                return null;
+            }
+            for (int start = free.nextSetBit(0); start >= 0; ) {
+                int end = free.nextClearBit(start);
+                int runStart = start;
+                for (int i = start; i < end; i++) {
+                    if (i > runStart && breaks.get(i)) {
+                        runStart = i;
+                    }
+                    if (!inRange(prices[i], lower, upper)) {
+                        runStart = i + 1;
+                        continue;
+                    }
+                    if (i - runStart + 1 == quantity) {
+                        return Arrays.copyOfRange(ticketIds, runStart, i + 1);
+                    }
+                }
+                start = end < ticketIds.length ? free.nextSetBit(end) : -1;
+            }
+            return null;
+        }
+
+        private int longestFreeRun() {
+            if (longestFreeRun < 0) {
+                int longest = 0;
+                int run = 0;
+                for (int i = 0; i < ticketIds.length; i++) {
+                    run = !free.get(i) ? 0 : breaks.get(i) ? 1 : run + 1;
+                    longest = Math.max(longest, run);
+                }
+                longestFreeRun = longest;
+            }
+            return longestFreeRun;
+        }
+
+        private static Integer parseNumber(String seatNumber) {
+            try {
+                return Integer.valueOf(seatNumber.trim());
+            } catch (NumberFormatException | NullPointerException e) {
+                return null;
+            }
+        }
+    }
+}
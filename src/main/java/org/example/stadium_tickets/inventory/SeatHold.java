@@ -0,0 +1,59 @@
+package org.example.stadium_tickets.inventory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Temporary reservation of seats while a fan completes the payment.
+ */
+public class SeatHold {
+
+    public enum State {
+        ACTIVE, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    private final String id;
+    private final Long matchId;
+    // Username of the fan who created the hold, only they can confirm or release it
+    private final String owner;
+    private final List<Long> ticketIds;
+    private final Instant expiresAt;
+    private final AtomicReference<State> state = new AtomicReference<>(State.ACTIVE);
+
+    public SeatHold(String id, Long matchId, String owner, List<Long> ticketIds, Instant expiresAt) {
+        this.id = id;
+        this.matchId = matchId;
+        this.owner = owner;
+        this.ticketIds = List.copyOf(ticketIds);
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public List<Long> getTicketIds() {
+        return ticketIds;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean transition(State expected, State next) {
+        return state.compareAndSet(expected, next);
+    }
+}
@@ -0,0 +1,209 @@
+package org.example.stadium_tickets.inventory;
+
+import org.example.stadium_tickets.repository.projection.TicketSeatView;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary seat map of a single match: one bit per seat telling whether it is free, so a 90,000 seat match
+ * is sent in about 11 KB instead of the JSON of every ticket. The layout index that tells which seat every
+ * bit belongs to only changes when tickets are added or removed, clients fetch it once and then refresh
+ * the bitmap alone.
+ * <p>
+ * Format, all numbers are big-endian:
+ * <pre>
+ * header
+ *   4 bytes  magic "SMAP"
+ *   1 byte   format version, 2
+ *   1 byte   flags, bit 0 is set when the layout index follows the header
+ *   8 bytes  match ID
+ *   4 bytes  seat count N
+ *   4 bytes  layout hash, the CRC-32 of the layout index bytes
+ * layout index
+ *   4 bytes  row count
+ *   for every row:
+ *     1 byte   row label length, then the UTF-8 row label
+ *     4 bytes  segment count, then the segments
+ *   segment kind 0, a run of numbered seats:
+ *     1 byte   0
+ *     4 bytes  first seat number
+ *     4 bytes  seat count, the seats are numbered first, first + 1, ...
+ *   segment kind 1, a single seat with any other label:
+ *     1 byte   1
+ *     1 byte   seat label length, then the UTF-8 seat label
+ * bitmap
+ *   ceil(N / 8) bytes, seat i is bit (i % 8) of byte (i / 8), least significant bit first,
+ *   1 when the seat is FREE and 0 when it is held, sold or refunded
+ * </pre>
+ * Seats are numbered in layout order: rows ordered by label, seats of a row by seat number, the same
+ * order as {@link SeatBlockIndex}. A stadium generated from its layout needs about ten bytes per row.
+ */
+public class SeatMap {
+
+    public static final byte[] MAGIC = "SMAP".getBytes(StandardCharsets.US_ASCII);
+    public static final byte VERSION = 2;
+    public static final byte FLAG_LAYOUT = 1;
+    public static final byte NUMBERED_RUN = 0;
+    public static final byte LABELED_SEAT = 1;
+
+    private static final int HEADER_SIZE = 22;
+    private static final int MAX_LABEL_LENGTH = 255;
+
+    private final MatchSeatInventory inventory;
+    // Inventory slot of every seat, in layout order
+    private final int[] slots;
+    private final byte[] layout;
+    private final int layoutHash;
+
+    private SeatMap(MatchSeatInventory inventory, int[] slots, byte[] layout) {
+        this.inventory = inventory;
+        this.slots = slots;
+        this.layout = layout;
+        this.layoutHash = layoutHashOf(layout);
+    }
+
+    /**
+     * Builds the map from the seats of a match. Seats that are not part of the inventory are left out.
+     */
+    public static SeatMap of(MatchSeatInventory inventory, List<? extends TicketSeatView> seats) {
+        Map<String, List<TicketSeatView>> seatsByRow = new LinkedHashMap<>();
+        for (TicketSeatView seat : seats) {
+            if (inventory.contains(seat.getId())) {
+                seatsByRow.computeIfAbsent(labelOf(seat.getSeatRow()), row -> new ArrayList<>()).add(seat);
+            }
+        }
+        List<String> rows = new ArrayList<>(seatsByRow.keySet());
+        rows.sort(SeatBlockIndex.LABEL_ORDER);
+
+        List<Integer> slots = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(rows.size());
+            for (String row : rows) {
+                List<TicketSeatView> rowSeats = seatsByRow.get(row);
+                rowSeats.sort(Comparator.comparing(seat -> labelOf(seat.getSeatNumber()), SeatBlockIndex.LABEL_ORDER));
+                rowSeats.forEach(seat -> slots.add(inventory.slotOf(seat.getId())));
+                writeLabel(out, row);
+                writeSegments(out, rowSeats);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SeatMap(inventory, slots.stream().mapToInt(Integer::intValue).toArray(), bytes.toByteArray());
+    }
+
+    public MatchSeatInventory getInventory() {
+        return inventory;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    public int getLayoutHash() {
+        return layoutHash;
+    }
+
+    /**
+     * CRC-32 of the encoded layout index, the value sent in the header.
+     */
+    public static int layoutHashOf(byte[] layout) {
+        CRC32 crc = new CRC32();
+        crc.update(layout);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Encodes the current seat states, with the layout index when {@code withLayout} is set.
+     */
+    public byte[] encode(boolean withLayout) {
+        int bitmapSize = (slots.length + 7) / 8;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (withLayout ? layout.length : 0) + bitmapSize);
+        buffer.put(MAGIC)
+                .put(VERSION)
+                .put(withLayout ? FLAG_LAYOUT : 0)
+                .putLong(inventory.getMatchId())
+                .putInt(slots.length)
+                .putInt(layoutHash);
+        if (withLayout) {
+            buffer.put(layout);
+        }
+
+        byte[] bitmap = new byte[bitmapSize];
+        for (int seat = 0; seat < slots.length; seat++) {
+            if (inventory.stateAt(slots[seat]) == MatchSeatInventory.FREE) {
+                bitmap[seat >>> 3] |= (byte) (1 << (seat & 7));
+            }
+        }
+        return buffer.put(bitmap).array();
+    }
+
+    private static void writeSegments(DataOutputStream out, List<TicketSeatView> seats) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        for (TicketSeatView seat : seats) {
+            String label = labelOf(seat.getSeatNumber());
+            Integer number = numberOf(label);
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (number != null && last != null && last.label() == null && last.first() + last.count() == number) {
+                segments.set(segments.size() - 1, new Segment(null, last.first(), last.count() + 1));
+            } else {
+                segments.add(number != null ? new Segment(null, number, 1) : new Segment(label, 0, 1));
+            }
+        }
+
+        out.writeInt(segments.size());
+        for (Segment segment : segments) {
+            if (segment.label() == null) {
+                out.writeByte(NUMBERED_RUN);
+                out.writeInt(segment.first());
+                out.writeInt(segment.count());
+            } else {
+                out.writeByte(LABELED_SEAT);
+                writeLabel(out, segment.label());
+            }
+        }
+    }
+
+    private static void writeLabel(DataOutputStream out, String label) throws IOException {
+        byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_LABEL_LENGTH) {
+            throw new RuntimeException("Seat label is too long for the seat map: " + label);
+        }
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String labelOf(String label) {
+        return label == null ? "" : label;
+    }
+
+    /**
+     * Returns the seat number when the label is written exactly as the number, so a run gives back the same labels.
+     */
+    private static Integer numberOf(String label) {
+        if (label.isEmpty() || label.length() > 9) {
+            return null;
+        }
+        try {
+            int number = Integer.parseInt(label);
+            return Integer.toString(number).equals(label) ? number : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // A run of numbered seats, or a single seat with its label
+    private record Segment(String label, int first, int count) {
+    }
+}
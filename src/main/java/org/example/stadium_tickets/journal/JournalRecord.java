@@ -0,0 +1,10 @@
+package org.example.stadium_tickets.journal;
+
+/**
+ * One ticket state transition in the sales journal. Statuses are encoded as
+ * {@link org.example.stadium_tickets.entity.TicketStatus} codes. The group flags mark the first and the last
+ * record of the seats that were changed together.
+ */
+public record JournalRecord(long sequence, long ticketId, long matchId, long timestamp,
+                            byte previousState, byte newState, boolean groupStart, boolean groupEnd) {
+}
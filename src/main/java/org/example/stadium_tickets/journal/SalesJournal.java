@@ -0,0 +1,309 @@
+package org.example.stadium_tickets.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of ticket state transitions in memory-mapped segment files.
+ * <p>
+ * Every record has a fixed size of {@value #RECORD_SIZE} bytes:
+ * sequence (8), ticket ID (8), match ID (8), timestamp in epoch millis (8), previous state (1), new state (1),
+ * group flags (1), one reserved byte and a CRC32 of the preceding 35 bytes (4). Sequences start at 1 and have
+ * no gaps. A segment is named after the sequence of its first record and is zero-filled when created, so the
+ * first record with a zero or unexpected sequence or a bad checksum marks the end of the journal, including
+ * a torn last write. Whatever follows the end is zeroed when the journal is opened again.
+ * <p>
+ * The seats of one transition are appended as a group: its first record is flagged as the group start and its
+ * last record as the group end, which serves as the commit marker. Only complete groups are read back, so a
+ * transition that was cut off by a crash is never replayed in part.
+ * <p>
+ * Appends only write to the mapped segment; {@link #force(long)} makes them durable. Concurrent callers share
+ * one force, so a burst of appends costs a single flush. The checkpoint is the highest sequence known to be
+ * applied to the database. Segments that contain only checkpointed records are deleted by {@link #compact()}.
+ */
+public class SalesJournal implements AutoCloseable {
+
+    public static final int RECORD_SIZE = 40;
+    private static final int CHECKSUMMED_BYTES = 35;
+    private static final int CHECKSUM_OFFSET = 36;
+    private static final byte GROUP_START = 1;
+    private static final byte GROUP_END = 2;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final List<Long> segmentStarts = new ArrayList<>();
+    // Serializes forces without blocking appends, lock order is forceLock before this
+    private final Object forceLock = new Object();
+    private long forcedSequence;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long nextSequence;
+    private long checkpoint;
+
+    public SalesJournal(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment must hold at least one record");
+        }
+        this.directory = directory;
+        this.recordsPerSegment = segmentBytes / RECORD_SIZE;
+        Files.createDirectories(directory);
+        this.checkpoint = readCheckpoint();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(segmentStarts::add);
+        }
+        if (segmentStarts.isEmpty()) {
+            openSegment(checkpoint + 1);
+            nextSequence = checkpoint + 1;
+        } else {
+            long lastStart = segmentStarts.get(segmentStarts.size() - 1);
+            mapSegment(lastStart);
+            int position = 0;
+            while (position < recordsPerSegment
+                    && readRecord(segment, position * RECORD_SIZE, lastStart + position) != null) {
+                position++;
+            }
+            nextSequence = lastStart + position;
+            // Records after a torn write may have reached the disk without it, they must not be read as new ones
+            segment.position(position * RECORD_SIZE);
+            byte[] zeros = new byte[RECORD_SIZE * 256];
+            while (segment.hasRemaining()) {
+                segment.put(zeros, 0, Math.min(zeros.length, segment.remaining()));
+            }
+            segment.position(position * RECORD_SIZE);
+        }
+        forcedSequence = nextSequence - 1;
+    }
+
+    /**
+     * Appends a single transition as a group of one record.
+     */
+    public long append(long ticketId, long matchId, long timestamp, byte previousState, byte newState) {
+        return appendGroup(List.of(ticketId), matchId, timestamp, previousState, newState);
+    }
+
+    /**
+     * Appends the transition of all given tickets as one group and returns the sequence of its last record.
+     */
+    public synchronized long appendGroup(List<Long> ticketIds, long matchId, long timestamp,
+                                         byte previousState, byte newState) {
+        if (ticketIds.isEmpty()) {
+            throw new IllegalArgumentException("A journal group needs at least one ticket");
+        }
+        long sequence = 0;
+        for (int i = 0; i < ticketIds.size(); i++) {
+            byte flags = (byte) ((i == 0 ? GROUP_START : 0) | (i == ticketIds.size() - 1 ? GROUP_END : 0));
+            sequence = put(ticketIds.get(i), matchId, timestamp, previousState, newState, flags);
+        }
+        return sequence;
+    }
+
+    /**
+     * Makes every record up to the given sequence durable. Returns without a flush when a concurrent
+     * caller's force already covered it.
+     */
+    public void force(long sequence) {
+        synchronized (forceLock) {
+            if (forcedSequence >= sequence) {
+                return;
+            }
+            MappedByteBuffer current;
+            long last;
+            synchronized (this) {
+                current = segment;
+                last = nextSequence - 1;
+            }
+            // Earlier segments were forced when they were rolled
+            current.force();
+            forcedSequence = last;
+        }
+    }
+
+    public void force() {
+        force(lastSequence());
+    }
+
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    public synchronized long checkpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Durably records that every record up to the given sequence has been applied to the database.
+     */
+    public synchronized void checkpoint(long sequence) throws IOException {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            file.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+            file.force(true);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = sequence;
+    }
+
+    /**
+     * Returns the records of all complete groups after the checkpoint, in sequence order.
+     * Records of a group without its end record are left out.
+     */
+    public synchronized List<JournalRecord> readUncheckpointed() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        List<JournalRecord> group = new ArrayList<>();
+        for (int i = 0; i < segmentStarts.size(); i++) {
+            long start = segmentStarts.get(i);
+            long end = i + 1 < segmentStarts.size() ? segmentStarts.get(i + 1) : nextSequence;
+            if (end - 1 <= checkpoint) {
+                continue;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start) * RECORD_SIZE);
+            try (FileChannel file = FileChannel.open(segmentPath(start), StandardOpenOption.READ)) {
+                while (buffer.hasRemaining()) {
+                    if (file.read(buffer) < 0) {
+                        break;
+                    }
+                }
+            }
+            for (int position = 0; position < buffer.capacity(); position += RECORD_SIZE) {
+                JournalRecord record = readRecord(buffer, position, start + position / RECORD_SIZE);
+                if (record == null) {
+                    break;
+                }
+                if (record.sequence() <= checkpoint) {
+                    continue;
+                }
+                if (record.groupStart()) {
+                    // A group that was still open was cut off by a crash and is dropped
+                    group.clear();
+                }
+                if (record.groupStart() || !group.isEmpty()) {
+                    group.add(record);
+                }
+                if (record.groupEnd() && !group.isEmpty()) {
+                    records.addAll(group);
+                    group.clear();
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Deletes segments whose records are all checkpointed. The current segment is always kept.
+     */
+    public synchronized int compact() throws IOException {
+        int deleted = 0;
+        while (segmentStarts.size() > 1 && segmentStarts.get(1) - 1 <= checkpoint) {
+            Files.deleteIfExists(segmentPath(segmentStarts.remove(0)));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    public synchronized int segmentCount() {
+        return segmentStarts.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private long put(long ticketId, long matchId, long timestamp, byte previousState, byte newState, byte flags) {
+        if (nextSequence - segmentStart == recordsPerSegment) {
+            roll();
+        }
+        long sequence = nextSequence++;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putLong(sequence).putLong(ticketId).putLong(matchId).putLong(timestamp)
+                .put(previousState).put(newState).put(flags).put((byte) 0);
+        record.putInt(checksum(record.array()));
+        segment.put(record.array());
+        return sequence;
+    }
+
+    private void roll() {
+        segment.force();
+        try {
+            channel.close();
+            openSegment(nextSequence);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not roll sales journal segment: " + e.getMessage(), e);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segmentStarts.add(firstSequence);
+        mapSegment(firstSequence);
+    }
+
+    private void mapSegment(long firstSequence) throws IOException {
+        channel = FileChannel.open(segmentPath(firstSequence),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        segmentStart = firstSequence;
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file)).getLong();
+    }
+
+    private static JournalRecord readRecord(ByteBuffer buffer, int offset, long expectedSequence) {
+        long sequence = buffer.getLong(offset);
+        if (sequence != expectedSequence) {
+            return null;
+        }
+        byte[] bytes = new byte[RECORD_SIZE];
+        buffer.get(offset, bytes);
+        if (checksum(bytes) != buffer.getInt(offset + CHECKSUM_OFFSET)) {
+            return null;
+        }
+        byte flags = buffer.get(offset + 34);
+        return new JournalRecord(sequence, buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                buffer.getLong(offset + 24), buffer.get(offset + 32), buffer.get(offset + 33),
+                (flags & GROUP_START) != 0, (flags & GROUP_END) != 0);
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, CHECKSUMMED_BYTES);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.stadium_tickets.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Request to hold the best available block of adjacent seats")
+public class BestAvailableRequest implements MatchScopedRequest {
+    @Schema(description = "ID of the match", example = "1")
+    private Long matchId;
+
+    @Schema(description = "Number of adjacent seats", example = "4")
+    private int quantity;
+
+    @Schema(description = "Lowest accepted seat price", example = "50.00")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Highest accepted seat price", example = "150.00")
+    private BigDecimal maxPrice;
+
+    public BestAvailableRequest() {
+    }
+
+    public BestAvailableRequest(Long matchId, int quantity, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.matchId = matchId;
+        this.quantity = quantity;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    @Override
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
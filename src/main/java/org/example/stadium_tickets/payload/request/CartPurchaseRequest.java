@@ -0,0 +1,52 @@
+package org.example.stadium_tickets.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Purchase of several seats of one match, either all of them are bought or none")
+public class CartPurchaseRequest implements MatchScopedRequest {
+    @Schema(description = "ID of the match", example = "1")
+    private Long matchId;
+
+    @Schema(description = "IDs of the tickets to buy", example = "[1, 2]")
+    private List<Long> ticketIds = new ArrayList<>();
+
+    @Schema(description = "Seats to buy, identified by row and number")
+    private List<SeatCoordinate> seats = new ArrayList<>();
+
+    public CartPurchaseRequest() {
+    }
+
+    public CartPurchaseRequest(Long matchId, List<Long> ticketIds, List<SeatCoordinate> seats) {
+        this.matchId = matchId;
+        this.ticketIds = ticketIds;
+        this.seats = seats;
+    }
+
+    @Override
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public List<Long> getTicketIds() {
+        return ticketIds;
+    }
+
+    public void setTicketIds(List<Long> ticketIds) {
+        this.ticketIds = ticketIds;
+    }
+
+    public List<SeatCoordinate> getSeats() {
+        return seats;
+    }
+
+    public void setSeats(List<SeatCoordinate> seats) {
+        this.seats = seats;
+    }
+}
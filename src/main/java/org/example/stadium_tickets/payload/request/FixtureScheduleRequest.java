@@ -0,0 +1,85 @@
+package org.example.stadium_tickets.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Schedule of fixtures to create in one request, for example a whole season")
+public class FixtureScheduleRequest {
+    @Schema(description = "Fixtures of the schedule")
+    private List<FixtureDefinition> fixtures = new ArrayList<>();
+
+    public FixtureScheduleRequest() {
+    }
+
+    public FixtureScheduleRequest(List<FixtureDefinition> fixtures) {
+        this.fixtures = fixtures;
+    }
+
+    public List<FixtureDefinition> getFixtures() {
+        return fixtures;
+    }
+
+    public void setFixtures(List<FixtureDefinition> fixtures) {
+        this.fixtures = fixtures;
+    }
+
+    @Schema(description = "Single fixture of the schedule")
+    public static class FixtureDefinition {
+        @Schema(description = "Home team", example = "Legia Warszawa")
+        private String homeTeam;
+
+        @Schema(description = "Away team", example = "Lech Poznań")
+        private String awayTeam;
+
+        @Schema(description = "Kick-off time", example = "2026-08-15T18:00:00")
+        private LocalDateTime matchDate;
+
+        @Schema(description = "ID of the stadium", example = "1")
+        private Long stadiumId;
+
+        public FixtureDefinition() {
+        }
+
+        public FixtureDefinition(String homeTeam, String awayTeam, LocalDateTime matchDate, Long stadiumId) {
+            this.homeTeam = homeTeam;
+            this.awayTeam = awayTeam;
+            this.matchDate = matchDate;
+            this.stadiumId = stadiumId;
+        }
+
+        public String getHomeTeam() {
+            return homeTeam;
+        }
+
+        public void setHomeTeam(String homeTeam) {
+            this.homeTeam = homeTeam;
+        }
+
+        public String getAwayTeam() {
+            return awayTeam;
+        }
+
+        public void setAwayTeam(String awayTeam) {
+            this.awayTeam = awayTeam;
+        }
+
+        public LocalDateTime getMatchDate() {
+            return matchDate;
+        }
+
+        public void setMatchDate(LocalDateTime matchDate) {
+            this.matchDate = matchDate;
+        }
+
+        public Long getStadiumId() {
+            return stadiumId;
+        }
+
+        public void setStadiumId(Long stadiumId) {
+            this.stadiumId = stadiumId;
+        }
+    }
+}
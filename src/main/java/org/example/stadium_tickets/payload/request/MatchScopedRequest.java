@@ -0,0 +1,8 @@
+package org.example.stadium_tickets.payload.request;
+
+/**
+ * Request body that names the match it acts on, used to check waiting room tokens against that match.
+ */
+public interface MatchScopedRequest {
+    Long getMatchId();
+}
@@ -0,0 +1,41 @@
+package org.example.stadium_tickets.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.example.stadium_tickets.repository.SeatKey;
+
+@Schema(description = "Seat identified by its row and number")
+public class SeatCoordinate {
+    @Schema(description = "Seat row", example = "A")
+    private String seatRow;
+
+    @Schema(description = "Seat number", example = "1")
+    private String seatNumber;
+
+    public SeatCoordinate() {
+    }
+
+    public SeatCoordinate(String seatRow, String seatNumber) {
+        this.seatRow = seatRow;
+        this.seatNumber = seatNumber;
+    }
+
+    public String getSeatRow() {
+        return seatRow;
+    }
+
+    public void setSeatRow(String seatRow) {
+        this.seatRow = seatRow;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public void setSeatNumber(String seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+
+    public SeatKey toSeatKey() {
+        return new SeatKey(seatRow, seatNumber);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.stadium_tickets.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Request to hold seats of a match while the payment is completed")
+public class SeatHoldRequest implements MatchScopedRequest {
+    @Schema(description = "ID of the match", example = "1")
+    private Long matchId;
+
+    @Schema(description = "IDs of the tickets to hold", example = "[1, 2]")
+    private List<Long> ticketIds;
+
+    public SeatHoldRequest() {
+    }
+
+    public SeatHoldRequest(Long matchId, List<Long> ticketIds) {
+        this.matchId = matchId;
+        this.ticketIds = ticketIds;
+    }
+
+    @Override
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public List<Long> getTicketIds() {
+        return ticketIds;
+    }
+
+    public void setTicketIds(List<Long> ticketIds) {
+        this.ticketIds = ticketIds;
+    }
+}
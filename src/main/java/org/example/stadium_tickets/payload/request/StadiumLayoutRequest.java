@@ -0,0 +1,175 @@
+package org.example.stadium_tickets.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Seating layout of a stadium, replacing any previous layout")
+public class StadiumLayoutRequest {
+    @Schema(description = "Price zones of the stadium")
+    private List<PriceZoneDefinition> priceZones = new ArrayList<>();
+
+    @Schema(description = "Sections of the stadium")
+    private List<SectionDefinition> sections = new ArrayList<>();
+
+    public StadiumLayoutRequest() {
+    }
+
+    public StadiumLayoutRequest(List<PriceZoneDefinition> priceZones, List<SectionDefinition> sections) {
+        this.priceZones = priceZones;
+        this.sections = sections;
+    }
+
+    public List<PriceZoneDefinition> getPriceZones() {
+        return priceZones;
+    }
+
+    public void setPriceZones(List<PriceZoneDefinition> priceZones) {
+        this.priceZones = priceZones;
+    }
+
+    public List<SectionDefinition> getSections() {
+        return sections;
+    }
+
+    public void setSections(List<SectionDefinition> sections) {
+        this.sections = sections;
+    }
+
+    @Schema(description = "Price zone with the price of every seat in it")
+    public static class PriceZoneDefinition {
+        @Schema(description = "Name of the price zone", example = "Category 1")
+        private String name;
+
+        @Schema(description = "Price of a seat in the zone", example = "120.00")
+        private BigDecimal price;
+
+        public PriceZoneDefinition() {
+        }
+
+        public PriceZoneDefinition(String name, BigDecimal price) {
+            this.name = name;
+            this.price = price;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+    }
+
+    @Schema(description = "Section of the stadium with its seat ranges")
+    public static class SectionDefinition {
+        @Schema(description = "Name of the section", example = "North Stand 101")
+        private String name;
+
+        @Schema(description = "Name of the default price zone of the section", example = "Category 1")
+        private String priceZone;
+
+        @Schema(description = "Seat ranges of the section")
+        private List<SeatRangeDefinition> seatRanges = new ArrayList<>();
+
+        public SectionDefinition() {
+        }
+
+        public SectionDefinition(String name, String priceZone, List<SeatRangeDefinition> seatRanges) {
+            this.name = name;
+            this.priceZone = priceZone;
+            this.seatRanges = seatRanges;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPriceZone() {
+            return priceZone;
+        }
+
+        public void setPriceZone(String priceZone) {
+            this.priceZone = priceZone;
+        }
+
+        public List<SeatRangeDefinition> getSeatRanges() {
+            return seatRanges;
+        }
+
+        public void setSeatRanges(List<SeatRangeDefinition> seatRanges) {
+            this.seatRanges = seatRanges;
+        }
+    }
+
+    @Schema(description = "Consecutive seats of one row")
+    public static class SeatRangeDefinition {
+        @Schema(description = "Row label", example = "A")
+        private String seatRow;
+
+        @Schema(description = "First seat number of the range", example = "1")
+        private Integer firstSeat;
+
+        @Schema(description = "Last seat number of the range", example = "30")
+        private Integer lastSeat;
+
+        @Schema(description = "Price zone overriding the zone of the section", example = "Category 2")
+        private String priceZone;
+
+        public SeatRangeDefinition() {
+        }
+
+        public SeatRangeDefinition(String seatRow, Integer firstSeat, Integer lastSeat, String priceZone) {
+            this.seatRow = seatRow;
+            this.firstSeat = firstSeat;
+            this.lastSeat = lastSeat;
+            this.priceZone = priceZone;
+        }
+
+        public String getSeatRow() {
+            return seatRow;
+        }
+
+        public void setSeatRow(String seatRow) {
+            this.seatRow = seatRow;
+        }
+
+        public Integer getFirstSeat() {
+            return firstSeat;
+        }
+
+        public void setFirstSeat(Integer firstSeat) {
+            this.firstSeat = firstSeat;
+        }
+
+        public Integer getLastSeat() {
+            return lastSeat;
+        }
+
+        public void setLastSeat(Integer lastSeat) {
+            this.lastSeat = lastSeat;
+        }
+
+        public String getPriceZone() {
+            return priceZone;
+        }
+
+        public void setPriceZone(String priceZone) {
+            this.priceZone = priceZone;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.stadium_tickets.payload.response;
+
+import java.util.List;
+
+public class FixtureScheduleResponse {
+    private int requested;
+    private int created;
+    private int rejected;
+    private List<FixtureResult> results;
+
+    public FixtureScheduleResponse(int requested, int created, int rejected, List<FixtureResult> results) {
+        this.requested = requested;
+        this.created = created;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<FixtureResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<FixtureResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Result of one fixture, in request order: the ID of the created match or the reason it was rejected.
+     */
+    public static class FixtureResult {
+        private int index;
+        private Long matchId;
+        private String error;
+
+        public FixtureResult(int index, Long matchId, String error) {
+            this.index = index;
+            this.matchId = matchId;
+            this.error = error;
+        }
+
+        public static FixtureResult created(int index, Long matchId) {
+            return new FixtureResult(index, matchId, null);
+        }
+
+        public static FixtureResult rejected(int index, String error) {
+            return new FixtureResult(index, null, error);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Long getMatchId() {
+            return matchId;
+        }
+
+        public void setMatchId(Long matchId) {
+            this.matchId = matchId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+
+        public boolean isCreated() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.stadium_tickets.payload.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by id. The next page starts after the last id of this one,
+ * so every page costs one index range scan no matter how deep the client has paged.
+ * The cursor is opaque to clients: Base64 of the listing scope and the last id, it is only
+ * accepted by the listing that issued it.
+ */
+public class KeysetPage<T> {
+
+    // Request parameter default, hence a String
+    public static final String DEFAULT_LIMIT = "100";
+    public static final int MAX_LIMIT = 1000;
+
+    private static final long FIRST_ID = 0L;
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    /**
+     * Builds the page from rows fetched with {@code limit + 1}: the extra row only tells whether
+     * another page exists and is not returned.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, String scope, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, encodeCursor(scope, idOf.apply(items.get(limit - 1))));
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("Page limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    /**
+     * Returns the id the page starts after, or 0 for the first page.
+     */
+    public static long decodeCursor(String cursor, String scope) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST_ID;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+        String prefix = scope + ":";
+        if (!decoded.startsWith(prefix)) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+        try {
+            return Long.parseLong(decoded.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+    }
+
+    public static String encodeCursor(String scope, long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((scope + ":" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.stadium_tickets.payload.response;
+
+public class QueueStatusResponse {
+    private String token;
+    private Long matchId;
+    private long position;
+    private boolean admitted;
+    private long estimatedWaitSeconds;
+
+    public QueueStatusResponse(String token, Long matchId, long position, boolean admitted, long estimatedWaitSeconds) {
+        this.token = token;
+        this.matchId = matchId;
+        this.position = position;
+        this.admitted = admitted;
+        this.estimatedWaitSeconds = estimatedWaitSeconds;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    public boolean isAdmitted() {
+        return admitted;
+    }
+
+    public void setAdmitted(boolean admitted) {
+        this.admitted = admitted;
+    }
+
+    public long getEstimatedWaitSeconds() {
+        return estimatedWaitSeconds;
+    }
+
+    public void setEstimatedWaitSeconds(long estimatedWaitSeconds) {
+        this.estimatedWaitSeconds = estimatedWaitSeconds;
+    }
+}
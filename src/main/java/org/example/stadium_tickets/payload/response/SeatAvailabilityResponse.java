@@ -0,0 +1,68 @@
+package org.example.stadium_tickets.payload.response;
+
+public class SeatAvailabilityResponse {
+    private Long matchId;
+    private long totalSeats;
+    private long freeSeats;
+    private long heldSeats;
+    private long soldSeats;
+    private long refundedSeats;
+
+    public SeatAvailabilityResponse(Long matchId, long totalSeats, long freeSeats, long heldSeats, long soldSeats,
+                                    long refundedSeats) {
+        this.matchId = matchId;
+        this.totalSeats = totalSeats;
+        this.freeSeats = freeSeats;
+        this.heldSeats = heldSeats;
+        this.soldSeats = soldSeats;
+        this.refundedSeats = refundedSeats;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public long getTotalSeats() {
+        return totalSeats;
+    }
+
+    public void setTotalSeats(long totalSeats) {
+        this.totalSeats = totalSeats;
+    }
+
+    public long getFreeSeats() {
+        return freeSeats;
+    }
+
+    public void setFreeSeats(long freeSeats) {
+        this.freeSeats = freeSeats;
+    }
+
+    public long getHeldSeats() {
+        return heldSeats;
+    }
+
+    public void setHeldSeats(long heldSeats) {
+        this.heldSeats = heldSeats;
+    }
+
+    public long getSoldSeats() {
+        return soldSeats;
+    }
+
+    public void setSoldSeats(long soldSeats) {
+        this.soldSeats = soldSeats;
+    }
+
+    public long getRefundedSeats() {
+        return refundedSeats;
+    }
+
+    public void setRefundedSeats(long refundedSeats) {
+        this.refundedSeats = refundedSeats;
+    }
+}
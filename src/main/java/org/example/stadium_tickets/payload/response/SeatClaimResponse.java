@@ -0,0 +1,39 @@
+package org.example.stadium_tickets.payload.response;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+
+public class SeatClaimResponse {
+    private Long matchId;
+    private Long ticketId;
+    private TicketStatus status;
+
+    public SeatClaimResponse(Long matchId, Long ticketId, TicketStatus status) {
+        this.matchId = matchId;
+        this.ticketId = ticketId;
+        this.status = status;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(Long ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public TicketStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TicketStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.stadium_tickets.payload.response;
+
+import org.example.stadium_tickets.inventory.SeatHold;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SeatHoldResponse {
+    private String holdId;
+    private Long matchId;
+    private List<Long> ticketIds;
+    private Instant expiresAt;
+    private String state;
+
+    public SeatHoldResponse(String holdId, Long matchId, List<Long> ticketIds, Instant expiresAt, String state) {
+        this.holdId = holdId;
+        this.matchId = matchId;
+        this.ticketIds = ticketIds;
+        this.expiresAt = expiresAt;
+        this.state = state;
+    }
+
+    public static SeatHoldResponse from(SeatHold hold) {
+        return new SeatHoldResponse(hold.getId(), hold.getMatchId(), hold.getTicketIds(),
+                hold.getExpiresAt(), hold.getState().name());
+    }
+
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public List<Long> getTicketIds() {
+        return ticketIds;
+    }
+
+    public void setTicketIds(List<Long> ticketIds) {
+        this.ticketIds = ticketIds;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+}
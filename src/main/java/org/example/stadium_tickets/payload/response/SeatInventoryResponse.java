@@ -0,0 +1,57 @@
+package org.example.stadium_tickets.payload.response;
+
+public class SeatInventoryResponse {
+    private Long matchId;
+    private int totalSeats;
+    private int freeSeats;
+    private int soldSeats;
+    private int heldSeats;
+
+    public SeatInventoryResponse(Long matchId, int totalSeats, int freeSeats, int soldSeats, int heldSeats) {
+        this.matchId = matchId;
+        this.totalSeats = totalSeats;
+        this.freeSeats = freeSeats;
+        this.soldSeats = soldSeats;
+        this.heldSeats = heldSeats;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    public void setTotalSeats(int totalSeats) {
+        this.totalSeats = totalSeats;
+    }
+
+    public int getFreeSeats() {
+        return freeSeats;
+    }
+
+    public void setFreeSeats(int freeSeats) {
+        this.freeSeats = freeSeats;
+    }
+
+    public int getSoldSeats() {
+        return soldSeats;
+    }
+
+    public void setSoldSeats(int soldSeats) {
+        this.soldSeats = soldSeats;
+    }
+
+    public int getHeldSeats() {
+        return heldSeats;
+    }
+
+    public void setHeldSeats(int heldSeats) {
+        this.heldSeats = heldSeats;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.stadium_tickets.payload.response;
+
+import org.example.stadium_tickets.entity.PriceZone;
+import org.example.stadium_tickets.entity.StadiumSection;
+
+import java.util.List;
+
+public class StadiumLayoutResponse {
+    private Long stadiumId;
+    private long seatCount;
+    private List<PriceZone> priceZones;
+    private List<StadiumSection> sections;
+
+    public StadiumLayoutResponse(Long stadiumId, long seatCount, List<PriceZone> priceZones,
+                                 List<StadiumSection> sections) {
+        this.stadiumId = stadiumId;
+        this.seatCount = seatCount;
+        this.priceZones = priceZones;
+        this.sections = sections;
+    }
+
+    public Long getStadiumId() {
+        return stadiumId;
+    }
+
+    public void setStadiumId(Long stadiumId) {
+        this.stadiumId = stadiumId;
+    }
+
+    public long getSeatCount() {
+        return seatCount;
+    }
+
+    public void setSeatCount(long seatCount) {
+        this.seatCount = seatCount;
+    }
+
+    public List<PriceZone> getPriceZones() {
+        return priceZones;
+    }
+
+    public void setPriceZones(List<PriceZone> priceZones) {
+        this.priceZones = priceZones;
+    }
+
+    public List<StadiumSection> getSections() {
+        return sections;
+    }
+
+    public void setSections(List<StadiumSection> sections) {
+        this.sections = sections;
+    }
+}
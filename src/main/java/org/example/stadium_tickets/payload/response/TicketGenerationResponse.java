@@ -0,0 +1,47 @@
+package org.example.stadium_tickets.payload.response;
+
+public class TicketGenerationResponse {
+    private Long matchId;
+    private long ticketCount;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    public TicketGenerationResponse(Long matchId, long ticketCount, long elapsedMillis, long rowsPerSecond) {
+        this.matchId = matchId;
+        this.ticketCount = ticketCount;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public long getTicketCount() {
+        return ticketCount;
+    }
+
+    public void setTicketCount(long ticketCount) {
+        this.ticketCount = ticketCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
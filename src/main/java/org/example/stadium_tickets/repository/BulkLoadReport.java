@@ -0,0 +1,11 @@
+package org.example.stadium_tickets.repository;
+
+/**
+ * Outcome of a {@link TicketBulkLoader} run.
+ */
+public record BulkLoadReport(long rows, long elapsedMillis, String method) {
+
+    public long rowsPerSecond() {
+        return elapsedMillis > 0 ? rows * 1000 / elapsedMillis : rows;
+    }
+}
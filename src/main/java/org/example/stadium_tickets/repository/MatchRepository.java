@@ -2,17 +2,47 @@ package org.example.stadium_tickets.repository;
 
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.repository.projection.MatchSummaryView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
+
+    String STATUS = "org.example.stadium_tickets.entity.TicketStatus";
+    // Seat counts come from the same query, the tickets are aggregated by the database and never loaded
+    String MATCH_SUMMARY = "select m.id as id, m.homeTeam as homeTeam, m.awayTeam as awayTeam, "
+            + "m.matchDate as matchDate, s.id as stadiumId, s.name as stadiumName, count(t.id) as totalSeats, "
+            + "sum(case when t.status = " + STATUS + ".FREE then 1 else 0 end) as freeSeats, "
+            + "sum(case when t.status = " + STATUS + ".HELD then 1 else 0 end) as heldSeats, "
+            + "sum(case when t.status = " + STATUS + ".SOLD then 1 else 0 end) as soldSeats "
+            + "from Match m join m.stadium s left join m.tickets t ";
+    String MATCH_SUMMARY_GROUP = " group by m.id, m.homeTeam, m.awayTeam, m.matchDate, s.id, s.name";
+
     List<Match> findByHomeTeam(String homeTeam);
     List<Match> findByAwayTeam(String awayTeam);
     List<Match> findByStadium(Stadium stadium);
     List<Match> findByMatchDateBetween(LocalDateTime start, LocalDateTime end);
     List<Match> findByHomeTeamAndAwayTeam(String homeTeam, String awayTeam);
+
+    @Query(MATCH_SUMMARY + "where m.id > :afterId" + MATCH_SUMMARY_GROUP + " order by m.id")
+    List<MatchSummaryView> findSummariesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(MATCH_SUMMARY + "where m.id = :id" + MATCH_SUMMARY_GROUP)
+    Optional<MatchSummaryView> findSummaryById(@Param("id") Long id);
+
+    @Query("select m.id from Match m where m.stadium.id = :stadiumId")
+    List<Long> findIdsByStadiumId(@Param("stadiumId") Long stadiumId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Match m where m.id = :id")
+    int deleteMatchById(@Param("id") Long id);
 }
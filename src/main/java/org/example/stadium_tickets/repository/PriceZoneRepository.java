@@ -0,0 +1,20 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.PriceZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PriceZoneRepository extends JpaRepository<PriceZone, Long> {
+    List<PriceZone> findByStadiumIdOrderById(Long stadiumId);
+    void deleteByStadiumId(Long stadiumId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from PriceZone z where z.stadium.id = :stadiumId")
+    int deleteAllByStadiumId(@Param("stadiumId") Long stadiumId);
+}
@@ -0,0 +1,12 @@
+package org.example.stadium_tickets.repository;
+
+/**
+ * A seat of a match identified by its row and number, written as "row:number" in messages.
+ */
+public record SeatKey(String seatRow, String seatNumber) {
+
+    @Override
+    public String toString() {
+        return seatRow + ":" + seatNumber;
+    }
+}
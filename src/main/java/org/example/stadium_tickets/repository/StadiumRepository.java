@@ -1,7 +1,11 @@
 package org.example.stadium_tickets.repository;
 
 import org.example.stadium_tickets.entity.Stadium;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +16,9 @@ public interface StadiumRepository extends JpaRepository<Stadium, Long> {
     Optional<Stadium> findByName(String name);
     List<Stadium> findByCity(String city);
     boolean existsByName(String name);
+    List<Stadium> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Stadium s where s.id = :id")
+    int deleteStadiumById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.StadiumSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StadiumSectionRepository extends JpaRepository<StadiumSection, Long> {
+    @Query("select distinct s from StadiumSection s left join fetch s.seatRanges where s.stadium.id = :stadiumId order by s.id")
+    List<StadiumSection> findWithSeatRangesByStadiumId(@Param("stadiumId") Long stadiumId);
+
+    void deleteByStadiumId(Long stadiumId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from SeatRange r where r.section.id in (select s.id from StadiumSection s where s.stadium.id = :stadiumId)")
+    int deleteSeatRangesByStadiumId(@Param("stadiumId") Long stadiumId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from StadiumSection s where s.stadium.id = :stadiumId")
+    int deleteAllByStadiumId(@Param("stadiumId") Long stadiumId);
+}
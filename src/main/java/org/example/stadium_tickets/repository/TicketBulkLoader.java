@@ -0,0 +1,244 @@
+package org.example.stadium_tickets.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams new ticket rows into the ticket table without going through Hibernate.
+ * On PostgreSQL the rows are sent with a single {@code COPY ... FROM STDIN}, one encoded chunk at a time;
+ * other databases, such as H2 in tests, get JDBC batches of multi-row inserts.
+ * IDs are drawn from the ticket sequence the way Hibernate's pooled optimizer draws them: every sequence value
+ * reserves a block of {@value #ID_BLOCK_SIZE} IDs ending at that value, so one sequence call covers fifty rows
+ * instead of every row taking a block of its own, and the IDs never collide with the ones Hibernate hands out.
+ * Either way at most one chunk of rows is held in memory, and the rows are written on the connection
+ * of the current transaction, so they are committed or rolled back together with it.
+ * A seat that already exists for its match breaks the unique seat constraint; the load then fails with
+ * {@link DuplicateKeyException} and the caller's transaction rolls back every row written so far.
+ */
+@Component
+public class TicketBulkLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketBulkLoader.class);
+    private static final String COLUMNS = "match_id, seat_row, seat_number, price, status_code, version";
+    private static final String COPY_SQL = "COPY ticket (id, " + COLUMNS + ") FROM STDIN";
+    // INCREMENT BY of the sequence since V9, and allocationSize of the Ticket ID mapping
+    static final int ID_BLOCK_SIZE = 50;
+    private static final String POSTGRES_ID_BLOCKS_SQL =
+            "SELECT nextval('ticket_id_seq_bigint') FROM generate_series(1, ?)";
+    private static final String ID_BLOCKS_SQL = "SELECT NEXT VALUE FOR ticket_id_seq_bigint FROM SYSTEM_RANGE(1, ?)";
+    private static final int ROWS_PER_INSERT = 100;
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final DataSource dataSource;
+    private final int chunkSize;
+
+    @Autowired
+    public TicketBulkLoader(DataSource dataSource,
+                            @Value("${tickets.bulk-load.chunk-size:5000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Bulk load chunk size must be positive");
+        }
+        this.dataSource = dataSource;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkLoadReport load(Iterator<TicketRow> rows) {
+        long started = System.nanoTime();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean copy = connection.isWrapperFor(PGConnection.class);
+            long loaded = copy ? copy(connection, rows) : insert(connection, rows);
+            BulkLoadReport report = new BulkLoadReport(loaded, (System.nanoTime() - started) / 1_000_000,
+                    copy ? "COPY" : "BATCH");
+            logger.info("Loaded {} tickets with {} in {} ms ({} rows/s)",
+                    report.rows(), report.method(), report.elapsedMillis(), report.rowsPerSecond());
+            return report;
+        } catch (SQLException e) {
+            if (isUniqueViolation(e)) {
+                throw new DuplicateKeyException("Bulk ticket load hit a seat that already exists: " + e.getMessage(), e);
+            }
+            throw new DataAccessResourceFailureException("Bulk ticket load failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // A failed batch reports the failing row as the next exception, COPY reports it directly
+    private static boolean isUniqueViolation(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            for (SQLException next = cause instanceof SQLException sql ? sql : null; next != null; next = next.getNextException()) {
+                if (UNIQUE_VIOLATION.equals(next.getSQLState())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long copy(Connection connection, Iterator<TicketRow> rows) throws SQLException {
+        // IDs are reserved on the same connection before the COPY of their chunk starts
+        List<TicketRow> chunk = new ArrayList<>(chunkSize);
+        CopyIn copyIn = null;
+        try {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            while (rows.hasNext()) {
+                chunk.add(rows.next());
+                if (chunk.size() == chunkSize || !rows.hasNext()) {
+                    long[] ids = reserveIds(connection, chunk.size(), POSTGRES_ID_BLOCKS_SQL);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        encoded.writeBytes(copyLine(ids[i], chunk.get(i)).getBytes(StandardCharsets.UTF_8));
+                    }
+                    chunk.clear();
+                    if (copyIn == null) {
+                        copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                    }
+                    copyIn.writeToCopy(encoded.toByteArray(), 0, encoded.size());
+                    encoded.reset();
+                }
+            }
+            return copyIn != null ? copyIn.endCopy() : 0;
+        } finally {
+            if (copyIn != null && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private long insert(Connection connection, Iterator<TicketRow> rows) throws SQLException {
+        long loaded = 0;
+        List<TicketRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize || !rows.hasNext()) {
+                loaded += insertChunk(connection, chunk);
+                chunk.clear();
+            }
+        }
+        return loaded;
+    }
+
+    private int insertChunk(Connection connection, List<TicketRow> chunk) throws SQLException {
+        long[] ids = reserveIds(connection, chunk.size(), ID_BLOCKS_SQL);
+        int fullStatements = chunk.size() / ROWS_PER_INSERT;
+        if (fullStatements > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(insertSql(ROWS_PER_INSERT))) {
+                for (int i = 0; i < fullStatements; i++) {
+                    bind(statement, chunk, ids, i * ROWS_PER_INSERT, (i + 1) * ROWS_PER_INSERT);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+        int rest = fullStatements * ROWS_PER_INSERT;
+        if (rest < chunk.size()) {
+            try (PreparedStatement statement = connection.prepareStatement(insertSql(chunk.size() - rest))) {
+                bind(statement, chunk, ids, rest, chunk.size());
+                statement.executeUpdate();
+            }
+        }
+        return chunk.size();
+    }
+
+    /**
+     * Reserves IDs for the given number of rows with one query, one sequence value per block.
+     * A value v stands for the IDs v - 49 to v, as it does for Hibernate's pooled optimizer.
+     */
+    private static long[] reserveIds(Connection connection, int rows, String sql) throws SQLException {
+        long[] ids = new long[rows];
+        int blocks = (rows + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int next = 0;
+                while (resultSet.next() && next < rows) {
+                    long high = resultSet.getLong(1);
+                    // The first value of a new sequence is 1 and only covers itself
+                    for (long id = Math.max(1, high - ID_BLOCK_SIZE + 1); id <= high && next < rows; id++) {
+                        ids[next++] = id;
+                    }
+                }
+                if (next < rows) {
+                    // Only possible for the block that starts the sequence, take one more value for the rest
+                    long[] rest = reserveIds(connection, rows - next, sql);
+                    System.arraycopy(rest, 0, ids, next, rest.length);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void bind(PreparedStatement statement, List<TicketRow> rows, long[] ids, int from, int to)
+            throws SQLException {
+        int parameter = 1;
+        for (int i = from; i < to; i++) {
+            TicketRow row = rows.get(i);
+            statement.setLong(parameter++, ids[i]);
+            statement.setLong(parameter++, row.matchId());
+            statement.setString(parameter++, row.seatRow());
+            statement.setString(parameter++, row.seatNumber());
+            statement.setBigDecimal(parameter++, row.price());
+            statement.setShort(parameter++, row.status().getCode());
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ticket (id, " + COLUMNS + ") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, 0)");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Encodes a row in the COPY text format: tab separated columns, \N for null, backslash escapes.
+     */
+    static String copyLine(long id, TicketRow row) {
+        return id + "\t" + row.matchId() + "\t" + copyValue(row.seatRow()) + "\t" + copyValue(row.seatNumber()) + "\t"
+                + row.price().toPlainString() + "\t" + row.status().getCode() + "\t0\n";
+    }
+
+    private static String copyValue(String value) {
+        if (value == null) {
+            return "\\N";
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -2,17 +2,71 @@ package org.example.stadium_tickets.repository;
 
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.repository.projection.MatchStatusCountView;
+import org.example.stadium_tickets.repository.projection.TicketSeatView;
+import org.example.stadium_tickets.repository.projection.TicketStatusView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketSeatLookup, TicketStatusUpdate {
     List<Ticket> findByMatch(Match match);
-    List<Ticket> findByStatus(String status);
-    List<Ticket> findByMatchAndStatus(Match match, String status);
+    List<Ticket> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    List<Ticket> findByStatusAndIdGreaterThanOrderByIdAsc(TicketStatus status, Long afterId, Pageable pageable);
+    List<Ticket> findByMatchAndStatus(Match match, TicketStatus status);
     Optional<Ticket> findByMatchAndSeatRowAndSeatNumber(Match match, String seatRow, String seatNumber);
-    long countByMatchAndStatus(Match match, String status);
-}
\ No newline at end of file
+    long countByMatchAndStatus(Match match, TicketStatus status);
+    boolean existsByMatchId(Long matchId);
+
+    @Query("select t.id as id, t.status as status from Ticket t where t.match.id = :matchId")
+    List<TicketStatusView> findStatusViewsByMatchId(@Param("matchId") Long matchId);
+
+    @Query("select t.match.id as matchId, t.status as status, count(t) as tickets from Ticket t "
+            + "group by t.match.id, t.status")
+    List<MatchStatusCountView> countByMatchIdAndStatus();
+
+    @Query("select t.id as id, t.status as status, t.seatRow as seatRow, t.seatNumber as seatNumber, t.price as price " +
+           "from Ticket t where t.match.id = :matchId")
+    List<TicketSeatView> findSeatViewsByMatchId(@Param("matchId") Long matchId);
+
+    @Query("select t.match.id from Ticket t where t.id = :id")
+    Optional<Long> findMatchIdById(@Param("id") Long id);
+
+    @Query("select t.status from Ticket t where t.id = :id")
+    Optional<TicketStatus> findStatusById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.status = :status, t.version = t.version + 1 where t.id = :id and t.status = :expected")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("expected") TicketStatus expected, @Param("status") TicketStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.status = :status, t.version = t.version + 1 " +
+           "where t.match.id = :matchId and t.id in :ids and t.status = :expected")
+    int updateStatusForMatchIfCurrent(@Param("matchId") Long matchId, @Param("ids") Collection<Long> ids,
+                                      @Param("expected") TicketStatus expected, @Param("status") TicketStatus status);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.status = :status, t.version = t.version + 1 where t.status = :expected")
+    int updateAllWithStatus(@Param("expected") TicketStatus expected, @Param("status") TicketStatus status);
+
+    // Deletes at most limit tickets of the match, so deleting a large match can be split into short transactions
+    @Modifying
+    @Query(value = "DELETE FROM ticket WHERE id IN (SELECT id FROM ticket WHERE match_id = :matchId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkByMatchId(@Param("matchId") Long matchId, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Ticket t where t.match.id = :matchId")
+    int deleteAllByMatchId(@Param("matchId") Long matchId);
+}
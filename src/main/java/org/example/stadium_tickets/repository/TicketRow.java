@@ -0,0 +1,11 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * A ticket row to be written by the {@link TicketBulkLoader}.
+ */
+public record TicketRow(Long matchId, String seatRow, String seatNumber, BigDecimal price, TicketStatus status) {
+}
@@ -0,0 +1,13 @@
+package org.example.stadium_tickets.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lookups of tickets by their seats. Each seat is matched on its row and number columns, so the queries
+ * use ticket(match_id, seat_row, seat_number) and labels containing ':' cannot be confused.
+ */
+public interface TicketSeatLookup {
+    List<Long> findIdsByMatchIdAndSeats(Long matchId, Collection<SeatKey> seats);
+    List<SeatKey> findSeatsByMatchIdAndSeats(Long matchId, Collection<SeatKey> seats);
+}
@@ -0,0 +1,67 @@
+package org.example.stadium_tickets.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Builds one equality group per seat, {@code (seat_row = ? and seat_number = ?) or ...}, which the database
+ * serves with one index lookup per seat. Large collections are queried in chunks to bound the statement size.
+ */
+public class TicketSeatLookupImpl implements TicketSeatLookup {
+
+    private static final int MAX_SEATS_PER_QUERY = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsByMatchIdAndSeats(Long matchId, Collection<SeatKey> seats) {
+        List<Long> ids = new ArrayList<>();
+        for (List<SeatKey> chunk : chunks(seats)) {
+            ids.addAll(query("select t.id", Long.class, matchId, chunk).getResultList());
+        }
+        return ids;
+    }
+
+    @Override
+    public List<SeatKey> findSeatsByMatchIdAndSeats(Long matchId, Collection<SeatKey> seats) {
+        List<SeatKey> found = new ArrayList<>();
+        for (List<SeatKey> chunk : chunks(seats)) {
+            for (Object[] seat : query("select t.seatRow, t.seatNumber", Object[].class, matchId, chunk).getResultList()) {
+                found.add(new SeatKey((String) seat[0], (String) seat[1]));
+            }
+        }
+        return found;
+    }
+
+    private <T> TypedQuery<T> query(String select, Class<T> resultType, Long matchId, List<SeatKey> seats) {
+        StringBuilder jpql = new StringBuilder(select).append(" from Ticket t where t.match.id = :matchId and (");
+        for (int i = 0; i < seats.size(); i++) {
+            if (i > 0) {
+                jpql.append(" or ");
+            }
+            jpql.append("(t.seatRow = :row").append(i).append(" and t.seatNumber = :number").append(i).append(')');
+        }
+        TypedQuery<T> query = entityManager.createQuery(jpql.append(')').toString(), resultType)
+                .setParameter("matchId", matchId);
+        for (int i = 0; i < seats.size(); i++) {
+            query.setParameter("row" + i, seats.get(i).seatRow());
+            query.setParameter("number" + i, seats.get(i).seatNumber());
+        }
+        return query;
+    }
+
+    private static List<List<SeatKey>> chunks(Collection<SeatKey> seats) {
+        List<SeatKey> all = new ArrayList<>(seats);
+        List<List<SeatKey>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_SEATS_PER_QUERY) {
+            chunks.add(all.subList(from, Math.min(from + MAX_SEATS_PER_QUERY, all.size())));
+        }
+        return chunks;
+    }
+}
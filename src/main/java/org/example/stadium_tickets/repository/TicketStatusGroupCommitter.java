@@ -0,0 +1,202 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit stage for ticket status changes.
+ * Concurrent changes are gathered for a short window, or until the batch is full, and written with one
+ * JDBC batch of conditional updates in one transaction, so many purchases share a single commit.
+ * Every change is completed on its own: with the changed ticket when it was in the expected status, empty
+ * otherwise. The changed rows are read back with one query in the same transaction, so callers neither
+ * reload the ticket one by one nor see a state written after their own change.
+ * When a row makes the batch fail, the batch is split in halves and retried until the failing change is
+ * alone, so only that change fails and the others are still committed.
+ * This relies on the JDBC driver reporting update counts for batched statements, as PostgreSQL and H2 do.
+ */
+public class TicketStatusGroupCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketStatusGroupCommitter.class);
+    private static final String UPDATE_SQL =
+            "UPDATE ticket SET status_code = ?, version = version + 1 WHERE id = ? AND status_code = ?";
+    private static final String SELECT_SQL =
+            "SELECT id, match_id, seat_row, seat_number, price, version FROM ticket WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long maxWaitMicros;
+    private final BlockingQueue<StatusChange> queue = new LinkedBlockingQueue<>();
+    private ExecutorService flusher;
+    private volatile boolean running;
+
+    public TicketStatusGroupCommitter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      int maxBatchSize, long maxWaitMicros) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMicros = maxWaitMicros;
+    }
+
+    public void start() {
+        running = true;
+        flusher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.submit(this::run);
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        List<StatusChange> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(change -> change.result.completeExceptionally(
+                new IllegalStateException("Ticket status writer is shutting down")));
+    }
+
+    public CompletableFuture<Optional<Ticket>> submit(Long ticketId, TicketStatus expectedStatus, TicketStatus newStatus) {
+        StatusChange change = new StatusChange(ticketId, expectedStatus, newStatus, new CompletableFuture<>());
+        if (!running) {
+            change.result.completeExceptionally(new IllegalStateException("Ticket status writer is not running"));
+            return change.result;
+        }
+        queue.add(change);
+        return change.result;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                StatusChange first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<StatusChange> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Waits for more changes until the window closes or the batch is full
+    private void collect(List<StatusChange> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            StatusChange next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    void flush(List<StatusChange> batch) {
+        List<Optional<Ticket>> results;
+        try {
+            results = transactionTemplate.execute(status -> {
+                int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(),
+                        (statement, change) -> {
+                            statement.setShort(1, change.newStatus.getCode());
+                            statement.setLong(2, change.ticketId);
+                            statement.setShort(3, change.expectedStatus.getCode());
+                        })[0];
+                return changedTickets(batch, counts);
+            });
+        } catch (RuntimeException e) {
+            // A lost connection fails every row alike, anything else may come from a single row
+            if (batch.size() > 1 && e instanceof DataAccessException && !(e instanceof DataAccessResourceFailureException)) {
+                logger.warn("Group commit of {} ticket status changes failed, retrying in halves: {}", batch.size(), e.getMessage());
+                int half = batch.size() / 2;
+                flush(batch.subList(0, half));
+                flush(batch.subList(half, batch.size()));
+                return;
+            }
+            logger.error("Group commit of {} ticket status changes failed: {}", batch.size(), e.getMessage());
+            batch.forEach(change -> change.result.completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(results.get(i));
+        }
+    }
+
+    // The updated rows are locked until the commit, so what is read here is what gets committed
+    private List<Optional<Ticket>> changedTickets(List<StatusChange> batch, int[] counts) {
+        List<Long> changedIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[i] > 0) {
+                changedIds.add(batch.get(i).ticketId);
+            }
+        }
+        Map<Long, Ticket> rows = new HashMap<>();
+        if (!changedIds.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(changedIds.size(), "?"));
+            jdbcTemplate.query(String.format(SELECT_SQL, placeholders), resultSet -> {
+                Match match = new Match();
+                match.setId(resultSet.getLong("match_id"));
+                Ticket ticket = new Ticket(match, resultSet.getString("seat_row"), resultSet.getString("seat_number"),
+                        resultSet.getBigDecimal("price"));
+                ticket.setId(resultSet.getLong("id"));
+                ticket.setVersion(resultSet.getLong("version"));
+                rows.put(ticket.getId(), ticket);
+            }, changedIds.toArray());
+        }
+
+        // A ticket changed more than once in the batch is returned as each change left it
+        List<Optional<Ticket>> results = new ArrayList<>(Collections.nCopies(batch.size(), Optional.empty()));
+        Map<Long, Integer> laterChanges = new HashMap<>();
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            StatusChange change = batch.get(i);
+            Ticket row = rows.get(change.ticketId);
+            if (counts[i] == 0 || row == null) {
+                continue;
+            }
+            int later = laterChanges.merge(change.ticketId, 1, Integer::sum) - 1;
+            Ticket ticket = new Ticket(row.getMatch(), row.getSeatRow(), row.getSeatNumber(), row.getPrice());
+            ticket.setId(row.getId());
+            ticket.setStatus(change.newStatus);
+            ticket.setVersion(row.getVersion() - later);
+            results.set(i, Optional.of(ticket));
+        }
+        return results;
+    }
+
+    record StatusChange(Long ticketId, TicketStatus expectedStatus, TicketStatus newStatus,
+                        CompletableFuture<Optional<Ticket>> result) {
+    }
+}
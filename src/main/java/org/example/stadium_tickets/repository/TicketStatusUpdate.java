@@ -0,0 +1,14 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+
+import java.util.Optional;
+
+/**
+ * Conditional status change that returns the changed ticket from the same statement, so claiming
+ * a ticket and answering with it takes a single round trip.
+ */
+public interface TicketStatusUpdate {
+    Optional<Ticket> updateStatusIfCurrentReturning(Long id, TicketStatus expected, TicketStatus status);
+}
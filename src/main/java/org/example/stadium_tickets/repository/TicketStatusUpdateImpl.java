@@ -0,0 +1,64 @@
+package org.example.stadium_tickets.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs the conditional update with {@code RETURNING} on PostgreSQL and as a {@code FINAL TABLE} query
+ * on other databases, such as H2 in tests. The ticket is built from the returned row, its match is a
+ * reference that is not loaded. Like the other modifying queries it flushes before and clears after,
+ * so no stale copy of the ticket stays in the persistence context.
+ */
+public class TicketStatusUpdateImpl implements TicketStatusUpdate {
+
+    private static final String COLUMNS = "id, match_id, seat_row, seat_number, price, status_code, version";
+    private static final String UPDATE_SQL =
+            "UPDATE ticket SET status_code = :status, version = version + 1 WHERE id = :id AND status_code = :expected";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private String sql;
+
+    @Override
+    public Optional<Ticket> updateStatusIfCurrentReturning(Long id, TicketStatus expected, TicketStatus status) {
+        entityManager.flush();
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql())
+                .setParameter("status", status.getCode())
+                .setParameter("id", id)
+                .setParameter("expected", expected.getCode())
+                .getResultList();
+        entityManager.clear();
+        return rows.stream().findFirst().map(this::toTicket);
+    }
+
+    private Ticket toTicket(Object[] row) {
+        Ticket ticket = new Ticket(entityManager.getReference(Match.class, ((Number) row[1]).longValue()),
+                (String) row[2], (String) row[3], (BigDecimal) row[4]);
+        ticket.setId(((Number) row[0]).longValue());
+        ticket.setStatus(TicketStatus.fromCode(((Number) row[5]).intValue()));
+        ticket.setVersion(((Number) row[6]).longValue());
+        return ticket;
+    }
+
+    private String sql() {
+        if (sql == null) {
+            boolean postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+            sql = postgres
+                    ? UPDATE_SQL + " RETURNING " + COLUMNS
+                    : "SELECT " + COLUMNS + " FROM FINAL TABLE (" + UPDATE_SQL + ")";
+        }
+        return sql;
+    }
+}
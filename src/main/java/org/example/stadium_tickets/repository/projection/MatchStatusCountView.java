@@ -0,0 +1,12 @@
+package org.example.stadium_tickets.repository.projection;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+
+/**
+ * Number of tickets of a match in one status, used to rebuild the availability counters.
+ */
+public interface MatchStatusCountView {
+    Long getMatchId();
+    TicketStatus getStatus();
+    long getTickets();
+}
@@ -0,0 +1,20 @@
+package org.example.stadium_tickets.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Match projection with the stadium name and seat counts per status, returned by the match endpoints
+ * instead of the entity so that a match is never serialized together with its tickets.
+ */
+public interface MatchSummaryView {
+    Long getId();
+    String getHomeTeam();
+    String getAwayTeam();
+    LocalDateTime getMatchDate();
+    Long getStadiumId();
+    String getStadiumName();
+    long getTotalSeats();
+    long getFreeSeats();
+    long getHeldSeats();
+    long getSoldSeats();
+}
@@ -0,0 +1,12 @@
+package org.example.stadium_tickets.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Ticket projection with the seat position and price, used to build seat allocation indexes.
+ */
+public interface TicketSeatView extends TicketStatusView {
+    String getSeatRow();
+    String getSeatNumber();
+    BigDecimal getPrice();
+}
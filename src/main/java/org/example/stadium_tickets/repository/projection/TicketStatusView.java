@@ -0,0 +1,11 @@
+package org.example.stadium_tickets.repository.projection;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+
+/**
+ * Lightweight projection of a ticket used to build in-memory seat inventories without hydrating entities.
+ */
+public interface TicketStatusView {
+    Long getId();
+    TicketStatus getStatus();
+}
@@ -0,0 +1,189 @@
+package org.example.stadium_tickets.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers retried ticket purchases and cancellations that carry the same {@code Idempotency-Key} header
+ * with the response of the first execution, without running the request again.
+ * Keys are scoped to the user and stored with a SHA-256 fingerprint of the method, path and body of the
+ * request; reusing a key for a different request is rejected with 422 instead of replaying an unrelated
+ * response. Responses are kept in memory for a limited time, within a byte budget.
+ * Server errors are not stored, so the request can be retried with the same key.
+ */
+@Component
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+
+    @Autowired
+    public IdempotencyKeyFilter(@Value("${tickets.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                @Value("${tickets.idempotency.max-bytes:67108864}") long maxBytes) {
+        this.store = new IdempotencyStore(TimeUnit.SECONDS.toMillis(ttlSeconds), maxBytes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !request.getRequestURI().startsWith("/api/tickets")
+                || !(HttpMethod.POST.matches(method) || HttpMethod.DELETE.matches(method))
+                || !StringUtils.hasText(request.getHeader(IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency key is too long");
+            return;
+        }
+
+        // The body is read here for the fingerprint and handed on to the controller from memory
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = scopedKey(idempotencyKey);
+        byte[] fingerprint = fingerprint(cachedRequest);
+        IdempotencyStore.Entry previous = store.reserve(key, fingerprint, System.currentTimeMillis());
+        if (previous != null) {
+            if (!previous.matches(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency key was already used for a different request");
+            } else if (previous.isInProgress()) {
+                writeError(response, HttpStatus.CONFLICT, "A request with this idempotency key is still in progress");
+            } else {
+                logger.debug("Replaying response for idempotency key {}", idempotencyKey);
+                response.setStatus(previous.getStatus());
+                response.setHeader(REPLAYED_HEADER, "true");
+                if (previous.getContentType() != null) {
+                    response.setContentType(previous.getContentType());
+                }
+                response.getOutputStream().write(previous.getBody());
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            if (cachingResponse.getStatus() < 500) {
+                store.complete(key, cachingResponse.getStatus(), cachingResponse.getContentType(),
+                        cachingResponse.getContentAsByteArray());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static String scopedKey(String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String user = authentication != null ? authentication.getName() : "anonymous";
+        return user + " " + idempotencyKey;
+    }
+
+    private static byte[] fingerprint(CachedBodyRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String target = request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString() : request.getRequestURI();
+        digest.update((request.getMethod() + " " + target + "\n").getBytes(StandardCharsets.UTF_8));
+        return digest.digest(request.body);
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Request whose body has been read into memory, so it can be fingerprinted and still read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
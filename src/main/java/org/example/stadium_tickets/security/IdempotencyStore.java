@@ -0,0 +1,136 @@
+package org.example.stadium_tickets.security;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory store of responses by idempotency key, bounded by the approximate number of bytes it holds.
+ * Entries are kept in insertion order, so the oldest entries are evicted first, both when they expire
+ * and when the store is full. A key is reserved before its request runs, which lets a concurrent retry
+ * see that the first execution is still in progress. Every entry keeps the fingerprint of the request
+ * that reserved it, so a key reused for a different request can be told apart from a retry.
+ */
+public class IdempotencyStore {
+
+    // Rough cost of a map node, an entry and its fields besides the key, fingerprint and body bytes
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private long usedBytes;
+
+    public IdempotencyStore(long ttlMillis, long maxBytes) {
+        this.ttlMillis = ttlMillis;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Reserves the key for a new execution and returns null, or returns the entry of an earlier execution.
+     */
+    public synchronized Entry reserve(String key, byte[] fingerprint, long nowMillis) {
+        evictExpired(nowMillis);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, new Entry(key, nowMillis + ttlMillis, fingerprint, 0, null, null));
+        return null;
+    }
+
+    /**
+     * Stores the response of a reserved key. A response larger than the whole store evicts every other
+     * entry rather than being dropped, since dropping it would let a retry run the request again.
+     */
+    public synchronized void complete(String key, int status, String contentType, byte[] body) {
+        Entry reserved = entries.get(key);
+        if (reserved != null) {
+            put(key, new Entry(key, reserved.expiresAt, reserved.fingerprint, status, contentType, body));
+        }
+    }
+
+    /**
+     * Forgets the key, so the request can be retried, for example after a server error.
+     */
+    public synchronized void release(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            usedBytes -= removed.sizeBytes;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    // Replacing an entry keeps its position, so the insertion order stays the expiry order
+    private void put(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        usedBytes += entry.sizeBytes - (previous != null ? previous.sizeBytes : 0);
+        Iterator<Map.Entry<String, Entry>> oldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && oldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = oldest.next();
+            if (!candidate.getKey().equals(key)) {
+                usedBytes -= candidate.getValue().sizeBytes;
+                oldest.remove();
+            }
+        }
+    }
+
+    private void evictExpired(long nowMillis) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt > nowMillis) {
+                return;
+            }
+            usedBytes -= entry.sizeBytes;
+            iterator.remove();
+        }
+    }
+
+    public static final class Entry {
+        private final long expiresAt;
+        private final byte[] fingerprint;
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+        private final long sizeBytes;
+
+        private Entry(String key, long expiresAt, byte[] fingerprint, int status, String contentType, byte[] body) {
+            this.expiresAt = expiresAt;
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.sizeBytes = ENTRY_OVERHEAD_BYTES + 2L * key.length() + fingerprint.length
+                    + (contentType != null ? 2L * contentType.length() : 0) + (body != null ? body.length : 0);
+        }
+
+        public boolean isInProgress() {
+            return body == null;
+        }
+
+        public boolean matches(byte[] requestFingerprint) {
+            return Arrays.equals(fingerprint, requestFingerprint);
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
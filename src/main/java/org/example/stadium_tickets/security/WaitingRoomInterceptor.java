@@ -0,0 +1,102 @@
+package org.example.stadium_tickets.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.stadium_tickets.exception.WaitingRoomException;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Lets purchase requests through only when they carry a queue token admitted by the waiting room
+ * for the user making the request and the match being bought.
+ * The match is taken from the path, or from the ticket in the path; the ticket is only looked up once the token
+ * has been verified and admitted. Endpoints that name the match in their request body are checked by
+ * {@link WaitingRoomRequestBodyAdvice} once the body has been read.
+ */
+@Component
+public class WaitingRoomInterceptor implements HandlerInterceptor {
+
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    // Set while the check of a request waits for its body
+    static final String PENDING_CHECK_ATTRIBUTE = WaitingRoomInterceptor.class.getName() + ".pending";
+
+    private final WaitingRoomService waitingRoomService;
+    private final TicketRepository ticketRepository;
+
+    @Autowired
+    public WaitingRoomInterceptor(WaitingRoomService waitingRoomService, TicketRepository ticketRepository) {
+        this.waitingRoomService = waitingRoomService;
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        if (hasRequestBody(handler)) {
+            request.setAttribute(PENDING_CHECK_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+        requireAdmitted(request, matchIdFromPath(request));
+        return true;
+    }
+
+    /**
+     * Checks the queue token of the request against the match being bought and the signed in user.
+     */
+    public void requireAdmitted(HttpServletRequest request, Long matchId) {
+        requireAdmitted(request, () -> matchId);
+    }
+
+    private void requireAdmitted(HttpServletRequest request, Supplier<Long> matchId) {
+        request.removeAttribute(PENDING_CHECK_ATTRIBUTE);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication != null ? authentication.getName() : null;
+        waitingRoomService.requireAdmitted(request.getHeader(QUEUE_TOKEN_HEADER), matchId, username);
+    }
+
+    private static boolean hasRequestBody(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            for (MethodParameter parameter : method.getMethodParameters()) {
+                if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Supplier<Long> matchIdFromPath(HttpServletRequest request) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        try {
+            if (variables != null && variables.containsKey("matchId")) {
+                Long matchId = Long.valueOf(variables.get("matchId"));
+                return () -> matchId;
+            }
+            if (variables != null && variables.containsKey("id")) {
+                Long ticketId = Long.valueOf(variables.get("id"));
+                return () -> ticketRepository.findMatchIdById(ticketId).orElse(null);
+            }
+        } catch (NumberFormatException e) {
+            return () -> null;
+        }
+        throw new WaitingRoomException("Purchase request does not name its match", 0);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.stadium_tickets.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.payload.request.MatchScopedRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Finishes the waiting room check of purchase endpoints that name their match in the request body.
+ * Only acts on requests the {@link WaitingRoomInterceptor} has marked, and rejects a body without a match.
+ */
+@ControllerAdvice
+public class WaitingRoomRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final WaitingRoomInterceptor waitingRoomInterceptor;
+
+    @Autowired
+    public WaitingRoomRequestBodyAdvice(WaitingRoomInterceptor waitingRoomInterceptor) {
+        this.waitingRoomInterceptor = waitingRoomInterceptor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        HttpServletRequest request = currentRequest();
+        if (request != null && request.getAttribute(WaitingRoomInterceptor.PENDING_CHECK_ATTRIBUTE) != null) {
+            waitingRoomInterceptor.requireAdmitted(request, matchIdOf(body));
+        }
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                  Class<? extends HttpMessageConverter<?>> converterType) {
+        return afterBodyRead(body, inputMessage, parameter, targetType, converterType);
+    }
+
+    static Long matchIdOf(Object body) {
+        if (body instanceof MatchScopedRequest scoped) {
+            return scoped.getMatchId();
+        }
+        if (body instanceof Ticket ticket && ticket.getMatch() != null) {
+            return ticket.getMatch().getId();
+        }
+        return null;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.inventory.MatchAvailability;
+
+public interface AvailabilityService {
+    MatchAvailability getAvailability(Long matchId);
+    long count(Long matchId, TicketStatus status);
+    void rebuild();
+}
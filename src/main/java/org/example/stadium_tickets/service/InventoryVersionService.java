@@ -0,0 +1,6 @@
+package org.example.stadium_tickets.service;
+
+public interface InventoryVersionService {
+    long getVersion(Long matchId);
+    String getETag(Long matchId);
+}
@@ -2,14 +2,20 @@ package org.example.stadium_tickets.service;
 
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.request.FixtureScheduleRequest;
+import org.example.stadium_tickets.payload.response.FixtureScheduleResponse;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.repository.projection.MatchSummaryView;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MatchService {
-    List<Match> getAllMatches();
+    KeysetPage<MatchSummaryView> getMatches(String cursor, int limit);
+    MatchSummaryView getMatchSummary(Long id);
     Match getMatchById(Long id);
     Match createMatch(Match match);
+    FixtureScheduleResponse createFixtures(FixtureScheduleRequest request);
     Match updateMatch(Long id, Match match);
     void deleteMatch(Long id);
     List<Match> findByHomeTeam(String homeTeam);
@@ -0,0 +1,11 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import java.util.List;
+
+public interface SalesJournalService {
+    boolean isEnabled();
+    long record(Long matchId, List<Long> ticketIds, TicketStatus previousStatus, TicketStatus newStatus);
+    void makeDurable(long sequence);
+    void markApplied(long sequence);
+}
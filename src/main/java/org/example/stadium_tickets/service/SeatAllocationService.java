@@ -0,0 +1,9 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.inventory.SeatHold;
+
+import java.math.BigDecimal;
+
+public interface SeatAllocationService {
+    SeatHold holdBestAvailable(Long matchId, int quantity, BigDecimal minPrice, BigDecimal maxPrice, String owner);
+}
@@ -0,0 +1,12 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.inventory.SeatHold;
+
+import java.util.List;
+
+public interface SeatHoldService {
+    SeatHold createHold(Long matchId, List<Long> ticketIds, String owner);
+    SeatHold getHold(String holdId);
+    SeatHold confirmHold(String holdId, String owner);
+    void releaseHold(String holdId, String owner);
+}
@@ -0,0 +1,19 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SeatInventoryService {
+    MatchSeatInventory getInventory(Long matchId);
+    Optional<Long> findMatchOf(Long ticketId);
+    boolean purchase(Long matchId, Long ticketId);
+    boolean cancel(Long matchId, Long ticketId);
+    boolean transitionAll(Long matchId, List<Long> ticketIds, TicketStatus expectedStatus, TicketStatus newStatus);
+    int transitionEach(Long matchId, Collection<Long> ticketIds, TicketStatus expectedStatus, TicketStatus newStatus);
+    void evict(Long matchId);
+    void flush();
+}
@@ -0,0 +1,5 @@
+package org.example.stadium_tickets.service;
+
+public interface SeatMapService {
+    byte[] getSeatMap(Long matchId, boolean withLayout);
+}
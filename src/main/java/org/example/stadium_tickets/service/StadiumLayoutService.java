@@ -0,0 +1,11 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest;
+import org.example.stadium_tickets.payload.response.StadiumLayoutResponse;
+import org.example.stadium_tickets.payload.response.TicketGenerationResponse;
+
+public interface StadiumLayoutService {
+    StadiumLayoutResponse getLayout(Long stadiumId);
+    StadiumLayoutResponse replaceLayout(Long stadiumId, StadiumLayoutRequest request);
+    TicketGenerationResponse generateTickets(Long matchId);
+}
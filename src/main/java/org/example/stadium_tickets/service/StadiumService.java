@@ -1,13 +1,16 @@
 package org.example.stadium_tickets.service;
 
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface StadiumService {
-    List<Stadium> getAllStadiums();
+    KeysetPage<Stadium> getStadiums(String cursor, int limit);
     Stadium getStadiumById(Long id);
+    List<Stadium> findAllByIds(Collection<Long> ids);
     Stadium createStadium(Stadium stadium);
     Stadium updateStadium(Long id, Stadium stadium);
     void deleteStadium(Long id);
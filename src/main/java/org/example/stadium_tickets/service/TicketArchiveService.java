@@ -0,0 +1,8 @@
+package org.example.stadium_tickets.service;
+
+import java.util.List;
+
+public interface TicketArchiveService {
+    List<Long> createPartitions();
+    List<Long> archiveFinishedMatches();
+}
@@ -0,0 +1,11 @@
+package org.example.stadium_tickets.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TicketExportService {
+    String FORMAT_CSV = "csv";
+    String FORMAT_NDJSON = "ndjson";
+
+    long exportTickets(Long matchId, String format, OutputStream out) throws IOException;
+}
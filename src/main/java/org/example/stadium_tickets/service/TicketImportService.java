@@ -0,0 +1,9 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.payload.response.TicketImportResponse;
+
+import java.io.Reader;
+
+public interface TicketImportService {
+    TicketImportResponse importTickets(Long matchId, Reader csv);
+}
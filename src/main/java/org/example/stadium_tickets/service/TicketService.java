@@ -2,21 +2,24 @@ package org.example.stadium_tickets.service;
 
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.payload.request.SeatCoordinate;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface TicketService {
-    List<Ticket> getAllTickets();
+    KeysetPage<Ticket> getTickets(TicketStatus status, String cursor, int limit);
     Ticket getTicketById(Long id);
     Ticket createTicket(Ticket ticket);
     Ticket updateTicket(Long id, Ticket ticket);
     void deleteTicket(Long id);
     List<Ticket> findByMatch(Match match);
-    List<Ticket> findByStatus(String status);
-    List<Ticket> findByMatchAndStatus(Match match, String status);
+    List<Ticket> findByMatchAndStatus(Match match, TicketStatus status);
     Optional<Ticket> findByMatchAndSeatRowAndSeatNumber(Match match, String seatRow, String seatNumber);
-    long countByMatchAndStatus(Match match, String status);
+    long countByMatchAndStatus(Match match, TicketStatus status);
     Ticket purchaseTicket(Long ticketId);
     Ticket cancelTicket(Long ticketId);
+    List<Ticket> purchaseTickets(Long matchId, List<Long> ticketIds, List<SeatCoordinate> seats);
 }
\ No newline at end of file
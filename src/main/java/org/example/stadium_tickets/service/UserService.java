@@ -1,12 +1,12 @@
 package org.example.stadium_tickets.service;
 
 import org.example.stadium_tickets.entity.User;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
-    List<User> getAllUsers();
+    KeysetPage<User> getUsers(String cursor, int limit);
     User getUserById(Long id);
     User createUser(User user);
     User updateUser(Long id, User user);
@@ -0,0 +1,13 @@
+package org.example.stadium_tickets.service;
+
+import org.example.stadium_tickets.payload.response.QueueStatusResponse;
+
+import java.util.function.Supplier;
+
+public interface WaitingRoomService {
+    QueueStatusResponse join(Long matchId, String username);
+    QueueStatusResponse getStatus(String token);
+    void requireAdmitted(String token, Long matchId, String username);
+    void requireAdmitted(String token, Supplier<Long> matchId, String username);
+    void admit();
+}
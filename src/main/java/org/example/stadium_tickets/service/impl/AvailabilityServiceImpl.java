@@ -0,0 +1,208 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.inventory.MatchAvailability;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.projection.MatchStatusCountView;
+import org.example.stadium_tickets.repository.projection.TicketStatusView;
+import org.example.stadium_tickets.service.AvailabilityService;
+import org.example.stadium_tickets.service.MatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the seat counts per match and status in memory, so "seats left" is read without counting tickets.
+ * The counters are rebuilt from the ticket table with one grouped query on startup and then follow
+ * every committed status change without taking a lock. A bulk change drops the counters of the match,
+ * which are loaded again from the table on the next read.
+ * Changes committed while counters are loaded are not lost: loading a match reads the status of every
+ * ticket and then replays the changes collected meanwhile that it had not seen, and the rebuild leaves out
+ * the matches that changed while it counted, so they are loaded on their own.
+ */
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
+
+    private final TicketRepository ticketRepository;
+    private final MatchService matchService;
+
+    private final ConcurrentMap<Long, MatchAvailability> availabilities = new ConcurrentHashMap<>();
+    // Matches being loaded, with the changes committed meanwhile
+    private final ConcurrentMap<Long, MatchLoad> loads = new ConcurrentHashMap<>();
+    // Matches changed while rebuild() counts, null when no rebuild is running
+    private volatile Set<Long> changedDuringRebuild;
+
+    @Autowired
+    public AvailabilityServiceImpl(TicketRepository ticketRepository, MatchService matchService) {
+        this.ticketRepository = ticketRepository;
+        this.matchService = matchService;
+    }
+
+    /**
+     * Runs after the held seats of the previous run have been released on startup.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        try {
+            Map<Long, MatchAvailability> rebuilt = new HashMap<>();
+            for (MatchStatusCountView count : ticketRepository.countByMatchIdAndStatus()) {
+                rebuilt.computeIfAbsent(count.getMatchId(), MatchAvailability::new)
+                        .add(count.getStatus(), count.getTickets());
+            }
+            availabilities.clear();
+            availabilities.putAll(rebuilt);
+            // The count may or may not include these changes, the matches are loaded again on the next read
+            changed.forEach(availabilities::remove);
+            logger.info("Rebuilt seat availability of {} matches", availabilities.size());
+        } finally {
+            changedDuringRebuild = null;
+        }
+    }
+
+    @Override
+    public MatchAvailability getAvailability(Long matchId) {
+        MatchAvailability availability = availabilities.computeIfAbsent(matchId, this::loadAvailability);
+        MatchLoad load = loads.get(matchId);
+        if (load != null && load.isFinishedWith(availability)) {
+            // Changes reach the installed counters from now on
+            loads.remove(matchId, load);
+            if (load.isStale()) {
+                availabilities.remove(matchId, availability);
+            }
+        }
+        return availability;
+    }
+
+    @Override
+    public long count(Long matchId, TicketStatus status) {
+        return getAvailability(matchId).count(status);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.getMatchId());
+        }
+        MatchLoad load = loads.get(event.getMatchId());
+        if (load != null && load.offer(event)) {
+            return;
+        }
+        if (event.isBulkChange()) {
+            availabilities.remove(event.getMatchId());
+            return;
+        }
+        // Counters of a match that is not loaded are counted from the table on the first read
+        MatchAvailability availability = availabilities.get(event.getMatchId());
+        if (availability != null) {
+            apply(availability, event.getPreviousStatus(), event.getNewStatus(), event.getTicketIds().size());
+        }
+    }
+
+    private MatchAvailability loadAvailability(Long matchId) {
+        matchService.getMatchById(matchId);
+        MatchLoad load = new MatchLoad(matchId);
+        loads.put(matchId, load);
+        try {
+            Map<Long, TicketStatus> statuses = new HashMap<>();
+            for (TicketStatusView ticket : ticketRepository.findStatusViewsByMatchId(matchId)) {
+                statuses.put(ticket.getId(), ticket.getStatus());
+            }
+            return load.finish(statuses);
+        } catch (RuntimeException e) {
+            loads.remove(matchId, load);
+            throw e;
+        }
+    }
+
+    private static void apply(MatchAvailability availability, TicketStatus previousStatus, TicketStatus newStatus,
+                              long tickets) {
+        if (previousStatus != null) {
+            availability.add(previousStatus, -tickets);
+        }
+        if (newStatus != null) {
+            availability.add(newStatus, tickets);
+        }
+    }
+
+    /**
+     * Load of the counters of one match. Changes offered before the load finishes are kept and replayed
+     * ticket by ticket: a change is applied only when the ticket read by the load still had the previous
+     * status, otherwise the load already saw it. Changes offered afterwards go straight to the counters.
+     */
+    private static class MatchLoad {
+
+        private final Long matchId;
+        private final List<TicketStatusChangedEvent> changes = new ArrayList<>();
+        private MatchAvailability availability;
+        private boolean stale;
+
+        MatchLoad(Long matchId) {
+            this.matchId = matchId;
+        }
+
+        /**
+         * Returns false for a bulk change once the loaded counters may be in use, they have to be dropped.
+         */
+        synchronized boolean offer(TicketStatusChangedEvent event) {
+            if (event.isBulkChange()) {
+                stale = true;
+                return availability == null;
+            }
+            if (availability != null) {
+                apply(availability, event.getPreviousStatus(), event.getNewStatus(), event.getTicketIds().size());
+            } else {
+                changes.add(event);
+            }
+            return true;
+        }
+
+        synchronized MatchAvailability finish(Map<Long, TicketStatus> statuses) {
+            MatchAvailability loaded = new MatchAvailability(matchId);
+            statuses.values().forEach(status -> loaded.add(status, 1));
+            for (TicketStatusChangedEvent change : changes) {
+                for (Long ticketId : change.getTicketIds()) {
+                    if (!Objects.equals(statuses.get(ticketId), change.getPreviousStatus())) {
+                        continue;
+                    }
+                    apply(loaded, change.getPreviousStatus(), change.getNewStatus(), 1);
+                    if (change.getNewStatus() == null) {
+                        statuses.remove(ticketId);
+                    } else {
+                        statuses.put(ticketId, change.getNewStatus());
+                    }
+                }
+            }
+            changes.clear();
+            availability = loaded;
+            return loaded;
+        }
+
+        synchronized boolean isFinishedWith(MatchAvailability availability) {
+            return this.availability == availability;
+        }
+
+        synchronized boolean isStale() {
+            return stale;
+        }
+    }
+}
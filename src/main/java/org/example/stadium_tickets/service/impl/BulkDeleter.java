@@ -0,0 +1,94 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.repository.MatchRepository;
+import org.example.stadium_tickets.repository.PriceZoneRepository;
+import org.example.stadium_tickets.repository.StadiumRepository;
+import org.example.stadium_tickets.repository.StadiumSectionRepository;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Set-based deletion of matches and stadiums.
+ * Tickets are removed with bulk deletes of at most the chunk size, each in its own short transaction,
+ * instead of loading the cascaded collections into the persistence context and removing entities one by one.
+ * Callers must not be in a transaction, otherwise the chunks would all end up in theirs.
+ */
+@Component
+public class BulkDeleter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleter.class);
+
+    private final MatchRepository matchRepository;
+    private final TicketRepository ticketRepository;
+    private final StadiumRepository stadiumRepository;
+    private final StadiumSectionRepository sectionRepository;
+    private final PriceZoneRepository priceZoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public BulkDeleter(MatchRepository matchRepository,
+                       TicketRepository ticketRepository,
+                       StadiumRepository stadiumRepository,
+                       StadiumSectionRepository sectionRepository,
+                       PriceZoneRepository priceZoneRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${tickets.delete.chunk-size:5000}") int chunkSize) {
+        this.matchRepository = matchRepository;
+        this.ticketRepository = ticketRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.sectionRepository = sectionRepository;
+        this.priceZoneRepository = priceZoneRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Deletes the tickets of the match chunk by chunk, then the match itself. Returns the number of deleted tickets.
+     */
+    public long deleteMatch(Long matchId) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> ticketRepository.deleteChunkByMatchId(matchId, chunkSize));
+            deleted += chunk;
+        } while (chunk == chunkSize);
+
+        // Tickets added since the last chunk go together with the match
+        deleted += transactionTemplate.execute(status -> {
+            int remaining = ticketRepository.deleteAllByMatchId(matchId);
+            matchRepository.deleteMatchById(matchId);
+            return remaining;
+        });
+        logger.info("Deleted match {} with {} tickets", matchId, deleted);
+
+        eventPublisher.publishEvent(TicketStatusChangedEvent.bulkChange(this, matchId));
+        return deleted;
+    }
+
+    /**
+     * Deletes every match of the stadium as {@link #deleteMatch} does, then the seating layout and the stadium.
+     */
+    public void deleteStadium(Long stadiumId) {
+        for (Long matchId : matchRepository.findIdsByStadiumId(stadiumId)) {
+            deleteMatch(matchId);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            sectionRepository.deleteSeatRangesByStadiumId(stadiumId);
+            sectionRepository.deleteAllByStadiumId(stadiumId);
+            priceZoneRepository.deleteAllByStadiumId(stadiumId);
+            stadiumRepository.deleteStadiumById(stadiumId);
+        });
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.stadium_tickets.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+import org.example.stadium_tickets.payload.request.SeatCoordinate;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.TicketStatusGroupCommitter;
+import org.example.stadium_tickets.service.TicketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ticket service mode where purchases and cancellations are written through a group commit stage,
+ * so concurrent status changes share one JDBC batch and one commit instead of a transaction each.
+ * All other operations go straight to {@link TicketServiceImpl}. Enabled with {@code tickets.mutations.mode=group-commit}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "tickets.mutations.mode", havingValue = "group-commit")
+public class GroupCommitTicketService implements TicketService {
+
+    private final TicketService delegate;
+    private final TicketRepository ticketRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketStatusGroupCommitter committer;
+    private final long commitTimeoutMillis;
+
+    @Autowired
+    public GroupCommitTicketService(@Qualifier("ticketServiceImpl") TicketService delegate,
+                                    TicketRepository ticketRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${tickets.group-commit.max-batch-size:256}") int maxBatchSize,
+                                    @Value("${tickets.group-commit.max-wait-micros:2000}") long maxWaitMicros,
+                                    @Value("${tickets.group-commit.commit-timeout-ms:10000}") long commitTimeoutMillis) {
+        this(delegate, ticketRepository, eventPublisher, new TicketStatusGroupCommitter(
+                jdbcTemplate, new TransactionTemplate(transactionManager), maxBatchSize, maxWaitMicros), commitTimeoutMillis);
+    }
+
+    GroupCommitTicketService(TicketService delegate, TicketRepository ticketRepository,
+                             ApplicationEventPublisher eventPublisher, TicketStatusGroupCommitter committer,
+                             long commitTimeoutMillis) {
+        this.delegate = delegate;
+        this.ticketRepository = ticketRepository;
+        this.eventPublisher = eventPublisher;
+        this.committer = committer;
+        this.commitTimeoutMillis = commitTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        committer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        committer.stop();
+    }
+
+    @Override
+    public KeysetPage<Ticket> getTickets(TicketStatus status, String cursor, int limit) {
+        return delegate.getTickets(status, cursor, limit);
+    }
+
+    @Override
+    public Ticket getTicketById(Long id) {
+        return delegate.getTicketById(id);
+    }
+
+    @Override
+    public Ticket createTicket(Ticket ticket) {
+        return delegate.createTicket(ticket);
+    }
+
+    @Override
+    public Ticket updateTicket(Long id, Ticket ticket) {
+        return delegate.updateTicket(id, ticket);
+    }
+
+    @Override
+    public void deleteTicket(Long id) {
+        delegate.deleteTicket(id);
+    }
+
+    @Override
+    public List<Ticket> findByMatch(Match match) {
+        return delegate.findByMatch(match);
+    }
+
+    @Override
+    public List<Ticket> findByMatchAndStatus(Match match, TicketStatus status) {
+        return delegate.findByMatchAndStatus(match, status);
+    }
+
+    @Override
+    public Optional<Ticket> findByMatchAndSeatRowAndSeatNumber(Match match, String seatRow, String seatNumber) {
+        return delegate.findByMatchAndSeatRowAndSeatNumber(match, seatRow, seatNumber);
+    }
+
+    @Override
+    public long countByMatchAndStatus(Match match, TicketStatus status) {
+        return delegate.countByMatchAndStatus(match, status);
+    }
+
+    @Override
+    public Ticket purchaseTicket(Long ticketId) {
+        return transitionStatus(ticketId, TicketStatus.FREE, TicketStatus.SOLD, "Ticket is not available for purchase");
+    }
+
+    @Override
+    public Ticket cancelTicket(Long ticketId) {
+        return transitionStatus(ticketId, TicketStatus.SOLD, TicketStatus.FREE, "Ticket is not sold, cannot be canceled");
+    }
+
+    @Override
+    public List<Ticket> purchaseTickets(Long matchId, List<Long> ticketIds, List<SeatCoordinate> seats) {
+        return delegate.purchaseTickets(matchId, ticketIds, seats);
+    }
+
+    // Same outcome as TicketServiceImpl, but the conditional update is committed together with concurrent ones
+    private Ticket transitionStatus(Long ticketId, TicketStatus expectedStatus, TicketStatus newStatus, String conflictMessage) {
+        Optional<Ticket> changed = awaitCommit(ticketId, expectedStatus, newStatus);
+        if (changed.isEmpty()) {
+            if (!ticketRepository.existsById(ticketId)) {
+                throw new RuntimeException("Ticket not found with id: " + ticketId);
+            }
+            throw new TicketConflictException(ticketId, conflictMessage);
+        }
+
+        // The committer read the ticket back in the transaction of the change, no reload is needed
+        Ticket ticket = changed.get();
+        eventPublisher.publishEvent(TicketStatusChangedEvent.transition(
+                this, ticket.getMatch().getId(), ticketId, expectedStatus, newStatus));
+        return ticket;
+    }
+
+    private Optional<Ticket> awaitCommit(Long ticketId, TicketStatus expectedStatus, TicketStatus newStatus) {
+        try {
+            return committer.submit(ticketId, expectedStatus, newStatus).get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            // The change stays queued and may still be committed
+            throw new TicketOutcomeUnknownException("Change of ticket " + ticketId
+                    + " is still being committed, check the ticket before trying again");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TicketOutcomeUnknownException("Interrupted while waiting for a ticket change to be committed");
+        }
+    }
+}
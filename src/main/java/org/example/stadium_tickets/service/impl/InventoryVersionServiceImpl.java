@@ -0,0 +1,40 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.service.InventoryVersionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a version per match that goes up with every committed ticket change of the match, so clients
+ * polling the tickets of a match can be answered from memory while nothing has changed.
+ * Versions start again from zero on restart, the ETag carries the startup time of this instance
+ * so tags issued before the restart never match.
+ */
+@Service
+public class InventoryVersionServiceImpl implements InventoryVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public long getVersion(Long matchId) {
+        AtomicLong version = versions.get(matchId);
+        return version == null ? 0 : version.get();
+    }
+
+    @Override
+    public String getETag(Long matchId) {
+        return "\"" + epoch + "-" + getVersion(matchId) + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        versions.computeIfAbsent(event.getMatchId(), id -> new AtomicLong()).incrementAndGet();
+    }
+}
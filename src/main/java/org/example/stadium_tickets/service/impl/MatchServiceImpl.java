@@ -2,31 +2,61 @@ package org.example.stadium_tickets.service.impl;
 
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.request.FixtureScheduleRequest;
+import org.example.stadium_tickets.payload.request.FixtureScheduleRequest.FixtureDefinition;
+import org.example.stadium_tickets.payload.response.FixtureScheduleResponse;
+import org.example.stadium_tickets.payload.response.FixtureScheduleResponse.FixtureResult;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.repository.MatchRepository;
+import org.example.stadium_tickets.repository.projection.MatchSummaryView;
 import org.example.stadium_tickets.service.MatchService;
 import org.example.stadium_tickets.service.StadiumService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class MatchServiceImpl implements MatchService {
 
+    private static final int MAX_FIXTURES = 1000;
+    private static final int MAX_TEAM_LENGTH = 100;
+
     private final MatchRepository matchRepository;
     private final StadiumService stadiumService;
+    private final BulkDeleter bulkDeleter;
 
     @Autowired
-    public MatchServiceImpl(MatchRepository matchRepository, StadiumService stadiumService) {
+    public MatchServiceImpl(MatchRepository matchRepository, StadiumService stadiumService, BulkDeleter bulkDeleter) {
         this.matchRepository = matchRepository;
         this.stadiumService = stadiumService;
+        this.bulkDeleter = bulkDeleter;
+    }
+
+    @Override
+    public KeysetPage<MatchSummaryView> getMatches(String cursor, int limit) {
+        KeysetPage.checkLimit(limit);
+        long afterId = KeysetPage.decodeCursor(cursor, "matches");
+        List<MatchSummaryView> rows = matchRepository.findSummariesAfterId(afterId, PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, "matches", MatchSummaryView::getId);
     }
 
     @Override
-    public List<Match> getAllMatches() {
-        return matchRepository.findAll();
+    public MatchSummaryView getMatchSummary(Long id) {
+        return matchRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Match not found with id: " + id));
     }
 
     @Override
@@ -49,6 +79,106 @@ public class MatchServiceImpl implements MatchService {
         return matchRepository.save(match);
     }
 
+    /**
+     * Creates the valid fixtures of a schedule and reports every fixture on its own.
+     * All stadiums are loaded with one query and the fixtures are checked in memory, including clashes
+     * within the schedule: a stadium hosting two fixtures at the same time or a team playing twice on one day.
+     * The valid fixtures are saved together, so the inserts go out in JDBC batches of one transaction.
+     */
+    @Override
+    @Transactional
+    public FixtureScheduleResponse createFixtures(FixtureScheduleRequest request) {
+        List<FixtureDefinition> fixtures = request != null && request.getFixtures() != null
+                ? request.getFixtures() : List.of();
+        if (fixtures.isEmpty()) {
+            throw new RuntimeException("Schedule contains no fixtures");
+        }
+        if (fixtures.size() > MAX_FIXTURES) {
+            throw new RuntimeException("A schedule can contain at most " + MAX_FIXTURES + " fixtures");
+        }
+
+        Set<Long> stadiumIds = fixtures.stream()
+                .filter(Objects::nonNull)
+                .map(FixtureDefinition::getStadiumId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Stadium> stadiums = stadiumService.findAllByIds(stadiumIds).stream()
+                .collect(Collectors.toMap(Stadium::getId, Function.identity()));
+
+        FixtureResult[] results = new FixtureResult[fixtures.size()];
+        List<Match> matches = new ArrayList<>();
+        List<Integer> matchIndexes = new ArrayList<>();
+        Set<String> stadiumSlots = new HashSet<>();
+        Set<String> teamDays = new HashSet<>();
+        for (int i = 0; i < fixtures.size(); i++) {
+            FixtureDefinition fixture = fixtures.get(i);
+            String error = validateFixture(fixture, stadiums);
+            if (error == null) {
+                String stadiumSlot = fixture.getStadiumId() + "@" + fixture.getMatchDate();
+                String homeDay = teamKey(fixture.getHomeTeam()) + "@" + fixture.getMatchDate().toLocalDate();
+                String awayDay = teamKey(fixture.getAwayTeam()) + "@" + fixture.getMatchDate().toLocalDate();
+                if (stadiumSlots.contains(stadiumSlot)) {
+                    error = "Stadium " + fixture.getStadiumId() + " already hosts a fixture at "
+                            + fixture.getMatchDate();
+                } else if (teamDays.contains(homeDay) || teamDays.contains(awayDay)) {
+                    error = "A team of this fixture already plays on " + fixture.getMatchDate().toLocalDate();
+                } else {
+                    stadiumSlots.add(stadiumSlot);
+                    teamDays.add(homeDay);
+                    teamDays.add(awayDay);
+                }
+            }
+            if (error != null) {
+                results[i] = FixtureResult.rejected(i, error);
+                continue;
+            }
+            matches.add(new Match(fixture.getHomeTeam().trim(), fixture.getAwayTeam().trim(), fixture.getMatchDate(),
+                    stadiums.get(fixture.getStadiumId())));
+            matchIndexes.add(i);
+        }
+
+        List<Match> saved = matchRepository.saveAll(matches);
+        for (int i = 0; i < saved.size(); i++) {
+            results[matchIndexes.get(i)] = FixtureResult.created(matchIndexes.get(i), saved.get(i).getId());
+        }
+        return new FixtureScheduleResponse(fixtures.size(), saved.size(), fixtures.size() - saved.size(),
+                Arrays.asList(results));
+    }
+
+    private static String validateFixture(FixtureDefinition fixture, Map<Long, Stadium> stadiums) {
+        if (fixture == null) {
+            return "Fixture is empty";
+        }
+        if (isBlank(fixture.getHomeTeam()) || isBlank(fixture.getAwayTeam())) {
+            return "Home and away team are required";
+        }
+        if (fixture.getHomeTeam().trim().length() > MAX_TEAM_LENGTH
+                || fixture.getAwayTeam().trim().length() > MAX_TEAM_LENGTH) {
+            return "Team names can have at most " + MAX_TEAM_LENGTH + " characters";
+        }
+        if (teamKey(fixture.getHomeTeam()).equals(teamKey(fixture.getAwayTeam()))) {
+            return "A team cannot play against itself";
+        }
+        if (fixture.getMatchDate() == null) {
+            return "Match date is required";
+        }
+        if (fixture.getStadiumId() == null) {
+            return "Stadium is required for a match";
+        }
+        if (!stadiums.containsKey(fixture.getStadiumId())) {
+            return "Stadium not found with id: " + fixture.getStadiumId();
+        }
+        return null;
+    }
+
+    private static String teamKey(String team) {
+        return team.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     @Override
     @Transactional
     public Match updateMatch(Long id, Match match) {
@@ -69,12 +199,12 @@ public class MatchServiceImpl implements MatchService {
     }
 
     @Override
-    @Transactional
     public void deleteMatch(Long id) {
         if (!matchRepository.existsById(id)) {
             throw new RuntimeException("Match not found with id: " + id);
         }
-        matchRepository.deleteById(id);
+        // Tickets are deleted in chunks with short transactions of their own
+        bulkDeleter.deleteMatch(id);
     }
 
     @Override
@@ -0,0 +1,191 @@
+package org.example.stadium_tickets.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.journal.JournalRecord;
+import org.example.stadium_tickets.journal.SalesJournal;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.SalesJournalService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes in-memory seat transitions durable before they are written to the ticket table.
+ * Every transition is appended to the {@link SalesJournal} as one group and forced to disk before the
+ * caller is answered, so the journal, not the ticket table commit, is the point where a sale is durable.
+ * The seat writer reports which records reached the database, and that position is checkpointed,
+ * so on startup the complete groups after the checkpoint are replayed to finish their writes.
+ * Enabled with {@code tickets.journal.enabled=true}.
+ */
+@Service
+public class SalesJournalServiceImpl implements SalesJournalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesJournalServiceImpl.class);
+    private static final int REPLAY_BATCH_SIZE = 500;
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long forceIntervalMillis;
+
+    private final AtomicLong appliedSequence = new AtomicLong();
+    private volatile SalesJournal journal;
+    private ScheduledExecutorService forcer;
+
+    @Autowired
+    public SalesJournalServiceImpl(TicketRepository ticketRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${tickets.journal.enabled:false}") boolean enabled,
+                                   @Value("${tickets.journal.directory:journal}") String directory,
+                                   @Value("${tickets.journal.segment-bytes:67108840}") int segmentBytes,
+                                   @Value("${tickets.journal.force-interval-ms:10}") long forceIntervalMillis) {
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.forceIntervalMillis = forceIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new SalesJournal(directory, segmentBytes);
+        replay();
+        forcer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sales-journal-force");
+            thread.setDaemon(true);
+            return thread;
+        });
+        forcer.scheduleWithFixedDelay(this::forceAndCheckpoint, forceIntervalMillis, forceIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (forcer != null) {
+            forcer.shutdownNow();
+        }
+        if (journal != null) {
+            forceAndCheckpoint();
+            journal.close();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    @Override
+    public long record(Long matchId, List<Long> ticketIds, TicketStatus previousStatus, TicketStatus newStatus) {
+        SalesJournal current = journal;
+        if (current == null) {
+            return 0;
+        }
+        byte previousState = previousStatus.getCode();
+        byte newState = newStatus.getCode();
+        return current.appendGroup(ticketIds, matchId, System.currentTimeMillis(), previousState, newState);
+    }
+
+    @Override
+    public void makeDurable(long sequence) {
+        SalesJournal current = journal;
+        if (current != null) {
+            current.force(sequence);
+        }
+    }
+
+    @Override
+    public void markApplied(long sequence) {
+        appliedSequence.accumulateAndGet(sequence, Math::max);
+    }
+
+    void forceAndCheckpoint() {
+        try {
+            journal.force();
+            long applied = appliedSequence.get();
+            if (applied > journal.checkpoint()) {
+                journal.checkpoint(applied);
+                int deleted = journal.compact();
+                if (deleted > 0) {
+                    logger.debug("Deleted {} checkpointed sales journal segments", deleted);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Sales journal force failed: {}", e.getMessage());
+        }
+    }
+
+    // Finishes the writes of the groups that were journaled but not confirmed as written to the ticket table
+    private void replay() throws IOException {
+        List<JournalRecord> records = journal.readUncheckpointed();
+        if (records.isEmpty()) {
+            return;
+        }
+        int conflicts = 0;
+        int from = 0;
+        while (from < records.size()) {
+            // Batches end on a group boundary, so a group is applied in one transaction
+            int to = Math.min(from + REPLAY_BATCH_SIZE, records.size());
+            while (!records.get(to - 1).groupEnd()) {
+                to++;
+            }
+            List<JournalRecord> batch = records.subList(from, to);
+            Integer batchConflicts = transactionTemplate.execute(status -> {
+                int count = 0;
+                int start = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    if (batch.get(i).groupEnd()) {
+                        if (!apply(batch.subList(start, i + 1))) {
+                            count++;
+                        }
+                        start = i + 1;
+                    }
+                }
+                return count;
+            });
+            conflicts += batchConflicts != null ? batchConflicts : 0;
+            from = to;
+        }
+        long last = records.get(records.size() - 1).sequence();
+        journal.checkpoint(last);
+        appliedSequence.set(last);
+        // Conflicts are expected for groups that reached the table before the checkpoint was written
+        logger.info("Replayed {} sales journal records up to sequence {}, {} groups were already applied or superseded",
+                records.size(), last, conflicts);
+    }
+
+    // Applies all seats of a group or none, like the seat writer does
+    private boolean apply(List<JournalRecord> group) {
+        TicketStatus previousStatus = TicketStatus.fromCode(group.get(0).previousState());
+        TicketStatus newStatus = TicketStatus.fromCode(group.get(0).newState());
+        for (int i = 0; i < group.size(); i++) {
+            if (ticketRepository.updateStatusIfCurrent(group.get(i).ticketId(), previousStatus, newStatus) == 0) {
+                for (int j = i - 1; j >= 0; j--) {
+                    ticketRepository.updateStatusIfCurrent(group.get(j).ticketId(), newStatus, previousStatus);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.inventory.SeatBlockIndex;
+import org.example.stadium_tickets.inventory.SeatHold;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.SeatAllocationService;
+import org.example.stadium_tickets.service.SeatHoldService;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Finds and holds blocks of adjacent seats, so buyers do not have to pick exact seats and retry on conflicts.
+ * Free seats are looked up in a per-match {@link SeatBlockIndex} that follows ticket status events,
+ * and the block is claimed as a regular seat hold.
+ */
+@Service
+public class SeatAllocationServiceImpl implements SeatAllocationService {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final TicketRepository ticketRepository;
+
+    private final ConcurrentMap<Long, SeatBlockIndex> indexes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SeatAllocationServiceImpl(SeatInventoryService seatInventoryService,
+                                     SeatHoldService seatHoldService,
+                                     TicketRepository ticketRepository) {
+        this.seatInventoryService = seatInventoryService;
+        this.seatHoldService = seatHoldService;
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public SeatHold holdBestAvailable(Long matchId, int quantity, BigDecimal minPrice, BigDecimal maxPrice, String owner) {
+        if (quantity <= 0) {
+            throw new RuntimeException("At least one seat is required");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new RuntimeException("Minimum price cannot be higher than maximum price");
+        }
+
+        SeatBlockIndex index = getIndex(matchId);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            List<Long> block = index.findBlock(quantity, minPrice, maxPrice);
+            if (block.isEmpty()) {
+                throw new TicketConflictException("No " + quantity + " adjacent seats available in the requested price range");
+            }
+            try {
+                return seatHoldService.createHold(matchId, block, owner);
+            } catch (TicketConflictException e) {
+                // Another buyer was faster, pick up the real state of the block and look again
+                index.refresh(block);
+            }
+        }
+        throw new TicketConflictException("Seats are selling too fast, please try again");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        SeatBlockIndex index = indexes.get(event.getMatchId());
+        if (index == null) {
+            return;
+        }
+        if (event.isTransition() && event.getTicketIds().stream().allMatch(index::contains)) {
+            boolean free = event.getNewStatus() == TicketStatus.FREE;
+            event.getTicketIds().forEach(ticketId -> index.setFree(ticketId, free));
+        } else {
+            indexes.remove(event.getMatchId());
+        }
+    }
+
+    private SeatBlockIndex getIndex(Long matchId) {
+        MatchSeatInventory inventory = seatInventoryService.getInventory(matchId);
+        // Rebuild the index when the inventory it was built from has been reloaded
+        return indexes.compute(matchId, (id, index) -> index != null && index.getInventory() == inventory
+                ? index
+                : SeatBlockIndex.of(inventory, ticketRepository.findSeatViewsByMatchId(id)));
+    }
+}
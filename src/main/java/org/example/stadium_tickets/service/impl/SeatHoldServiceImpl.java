@@ -0,0 +1,219 @@
+package org.example.stadium_tickets.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.inventory.HierarchicalTimingWheel;
+import org.example.stadium_tickets.inventory.SeatHold;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.SeatHoldService;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat holds on top of the in-memory seat inventory.
+ * Hold deadlines are kept in a hierarchical timing wheel driven by a single ticker thread,
+ * so expiring tens of thousands of holds costs O(1) per hold instead of a task or a table scan per hold.
+ * The wheel is not thread-safe, so it is only advanced by that ticker thread.
+ * Every hold belongs to the user who created it, only that user can confirm or release it.
+ */
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldServiceImpl.class);
+    private static final int WHEEL_SLOT_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final SeatInventoryService seatInventoryService;
+    private final TicketRepository ticketRepository;
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final int maxSeatsPerHold;
+
+    private final ConcurrentMap<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<SeatHold> expiryWheel;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public SeatHoldServiceImpl(SeatInventoryService seatInventoryService,
+                               TicketRepository ticketRepository,
+                               @Value("${tickets.holds.ttl-seconds:600}") long ttlSeconds,
+                               @Value("${tickets.holds.tick-ms:100}") long tickMillis,
+                               @Value("${tickets.holds.max-seats:10}") int maxSeatsPerHold) {
+        this.seatInventoryService = seatInventoryService;
+        this.ticketRepository = ticketRepository;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.tickMillis = tickMillis;
+        this.maxSeatsPerHold = maxSeatsPerHold;
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SLOT_BITS, WHEEL_LEVELS,
+                System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Holds only live in memory, so seats left HELD by a previous run are released on startup,
+     * before the availability counters are rebuilt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void releaseOrphanedHolds() {
+        int released = ticketRepository.updateAllWithStatus(TicketStatus.HELD, TicketStatus.FREE);
+        if (released > 0) {
+            logger.info("Released {} seats held before restart", released);
+        }
+    }
+
+    @Override
+    public SeatHold createHold(Long matchId, List<Long> ticketIds, String owner) {
+        if (owner == null) {
+            throw new RuntimeException("A hold can only be created by a signed-in user");
+        }
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            throw new RuntimeException("At least one ticket is required for a hold");
+        }
+        if (ticketIds.size() > maxSeatsPerHold) {
+            throw new RuntimeException("A hold can contain at most " + maxSeatsPerHold + " seats");
+        }
+        if (new HashSet<>(ticketIds).size() != ticketIds.size()) {
+            throw new RuntimeException("A hold cannot contain the same ticket twice");
+        }
+        if (!seatInventoryService.transitionAll(matchId, ticketIds, TicketStatus.FREE, TicketStatus.HELD)) {
+            throw new TicketConflictException("Some of the requested seats are not available");
+        }
+
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), matchId, owner, ticketIds,
+                Instant.ofEpochMilli(System.currentTimeMillis() + ttlMillis));
+        holds.put(hold.getId(), hold);
+        expiryWheel.schedule(hold, hold.getExpiresAt().toEpochMilli());
+        return hold;
+    }
+
+    @Override
+    public SeatHold getHold(String holdId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new RuntimeException("Hold not found with id: " + holdId);
+        }
+        return hold;
+    }
+
+    @Override
+    public SeatHold confirmHold(String holdId, String owner) {
+        SeatHold hold = getOwnedHold(holdId, owner);
+        if (!hold.getExpiresAt().isAfter(Instant.now())) {
+            expire(hold);
+            throw new TicketConflictException("Hold has expired");
+        }
+        if (!hold.transition(SeatHold.State.ACTIVE, SeatHold.State.CONFIRMED)) {
+            throw new TicketConflictException("Hold is no longer active");
+        }
+        holds.remove(holdId);
+        if (!seatInventoryService.transitionAll(hold.getMatchId(), hold.getTicketIds(), TicketStatus.HELD, TicketStatus.SOLD)) {
+            releaseSeats(hold);
+            throw new TicketConflictException("Held seats were changed, the hold could not be confirmed");
+        }
+        return hold;
+    }
+
+    @Override
+    public void releaseHold(String holdId, String owner) {
+        SeatHold hold = getOwnedHold(holdId, owner);
+        if (!hold.transition(SeatHold.State.ACTIVE, SeatHold.State.RELEASED)) {
+            throw new TicketConflictException("Hold is no longer active");
+        }
+        holds.remove(holdId);
+        releaseSeats(hold);
+    }
+
+    private SeatHold getOwnedHold(String holdId, String owner) {
+        SeatHold hold = getHold(holdId);
+        if (!hold.getOwner().equals(owner)) {
+            throw new AccessDeniedException("Hold " + holdId + " belongs to another user");
+        }
+        return hold;
+    }
+
+    /**
+     * Releases the seats of all holds that expired by now, one write per match without waiting for it,
+     * so a tick never stalls on the database. Called by the ticker thread only, and directly by tests
+     * that have not started it.
+     */
+    int expireHolds(long nowMillis) {
+        Map<Long, List<Long>> seatsByMatch = new LinkedHashMap<>();
+        for (SeatHold hold : expiryWheel.advance(nowMillis)) {
+            if (hold.transition(SeatHold.State.ACTIVE, SeatHold.State.EXPIRED)) {
+                holds.remove(hold.getId());
+                seatsByMatch.computeIfAbsent(hold.getMatchId(), matchId -> new ArrayList<>()).addAll(hold.getTicketIds());
+            }
+        }
+        int releasedSeats = 0;
+        for (Map.Entry<Long, List<Long>> seats : seatsByMatch.entrySet()) {
+            releasedSeats += seatInventoryService.transitionEach(seats.getKey(), seats.getValue(),
+                    TicketStatus.HELD, TicketStatus.FREE);
+        }
+        return releasedSeats;
+    }
+
+    private void tick() {
+        try {
+            int releasedSeats = expireHolds(System.currentTimeMillis());
+            if (releasedSeats > 0) {
+                logger.debug("Released {} seats from expired holds", releasedSeats);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Seat hold expiry failed: {}", e.getMessage());
+        }
+    }
+
+    private void expire(SeatHold hold) {
+        if (hold.transition(SeatHold.State.ACTIVE, SeatHold.State.EXPIRED)) {
+            holds.remove(hold.getId());
+            releaseSeats(hold);
+        }
+    }
+
+    // Seats changed outside of the hold are skipped, the others are released; seats left HELD by a crash
+    // before the write are released on the next startup
+    private void releaseSeats(SeatHold hold) {
+        seatInventoryService.transitionEach(hold.getMatchId(), hold.getTicketIds(), TicketStatus.HELD, TicketStatus.FREE);
+    }
+}
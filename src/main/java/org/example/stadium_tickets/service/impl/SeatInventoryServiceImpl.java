@@ -0,0 +1,422 @@
+package org.example.stadium_tickets.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.SalesJournalService;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the seat state of every match that is on sale in memory.
+ * Purchases and cancellations are decided by a compare-and-set on the in-memory inventory, so buyers racing
+ * for a seat are turned away without a database round trip, and the winners are written to the ticket table
+ * by a single background writer, many transitions in one batch and one commit.
+ * When the sales journal is enabled, every transition is journaled as one group before it is queued for the writer,
+ * and the caller is answered as soon as the journal has been forced to disk; the writer commits it in the
+ * background, and a restart replays whatever it had not committed yet. Without the journal there is nothing to
+ * replay, so the caller waits until the update has been committed.
+ * Every write is a conditional update. A seat that was changed through another path in the meantime fails the
+ * whole transition and its in-memory state is reconciled; a caller still waiting for the commit gets a conflict.
+ */
+@Service
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryServiceImpl.class);
+    private static final long POLL_TIMEOUT_MS = 50;
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final TicketRepository ticketRepository;
+    private final MatchService matchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SalesJournalService salesJournalService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+
+    private final ConcurrentMap<Long, MatchSeatInventory> inventories = new ConcurrentHashMap<>();
+    private final BlockingDeque<PendingWrite> pendingWrites = new LinkedBlockingDeque<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Keeps journal order and write-behind order the same, so a checkpoint never skips a pending write
+    private final Object journalLock = new Object();
+    private ExecutorService writer;
+    private volatile boolean running;
+
+    @Autowired
+    public SeatInventoryServiceImpl(TicketRepository ticketRepository,
+                                    MatchService matchService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    SalesJournalService salesJournalService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${tickets.inventory.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${tickets.inventory.write-behind.confirm-timeout-ms:10000}") long confirmTimeoutMillis) {
+        this.ticketRepository = ticketRepository;
+        this.matchService = matchService;
+        this.eventPublisher = eventPublisher;
+        this.salesJournalService = salesJournalService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Flushes also run from after-commit listeners, whose transaction is already finished
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-inventory-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.submit(this::runWriter);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.shutdown();
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        flush();
+    }
+
+    @Override
+    public MatchSeatInventory getInventory(Long matchId) {
+        return inventories.computeIfAbsent(matchId, this::loadInventory);
+    }
+
+    /**
+     * Finds the match of a ticket in the inventories already loaded. A ticket of a match that is not loaded yet
+     * is looked up once and its match inventory is loaded, so later lookups stay in memory.
+     */
+    @Override
+    public Optional<Long> findMatchOf(Long ticketId) {
+        for (MatchSeatInventory inventory : inventories.values()) {
+            if (inventory.contains(ticketId)) {
+                return Optional.of(inventory.getMatchId());
+            }
+        }
+        Optional<Long> matchId = ticketRepository.findMatchIdById(ticketId);
+        matchId.ifPresent(this::getInventory);
+        return matchId;
+    }
+
+    @Override
+    public boolean purchase(Long matchId, Long ticketId) {
+        return transitionAll(matchId, List.of(ticketId), TicketStatus.FREE, TicketStatus.SOLD);
+    }
+
+    @Override
+    public boolean cancel(Long matchId, Long ticketId) {
+        return transitionAll(matchId, List.of(ticketId), TicketStatus.SOLD, TicketStatus.FREE);
+    }
+
+    /**
+     * Moves all given seats from the expected to the new state, or none of them.
+     * Seats already claimed by this call are rolled back when a later seat is not in the expected state.
+     * Returns once the transition is durable: journaled and forced, or committed when the journal is disabled.
+     * Without the journal it returns false when a conditional update found a seat changed through another path.
+     */
+    @Override
+    public boolean transitionAll(Long matchId, List<Long> ticketIds, TicketStatus expectedStatus, TicketStatus newStatus) {
+        expectedStatus.checkTransitionTo(newStatus);
+        MatchSeatInventory inventory = getInventory(matchId);
+        byte expected = expectedStatus.getCode();
+        byte update = newStatus.getCode();
+        for (Long ticketId : ticketIds) {
+            if (!inventory.contains(ticketId)) {
+                throw new RuntimeException("Ticket " + ticketId + " does not belong to match " + matchId);
+            }
+        }
+
+        for (int i = 0; i < ticketIds.size(); i++) {
+            if (!inventory.compareAndSet(ticketIds.get(i), expected, update)) {
+                for (int j = i - 1; j >= 0; j--) {
+                    inventory.compareAndSet(ticketIds.get(j), update, expected);
+                }
+                return false;
+            }
+        }
+
+        PendingWrite write;
+        synchronized (journalLock) {
+            long sequence = salesJournalService.record(matchId, ticketIds, expectedStatus, newStatus);
+            write = new PendingWrite(matchId, List.copyOf(ticketIds), expectedStatus, newStatus, false,
+                    sequence, new CompletableFuture<>());
+            pendingWrites.add(write);
+        }
+        if (salesJournalService.isEnabled()) {
+            makeDurable(write);
+            return true;
+        }
+        return awaitWrite(write);
+    }
+
+    /**
+     * Moves every given seat that is in the expected state to the new state, each seat on its own, and returns
+     * how many were moved. All of them go to the writer as one pending write, in which a seat that was changed
+     * through another path is reconciled without holding back the others. Returns without waiting for the write,
+     * so it is meant for releases that a restart recovers anyway, such as expired holds.
+     */
+    @Override
+    public int transitionEach(Long matchId, Collection<Long> ticketIds, TicketStatus expectedStatus,
+                              TicketStatus newStatus) {
+        expectedStatus.checkTransitionTo(newStatus);
+        MatchSeatInventory inventory = getInventory(matchId);
+        byte expected = expectedStatus.getCode();
+        byte update = newStatus.getCode();
+        List<Long> changed = new ArrayList<>(ticketIds.size());
+        for (Long ticketId : ticketIds) {
+            if (inventory.contains(ticketId) && inventory.compareAndSet(ticketId, expected, update)) {
+                changed.add(ticketId);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        synchronized (journalLock) {
+            long sequence = 0;
+            // One journal group per seat, so a replay also applies them independently
+            for (Long ticketId : changed) {
+                sequence = salesJournalService.record(matchId, List.of(ticketId), expectedStatus, newStatus);
+            }
+            pendingWrites.add(new PendingWrite(matchId, changed, expectedStatus, newStatus, true, sequence,
+                    new CompletableFuture<>()));
+        }
+        return changed.size();
+    }
+
+    // Forced outside the journal lock, so concurrent transitions share one flush
+    private void makeDurable(PendingWrite write) {
+        try {
+            salesJournalService.makeDurable(write.sequence());
+        } catch (RuntimeException e) {
+            // The write is queued and may still be committed
+            logger.error("Sales journal force failed: {}", e.getMessage());
+            throw new TicketOutcomeUnknownException("Seat change for match " + write.matchId()
+                    + " could not be confirmed, check the tickets before trying again");
+        }
+    }
+
+    private boolean awaitWrite(PendingWrite write) {
+        try {
+            return write.result().get(confirmTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The write stays queued and may still be committed
+            throw new TicketOutcomeUnknownException("Seat change for match " + write.matchId()
+                    + " is still being saved, check the tickets before trying again");
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TicketOutcomeUnknownException("Interrupted while waiting for a seat change to be saved");
+        }
+    }
+
+    @Override
+    public void evict(Long matchId) {
+        inventories.remove(matchId);
+        // Make sure pending writes are visible before the inventory is reloaded from the table
+        flush();
+    }
+
+    @Override
+    public void flush() {
+        writeLock.lock();
+        try {
+            while (!pendingWrites.isEmpty()) {
+                List<PendingWrite> batch = new ArrayList<>(batchSize);
+                pendingWrites.drainTo(batch, batchSize);
+                writeBatch(batch);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        if (event.getSource() == this) {
+            return;
+        }
+        MatchSeatInventory inventory = inventories.get(event.getMatchId());
+        if (inventory == null) {
+            return;
+        }
+        if (event.isTransition() && event.getTicketIds().stream().allMatch(inventory::contains)) {
+            byte state = event.getNewStatus().getCode();
+            event.getTicketIds().forEach(ticketId -> inventory.setState(ticketId, state));
+        } else {
+            evict(event.getMatchId());
+        }
+    }
+
+    private MatchSeatInventory loadInventory(Long matchId) {
+        matchService.getMatchById(matchId);
+        MatchSeatInventory inventory = MatchSeatInventory.of(matchId, ticketRepository.findStatusViewsByMatchId(matchId));
+        logger.info("Loaded seat inventory for match {} with {} seats", matchId, inventory.size());
+        return inventory;
+    }
+
+    private void runWriter() {
+        while (running) {
+            boolean failed = false;
+            writeLock.lock();
+            try {
+                PendingWrite first = pendingWrites.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<PendingWrite> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    pendingWrites.drainTo(batch, batchSize - 1);
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Seat inventory write-behind failed, retrying: {}", e.getMessage());
+                failed = true;
+            } finally {
+                writeLock.unlock();
+            }
+            if (failed && !pause(RETRY_DELAY_MS)) {
+                return;
+            }
+        }
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction. Every pending write is applied in full or not at all:
+     * when one of its seats has changed in the table, the seats it already updated are put back.
+     */
+    private void writeBatch(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<PendingWrite, List<Long>> conflicts = new IdentityHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingWrite write : batch) {
+                    List<Long> conflicting = apply(write);
+                    if (!conflicting.isEmpty()) {
+                        conflicts.put(write, conflicting);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Put the batch back in its original order so it is retried before newer writes
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                pendingWrites.addFirst(batch.get(i));
+            }
+            throw e;
+        }
+        salesJournalService.markApplied(batch.get(batch.size() - 1).sequence());
+
+        for (PendingWrite write : batch) {
+            List<Long> conflicting = conflicts.getOrDefault(write, List.of());
+            if (!conflicting.isEmpty() && !write.eachSeat() && write.sequence() > 0) {
+                // The caller was already answered from the journal
+                logger.error("Journaled seat change for match {} lost to a change through another path: {}",
+                        write.matchId(), write.ticketIds());
+            }
+            List<Long> written = write.ticketIds().stream().filter(ticketId -> !conflicting.contains(ticketId)).toList();
+            if (!written.isEmpty()) {
+                eventPublisher.publishEvent(new TicketStatusChangedEvent(
+                        this, write.matchId(), written, write.expected(), write.status()));
+            }
+            if (!conflicting.isEmpty()) {
+                reconcile(write.matchId(), conflicting, write.expected());
+            }
+            write.result().complete(conflicting.isEmpty());
+        }
+    }
+
+    // Returns the seats that could not be written, all of them when a whole transition had to be put back
+    private List<Long> apply(PendingWrite write) {
+        List<Long> conflicting = new ArrayList<>();
+        for (int i = 0; i < write.ticketIds().size(); i++) {
+            Long ticketId = write.ticketIds().get(i);
+            if (ticketRepository.updateStatusIfCurrent(ticketId, write.expected(), write.status()) == 0) {
+                if (write.eachSeat()) {
+                    conflicting.add(ticketId);
+                    continue;
+                }
+                // The rows updated so far are locked by this transaction, nobody else changed them since
+                for (int j = i - 1; j >= 0; j--) {
+                    ticketRepository.updateStatusIfCurrent(write.ticketIds().get(j), write.status(), write.expected());
+                }
+                return write.ticketIds();
+            }
+        }
+        return conflicting;
+    }
+
+    private void reconcile(Long matchId, List<Long> ticketIds, TicketStatus expectedStatus) {
+        MatchSeatInventory inventory = inventories.get(matchId);
+        for (Long ticketId : ticketIds) {
+            TicketStatus actualStatus = ticketRepository.findStatusById(ticketId).orElse(null);
+            logger.warn("Seat write conflict for ticket {} of match {}: expected {} but found {}",
+                    ticketId, matchId, expectedStatus, actualStatus);
+            if (inventory == null) {
+                continue;
+            }
+            if (actualStatus == null) {
+                evict(matchId);
+                break;
+            }
+            inventory.setState(ticketId, actualStatus.getCode());
+        }
+        // Whatever was derived from the seats of the match may have followed the same wrong state
+        eventPublisher.publishEvent(TicketStatusChangedEvent.bulkChange(this, matchId));
+    }
+
+    // A write of each seat on its own applies every seat it can, otherwise the seats are applied all or none
+    private record PendingWrite(Long matchId, List<Long> ticketIds, TicketStatus expected, TicketStatus status,
+                                boolean eachSeat, long sequence, CompletableFuture<Boolean> result) {
+    }
+}
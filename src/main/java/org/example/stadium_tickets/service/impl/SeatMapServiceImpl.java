@@ -0,0 +1,52 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.inventory.SeatMap;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.example.stadium_tickets.service.SeatMapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serves binary seat maps from the in-memory seat inventory. The layout of a match is read from the
+ * ticket table once per inventory, every request after that only packs the current seat states into bits.
+ * The layout of a match is dropped when its tickets are added, removed or changed in bulk, which includes
+ * deleting the match.
+ */
+@Service
+public class SeatMapServiceImpl implements SeatMapService {
+
+    private final SeatInventoryService seatInventoryService;
+    private final TicketRepository ticketRepository;
+
+    private final ConcurrentMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SeatMapServiceImpl(SeatInventoryService seatInventoryService, TicketRepository ticketRepository) {
+        this.seatInventoryService = seatInventoryService;
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public byte[] getSeatMap(Long matchId, boolean withLayout) {
+        MatchSeatInventory inventory = seatInventoryService.getInventory(matchId);
+        // The inventory is reloaded when tickets are added or removed, rebuild the layout with it
+        SeatMap seatMap = seatMaps.compute(matchId, (id, map) -> map != null && map.getInventory() == inventory
+                ? map
+                : SeatMap.of(inventory, ticketRepository.findSeatViewsByMatchId(id)));
+        return seatMap.encode(withLayout);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        if (!event.isTransition()) {
+            seatMaps.remove(event.getMatchId());
+        }
+    }
+}
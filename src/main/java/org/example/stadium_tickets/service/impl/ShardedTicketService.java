@@ -0,0 +1,171 @@
+package org.example.stadium_tickets.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.example.stadium_tickets.concurrent.MatchLaneExecutor;
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.payload.request.SeatCoordinate;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.example.stadium_tickets.service.TicketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ticket service mode where every mutation of a match runs on the single-threaded lane of that match,
+ * so changes of one match never contend with each other on row locks while different matches run in parallel.
+ * The match of a ticket is taken from the in-memory seat inventory, and a change that moves a ticket to another
+ * match holds the lanes of both. Reads go straight to {@link TicketServiceImpl}.
+ * Enabled with {@code tickets.mutations.mode=sharded}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "tickets.mutations.mode", havingValue = "sharded")
+public class ShardedTicketService implements TicketService {
+
+    private final TicketService delegate;
+    private final SeatInventoryService seatInventoryService;
+    private final MatchLaneExecutor lanes;
+
+    @Autowired
+    public ShardedTicketService(@Qualifier("ticketServiceImpl") TicketService delegate,
+                                SeatInventoryService seatInventoryService,
+                                @Value("${tickets.mutations.lanes:0}") int laneCount,
+                                @Value("${tickets.mutations.queue-capacity:1000}") int queueCapacity,
+                                @Value("${tickets.mutations.timeout-ms:10000}") long timeoutMillis) {
+        this(delegate, seatInventoryService, new MatchLaneExecutor(
+                laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors(), queueCapacity, timeoutMillis));
+    }
+
+    ShardedTicketService(TicketService delegate, SeatInventoryService seatInventoryService, MatchLaneExecutor lanes) {
+        this.delegate = delegate;
+        this.seatInventoryService = seatInventoryService;
+        this.lanes = lanes;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lanes.shutdown();
+    }
+
+    @Override
+    public KeysetPage<Ticket> getTickets(TicketStatus status, String cursor, int limit) {
+        return delegate.getTickets(status, cursor, limit);
+    }
+
+    @Override
+    public Ticket getTicketById(Long id) {
+        return delegate.getTicketById(id);
+    }
+
+    @Override
+    public Ticket createTicket(Ticket ticket) {
+        Long matchId = ticket.getMatch() != null ? ticket.getMatch().getId() : null;
+        return onMatchLane(matchId, () -> delegate.createTicket(ticket));
+    }
+
+    // A ticket moved to another match is ordered with the changes of both the match it leaves and the one it joins
+    @Override
+    public Ticket updateTicket(Long id, Ticket ticket) {
+        Long newMatchId = ticket.getMatch() != null ? ticket.getMatch().getId() : null;
+        return onTicketLane(id, newMatchId, () -> delegate.updateTicket(id, ticket));
+    }
+
+    @Override
+    public void deleteTicket(Long id) {
+        onTicketLane(id, () -> {
+            delegate.deleteTicket(id);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Ticket> findByMatch(Match match) {
+        return delegate.findByMatch(match);
+    }
+
+    @Override
+    public List<Ticket> findByMatchAndStatus(Match match, TicketStatus status) {
+        return delegate.findByMatchAndStatus(match, status);
+    }
+
+    @Override
+    public Optional<Ticket> findByMatchAndSeatRowAndSeatNumber(Match match, String seatRow, String seatNumber) {
+        return delegate.findByMatchAndSeatRowAndSeatNumber(match, seatRow, seatNumber);
+    }
+
+    @Override
+    public long countByMatchAndStatus(Match match, TicketStatus status) {
+        return delegate.countByMatchAndStatus(match, status);
+    }
+
+    @Override
+    public Ticket purchaseTicket(Long ticketId) {
+        return onTicketLane(ticketId, () -> delegate.purchaseTicket(ticketId));
+    }
+
+    @Override
+    public Ticket cancelTicket(Long ticketId) {
+        return onTicketLane(ticketId, () -> delegate.cancelTicket(ticketId));
+    }
+
+    @Override
+    public List<Ticket> purchaseTickets(Long matchId, List<Long> ticketIds, List<SeatCoordinate> seats) {
+        return onMatchLane(matchId, () -> delegate.purchaseTickets(matchId, ticketIds, seats));
+    }
+
+    private <T> T onTicketLane(Long ticketId, Callable<T> mutation) {
+        return onTicketLane(ticketId, null, mutation);
+    }
+
+    /**
+     * Runs the mutation on the lane of the current match of the ticket, together with the lane of the new match
+     * when the ticket moves. A ticket moved by another change while this one was queued is routed again.
+     */
+    private <T> T onTicketLane(Long ticketId, Long newMatchId, Callable<T> mutation) {
+        while (true) {
+            Long matchId = seatInventoryService.findMatchOf(ticketId).orElse(null);
+            if (matchId == null) {
+                return onMatchLane(null, mutation);
+            }
+            AtomicBoolean moved = new AtomicBoolean();
+            Callable<T> routed = () -> {
+                if (!matchId.equals(seatInventoryService.findMatchOf(ticketId).orElse(null))) {
+                    moved.set(true);
+                    return null;
+                }
+                return mutation.call();
+            };
+            T result = newMatchId == null || newMatchId.equals(matchId)
+                    ? lanes.execute(matchId, routed)
+                    : lanes.executeOnBoth(matchId, newMatchId, routed);
+            if (!moved.get()) {
+                return result;
+            }
+        }
+    }
+
+    // Invalid requests without a match are left to the delegate, which rejects them
+    private <T> T onMatchLane(Long matchId, Callable<T> mutation) {
+        if (matchId == null) {
+            try {
+                return mutation.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return lanes.execute(matchId, mutation);
+    }
+}
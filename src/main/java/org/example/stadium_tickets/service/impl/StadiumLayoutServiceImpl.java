@@ -0,0 +1,246 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.PriceZone;
+import org.example.stadium_tickets.entity.SeatRange;
+import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.entity.StadiumSection;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest.PriceZoneDefinition;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest.SeatRangeDefinition;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest.SectionDefinition;
+import org.example.stadium_tickets.payload.response.StadiumLayoutResponse;
+import org.example.stadium_tickets.payload.response.TicketGenerationResponse;
+import org.example.stadium_tickets.repository.BulkLoadReport;
+import org.example.stadium_tickets.repository.PriceZoneRepository;
+import org.example.stadium_tickets.repository.StadiumSectionRepository;
+import org.example.stadium_tickets.repository.TicketBulkLoader;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.TicketRow;
+import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.StadiumLayoutService;
+import org.example.stadium_tickets.service.StadiumService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Seating layouts of stadiums and generation of the tickets of a match from the layout.
+ * Tickets are generated lazily in a single pass over the seat ranges and streamed to the
+ * {@link TicketBulkLoader}, so Hibernate is not involved in creating the seats.
+ */
+@Service
+public class StadiumLayoutServiceImpl implements StadiumLayoutService {
+
+    private static final int MAX_SEAT_NUMBER = 99999;
+    private static final int MAX_ROW_LABEL_LENGTH = 5;
+
+    private final StadiumService stadiumService;
+    private final MatchService matchService;
+    private final PriceZoneRepository priceZoneRepository;
+    private final StadiumSectionRepository sectionRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketBulkLoader ticketBulkLoader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public StadiumLayoutServiceImpl(StadiumService stadiumService,
+                                    MatchService matchService,
+                                    PriceZoneRepository priceZoneRepository,
+                                    StadiumSectionRepository sectionRepository,
+                                    TicketRepository ticketRepository,
+                                    TicketBulkLoader ticketBulkLoader,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.stadiumService = stadiumService;
+        this.matchService = matchService;
+        this.priceZoneRepository = priceZoneRepository;
+        this.sectionRepository = sectionRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketBulkLoader = ticketBulkLoader;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StadiumLayoutResponse getLayout(Long stadiumId) {
+        stadiumService.getStadiumById(stadiumId);
+        List<StadiumSection> sections = sectionRepository.findWithSeatRangesByStadiumId(stadiumId);
+        return new StadiumLayoutResponse(stadiumId, countSeats(sections),
+                priceZoneRepository.findByStadiumIdOrderById(stadiumId), sections);
+    }
+
+    @Override
+    @Transactional
+    public StadiumLayoutResponse replaceLayout(Long stadiumId, StadiumLayoutRequest request) {
+        Stadium stadium = stadiumService.getStadiumById(stadiumId);
+        validate(stadium, request);
+
+        sectionRepository.deleteByStadiumId(stadiumId);
+        priceZoneRepository.deleteByStadiumId(stadiumId);
+        // Old zones and sections must be gone before new ones with the same names are inserted
+        sectionRepository.flush();
+
+        Map<String, PriceZone> zones = new LinkedHashMap<>();
+        for (PriceZoneDefinition definition : request.getPriceZones()) {
+            zones.put(definition.getName(),
+                    priceZoneRepository.save(new PriceZone(stadium, definition.getName(), definition.getPrice())));
+        }
+        List<StadiumSection> sections = new ArrayList<>();
+        for (SectionDefinition definition : request.getSections()) {
+            StadiumSection section = new StadiumSection(stadium, definition.getName(), zones.get(definition.getPriceZone()));
+            for (SeatRangeDefinition range : definition.getSeatRanges()) {
+                section.addSeatRange(new SeatRange(range.getSeatRow().trim(), range.getFirstSeat(), range.getLastSeat(),
+                        range.getPriceZone() != null ? zones.get(range.getPriceZone()) : null));
+            }
+            sections.add(sectionRepository.save(section));
+        }
+        return new StadiumLayoutResponse(stadiumId, countSeats(sections), new ArrayList<>(zones.values()), sections);
+    }
+
+    @Override
+    @Transactional
+    public TicketGenerationResponse generateTickets(Long matchId) {
+        Match match = matchService.getMatchById(matchId);
+        if (ticketRepository.existsByMatchId(matchId)) {
+            throw new RuntimeException("Tickets have already been generated for match: " + matchId);
+        }
+        List<StadiumSection> sections = sectionRepository.findWithSeatRangesByStadiumId(match.getStadium().getId());
+        if (sections.isEmpty()) {
+            throw new RuntimeException("Stadium has no seating layout: " + match.getStadium().getId());
+        }
+
+        // Two concurrent generations can both pass the check above, the unique seat constraint stops the second
+        BulkLoadReport report;
+        try {
+            report = ticketBulkLoader.load(new SeatIterator(matchId, sections));
+        } catch (DuplicateKeyException e) {
+            throw new TicketConflictException("Tickets have already been generated for match: " + matchId);
+        }
+        eventPublisher.publishEvent(TicketStatusChangedEvent.bulkChange(this, matchId));
+        return new TicketGenerationResponse(matchId, report.rows(), report.elapsedMillis(), report.rowsPerSecond());
+    }
+
+    private void validate(Stadium stadium, StadiumLayoutRequest request) {
+        Map<String, PriceZoneDefinition> zones = new HashMap<>();
+        for (PriceZoneDefinition zone : request.getPriceZones()) {
+            if (zone.getName() == null || zone.getName().isBlank()) {
+                throw new RuntimeException("Price zone name is required");
+            }
+            if (zone.getPrice() == null || zone.getPrice().signum() < 0) {
+                throw new RuntimeException("Price zone " + zone.getName() + " needs a non-negative price");
+            }
+            if (zones.put(zone.getName(), zone) != null) {
+                throw new RuntimeException("Duplicate price zone: " + zone.getName());
+            }
+        }
+
+        Map<String, List<SeatRangeDefinition>> rangesByRow = new HashMap<>();
+        List<String> sectionNames = new ArrayList<>();
+        long seatCount = 0;
+        for (SectionDefinition section : request.getSections()) {
+            if (section.getName() == null || section.getName().isBlank()) {
+                throw new RuntimeException("Section name is required");
+            }
+            if (sectionNames.contains(section.getName())) {
+                throw new RuntimeException("Duplicate section: " + section.getName());
+            }
+            sectionNames.add(section.getName());
+            if (!zones.containsKey(section.getPriceZone())) {
+                throw new RuntimeException("Unknown price zone for section " + section.getName() + ": " + section.getPriceZone());
+            }
+            for (SeatRangeDefinition range : section.getSeatRanges()) {
+                validateRange(section, range, zones);
+                rangesByRow.computeIfAbsent(range.getSeatRow().trim(), row -> new ArrayList<>()).add(range);
+                seatCount += range.getLastSeat() - range.getFirstSeat() + 1;
+            }
+        }
+
+        // Tickets are identified by row and seat number, so ranges of the same row must not overlap anywhere
+        for (Map.Entry<String, List<SeatRangeDefinition>> row : rangesByRow.entrySet()) {
+            List<SeatRangeDefinition> ranges = row.getValue();
+            ranges.sort(Comparator.comparing(SeatRangeDefinition::getFirstSeat));
+            for (int i = 1; i < ranges.size(); i++) {
+                if (ranges.get(i).getFirstSeat() <= ranges.get(i - 1).getLastSeat()) {
+                    throw new RuntimeException("Overlapping seat ranges in row " + row.getKey());
+                }
+            }
+        }
+        if (stadium.getCapacity() != null && seatCount > stadium.getCapacity()) {
+            throw new RuntimeException("Layout has " + seatCount + " seats, more than the stadium capacity of "
+                    + stadium.getCapacity());
+        }
+    }
+
+    private void validateRange(SectionDefinition section, SeatRangeDefinition range, Map<String, PriceZoneDefinition> zones) {
+        if (range.getSeatRow() == null || range.getSeatRow().isBlank()
+                || range.getSeatRow().trim().length() > MAX_ROW_LABEL_LENGTH) {
+            throw new RuntimeException("Row label must have 1 to " + MAX_ROW_LABEL_LENGTH + " characters in section "
+                    + section.getName());
+        }
+        if (range.getFirstSeat() == null || range.getLastSeat() == null || range.getFirstSeat() < 1
+                || range.getLastSeat() < range.getFirstSeat() || range.getLastSeat() > MAX_SEAT_NUMBER) {
+            throw new RuntimeException("Invalid seat range in row " + range.getSeatRow() + " of section " + section.getName());
+        }
+        if (range.getPriceZone() != null && !zones.containsKey(range.getPriceZone())) {
+            throw new RuntimeException("Unknown price zone for row " + range.getSeatRow() + ": " + range.getPriceZone());
+        }
+    }
+
+    private static long countSeats(List<StadiumSection> sections) {
+        long seats = 0;
+        for (StadiumSection section : sections) {
+            for (SeatRange range : section.getSeatRanges()) {
+                seats += range.seatCount();
+            }
+        }
+        return seats;
+    }
+
+    // Walks the seats of the layout one at a time, so no more than the loader's chunk is ever materialized
+    private static final class SeatIterator implements Iterator<TicketRow> {
+        private final Long matchId;
+        private final Iterator<SeatRange> ranges;
+        private SeatRange range;
+        private int nextSeat;
+
+        private SeatIterator(Long matchId, List<StadiumSection> sections) {
+            this.matchId = matchId;
+            this.ranges = sections.stream().flatMap(section -> section.getSeatRanges().stream()).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (range == null || nextSeat > range.getLastSeat()) {
+                if (!ranges.hasNext()) {
+                    return false;
+                }
+                range = ranges.next();
+                nextSeat = range.getFirstSeat();
+            }
+            return true;
+        }
+
+        @Override
+        public TicketRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new TicketRow(matchId, range.getSeatRow(), String.valueOf(nextSeat++),
+                    range.effectivePriceZone().getPrice(), TicketStatus.FREE);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package org.example.stadium_tickets.service.impl;
 
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.repository.StadiumRepository;
 import org.example.stadium_tickets.service.StadiumService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,15 +17,20 @@ import java.util.Optional;
 public class StadiumServiceImpl implements StadiumService {
 
     private final StadiumRepository stadiumRepository;
+    private final BulkDeleter bulkDeleter;
 
     @Autowired
-    public StadiumServiceImpl(StadiumRepository stadiumRepository) {
+    public StadiumServiceImpl(StadiumRepository stadiumRepository, BulkDeleter bulkDeleter) {
         this.stadiumRepository = stadiumRepository;
+        this.bulkDeleter = bulkDeleter;
     }
 
     @Override
-    public List<Stadium> getAllStadiums() {
-        return stadiumRepository.findAll();
+    public KeysetPage<Stadium> getStadiums(String cursor, int limit) {
+        KeysetPage.checkLimit(limit);
+        long afterId = KeysetPage.decodeCursor(cursor, "stadiums");
+        List<Stadium> rows = stadiumRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, "stadiums", Stadium::getId);
     }
 
     @Override
@@ -31,6 +39,11 @@ public class StadiumServiceImpl implements StadiumService {
                 .orElseThrow(() -> new RuntimeException("Stadium not found with id: " + id));
     }
 
+    @Override
+    public List<Stadium> findAllByIds(Collection<Long> ids) {
+        return stadiumRepository.findAllById(ids);
+    }
+
     @Override
     @Transactional
     public Stadium createStadium(Stadium stadium) {
@@ -59,12 +72,12 @@ public class StadiumServiceImpl implements StadiumService {
     }
 
     @Override
-    @Transactional
     public void deleteStadium(Long id) {
         if (!stadiumRepository.existsById(id)) {
             throw new RuntimeException("Stadium not found with id: " + id);
         }
-        stadiumRepository.deleteById(id);
+        // Matches and their tickets are deleted in chunks with short transactions of their own
+        bulkDeleter.deleteStadium(id);
     }
 
     @Override
@@ -0,0 +1,180 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.service.TicketArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the partitions of the ticket table (PostgreSQL only, see V10__partition_ticket_by_match.sql and
+ * V14__precreate_ticket_partitions.sql). Partitions of new matches are created by a frequent job, moving the
+ * tickets that already landed in ticket_default. A partition is detached once its match started more than the
+ * grace period ago and is moved to the archive schema, where its rows are kept but no longer scanned by
+ * ticket queries. Partitions of matches that were deleted are empty and are dropped.
+ * Detaching briefly takes an exclusive lock on the ticket table, which is why archival runs off-peak.
+ */
+@Service
+@ConditionalOnProperty(name = "tickets.archive.enabled", havingValue = "true")
+public class TicketArchiveServiceImpl implements TicketArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketArchiveServiceImpl.class);
+    private static final String PARTITION_PREFIX = "ticket_m";
+    private static final String PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits " +
+            "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent " +
+            "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+            "JOIN pg_namespace ns ON ns.oid = parent.relnamespace " +
+            "WHERE parent.relname = 'ticket' AND ns.nspname = current_schema()";
+    private static final String LOCK_MATCH_SQL = "SELECT match_date FROM match WHERE id = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gracePeriod;
+    private final Clock clock;
+
+    @Autowired
+    public TicketArchiveServiceImpl(JdbcTemplate jdbcTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${tickets.archive.grace-hours:24}") long graceHours) {
+        this(jdbcTemplate, eventPublisher, transactionManager, Duration.ofHours(graceHours), Clock.systemUTC());
+    }
+
+    TicketArchiveServiceImpl(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager, Duration gracePeriod, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gracePeriod = gracePeriod;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${tickets.archive.cron:0 30 4 * * *}")
+    public void run() {
+        try {
+            List<Long> archived = archiveFinishedMatches();
+            if (!archived.isEmpty()) {
+                logger.info("Archived ticket partitions of matches {}", archived);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Ticket archival failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${tickets.archive.partition-cron:0 */10 * * * *}")
+    public void runPartitioning() {
+        try {
+            List<Long> created = createPartitions();
+            if (!created.isEmpty()) {
+                logger.info("Created ticket partitions of matches {}", created);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Ticket partitioning failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the partitions of matches that do not have one yet and are not finished.
+     * Returns the IDs of these matches.
+     */
+    @Override
+    public List<Long> createPartitions() {
+        Set<Long> partitioned = new HashSet<>();
+        for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+            Long matchId = matchIdOf(partition);
+            if (matchId != null) {
+                partitioned.add(matchId);
+            }
+        }
+
+        List<Long> created = new ArrayList<>();
+        for (Long matchId : jdbcTemplate.queryForList(
+                "SELECT id FROM match WHERE match_date >= ?", Long.class, finishedBefore())) {
+            if (partitioned.contains(matchId)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.queryForList("SELECT create_ticket_partition(?)", matchId);
+                created.add(matchId);
+            } catch (RuntimeException e) {
+                logger.warn("Could not create the ticket partition of match {}: {}", matchId, e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Detaches and archives the partitions of finished matches. Returns the IDs of the archived matches.
+     * Each partition is handled in its own transaction, after locking its match row: a match deleted or
+     * moved since the partitions were listed is seen, and no tickets are added while the partition is detached.
+     */
+    @Override
+    public List<Long> archiveFinishedMatches() {
+        List<Long> archived = new ArrayList<>();
+        for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+            Long matchId = matchIdOf(partition);
+            if (matchId == null) {
+                continue;
+            }
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> archive(partition, matchId)))) {
+                    archived.add(matchId);
+                    eventPublisher.publishEvent(TicketStatusChangedEvent.bulkChange(this, matchId));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not archive ticket partition {}: {}", partition, e.getMessage());
+            }
+        }
+        return archived;
+    }
+
+    // Returns whether the partition was archived; runs inside the transaction holding the match lock
+    private boolean archive(String partition, Long matchId) {
+        List<Timestamp> matchDate = jdbcTemplate.queryForList(LOCK_MATCH_SQL, Timestamp.class, matchId);
+        if (matchDate.isEmpty()) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return false;
+        }
+        if (!matchDate.get(0).before(finishedBefore())) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE ticket DETACH PARTITION " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA archive");
+        return true;
+    }
+
+    private Timestamp finishedBefore() {
+        return Timestamp.from(Instant.now(clock).minus(gracePeriod));
+    }
+
+    // Partition names are generated by create_ticket_partition, anything else (like ticket_default) is left alone
+    static Long matchIdOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        String id = partition.substring(PARTITION_PREFIX.length());
+        if (id.isEmpty() || !id.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.valueOf(id);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.stadium_tickets.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.service.TicketExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams the tickets of a match as CSV or NDJSON straight from a JDBC result set.
+ * Rows are fetched from a server-side cursor in pages of the fetch size (PostgreSQL only uses a cursor
+ * inside a transaction, hence the read-only transaction) and written as they arrive, without creating
+ * entities or collecting the rows, so memory use does not depend on the size of the match.
+ */
+@Service
+public class TicketExportServiceImpl implements TicketExportService {
+
+    private static final String SELECT_SQL =
+            "SELECT id, seat_row, seat_number, price, status_code, version FROM ticket WHERE match_id = ? ORDER BY id";
+    private static final String CSV_HEADER = "id,seat_row,seat_number,price,status,version\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TicketExportServiceImpl(DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${tickets.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public long exportTickets(Long matchId, String format, OutputStream out) throws IOException {
+        RowWriter rowWriter;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (FORMAT_CSV.equals(format)) {
+            writer.write(CSV_HEADER);
+            rowWriter = resultSet -> writeCsv(writer, resultSet);
+        } else if (FORMAT_NDJSON.equals(format)) {
+            JsonGenerator generator = new JsonFactory().createGenerator(writer);
+            // Rows are separated by the newline written after each of them
+            generator.setRootValueSeparator(null);
+            rowWriter = resultSet -> writeJson(generator, writer, resultSet);
+        } else {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+
+        long[] rows = new long[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_SQL, resultSet -> {
+                try {
+                    rowWriter.write(resultSet);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, matchId));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return rows[0];
+    }
+
+    private static void writeCsv(Writer writer, ResultSet resultSet) throws SQLException, IOException {
+        writer.write(Long.toString(resultSet.getLong(1)));
+        writer.write(',');
+        writer.write(csvValue(resultSet.getString(2)));
+        writer.write(',');
+        writer.write(csvValue(resultSet.getString(3)));
+        writer.write(',');
+        writer.write(resultSet.getBigDecimal(4).toPlainString());
+        writer.write(',');
+        writer.write(TicketStatus.fromCode(resultSet.getShort(5)).name());
+        writer.write(',');
+        writer.write(Long.toString(resultSet.getLong(6)));
+        writer.write('\n');
+    }
+
+    private static void writeJson(JsonGenerator generator, Writer writer, ResultSet resultSet)
+            throws SQLException, IOException {
+        BigDecimal price = resultSet.getBigDecimal(4);
+        generator.writeStartObject();
+        generator.writeNumberField("id", resultSet.getLong(1));
+        generator.writeStringField("seatRow", resultSet.getString(2));
+        generator.writeStringField("seatNumber", resultSet.getString(3));
+        generator.writeNumberField("price", price);
+        generator.writeStringField("status", TicketStatus.fromCode(resultSet.getShort(5)).name());
+        generator.writeNumberField("version", resultSet.getLong(6));
+        generator.writeEndObject();
+        generator.flush();
+        writer.write('\n');
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private interface RowWriter {
+        void write(ResultSet resultSet) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.csv.CsvReader;
+import org.example.stadium_tickets.csv.CsvRecord;
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.SeatRange;
+import org.example.stadium_tickets.entity.StadiumSection;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.payload.response.TicketImportResponse;
+import org.example.stadium_tickets.payload.response.TicketImportResponse.RowError;
+import org.example.stadium_tickets.repository.SeatKey;
+import org.example.stadium_tickets.repository.StadiumSectionRepository;
+import org.example.stadium_tickets.repository.TicketBulkLoader;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.TicketRow;
+import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.TicketImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports the tickets of a match from a CSV file with the columns seat_row, seat_number, price and an
+ * optional status (FREE or SOLD). The file is read one record at a time and valid rows are written in
+ * chunks through the {@link TicketBulkLoader}; duplicates are looked up in the database per chunk, so
+ * memory use depends on the chunk size and the error report cap, not on the size of the file.
+ * When the stadium has a seating layout, seats must be part of it and the price may be left empty
+ * to use the price of the seat's zone.
+ */
+@Service
+public class TicketImportServiceImpl implements TicketImportService {
+
+    private static final int MAX_RECORD_CHARS = 1024;
+    private static final int MAX_LABEL_LENGTH = 5;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("999999.99");
+    private static final Map<String, TicketStatus> IMPORTABLE_STATUSES =
+            Map.of(TicketStatus.FREE.name(), TicketStatus.FREE, TicketStatus.SOLD.name(), TicketStatus.SOLD);
+
+    private final MatchService matchService;
+    private final StadiumSectionRepository sectionRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketBulkLoader ticketBulkLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @Autowired
+    public TicketImportServiceImpl(MatchService matchService,
+                                   StadiumSectionRepository sectionRepository,
+                                   TicketRepository ticketRepository,
+                                   TicketBulkLoader ticketBulkLoader,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${tickets.import.chunk-size:1000}") int chunkSize,
+                                   @Value("${tickets.import.max-errors:1000}") int maxErrors) {
+        this.matchService = matchService;
+        this.sectionRepository = sectionRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketBulkLoader = ticketBulkLoader;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    @Transactional
+    public TicketImportResponse importTickets(Long matchId, Reader csv) {
+        Match match = matchService.getMatchById(matchId);
+        Import run = new Import(matchId, layoutRows(match));
+        try (CsvReader reader = new CsvReader(csv, MAX_RECORD_CHARS)) {
+            CsvRecord header = reader.read();
+            if (header == null) {
+                throw new RuntimeException("CSV file is empty");
+            }
+            if (!header.isValid()) {
+                throw new RuntimeException("Invalid CSV header: " + header.error());
+            }
+            run.columns(header.fields());
+
+            for (CsvRecord record = reader.read(); record != null; record = reader.read()) {
+                run.add(record);
+                if (run.chunk.size() == chunkSize) {
+                    run.flush();
+                }
+            }
+            run.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the CSV file: " + e.getMessage());
+        }
+
+        if (run.imported > 0) {
+            eventPublisher.publishEvent(TicketStatusChangedEvent.bulkChange(this, matchId));
+        }
+        return new TicketImportResponse(matchId, run.rowsRead, run.imported, run.rejected, run.errors,
+                run.rejected > run.errors.size());
+    }
+
+    private Map<String, List<SeatRange>> layoutRows(Match match) {
+        Map<String, List<SeatRange>> rows = new HashMap<>();
+        for (StadiumSection section : sectionRepository.findWithSeatRangesByStadiumId(match.getStadium().getId())) {
+            for (SeatRange range : section.getSeatRanges()) {
+                rows.computeIfAbsent(range.getSeatRow(), row -> new ArrayList<>()).add(range);
+            }
+        }
+        return rows;
+    }
+
+    private final class Import {
+        private final Long matchId;
+        private final Map<String, List<SeatRange>> layout;
+        // Valid rows of the current chunk by seat key, with the line each one came from
+        private final Map<SeatKey, TicketRow> chunk = new LinkedHashMap<>();
+        private final Map<SeatKey, Long> chunkLines = new HashMap<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private int rowColumn = -1;
+        private int numberColumn = -1;
+        private int priceColumn = -1;
+        private int statusColumn = -1;
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        private Import(Long matchId, Map<String, List<SeatRange>> layout) {
+            this.matchId = matchId;
+            this.layout = layout;
+        }
+
+        private void columns(List<String> header) {
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "seat_row":
+                        rowColumn = i;
+                        break;
+                    case "seat_number":
+                        numberColumn = i;
+                        break;
+                    case "price":
+                        priceColumn = i;
+                        break;
+                    case "status":
+                        statusColumn = i;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (rowColumn < 0 || numberColumn < 0 || (priceColumn < 0 && layout.isEmpty())) {
+                throw new RuntimeException("CSV header must contain the columns seat_row, seat_number and price");
+            }
+        }
+
+        private void add(CsvRecord record) {
+            rowsRead++;
+            if (!record.isValid()) {
+                reject(record.line(), record.error());
+                return;
+            }
+            List<String> fields = record.fields();
+            String seatRow = value(fields, rowColumn);
+            String seatNumber = value(fields, numberColumn);
+            String price = value(fields, priceColumn);
+            String statusValue = value(fields, statusColumn).toUpperCase(Locale.ROOT);
+
+            if (seatRow.isEmpty() || seatRow.length() > MAX_LABEL_LENGTH) {
+                reject(record.line(), "Row label must have 1 to " + MAX_LABEL_LENGTH + " characters");
+                return;
+            }
+            if (seatNumber.isEmpty() || seatNumber.length() > MAX_LABEL_LENGTH) {
+                reject(record.line(), "Seat number must have 1 to " + MAX_LABEL_LENGTH + " characters");
+                return;
+            }
+            SeatKey seatKey = new SeatKey(seatRow, seatNumber);
+            TicketStatus status = statusValue.isEmpty() ? TicketStatus.FREE : IMPORTABLE_STATUSES.get(statusValue);
+            if (status == null) {
+                reject(record.line(), "Status must be FREE or SOLD");
+                return;
+            }
+
+            BigDecimal layoutPrice = null;
+            if (!layout.isEmpty()) {
+                SeatRange range = findRange(seatRow, seatNumber);
+                if (range == null) {
+                    reject(record.line(), "Seat " + seatKey + " is not part of the stadium layout");
+                    return;
+                }
+                layoutPrice = range.effectivePriceZone().getPrice();
+            }
+            BigDecimal seatPrice;
+            if (price.isEmpty()) {
+                if (layoutPrice == null) {
+                    reject(record.line(), "Price is required");
+                    return;
+                }
+                seatPrice = layoutPrice;
+            } else {
+                try {
+                    seatPrice = new BigDecimal(price);
+                } catch (NumberFormatException e) {
+                    reject(record.line(), "Invalid price: " + price);
+                    return;
+                }
+                if (seatPrice.signum() < 0 || seatPrice.scale() > 2 || seatPrice.compareTo(MAX_PRICE) > 0) {
+                    reject(record.line(), "Price must be between 0 and " + MAX_PRICE + " with at most 2 decimals");
+                    return;
+                }
+            }
+
+            if (chunk.containsKey(seatKey)) {
+                reject(record.line(), "Seat " + seatKey + " appears more than once, first on line " + chunkLines.get(seatKey));
+                return;
+            }
+            chunk.put(seatKey, new TicketRow(matchId, seatRow, seatNumber, seatPrice, status));
+            chunkLines.put(seatKey, record.line());
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            // Earlier chunks of this file are already written, so this also catches duplicates across chunks
+            Set<SeatKey> existing = new HashSet<>(ticketRepository.findSeatsByMatchIdAndSeats(matchId, chunk.keySet()));
+            chunk.keySet().removeIf(seatKey -> {
+                if (existing.contains(seatKey)) {
+                    reject(chunkLines.get(seatKey), "Seat " + seatKey + " already exists for this match");
+                    return true;
+                }
+                return false;
+            });
+            if (!chunk.isEmpty()) {
+                imported += ticketBulkLoader.load(chunk.values().iterator()).rows();
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+
+        private SeatRange findRange(String seatRow, String seatNumber) {
+            List<SeatRange> ranges = layout.get(seatRow);
+            if (ranges == null) {
+                return null;
+            }
+            int number;
+            try {
+                number = Integer.parseInt(seatNumber);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            // Generated tickets use plain numbers, so "07" would not match the seat "7" of the layout
+            if (!String.valueOf(number).equals(seatNumber)) {
+                return null;
+            }
+            for (SeatRange range : ranges) {
+                if (number >= range.getFirstSeat() && number <= range.getLastSeat()) {
+                    return range;
+                }
+            }
+            return null;
+        }
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        private String value(List<String> fields, int column) {
+            return column >= 0 && column < fields.size() ? fields.get(column).trim() : "";
+        }
+    }
+}
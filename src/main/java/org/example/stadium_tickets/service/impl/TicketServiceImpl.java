@@ -1,32 +1,61 @@
 package org.example.stadium_tickets.service.impl;
 
 import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.payload.request.SeatCoordinate;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.repository.SeatKey;
 import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.AvailabilityService;
 import org.example.stadium_tickets.service.MatchService;
 import org.example.stadium_tickets.service.TicketService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class TicketServiceImpl implements TicketService {
 
+    private static final int MAX_CART_SIZE = 20;
+
     private final TicketRepository ticketRepository;
     private final MatchService matchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AvailabilityService availabilityService;
 
     @Autowired
-    public TicketServiceImpl(TicketRepository ticketRepository, MatchService matchService) {
+    public TicketServiceImpl(TicketRepository ticketRepository, MatchService matchService,
+                             ApplicationEventPublisher eventPublisher, AvailabilityService availabilityService) {
         this.ticketRepository = ticketRepository;
         this.matchService = matchService;
+        this.eventPublisher = eventPublisher;
+        this.availabilityService = availabilityService;
     }
 
     @Override
-    public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+    public KeysetPage<Ticket> getTickets(TicketStatus status, String cursor, int limit) {
+        KeysetPage.checkLimit(limit);
+        // A cursor of the status listing does not continue the full listing and the other way round
+        String scope = status != null ? "tickets:" + status.name() : "tickets";
+        long afterId = KeysetPage.decodeCursor(cursor, scope);
+        // One row more than the limit tells whether there is a next page
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Ticket> rows = status != null
+                ? ticketRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, page)
+                : ticketRepository.findByIdGreaterThanOrderByIdAsc(afterId, page);
+        return KeysetPage.of(rows, limit, scope, Ticket::getId);
     }
 
     @Override
@@ -54,15 +83,20 @@ public class TicketServiceImpl implements TicketService {
         }
         
         // Set initial status
-        ticket.setStatus("FREE");
+        ticket.setStatus(TicketStatus.FREE);
         
-        return ticketRepository.save(ticket);
+        Ticket savedTicket = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(TicketStatusChangedEvent.created(
+                this, savedTicket.getMatch().getId(), savedTicket.getId(), savedTicket.getStatus()));
+        return savedTicket;
     }
 
     @Override
     @Transactional
     public Ticket updateTicket(Long id, Ticket ticket) {
         Ticket existingTicket = getTicketById(id);
+        Long previousMatchId = existingTicket.getMatch().getId();
+        TicketStatus previousStatus = existingTicket.getStatus();
         
         // Validate match exists if it's being updated
         if (ticket.getMatch() != null && ticket.getMatch().getId() != null) {
@@ -82,18 +116,30 @@ public class TicketServiceImpl implements TicketService {
         existingTicket.setSeatRow(ticket.getSeatRow());
         existingTicket.setSeatNumber(ticket.getSeatNumber());
         existingTicket.setPrice(ticket.getPrice());
-        existingTicket.setStatus(ticket.getStatus());
+        if (ticket.getStatus() != null) {
+            previousStatus.checkTransitionTo(ticket.getStatus());
+            existingTicket.setStatus(ticket.getStatus());
+        }
         
-        return ticketRepository.save(existingTicket);
+        Ticket savedTicket = ticketRepository.save(existingTicket);
+        Long matchId = savedTicket.getMatch().getId();
+        if (matchId.equals(previousMatchId)) {
+            eventPublisher.publishEvent(TicketStatusChangedEvent.transition(
+                    this, matchId, id, previousStatus, savedTicket.getStatus()));
+        } else {
+            eventPublisher.publishEvent(TicketStatusChangedEvent.deleted(this, previousMatchId, id, previousStatus));
+            eventPublisher.publishEvent(TicketStatusChangedEvent.created(this, matchId, id, savedTicket.getStatus()));
+        }
+        return savedTicket;
     }
 
     @Override
     @Transactional
     public void deleteTicket(Long id) {
-        if (!ticketRepository.existsById(id)) {
-            throw new RuntimeException("Ticket not found with id: " + id);
-        }
+        Ticket ticket = getTicketById(id);
         ticketRepository.deleteById(id);
+        eventPublisher.publishEvent(TicketStatusChangedEvent.deleted(
+                this, ticket.getMatch().getId(), id, ticket.getStatus()));
     }
 
     @Override
@@ -102,12 +148,7 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public List<Ticket> findByStatus(String status) {
-        return ticketRepository.findByStatus(status);
-    }
-
-    @Override
-    public List<Ticket> findByMatchAndStatus(Match match, String status) {
+    public List<Ticket> findByMatchAndStatus(Match match, TicketStatus status) {
         return ticketRepository.findByMatchAndStatus(match, status);
     }
 
@@ -117,33 +158,73 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public long countByMatchAndStatus(Match match, String status) {
-        return ticketRepository.countByMatchAndStatus(match, status);
+    public long countByMatchAndStatus(Match match, TicketStatus status) {
+        return availabilityService.count(match.getId(), status);
     }
 
     @Override
     @Transactional
     public Ticket purchaseTicket(Long ticketId) {
-        Ticket ticket = getTicketById(ticketId);
-        
-        if (!"FREE".equals(ticket.getStatus())) {
-            throw new RuntimeException("Ticket is not available for purchase");
-        }
-        
-        ticket.setStatus("SOLD");
-        return ticketRepository.save(ticket);
+        return transitionStatus(ticketId, TicketStatus.FREE, TicketStatus.SOLD, "Ticket is not available for purchase");
     }
 
     @Override
     @Transactional
     public Ticket cancelTicket(Long ticketId) {
-        Ticket ticket = getTicketById(ticketId);
-        
-        if (!"SOLD".equals(ticket.getStatus())) {
-            throw new RuntimeException("Ticket is not sold, cannot be canceled");
+        return transitionStatus(ticketId, TicketStatus.SOLD, TicketStatus.FREE, "Ticket is not sold, cannot be canceled");
+    }
+
+    @Override
+    @Transactional
+    public List<Ticket> purchaseTickets(Long matchId, List<Long> ticketIds, List<SeatCoordinate> seats) {
+        if (matchId == null) {
+            throw new RuntimeException("Match is required for a cart purchase");
         }
-        
-        ticket.setStatus("FREE");
-        return ticketRepository.save(ticket);
+
+        Set<Long> ids = new LinkedHashSet<>();
+        if (ticketIds != null) {
+            ids.addAll(ticketIds);
+        }
+        if (seats != null && !seats.isEmpty()) {
+            Set<SeatKey> seatKeys = seats.stream().map(SeatCoordinate::toSeatKey).collect(Collectors.toSet());
+            List<Long> seatTicketIds = ticketRepository.findIdsByMatchIdAndSeats(matchId, seatKeys);
+            if (seatTicketIds.size() != seatKeys.size()) {
+                throw new RuntimeException("Some of the requested seats do not exist for this match");
+            }
+            ids.addAll(seatTicketIds);
+        }
+        if (ids.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+        if (ids.size() > MAX_CART_SIZE) {
+            throw new RuntimeException("A cart can contain at most " + MAX_CART_SIZE + " tickets");
+        }
+
+        // One set-based update claims the whole cart, a partial claim is rolled back with the transaction
+        int claimed = ticketRepository.updateStatusForMatchIfCurrent(matchId, ids, TicketStatus.FREE, TicketStatus.SOLD);
+        if (claimed != ids.size()) {
+            throw new TicketConflictException("Some of the requested seats are not available");
+        }
+
+        List<Ticket> tickets = ticketRepository.findAllById(ids);
+        eventPublisher.publishEvent(new TicketStatusChangedEvent(this, matchId, new ArrayList<>(ids), TicketStatus.FREE, TicketStatus.SOLD));
+        return tickets;
+    }
+
+    // Claims the ticket with a single conditional update, so concurrent buyers cannot both see it as available.
+    // The update returns the changed row, the ticket is not read again.
+    private Ticket transitionStatus(Long ticketId, TicketStatus expectedStatus, TicketStatus newStatus, String conflictMessage) {
+        Optional<Ticket> changed = ticketRepository.updateStatusIfCurrentReturning(ticketId, expectedStatus, newStatus);
+        if (changed.isEmpty()) {
+            if (!ticketRepository.existsById(ticketId)) {
+                throw new RuntimeException("Ticket not found with id: " + ticketId);
+            }
+            throw new TicketConflictException(ticketId, conflictMessage);
+        }
+
+        Ticket ticket = changed.get();
+        eventPublisher.publishEvent(TicketStatusChangedEvent.transition(
+                this, ticket.getMatch().getId(), ticketId, expectedStatus, newStatus));
+        return ticket;
     }
 }
\ No newline at end of file
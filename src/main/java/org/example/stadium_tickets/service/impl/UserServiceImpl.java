@@ -2,10 +2,12 @@ package org.example.stadium_tickets.service.impl;
 
 import org.example.stadium_tickets.entity.Role;
 import org.example.stadium_tickets.entity.User;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.repository.RoleRepository;
 import org.example.stadium_tickets.repository.UserRepository;
 import org.example.stadium_tickets.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,8 +30,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public KeysetPage<User> getUsers(String cursor, int limit) {
+        KeysetPage.checkLimit(limit);
+        long afterId = KeysetPage.decodeCursor(cursor, "users");
+        List<User> rows = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, "users", User::getId);
     }
 
     @Override
@@ -0,0 +1,317 @@
+package org.example.stadium_tickets.service.impl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.WaitingRoomException;
+import org.example.stadium_tickets.payload.response.QueueStatusResponse;
+import org.example.stadium_tickets.service.AvailabilityService;
+import org.example.stadium_tickets.service.WaitingRoomService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Virtual waiting room that lets buyers into the purchase endpoints at the rate the system actually sells tickets.
+ * Every match has its own queue made of two counters: the number of issued queue tokens and the number of
+ * admitted ones. A queue token is a signed JWT carrying its user, match and sequence number, so checking a position
+ * is a signature check and two counter reads, without any database access.
+ * <p>
+ * An admitted token only lets its own user buy seats of its own match, and only for a few purchases, so a token
+ * from a quiet match cannot be used to skip the queue of another one. Tokens are signed with a key of their own
+ * and carry their own audience, so they can never be mistaken for login tokens or the other way round.
+ * Without a configured key every instance generates one on startup, which is enough as queues only live in memory.
+ * <p>
+ * The admission rate follows the measured purchase throughput of the match (a moving average of sold seats
+ * per second), scaled by a headroom factor and kept within configured bounds.
+ * <p>
+ * Queues are only opened for matches known to the in-memory availability counters. The admission tick drops
+ * the purchase budgets of expired tokens and the queues whose tokens have all expired.
+ */
+@Service
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitingRoomServiceImpl.class);
+    private static final String TOKEN_AUDIENCE = "waiting-room";
+    private static final double THROUGHPUT_SMOOTHING = 0.2;
+
+    private final AvailabilityService availabilityService;
+    private final Key signingKey;
+    private final boolean enabled;
+    private final long tokenTtlMillis;
+    private final long tickMillis;
+    private final double minAdmissionsPerSecond;
+    private final double maxAdmissionsPerSecond;
+    private final double throughputHeadroom;
+    private final int purchasesPerToken;
+
+    private final ConcurrentMap<Long, MatchQueue> queues = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public WaitingRoomServiceImpl(AvailabilityService availabilityService,
+                                  @Value("${tickets.waiting-room.secret:}") String secret,
+                                  @Value("${tickets.waiting-room.enabled:false}") boolean enabled,
+                                  @Value("${tickets.waiting-room.token-ttl-seconds:7200}") long tokenTtlSeconds,
+                                  @Value("${tickets.waiting-room.tick-ms:1000}") long tickMillis,
+                                  @Value("${tickets.waiting-room.min-admissions-per-second:20}") double minAdmissionsPerSecond,
+                                  @Value("${tickets.waiting-room.max-admissions-per-second:500}") double maxAdmissionsPerSecond,
+                                  @Value("${tickets.waiting-room.throughput-headroom:1.2}") double throughputHeadroom,
+                                  @Value("${tickets.waiting-room.purchases-per-token:3}") int purchasesPerToken) {
+        this.availabilityService = availabilityService;
+        this.signingKey = secret.isBlank()
+                ? Keys.secretKeyFor(SignatureAlgorithm.HS256)
+                : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.enabled = enabled;
+        this.tokenTtlMillis = TimeUnit.SECONDS.toMillis(tokenTtlSeconds);
+        this.tickMillis = tickMillis;
+        this.minAdmissionsPerSecond = minAdmissionsPerSecond;
+        this.maxAdmissionsPerSecond = maxAdmissionsPerSecond;
+        this.throughputHeadroom = throughputHeadroom;
+        this.purchasesPerToken = purchasesPerToken;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waiting-room-admission");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @Override
+    public QueueStatusResponse join(Long matchId, String username) {
+        if (matchId == null) {
+            throw new RuntimeException("Match is required to join the queue");
+        }
+        if (username == null || username.isBlank()) {
+            throw new RuntimeException("Only signed in users can join the queue");
+        }
+        // Answered from memory for a match on sale, throws for a match that does not exist
+        availabilityService.getAvailability(matchId);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + tokenTtlMillis;
+        long[] sequence = new long[1];
+        // Issued inside compute, so the admission tick cannot drop the queue between the two
+        MatchQueue queue = queues.compute(matchId, (id, existing) -> {
+            MatchQueue current = existing != null ? existing : new MatchQueue(minAdmissionsPerSecond);
+            sequence[0] = current.issued.incrementAndGet();
+            current.tokensExpireAt = Math.max(current.tokensExpireAt, expiresAt);
+            return current;
+        });
+        String token = Jwts.builder()
+                .setSubject(username)
+                .setAudience(TOKEN_AUDIENCE)
+                .claim("matchId", matchId)
+                .claim("seq", sequence[0])
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(expiresAt))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+        return status(token, matchId, sequence[0], queue);
+    }
+
+    @Override
+    public QueueStatusResponse getStatus(String token) {
+        Claims claims = parse(token);
+        Long matchId = matchIdOf(claims);
+        long sequence = sequenceOf(claims);
+        MatchQueue queue = queues.get(matchId);
+        if (queue == null) {
+            throw new WaitingRoomException("Queue for this match no longer exists, join it again", 0);
+        }
+        return status(token, matchId, sequence, queue);
+    }
+
+    @Override
+    public void requireAdmitted(String token, Long matchId, String username) {
+        requireAdmitted(token, () -> matchId, username);
+    }
+
+    /**
+     * Lets one purchase of the given user and match through, or throws when the token is not admitted,
+     * belongs to someone else or another match, or has used up its purchases.
+     * The match being bought is only resolved once the token has been verified and admitted,
+     * so a lookup behind it never runs for a forged or waiting token.
+     */
+    @Override
+    public void requireAdmitted(String token, Supplier<Long> matchId, String username) {
+        if (token == null || token.isBlank()) {
+            throw new WaitingRoomException("Purchases are queued, join the waiting room first", 0);
+        }
+        Claims claims = parse(token);
+        if (username == null || !username.equals(claims.getSubject())) {
+            throw new WaitingRoomException("Queue token belongs to another user, join the waiting room again", 0);
+        }
+        Long tokenMatchId = matchIdOf(claims);
+        MatchQueue queue = queues.get(tokenMatchId);
+        if (queue == null) {
+            throw new WaitingRoomException("Queue for this match no longer exists, join it again", 0);
+        }
+        QueueStatusResponse status = status(token, tokenMatchId, sequenceOf(claims), queue);
+        if (!status.isAdmitted()) {
+            throw new WaitingRoomException("Still waiting in the queue at position " + status.getPosition(),
+                    Math.max(1, status.getEstimatedWaitSeconds()));
+        }
+        if (!tokenMatchId.equals(matchId.get())) {
+            throw new WaitingRoomException("Queue token is for another match, join the queue of this match", 0);
+        }
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        int purchases = queue.purchases.computeIfAbsent(sequenceOf(claims), sequence -> new TokenPurchases(expiresAt))
+                .count.incrementAndGet();
+        if (purchases > purchasesPerToken) {
+            throw new WaitingRoomException("Queue token has been used up, join the waiting room again", 0);
+        }
+    }
+
+    /**
+     * Admits the next buyers of every queue according to the current admission rate.
+     * Only called by the admission ticker, so the rate bookkeeping needs no synchronization.
+     */
+    @Override
+    public void admit() {
+        double elapsedSeconds = tickMillis / 1000.0;
+        queues.forEach((matchId, queue) -> {
+            double soldPerSecond = queue.sold.sumThenReset() / elapsedSeconds;
+            queue.throughput = THROUGHPUT_SMOOTHING * soldPerSecond + (1 - THROUGHPUT_SMOOTHING) * queue.throughput;
+            queue.admissionsPerSecond = Math.min(maxAdmissionsPerSecond,
+                    Math.max(minAdmissionsPerSecond, queue.throughput * throughputHeadroom));
+
+            queue.credit += queue.admissionsPerSecond * elapsedSeconds;
+            long waiting = queue.issued.get() - queue.admitted.get();
+            long admitted = Math.min(waiting, (long) queue.credit);
+            if (admitted > 0) {
+                queue.admitted.addAndGet(admitted);
+                queue.credit -= admitted;
+            }
+            if (waiting == admitted) {
+                // Do not bank admissions while nobody is waiting, otherwise a burst would be let in at once
+                queue.credit -= Math.floor(queue.credit);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        if (event.getNewStatus() != TicketStatus.SOLD) {
+            return;
+        }
+        MatchQueue queue = queues.get(event.getMatchId());
+        if (queue != null) {
+            queue.sold.add(event.getTicketIds().size());
+        }
+    }
+
+    /**
+     * Drops the purchase budgets of expired tokens and the queues whose tokens have all expired.
+     * Called by the admission ticker, and directly by tests that have not started it.
+     */
+    void evictExpired(long nowMillis) {
+        queues.forEach((matchId, queue) -> {
+            queue.purchases.values().removeIf(purchases -> purchases.expiresAt <= nowMillis);
+            // Removed inside compute, so a concurrent join either keeps the queue alive or opens a new one
+            queues.computeIfPresent(matchId, (id, current) -> current.tokensExpireAt <= nowMillis ? null : current);
+        });
+    }
+
+    private void tick() {
+        try {
+            admit();
+            evictExpired(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            logger.error("Waiting room admission failed: {}", e.getMessage());
+        }
+    }
+
+    private Claims parse(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .requireAudience(TOKEN_AUDIENCE)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            if (claims.getSubject() == null || claims.get("matchId") == null || claims.get("seq") == null) {
+                throw new WaitingRoomException("Invalid queue token, join the waiting room again", 0);
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new WaitingRoomException("Invalid queue token, join the waiting room again", 0);
+        }
+    }
+
+    private static Long matchIdOf(Claims claims) {
+        return ((Number) claims.get("matchId")).longValue();
+    }
+
+    private static long sequenceOf(Claims claims) {
+        return ((Number) claims.get("seq")).longValue();
+    }
+
+    private QueueStatusResponse status(String token, Long matchId, long sequence, MatchQueue queue) {
+        long position = Math.max(0, sequence - queue.admitted.get());
+        long estimatedWaitSeconds = (long) Math.ceil(position / queue.admissionsPerSecond);
+        return new QueueStatusResponse(token, matchId, position, position == 0, estimatedWaitSeconds);
+    }
+
+    private static final class MatchQueue {
+        private final AtomicLong issued = new AtomicLong();
+        private final AtomicLong admitted = new AtomicLong();
+        private final LongAdder sold = new LongAdder();
+        // Purchases made with every admitted token, by token sequence number
+        private final ConcurrentMap<Long, TokenPurchases> purchases = new ConcurrentHashMap<>();
+        // Expiry of the newest token, written inside compute() of the queue map only
+        private volatile long tokensExpireAt;
+        // Written by the admission ticker only
+        private volatile double admissionsPerSecond;
+        private double throughput;
+        private double credit;
+
+        private MatchQueue(double admissionsPerSecond) {
+            this.admissionsPerSecond = admissionsPerSecond;
+        }
+    }
+
+    private static final class TokenPurchases {
+        private final AtomicInteger count = new AtomicInteger();
+        private final long expiresAt;
+
+        private TokenPurchases(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+-- Partition the ticket table by match (PostgreSQL declarative LIST partitioning, one partition per match).
+-- Queries filtered by match_id only touch the partition of that match, and partitions of finished matches
+-- are detached into the archive schema by the ticket archive job, so old seasons stay out of current scans.
+-- Rows of a match without a partition land in ticket_default.
+
+ALTER TABLE ticket RENAME TO ticket_legacy;
+ALTER TABLE ticket_legacy RENAME CONSTRAINT ticket_pkey TO ticket_legacy_pkey;
+ALTER TABLE ticket_legacy RENAME CONSTRAINT ticket_match_id_fkey TO ticket_legacy_match_id_fkey;
+
+-- The partition key has to be part of the primary key; IDs stay unique through the sequence
+CREATE TABLE ticket (
+    id BIGINT NOT NULL DEFAULT nextval('ticket_id_seq_bigint'),
+    match_id BIGINT NOT NULL,
+    seat_row VARCHAR(5),
+    seat_number VARCHAR(5),
+    price NUMERIC(8,2) NOT NULL,
+    status VARCHAR(10) NOT NULL DEFAULT 'FREE',
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT ticket_pkey PRIMARY KEY (id, match_id),
+    CONSTRAINT ticket_match_id_fkey FOREIGN KEY (match_id) REFERENCES match(id) ON DELETE CASCADE
+) PARTITION BY LIST (match_id);
+
+CREATE TABLE ticket_default PARTITION OF ticket DEFAULT;
+
+CREATE FUNCTION create_ticket_partition(p_match_id BIGINT) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF ticket FOR VALUES IN (%s)',
+                   'ticket_m' || p_match_id, p_match_id);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION create_ticket_partition_for_match() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM create_ticket_partition(NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER match_ticket_partition
+    AFTER INSERT ON match
+    FOR EACH ROW EXECUTE FUNCTION create_ticket_partition_for_match();
+
+SELECT create_ticket_partition(id) FROM match;
+
+INSERT INTO ticket (id, match_id, seat_row, seat_number, price, status, version)
+SELECT id, match_id, seat_row, seat_number, price, status, version FROM ticket_legacy;
+
+-- The sequence is owned by the legacy column and would be dropped with it
+ALTER SEQUENCE ticket_id_seq_bigint OWNED BY NONE;
+DROP TABLE ticket_legacy;
+ALTER SEQUENCE ticket_id_seq_bigint OWNED BY ticket.id;
+
+CREATE SCHEMA IF NOT EXISTS archive;
@@ -0,0 +1,28 @@
+-- Store the ticket status as the SMALLINT code of TicketStatus instead of a VARCHAR(10) name.
+-- ticket_status maps codes to names for ad-hoc queries and rejects unknown codes through the foreign key.
+-- Partitions already detached into the archive schema keep their VARCHAR status column.
+
+CREATE TABLE ticket_status (
+    code SMALLINT PRIMARY KEY,
+    name VARCHAR(10) NOT NULL UNIQUE
+);
+
+INSERT INTO ticket_status (code, name) VALUES
+    (0, 'FREE'),
+    (1, 'SOLD'),
+    (2, 'HELD'),
+    (3, 'REFUNDED');
+
+ALTER TABLE ticket ADD COLUMN status_code SMALLINT;
+
+-- An unknown status name leaves the code null and fails the NOT NULL below
+UPDATE ticket SET status_code = (SELECT s.code FROM ticket_status s WHERE s.name = ticket.status);
+
+ALTER TABLE ticket ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE ticket ALTER COLUMN status_code SET DEFAULT 0;
+ALTER TABLE ticket ADD CONSTRAINT ticket_status_code_fkey FOREIGN KEY (status_code) REFERENCES ticket_status(code);
+ALTER TABLE ticket DROP COLUMN status;
+
+-- Partial indexes only hold the free and held seats of a match, so they stay small while a match sells out
+CREATE INDEX ticket_free_seats_idx ON ticket (match_id, id) WHERE status_code = 0;
+CREATE INDEX ticket_held_seats_idx ON ticket (match_id, id) WHERE status_code = 2;
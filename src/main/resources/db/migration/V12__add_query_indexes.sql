@@ -0,0 +1,17 @@
+-- Indexes for the repository queries beyond primary keys and unique constraints.
+-- The query plan tests check that these queries keep using them.
+-- Indexes created on the partitioned ticket table are created on every partition, including future ones.
+
+-- findByMatchAndStatus, countByMatchAndStatus and the match inventory loads
+CREATE INDEX ticket_match_status_idx ON ticket (match_id, status_code);
+-- findByMatchAndSeatRowAndSeatNumber and the seat lookups of imports and cart purchases
+CREATE INDEX ticket_match_seat_idx ON ticket (match_id, seat_row, seat_number);
+
+CREATE INDEX match_stadium_id_idx ON match (stadium_id);
+CREATE INDEX match_date_idx ON match (match_date);
+-- findByHomeTeamAndAwayTeam and findByHomeTeam use the leading column
+CREATE INDEX match_teams_idx ON match (home_team, away_team);
+CREATE INDEX match_away_team_idx ON match (away_team);
+
+CREATE INDEX stadium_name_idx ON stadium (name);
+CREATE INDEX stadium_city_idx ON stadium (city);
@@ -0,0 +1,3 @@
+-- Keyset pages of the ticket listing filtered by status: WHERE status_code = ? AND id > ? ORDER BY id.
+-- The unfiltered listings of tickets, matches, users and stadiums page over their primary keys.
+CREATE INDEX ticket_status_id_idx ON ticket (status_code, id);
@@ -0,0 +1,27 @@
+-- Stop creating ticket partitions from a trigger on match inserts. CREATE TABLE ... PARTITION OF takes an
+-- ACCESS EXCLUSIVE lock on ticket and scans ticket_default inside the transaction that inserts the match,
+-- which stalls every ticket query while a match is created. Partitions are now created by the ticket
+-- archive job (tickets.archive.enabled=true) through create_ticket_partition below.
+-- Tickets of a match without a partition stay in ticket_default until the job runs.
+
+DROP TRIGGER match_ticket_partition ON match;
+DROP FUNCTION create_ticket_partition_for_match();
+
+-- Builds the partition as a standalone table, moves the rows of the match out of ticket_default and
+-- attaches it. ATTACH PARTITION only takes a SHARE UPDATE EXCLUSIVE lock on ticket, and the CHECK
+-- constraint spares it the scan of the new partition. Runs as a single statement, so it is atomic.
+CREATE OR REPLACE FUNCTION create_ticket_partition(p_match_id BIGINT) RETURNS VOID AS $$
+DECLARE
+    partition_name TEXT := 'ticket_m' || p_match_id;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE ticket INCLUDING DEFAULTS, CONSTRAINT %I CHECK (match_id = %s))',
+                   partition_name, partition_name || '_match_check', p_match_id);
+    EXECUTE format('WITH moved AS (DELETE FROM ticket_default WHERE match_id = %s RETURNING *) ' ||
+                   'INSERT INTO %I SELECT * FROM moved', p_match_id, partition_name);
+    EXECUTE format('ALTER TABLE ticket ATTACH PARTITION %I FOR VALUES IN (%s)', partition_name, p_match_id);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, partition_name || '_match_check');
+END;
+$$ LANGUAGE plpgsql;
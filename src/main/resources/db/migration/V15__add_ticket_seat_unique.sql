@@ -0,0 +1,8 @@
+-- A seat exists at most once per match. Ticket generation and imports check for existing seats before
+-- loading, but two concurrent loads can both pass that check; the constraint makes the second one fail.
+-- The unique index serves the seat lookups, so it replaces ticket_match_seat_idx. On the partitioned ticket
+-- table it is created on every partition, including the ones attached later by create_ticket_partition.
+-- Fails when a match already has duplicate seats, which have to be resolved by hand first.
+
+ALTER TABLE ticket ADD CONSTRAINT ticket_match_seat_key UNIQUE (match_id, seat_row, seat_number);
+DROP INDEX ticket_match_seat_idx;
@@ -0,0 +1,2 @@
+-- Add optimistic locking version to tickets
+ALTER TABLE ticket ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
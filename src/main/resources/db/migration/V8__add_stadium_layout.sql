@@ -0,0 +1,29 @@
+-- Seating layout of a stadium: price zones, sections and ranges of seats per row
+
+CREATE TABLE price_zone (
+    id BIGSERIAL PRIMARY KEY,
+    stadium_id BIGINT NOT NULL REFERENCES stadium(id) ON DELETE CASCADE,
+    name VARCHAR(50) NOT NULL,
+    price NUMERIC(8,2) NOT NULL,
+    CONSTRAINT price_zone_stadium_name_key UNIQUE (stadium_id, name)
+);
+
+CREATE TABLE stadium_section (
+    id BIGSERIAL PRIMARY KEY,
+    stadium_id BIGINT NOT NULL REFERENCES stadium(id) ON DELETE CASCADE,
+    name VARCHAR(50) NOT NULL,
+    price_zone_id BIGINT NOT NULL REFERENCES price_zone(id) ON DELETE RESTRICT,
+    CONSTRAINT stadium_section_stadium_name_key UNIQUE (stadium_id, name)
+);
+
+CREATE TABLE seat_range (
+    id BIGSERIAL PRIMARY KEY,
+    section_id BIGINT NOT NULL REFERENCES stadium_section(id) ON DELETE CASCADE,
+    seat_row VARCHAR(5) NOT NULL,
+    first_seat INT NOT NULL,
+    last_seat INT NOT NULL,
+    price_zone_id BIGINT REFERENCES price_zone(id) ON DELETE RESTRICT,
+    CONSTRAINT seat_range_seats_check CHECK (first_seat > 0 AND last_seat >= first_seat)
+);
+
+CREATE INDEX seat_range_section_id_idx ON seat_range(section_id);
@@ -0,0 +1,7 @@
+-- Let Hibernate reserve IDs in blocks of 50 (pooled optimizer), so inserts can be sent in JDBC batches.
+-- The increment must match allocationSize of the @SequenceGenerator mappings.
+-- Column defaults keep using nextval, so rows inserted outside Hibernate take a whole block and never collide.
+ALTER SEQUENCE stadium_id_seq_bigint INCREMENT BY 50;
+ALTER SEQUENCE match_id_seq_bigint INCREMENT BY 50;
+ALTER SEQUENCE ticket_id_seq_bigint INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq_bigint INCREMENT BY 50;
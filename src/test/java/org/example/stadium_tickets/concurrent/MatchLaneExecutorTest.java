@@ -0,0 +1,204 @@
+package org.example.stadium_tickets.concurrent;
+
+import org.example.stadium_tickets.exception.MutationBackpressureException;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchLaneExecutorTest {
+
+    private MatchLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void testSameMatchAlwaysUsesSameLane() {
+        executor = new MatchLaneExecutor(4, 10, 1000);
+
+        Set<Integer> usedLanes = new HashSet<>();
+        for (long matchId = 1; matchId <= 100; matchId++) {
+            assertEquals(executor.laneOf(matchId), executor.laneOf(matchId));
+            usedLanes.add(executor.laneOf(matchId));
+        }
+        assertEquals(4, usedLanes.size());
+    }
+
+    @Test
+    void testTasksOfOneMatchRunSerially() throws Exception {
+        executor = new MatchLaneExecutor(4, 1000, 5000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int[] counter = new int[1];
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(callers.submit(() -> executor.execute(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                counter[0]++;
+                running.decrementAndGet();
+                return null;
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(200, counter[0]);
+    }
+
+    @Test
+    void testNestedCallRunsOnSameLane() {
+        executor = new MatchLaneExecutor(2, 10, 1000);
+
+        assertEquals("done", executor.execute(1L, () -> executor.execute(1L, () -> "done")));
+    }
+
+    @Test
+    void testMoveHoldsBothLanes() throws Exception {
+        executor = new MatchLaneExecutor(2, 10, 5000);
+        Long first = 1L;
+        Long second = 2L;
+        while (executor.laneOf(second) == executor.laneOf(first)) {
+            second++;
+        }
+        Long other = second;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<?> move = callers.submit(() -> executor.executeOnBoth(first, other, () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<?> blocked = callers.submit(() -> executor.execute(first, () -> ran.getAndSet(true)));
+        Thread.sleep(50);
+
+        assertFalse(ran.get());
+        assertEquals(0, executor.pendingTasks(executor.laneOf(other)));
+        release.countDown();
+        move.get(5, TimeUnit.SECONDS);
+        blocked.get(5, TimeUnit.SECONDS);
+        assertTrue(ran.get());
+        callers.shutdown();
+    }
+
+    @Test
+    void testOppositeMovesDoNotDeadlock() throws Exception {
+        executor = new MatchLaneExecutor(2, 1000, 5000);
+        Long first = 1L;
+        Long second = 2L;
+        while (executor.laneOf(second) == executor.laneOf(first)) {
+            second++;
+        }
+        Long other = second;
+        AtomicInteger moves = new AtomicInteger();
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(callers.submit(() -> executor.executeOnBoth(first, other, moves::incrementAndGet)));
+            futures.add(callers.submit(() -> executor.executeOnBoth(other, first, moves::incrementAndGet)));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+
+        assertEquals(200, moves.get());
+    }
+
+    @Test
+    void testExceptionsArePropagated() {
+        executor = new MatchLaneExecutor(2, 10, 1000);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> executor.execute(1L, () -> {
+            throw new RuntimeException("Ticket not found with id: 1");
+        }));
+        assertEquals("Ticket not found with id: 1", exception.getMessage());
+    }
+
+    @Test
+    void testFullLaneRejectsTasks() throws Exception {
+        executor = new MatchLaneExecutor(1, 1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<?> blocking = callers.submit(() -> executor.execute(1L, () -> {
+            started.countDown();
+            release.await();
+            return null;
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<?> queued = callers.submit(() -> executor.execute(2L, () -> null));
+        // Wait until the second task occupies the only queue slot
+        while (executor.pendingTasks(0) == 0) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(MutationBackpressureException.class, () -> executor.execute(3L, () -> null));
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        callers.shutdown();
+    }
+
+    @Test
+    void testQueuedTaskIsDroppedOnTimeout() throws Exception {
+        executor = new MatchLaneExecutor(1, 10, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        callers.submit(() -> executor.execute(1L, () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(MutationBackpressureException.class, () -> executor.execute(2L, () -> ran.getAndSet(true)));
+        release.countDown();
+        assertEquals("done", executor.execute(3L, () -> "done"));
+        assertFalse(ran.get());
+        callers.shutdown();
+    }
+
+    @Test
+    void testStartedTaskTimesOutWithUnknownOutcome() throws Exception {
+        executor = new MatchLaneExecutor(1, 10, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        assertThrows(TicketOutcomeUnknownException.class, () -> executor.execute(1L, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            finished.countDown();
+            return null;
+        }));
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.stadium_tickets.controller;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.inventory.MatchAvailability;
+import org.example.stadium_tickets.payload.response.SeatAvailabilityResponse;
+import org.example.stadium_tickets.service.AvailabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AvailabilityControllerTest {
+
+    private AvailabilityController availabilityController;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        availabilityController = new AvailabilityController(availabilityService);
+    }
+
+    @Test
+    void testGetAvailability() {
+        MatchAvailability availability = new MatchAvailability(1L);
+        availability.add(TicketStatus.FREE, 40);
+        availability.add(TicketStatus.HELD, 5);
+        availability.add(TicketStatus.SOLD, 50);
+        availability.add(TicketStatus.REFUNDED, 2);
+        when(availabilityService.getAvailability(1L)).thenReturn(availability);
+
+        ResponseEntity<SeatAvailabilityResponse> response = availabilityController.getAvailability(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1L, response.getBody().getMatchId());
+        assertEquals(97, response.getBody().getTotalSeats());
+        assertEquals(40, response.getBody().getFreeSeats());
+        assertEquals(5, response.getBody().getHeldSeats());
+        assertEquals(50, response.getBody().getSoldSeats());
+        assertEquals(2, response.getBody().getRefundedSeats());
+    }
+}
@@ -2,7 +2,15 @@ package org.example.stadium_tickets.controller;
 
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.request.FixtureScheduleRequest;
+import org.example.stadium_tickets.payload.response.FixtureScheduleResponse;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.payload.response.TicketGenerationResponse;
+import org.example.stadium_tickets.payload.response.TicketImportResponse;
+import org.example.stadium_tickets.repository.projection.MatchSummaryView;
 import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.StadiumLayoutService;
+import org.example.stadium_tickets.service.TicketImportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -10,6 +18,9 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,21 +33,30 @@ class MatchControllerTest {
 
     private MatchController matchController;
     private Match testMatch;
+    private MatchSummaryView testSummary;
     private Stadium testStadium;
 
     @Mock
     private MatchService matchService;
 
+    @Mock
+    private StadiumLayoutService stadiumLayoutService;
+
+    @Mock
+    private TicketImportService ticketImportService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        matchController = new MatchController(matchService);
+        matchController = new MatchController(matchService, stadiumLayoutService, ticketImportService);
         testStadium = new Stadium("Test Stadium", "Test City", 10000);
         testMatch = new Match("Home Team", "Away Team", LocalDateTime.now(), testStadium);
+        testSummary = mock(MatchSummaryView.class);
+        when(testSummary.getHomeTeam()).thenReturn("Home Team");
 
         // Setup mock behavior
-        when(matchService.getAllMatches()).thenReturn(new ArrayList<>());
-        when(matchService.getMatchById(anyLong())).thenReturn(testMatch);
+        when(matchService.getMatches(any(), anyInt())).thenReturn(new KeysetPage<>(new ArrayList<>(), null));
+        when(matchService.getMatchSummary(anyLong())).thenReturn(testSummary);
         when(matchService.createMatch(any(Match.class))).thenReturn(testMatch);
         when(matchService.updateMatch(anyLong(), any(Match.class))).thenReturn(testMatch);
     }
@@ -44,28 +64,30 @@ class MatchControllerTest {
     @Test
     void testGetAllMatches() {
         // Initially the list should be empty
-        when(matchService.getAllMatches()).thenReturn(new ArrayList<>());
-        ResponseEntity<List<Match>> response = matchController.getAllMatches();
+        when(matchService.getMatches(any(), anyInt())).thenReturn(new KeysetPage<>(new ArrayList<>(), null));
+        ResponseEntity<KeysetPage<MatchSummaryView>> response = matchController.getAllMatches(null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(response.getBody().getItems().isEmpty());
 
         // Add a match and check if it's returned
-        List<Match> matchList = new ArrayList<>();
-        matchList.add(testMatch);
-        when(matchService.getAllMatches()).thenReturn(matchList);
-        response = matchController.getAllMatches();
+        List<MatchSummaryView> matchList = new ArrayList<>();
+        matchList.add(testSummary);
+        when(matchService.getMatches(any(), anyInt())).thenReturn(new KeysetPage<>(matchList, null));
+        response = matchController.getAllMatches(null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals(testMatch, response.getBody().get(0));
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals(testSummary, response.getBody().getItems().get(0));
     }
 
     @Test
     void testGetMatchById() {
-        ResponseEntity<Match> response = matchController.getMatchById(1L);
+        ResponseEntity<MatchSummaryView> response = matchController.getMatchById(1L);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
+        assertEquals("Home Team", response.getBody().getHomeTeam());
+        verify(matchService, never()).getMatchById(anyLong());
     }
 
     @Test
@@ -77,12 +99,12 @@ class MatchControllerTest {
         assertEquals(testMatch, response.getBody());
 
         // Verify the match was added to the list
-        List<Match> matchList = new ArrayList<>();
-        matchList.add(testMatch);
-        when(matchService.getAllMatches()).thenReturn(matchList);
-        ResponseEntity<List<Match>> allMatches = matchController.getAllMatches();
-        assertEquals(1, allMatches.getBody().size());
-        assertEquals(testMatch, allMatches.getBody().get(0));
+        List<MatchSummaryView> matchList = new ArrayList<>();
+        matchList.add(testSummary);
+        when(matchService.getMatches(any(), anyInt())).thenReturn(new KeysetPage<>(matchList, null));
+        ResponseEntity<KeysetPage<MatchSummaryView>> allMatches = matchController.getAllMatches(null, 100);
+        assertEquals(1, allMatches.getBody().getItems().size());
+        assertEquals(testSummary, allMatches.getBody().getItems().get(0));
     }
 
     @Test
@@ -99,4 +121,43 @@ class MatchControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
     }
+
+    @Test
+    void testCreateFixtures() {
+        FixtureScheduleRequest request = new FixtureScheduleRequest(List.of(
+                new FixtureScheduleRequest.FixtureDefinition("Home Team", "Away Team", LocalDateTime.now(), 1L)));
+        FixtureScheduleResponse result = new FixtureScheduleResponse(1, 1, 0,
+                List.of(FixtureScheduleResponse.FixtureResult.created(0, 5L)));
+        when(matchService.createFixtures(request)).thenReturn(result);
+
+        ResponseEntity<FixtureScheduleResponse> response = matchController.createFixtures(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(result, response.getBody());
+        verify(matchService).createFixtures(request);
+    }
+
+    @Test
+    void testGenerateTickets() {
+        TicketGenerationResponse generation = new TicketGenerationResponse(1L, 90000, 1200, 75000);
+        when(stadiumLayoutService.generateTickets(1L)).thenReturn(generation);
+
+        ResponseEntity<TicketGenerationResponse> response = matchController.generateTickets(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(generation, response.getBody());
+        verify(stadiumLayoutService).generateTickets(1L);
+    }
+
+    @Test
+    void testImportTickets() {
+        TicketImportResponse report = new TicketImportResponse(1L, 2, 2, 0, List.of(), false);
+        when(ticketImportService.importTickets(eq(1L), any(Reader.class))).thenReturn(report);
+
+        ResponseEntity<TicketImportResponse> response = matchController.importTickets(1L,
+                new ByteArrayInputStream("seat_row,seat_number,price\nA,1,50\nA,2,50\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+    }
 }
@@ -0,0 +1,98 @@
+package org.example.stadium_tickets.controller;
+
+import org.example.stadium_tickets.inventory.SeatHold;
+import org.example.stadium_tickets.payload.request.BestAvailableRequest;
+import org.example.stadium_tickets.payload.request.SeatHoldRequest;
+import org.example.stadium_tickets.payload.response.SeatHoldResponse;
+import org.example.stadium_tickets.security.TestAuthentication;
+import org.example.stadium_tickets.security.TestUserDetails;
+import org.example.stadium_tickets.service.SeatAllocationService;
+import org.example.stadium_tickets.service.SeatHoldService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatHoldControllerTest {
+
+    private SeatHoldController seatHoldController;
+    private SeatHold testHold;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private SeatAllocationService seatAllocationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatHoldController = new SeatHoldController(seatHoldService, seatAllocationService);
+        testHold = new SeatHold("hold-1", 1L, "user", List.of(1L, 2L), Instant.now().plusSeconds(600));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestAuthentication(new TestUserDetails("user", "password", List.of())));
+
+        when(seatHoldService.createHold(1L, List.of(1L, 2L), "user")).thenReturn(testHold);
+        when(seatHoldService.getHold("hold-1")).thenReturn(testHold);
+        when(seatHoldService.confirmHold("hold-1", "user")).thenReturn(testHold);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testHoldBestAvailable() {
+        when(seatAllocationService.holdBestAvailable(1L, 2, BigDecimal.ONE, BigDecimal.TEN, "user")).thenReturn(testHold);
+
+        ResponseEntity<SeatHoldResponse> response = seatHoldController.holdBestAvailable(
+                new BestAvailableRequest(1L, 2, BigDecimal.ONE, BigDecimal.TEN));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(1L, 2L), response.getBody().getTicketIds());
+    }
+
+    @Test
+    void testCreateHold() {
+        ResponseEntity<SeatHoldResponse> response =
+                seatHoldController.createHold(new SeatHoldRequest(1L, List.of(1L, 2L)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("hold-1", response.getBody().getHoldId());
+        assertEquals(List.of(1L, 2L), response.getBody().getTicketIds());
+        assertEquals("ACTIVE", response.getBody().getState());
+    }
+
+    @Test
+    void testGetHold() {
+        ResponseEntity<SeatHoldResponse> response = seatHoldController.getHold("hold-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1L, response.getBody().getMatchId());
+    }
+
+    @Test
+    void testConfirmHold() {
+        assertEquals(HttpStatus.OK, seatHoldController.confirmHold("hold-1").getStatusCode());
+    }
+
+    @Test
+    void testReleaseHold() {
+        ResponseEntity<Void> response = seatHoldController.releaseHold("hold-1");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(seatHoldService).releaseHold("hold-1", "user");
+    }
+}
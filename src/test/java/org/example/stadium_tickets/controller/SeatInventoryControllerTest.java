@@ -0,0 +1,95 @@
+package org.example.stadium_tickets.controller;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.payload.response.SeatClaimResponse;
+import org.example.stadium_tickets.payload.response.SeatInventoryResponse;
+import org.example.stadium_tickets.repository.projection.TicketStatusView;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.example.stadium_tickets.service.SeatMapService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatInventoryControllerTest {
+
+    private SeatInventoryController seatInventoryController;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatMapService seatMapService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatInventoryController = new SeatInventoryController(seatInventoryService, seatMapService);
+    }
+
+    @Test
+    void testGetInventory() {
+        TicketStatusView free = mock(TicketStatusView.class);
+        when(free.getId()).thenReturn(1L);
+        when(free.getStatus()).thenReturn(TicketStatus.FREE);
+        MatchSeatInventory inventory = MatchSeatInventory.of(1L, List.of(free));
+        when(seatInventoryService.getInventory(1L)).thenReturn(inventory);
+
+        ResponseEntity<SeatInventoryResponse> response = seatInventoryController.getInventory(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getTotalSeats());
+        assertEquals(1, response.getBody().getFreeSeats());
+        assertEquals(0, response.getBody().getSoldSeats());
+        assertEquals(0, response.getBody().getHeldSeats());
+    }
+
+    @Test
+    void testGetSeatMap() {
+        byte[] seatMap = {'S', 'M', 'A', 'P'};
+        when(seatMapService.getSeatMap(1L, false)).thenReturn(seatMap);
+
+        ResponseEntity<byte[]> response = seatInventoryController.getSeatMap(1L, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, response.getHeaders().getContentType());
+        assertArrayEquals(seatMap, response.getBody());
+    }
+
+    @Test
+    void testPurchase() {
+        when(seatInventoryService.purchase(1L, 2L)).thenReturn(true);
+
+        ResponseEntity<?> response = seatInventoryController.purchase(1L, 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(TicketStatus.SOLD, ((SeatClaimResponse) response.getBody()).getStatus());
+    }
+
+    @Test
+    void testPurchaseConflict() {
+        when(seatInventoryService.purchase(1L, 2L)).thenReturn(false);
+
+        ResponseEntity<?> response = seatInventoryController.purchase(1L, 2L);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void testCancel() {
+        when(seatInventoryService.cancel(1L, 2L)).thenReturn(true);
+        assertEquals(HttpStatus.OK, seatInventoryController.cancel(1L, 2L).getStatusCode());
+
+        when(seatInventoryService.cancel(1L, 2L)).thenReturn(false);
+        assertEquals(HttpStatus.CONFLICT, seatInventoryController.cancel(1L, 2L).getStatusCode());
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.stadium_tickets.controller;
 
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.service.StadiumService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +32,7 @@ class StadiumControllerTest {
         testStadium = new Stadium("Test Stadium", "Test City", 10000);
 
         // Setup mock behavior
-        when(stadiumService.getAllStadiums()).thenReturn(new ArrayList<>());
+        when(stadiumService.getStadiums(any(), anyInt())).thenReturn(new KeysetPage<>(new ArrayList<>(), null));
         when(stadiumService.getStadiumById(anyLong())).thenReturn(testStadium);
         when(stadiumService.createStadium(any(Stadium.class))).thenReturn(testStadium);
         when(stadiumService.updateStadium(anyLong(), any(Stadium.class))).thenReturn(testStadium);
@@ -40,21 +41,21 @@ class StadiumControllerTest {
     @Test
     void testGetAllStadiums() {
         // Initially the list should be empty
-        ResponseEntity<List<Stadium>> response = stadiumController.getAllStadiums();
+        ResponseEntity<KeysetPage<Stadium>> response = stadiumController.getAllStadiums(null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(response.getBody().getItems().isEmpty());
 
         // Add a stadium and check if it's returned
         List<Stadium> stadiumList = new ArrayList<>();
         stadiumList.add(testStadium);
-        when(stadiumService.getAllStadiums()).thenReturn(stadiumList);
+        when(stadiumService.getStadiums(any(), anyInt())).thenReturn(new KeysetPage<>(stadiumList, null));
 
-        response = stadiumController.getAllStadiums();
+        response = stadiumController.getAllStadiums(null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals(testStadium, response.getBody().get(0));
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals(testStadium, response.getBody().getItems().get(0));
     }
 
     @Test
@@ -74,11 +75,11 @@ class StadiumControllerTest {
         // Verify the stadium was added to the list
         List<Stadium> stadiumList = new ArrayList<>();
         stadiumList.add(testStadium);
-        when(stadiumService.getAllStadiums()).thenReturn(stadiumList);
+        when(stadiumService.getStadiums(any(), anyInt())).thenReturn(new KeysetPage<>(stadiumList, null));
 
-        ResponseEntity<List<Stadium>> allStadiums = stadiumController.getAllStadiums();
-        assertEquals(1, allStadiums.getBody().size());
-        assertEquals(testStadium, allStadiums.getBody().get(0));
+        ResponseEntity<KeysetPage<Stadium>> allStadiums = stadiumController.getAllStadiums(null, 100);
+        assertEquals(1, allStadiums.getBody().getItems().size());
+        assertEquals(testStadium, allStadiums.getBody().getItems().get(0));
     }
 
     @Test
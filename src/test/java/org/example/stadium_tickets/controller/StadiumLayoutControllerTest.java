@@ -0,0 +1,54 @@
+package org.example.stadium_tickets.controller;
+
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest;
+import org.example.stadium_tickets.payload.response.StadiumLayoutResponse;
+import org.example.stadium_tickets.service.StadiumLayoutService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StadiumLayoutControllerTest {
+
+    private StadiumLayoutController stadiumLayoutController;
+    private StadiumLayoutResponse layout;
+
+    @Mock
+    private StadiumLayoutService stadiumLayoutService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        stadiumLayoutController = new StadiumLayoutController(stadiumLayoutService);
+        layout = new StadiumLayoutResponse(1L, 0, List.of(), List.of());
+    }
+
+    @Test
+    void testGetLayout() {
+        when(stadiumLayoutService.getLayout(1L)).thenReturn(layout);
+
+        ResponseEntity<StadiumLayoutResponse> response = stadiumLayoutController.getLayout(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(layout, response.getBody());
+    }
+
+    @Test
+    void testReplaceLayout() {
+        StadiumLayoutRequest request = new StadiumLayoutRequest();
+        when(stadiumLayoutService.replaceLayout(1L, request)).thenReturn(layout);
+
+        ResponseEntity<StadiumLayoutResponse> response = stadiumLayoutController.replaceLayout(1L, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(layout, response.getBody());
+        verify(stadiumLayoutService).replaceLayout(1L, request);
+    }
+}
@@ -3,15 +3,24 @@ package org.example.stadium_tickets.controller;
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Stadium;
 import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.payload.request.CartPurchaseRequest;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.service.InventoryVersionService;
 import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.TicketExportService;
 import org.example.stadium_tickets.service.TicketService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -34,40 +43,52 @@ class TicketControllerTest {
     @Mock
     private MatchService matchService;
 
+    @Mock
+    private TicketExportService ticketExportService;
+
+    @Mock
+    private InventoryVersionService inventoryVersionService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ticketController = new TicketController(ticketService, matchService);
+        ticketController = new TicketController(ticketService, matchService, ticketExportService,
+                inventoryVersionService);
         testStadium = new Stadium("Test Stadium", "Test City", 10000);
         testMatch = new Match("Home Team", "Away Team", LocalDateTime.now(), testStadium);
         testTicket = new Ticket(testMatch, "A", "12", new BigDecimal("50.00"));
 
         // Setup mock behavior
-        when(ticketService.getAllTickets()).thenReturn(new ArrayList<>());
+        when(ticketService.getTickets(any(), any(), anyInt())).thenReturn(new KeysetPage<>(new ArrayList<>(), null));
         when(ticketService.getTicketById(anyLong())).thenReturn(testTicket);
         when(ticketService.createTicket(any(Ticket.class))).thenReturn(testTicket);
         when(matchService.getMatchById(anyLong())).thenReturn(testMatch);
         when(ticketService.findByMatch(any(Match.class))).thenReturn(new ArrayList<>());
+        when(inventoryVersionService.getETag(anyLong())).thenReturn("\"epoch-3\"");
     }
 
     @Test
     void testGetAllTickets() {
         // Initially the list should be empty
-        when(ticketService.getAllTickets()).thenReturn(new ArrayList<>());
-        ResponseEntity<List<Ticket>> response = ticketController.getAllTickets();
+        when(ticketService.getTickets(any(), any(), anyInt())).thenReturn(new KeysetPage<>(new ArrayList<>(), null));
+        ResponseEntity<KeysetPage<Ticket>> response = ticketController.getAllTickets(null, null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(response.getBody().getItems().isEmpty());
 
         // Add a ticket and check if it's returned
         List<Ticket> ticketList = new ArrayList<>();
         ticketList.add(testTicket);
-        when(ticketService.getAllTickets()).thenReturn(ticketList);
-        response = ticketController.getAllTickets();
+        when(ticketService.getTickets(any(), any(), anyInt())).thenReturn(new KeysetPage<>(ticketList, null));
+        response = ticketController.getAllTickets(null, null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals(testTicket, response.getBody().get(0));
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals(testTicket, response.getBody().getItems().get(0));
+
+        // The status filter and the cursor are passed on to the service
+        ticketController.getAllTickets(TicketStatus.FREE, "cursor", 50);
+        verify(ticketService, times(1)).getTickets(TicketStatus.FREE, "cursor", 50);
     }
 
     @Test
@@ -79,10 +100,42 @@ class TicketControllerTest {
 
     @Test
     void testGetTicketsByMatchId() {
-        ResponseEntity<List<Ticket>> response = ticketController.getTicketsByMatchId(1L);
+        ResponseEntity<List<Ticket>> response = ticketController.getTicketsByMatchId(1L, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().isEmpty());
+        assertEquals("\"epoch-3\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetTicketsByMatchIdNotModified() {
+        ResponseEntity<List<Ticket>> response = ticketController.getTicketsByMatchId(1L, "\"other\", W/\"epoch-3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"epoch-3\"", response.getHeaders().getETag());
+        verify(ticketService, never()).findByMatch(any());
+        // A current tag is answered from memory, without looking up the match
+        verify(matchService, never()).getMatchById(anyLong());
+    }
+
+    @Test
+    void testGetTicketsOfMissingMatchIsNeverNotModified() {
+        when(matchService.getMatchById(99L)).thenThrow(new RuntimeException("Match not found with id: 99"));
+        when(inventoryVersionService.getETag(99L)).thenReturn("\"epoch-0\"");
+
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> ticketController.getTicketsByMatchId(99L, "*"));
+        assertEquals("Match not found with id: 99", exception.getMessage());
+    }
+
+    @Test
+    void testGetTicketsByMatchIdWithOldETag() {
+        ResponseEntity<List<Ticket>> response = ticketController.getTicketsByMatchId(1L, "\"epoch-2\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"epoch-3\"", response.getHeaders().getETag());
+        verify(ticketService).findByMatch(testMatch);
     }
 
 
@@ -97,10 +150,29 @@ class TicketControllerTest {
         // Verify the ticket was added to the list
         List<Ticket> ticketList = new ArrayList<>();
         ticketList.add(testTicket);
-        when(ticketService.getAllTickets()).thenReturn(ticketList);
-        ResponseEntity<List<Ticket>> allTickets = ticketController.getAllTickets();
-        assertEquals(1, allTickets.getBody().size());
-        assertEquals(testTicket, allTickets.getBody().get(0));
+        when(ticketService.getTickets(any(), any(), anyInt())).thenReturn(new KeysetPage<>(ticketList, null));
+        ResponseEntity<KeysetPage<Ticket>> allTickets = ticketController.getAllTickets(null, null, 100);
+        assertEquals(1, allTickets.getBody().getItems().size());
+        assertEquals(testTicket, allTickets.getBody().getItems().get(0));
+    }
+
+    @Test
+    void testBuyTicket() {
+        when(ticketService.purchaseTicket(1L)).thenReturn(testTicket);
+        ResponseEntity<Ticket> response = ticketController.buyTicket(1L);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(testTicket, response.getBody());
+    }
+
+    @Test
+    void testPurchaseCart() {
+        List<Ticket> tickets = List.of(testTicket);
+        when(ticketService.purchaseTickets(eq(1L), eq(List.of(1L)), anyList())).thenReturn(tickets);
+        CartPurchaseRequest request = new CartPurchaseRequest(1L, List.of(1L), new ArrayList<>());
+
+        ResponseEntity<List<Ticket>> response = ticketController.purchaseCart(request);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(tickets, response.getBody());
     }
 
     @Test
@@ -109,4 +181,28 @@ class TicketControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
     }
+
+    @Test
+    void testExportTicketsByMatchId() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = ticketController.exportTicketsByMatchId(1L, "ndjson");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("attachment; filename=\"match-1-tickets.ndjson\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verify(matchService).getMatchById(1L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(ticketExportService).exportTickets(1L, "ndjson", out);
+    }
+
+    @Test
+    void testExportTicketsByMatchId_UnsupportedFormat() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> ticketController.exportTicketsByMatchId(1L, "xml"));
+
+        assertEquals("Unsupported export format: xml", exception.getMessage());
+        verifyNoInteractions(ticketExportService);
+    }
 }
@@ -1,6 +1,7 @@
 package org.example.stadium_tickets.controller;
 
 import org.example.stadium_tickets.entity.User;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.example.stadium_tickets.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,7 +35,7 @@ class UserControllerTest {
         testUser.setId(1L);
 
         // Setup mock behavior
-        when(userService.getAllUsers()).thenReturn(new ArrayList<>());
+        when(userService.getUsers(any(), anyInt())).thenReturn(new KeysetPage<>(new ArrayList<>(), null));
         when(userService.getUserById(anyLong())).thenReturn(testUser);
         when(userService.createUser(any(User.class))).thenReturn(testUser);
         when(userService.updateUser(anyLong(), any(User.class))).thenReturn(testUser);
@@ -43,21 +44,21 @@ class UserControllerTest {
     @Test
     void testGetAllUsers() {
         // Initially the list should be empty
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<KeysetPage<User>> response = userController.getAllUsers(null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(response.getBody().getItems().isEmpty());
 
         // Add a user and check if it's returned
         List<User> userList = new ArrayList<>();
         userList.add(testUser);
-        when(userService.getAllUsers()).thenReturn(userList);
+        when(userService.getUsers(any(), anyInt())).thenReturn(new KeysetPage<>(userList, null));
 
-        response = userController.getAllUsers();
+        response = userController.getAllUsers(null, 100);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals(testUser, response.getBody().get(0));
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals(testUser, response.getBody().getItems().get(0));
     }
 
     @Test
@@ -77,11 +78,11 @@ class UserControllerTest {
         // Verify the user was added to the list
         List<User> userList = new ArrayList<>();
         userList.add(testUser);
-        when(userService.getAllUsers()).thenReturn(userList);
+        when(userService.getUsers(any(), anyInt())).thenReturn(new KeysetPage<>(userList, null));
 
-        ResponseEntity<List<User>> allUsers = userController.getAllUsers();
-        assertEquals(1, allUsers.getBody().size());
-        assertEquals(testUser, allUsers.getBody().get(0));
+        ResponseEntity<KeysetPage<User>> allUsers = userController.getAllUsers(null, 100);
+        assertEquals(1, allUsers.getBody().getItems().size());
+        assertEquals(testUser, allUsers.getBody().getItems().get(0));
     }
 
     @Test
@@ -0,0 +1,62 @@
+package org.example.stadium_tickets.controller;
+
+import org.example.stadium_tickets.payload.response.QueueStatusResponse;
+import org.example.stadium_tickets.security.TestAuthentication;
+import org.example.stadium_tickets.security.TestUserDetails;
+import org.example.stadium_tickets.service.WaitingRoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WaitingRoomControllerTest {
+
+    private WaitingRoomController waitingRoomController;
+    private QueueStatusResponse testStatus;
+
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        waitingRoomController = new WaitingRoomController(waitingRoomService);
+        testStatus = new QueueStatusResponse("token", 1L, 3, false, 2);
+
+        when(waitingRoomService.join(1L, "user")).thenReturn(testStatus);
+        when(waitingRoomService.getStatus("token")).thenReturn(testStatus);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testJoinQueue() {
+        SecurityContextHolder.getContext().setAuthentication(new TestAuthentication(new TestUserDetails("user", "password", List.of())));
+
+        ResponseEntity<QueueStatusResponse> response = waitingRoomController.joinQueue(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("token", response.getBody().getToken());
+        assertEquals(3, response.getBody().getPosition());
+    }
+
+    @Test
+    void testGetStatus() {
+        ResponseEntity<QueueStatusResponse> response = waitingRoomController.getStatus("token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getBody().isAdmitted());
+    }
+}
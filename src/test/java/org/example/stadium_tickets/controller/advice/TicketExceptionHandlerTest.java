@@ -0,0 +1,77 @@
+package org.example.stadium_tickets.controller.advice;
+
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.exception.MutationBackpressureException;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+import org.example.stadium_tickets.exception.WaitingRoomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketExceptionHandlerTest {
+
+    private TicketExceptionHandler ticketExceptionHandler;
+
+    @BeforeEach
+    void setUp() {
+        ticketExceptionHandler = new TicketExceptionHandler();
+    }
+
+    @Test
+    void handleTicketConflictException_ShouldReturnConflictStatus() {
+        TicketConflictException exception = new TicketConflictException(1L, "Ticket is not available for purchase");
+
+        ResponseEntity<Map<String, String>> response = ticketExceptionHandler.handleTicketConflictException(exception);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Ticket is not available for purchase", response.getBody().get("message"));
+    }
+
+    @Test
+    void handleOptimisticLockingFailure_ShouldReturnConflictStatus() {
+        ObjectOptimisticLockingFailureException exception = new ObjectOptimisticLockingFailureException(Ticket.class, 1L);
+
+        ResponseEntity<Map<String, String>> response = ticketExceptionHandler.handleOptimisticLockingFailure(exception);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertTrue(response.getBody().get("error").contains("modified concurrently"));
+    }
+
+    @Test
+    void handleWaitingRoomException_ShouldReturnTooManyRequestsStatus() {
+        WaitingRoomException exception = new WaitingRoomException("Still waiting in the queue at position 5", 3);
+
+        ResponseEntity<Map<String, String>> response = ticketExceptionHandler.handleWaitingRoomException(exception);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void handleMutationBackpressureException_ShouldReturnServiceUnavailableStatus() {
+        MutationBackpressureException exception = new MutationBackpressureException("Too many pending changes for match 1");
+
+        ResponseEntity<Map<String, String>> response = ticketExceptionHandler.handleMutationBackpressureException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void handleTicketOutcomeUnknownException_ShouldReturnAcceptedStatus() {
+        TicketOutcomeUnknownException exception = new TicketOutcomeUnknownException("Seat change for match 1 is still being saved");
+
+        ResponseEntity<Map<String, String>> response = ticketExceptionHandler.handleTicketOutcomeUnknownException(exception);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst("Retry-After"));
+        assertTrue(response.getBody().get("error").contains("check the tickets"));
+    }
+}
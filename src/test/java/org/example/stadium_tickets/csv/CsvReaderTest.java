@@ -0,0 +1,87 @@
+package org.example.stadium_tickets.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv), 100);
+    }
+
+    @Test
+    void testReadsRecordsWithLineNumbers() throws IOException {
+        CsvReader reader = reader("a,b,c\r\n\n1,2,3\n");
+
+        CsvRecord first = reader.read();
+        CsvRecord second = reader.read();
+
+        assertEquals(List.of("a", "b", "c"), first.fields());
+        assertEquals(1, first.line());
+        assertEquals(List.of("1", "2", "3"), second.fields());
+        assertEquals(3, second.line());
+        assertNull(reader.read());
+    }
+
+    @Test
+    void testQuotedFields() throws IOException {
+        CsvReader reader = reader("\"A, B\",\"say \"\"hi\"\"\",\"two\nlines\"\nnext,,\n");
+
+        assertEquals(List.of("A, B", "say \"hi\"", "two\nlines"), reader.read().fields());
+        CsvRecord next = reader.read();
+        assertEquals(List.of("next", "", ""), next.fields());
+        assertEquals(3, next.line());
+    }
+
+    @Test
+    void testLastRecordWithoutNewline() throws IOException {
+        CsvReader reader = reader("x,y");
+
+        assertEquals(List.of("x", "y"), reader.read().fields());
+        assertNull(reader.read());
+    }
+
+    @Test
+    void testMalformedRecords() throws IOException {
+        CsvReader reader = reader("\"a\"b,c\nok\n\"open");
+
+        assertEquals("Unexpected character after a closing quote", reader.read().error());
+        assertEquals(List.of("ok"), reader.read().fields());
+        CsvRecord open = reader.read();
+        assertFalse(open.isValid());
+        assertEquals("Unterminated quoted field", open.error());
+    }
+
+    @Test
+    void testLongRecordIsSkippedWithoutBuffering() throws IOException {
+        CsvReader reader = reader("a".repeat(10_000) + "\nshort\n");
+
+        CsvRecord tooLong = reader.read();
+        assertEquals("Record is longer than 100 characters", tooLong.error());
+        assertTrue(tooLong.fields().isEmpty());
+        assertEquals(List.of("short"), reader.read().fields());
+    }
+
+    @Test
+    void testReadsInputLargerThanBuffer() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            csv.append(i).append(",row\n");
+        }
+        Reader input = new StringReader(csv.toString());
+        CsvReader reader = new CsvReader(input, 20);
+
+        int records = 0;
+        for (CsvRecord record = reader.read(); record != null; record = reader.read()) {
+            assertEquals(String.valueOf(records), record.fields().get(0));
+            records++;
+        }
+        assertEquals(5000, records);
+    }
+}
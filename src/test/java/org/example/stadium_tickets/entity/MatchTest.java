@@ -1,6 +1,8 @@
 package org.example.stadium_tickets.entity;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -66,4 +68,15 @@ class MatchTest {
         assertEquals(tickets, match.getTickets());
         assertEquals(1, match.getTickets().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTicketsAreNotSerialized() throws Exception {
+        Match match = new Match("Home Team", "Away Team", LocalDateTime.of(2026, 8, 1, 18, 0),
+                new Stadium("Test Stadium", "Test City", 10000));
+        match.getTickets().add(new Ticket(match, "A", "1", BigDecimal.TEN));
+
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(match);
+        assertTrue(json.contains("\"homeTeam\":\"Home Team\""));
+        assertFalse(json.contains("tickets"));
+    }
+}
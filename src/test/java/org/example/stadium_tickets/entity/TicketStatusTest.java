@@ -0,0 +1,55 @@
+package org.example.stadium_tickets.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStatusTest {
+
+    @Test
+    void testCodesRoundTrip() {
+        for (TicketStatus status : TicketStatus.values()) {
+            assertEquals(status, TicketStatus.fromCode(status.getCode()));
+        }
+        assertEquals(0, TicketStatus.FREE.getCode());
+        assertEquals(1, TicketStatus.SOLD.getCode());
+        assertEquals(2, TicketStatus.HELD.getCode());
+        assertEquals(3, TicketStatus.REFUNDED.getCode());
+        assertThrows(IllegalArgumentException.class, () -> TicketStatus.fromCode(4));
+        assertThrows(IllegalArgumentException.class, () -> TicketStatus.fromCode(-1));
+    }
+
+    @Test
+    void testTransitionTable() {
+        assertTrue(TicketStatus.FREE.canTransitionTo(TicketStatus.HELD));
+        assertTrue(TicketStatus.FREE.canTransitionTo(TicketStatus.SOLD));
+        assertTrue(TicketStatus.HELD.canTransitionTo(TicketStatus.SOLD));
+        assertTrue(TicketStatus.HELD.canTransitionTo(TicketStatus.FREE));
+        assertTrue(TicketStatus.SOLD.canTransitionTo(TicketStatus.FREE));
+        assertTrue(TicketStatus.SOLD.canTransitionTo(TicketStatus.REFUNDED));
+        assertTrue(TicketStatus.REFUNDED.canTransitionTo(TicketStatus.FREE));
+
+        assertFalse(TicketStatus.FREE.canTransitionTo(TicketStatus.REFUNDED));
+        assertFalse(TicketStatus.SOLD.canTransitionTo(TicketStatus.HELD));
+        assertFalse(TicketStatus.REFUNDED.canTransitionTo(TicketStatus.SOLD));
+        assertFalse(TicketStatus.FREE.canTransitionTo(TicketStatus.FREE));
+    }
+
+    @Test
+    void testCheckTransition() {
+        TicketStatus.SOLD.checkTransitionTo(TicketStatus.SOLD);
+        TicketStatus.SOLD.checkTransitionTo(TicketStatus.REFUNDED);
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> TicketStatus.REFUNDED.checkTransitionTo(TicketStatus.HELD));
+        assertEquals("Ticket status cannot change from REFUNDED to HELD", exception.getMessage());
+    }
+
+    @Test
+    void testConverterStoresCode() {
+        TicketStatusConverter converter = new TicketStatusConverter();
+        assertEquals((short) 2, converter.convertToDatabaseColumn(TicketStatus.HELD));
+        assertEquals(TicketStatus.REFUNDED, converter.convertToEntityAttribute((short) 3));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
@@ -15,7 +15,7 @@ class TicketTest {
         assertNull(ticket.getSeatRow());
         assertNull(ticket.getSeatNumber());
         assertNull(ticket.getPrice());
-        assertEquals("FREE", ticket.getStatus());
+        assertEquals(TicketStatus.FREE, ticket.getStatus());
     }
 
     @Test
@@ -32,7 +32,7 @@ class TicketTest {
         assertEquals(seatRow, ticket.getSeatRow());
         assertEquals(seatNumber, ticket.getSeatNumber());
         assertEquals(price, ticket.getPrice());
-        assertEquals("FREE", ticket.getStatus());
+        assertEquals(TicketStatus.FREE, ticket.getStatus());
     }
 
     @Test
@@ -59,7 +59,7 @@ class TicketTest {
         ticket.setPrice(price);
         assertEquals(price, ticket.getPrice());
         
-        String status = "SOLD";
+        TicketStatus status = TicketStatus.SOLD;
         ticket.setStatus(status);
         assertEquals(status, ticket.getStatus());
     }
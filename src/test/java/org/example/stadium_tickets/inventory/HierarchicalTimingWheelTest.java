@@ -0,0 +1,84 @@
+package org.example.stadium_tickets.inventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private HierarchicalTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 10 ms ticks, 16 slots per level, 3 levels: covers 4096 ticks
+        wheel = new HierarchicalTimingWheel<>(10, 4, 3, START);
+    }
+
+    @Test
+    void testExpiresOnlyDueEntries() {
+        wheel.schedule("soon", START + 50);
+        wheel.schedule("later", START + 500);
+
+        assertTrue(wheel.advance(START + 40).isEmpty());
+        assertEquals(2, wheel.size());
+        assertEquals(List.of("soon"), wheel.advance(START + 50));
+        assertTrue(wheel.advance(START + 490).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(START + 500));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCascadesFromHigherLevels() {
+        // 2000 ticks away needs the third level
+        wheel.schedule("far", START + 20_000);
+
+        assertTrue(wheel.advance(START + 19_990).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(START + 20_000));
+    }
+
+    @Test
+    void testDeadlinesBeyondRangeAreParked() {
+        wheel.schedule("beyond", START + 100_000);
+
+        assertTrue(wheel.advance(START + 99_990).isEmpty());
+        assertEquals(List.of("beyond"), wheel.advance(START + 100_000));
+    }
+
+    @Test
+    void testPastDeadlineExpiresImmediately() {
+        wheel.advance(START + 1_000);
+        wheel.schedule("past", START + 500);
+
+        assertEquals(List.of("past"), wheel.advance(START + 1_000));
+    }
+
+    @Test
+    void testManyEntriesExpireInOrderOfTicks() {
+        for (int i = 1; i <= 5_000; i++) {
+            wheel.schedule("entry-" + i, START + i * 10L);
+        }
+
+        int expired = 0;
+        for (long now = START; now <= START + 50_000; now += 1_000) {
+            List<String> batch = wheel.advance(now);
+            for (String item : batch) {
+                long deadline = START + Long.parseLong(item.substring(6)) * 10L;
+                assertTrue(deadline <= now);
+                assertTrue(deadline > now - 1_000);
+            }
+            expired += batch.size();
+        }
+        assertEquals(5_000, expired);
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(0, 4, 3, START));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(10, 16, 4, START));
+    }
+}
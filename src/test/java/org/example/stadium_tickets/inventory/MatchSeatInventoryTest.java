@@ -0,0 +1,88 @@
+package org.example.stadium_tickets.inventory;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.repository.projection.TicketStatusView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchSeatInventoryTest {
+
+    private MatchSeatInventory inventory;
+
+    static TicketStatusView view(long id, TicketStatus status) {
+        return new TicketStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public TicketStatus getStatus() {
+                return status;
+            }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventory = MatchSeatInventory.of(1L,
+                List.of(view(30L, TicketStatus.FREE), view(10L, TicketStatus.SOLD), view(20L, TicketStatus.FREE)));
+    }
+
+    @Test
+    void testLoadsSortedInventory() {
+        assertEquals(1L, inventory.getMatchId());
+        assertEquals(3, inventory.size());
+        assertEquals(10L, inventory.ticketIdAt(0));
+        assertEquals(30L, inventory.ticketIdAt(2));
+        assertEquals(MatchSeatInventory.SOLD, inventory.getState(10L));
+        assertEquals(2, inventory.count(MatchSeatInventory.FREE));
+        assertEquals(1, inventory.count(MatchSeatInventory.SOLD));
+    }
+
+    @Test
+    void testCompareAndSet() {
+        assertTrue(inventory.compareAndSet(20L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+        assertFalse(inventory.compareAndSet(20L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+        assertEquals(MatchSeatInventory.SOLD, inventory.getState(20L));
+    }
+
+    @Test
+    void testUnknownTicket() {
+        assertFalse(inventory.contains(99L));
+        Exception exception = assertThrows(RuntimeException.class, () ->
+                inventory.compareAndSet(99L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+        assertTrue(exception.getMessage().contains("does not belong to match"));
+    }
+
+    @Test
+    void testConcurrentBuyersClaimSeatOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger winners = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(executor.submit(() -> {
+                if (inventory.compareAndSet(30L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD)) {
+                    winners.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, winners.get());
+    }
+}
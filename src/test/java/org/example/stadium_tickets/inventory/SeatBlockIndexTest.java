@@ -0,0 +1,119 @@
+package org.example.stadium_tickets.inventory;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.repository.projection.TicketSeatView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatBlockIndexTest {
+
+    private MatchSeatInventory inventory;
+    private SeatBlockIndex index;
+
+    static TicketSeatView seat(long id, String row, String number, String price, TicketStatus status) {
+        return new TicketSeatView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public TicketStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public String getSeatRow() {
+                return row;
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return number;
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return new BigDecimal(price);
+            }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Row A: seats 1-4, seat 2 sold. Row B: seats 1-3 and 5-6 (gap after 3), all free, 6 is more expensive
+        List<TicketSeatView> seats = List.of(
+                seat(1L, "A", "1", "50", TicketStatus.FREE),
+                seat(2L, "A", "2", "50", TicketStatus.SOLD),
+                seat(3L, "A", "3", "50", TicketStatus.FREE),
+                seat(4L, "A", "4", "50", TicketStatus.FREE),
+                seat(13L, "B", "3", "80", TicketStatus.FREE),
+                seat(11L, "B", "1", "80", TicketStatus.FREE),
+                seat(12L, "B", "2", "80", TicketStatus.FREE),
+                seat(15L, "B", "5", "80", TicketStatus.FREE),
+                seat(16L, "B", "6", "120", TicketStatus.FREE));
+        inventory = MatchSeatInventory.of(1L, seats);
+        index = SeatBlockIndex.of(inventory, seats);
+    }
+
+    @Test
+    void testFindsFirstFittingBlock() {
+        assertEquals(2, index.rowCount());
+        assertEquals(List.of(3L, 4L), index.findBlock(2, null, null));
+        assertEquals(List.of(11L, 12L, 13L), index.findBlock(3, null, null));
+    }
+
+    @Test
+    void testNumberingGapBreaksBlock() {
+        assertTrue(index.findBlock(4, null, null).isEmpty());
+    }
+
+    @Test
+    void testPriceRange() {
+        assertEquals(List.of(11L, 12L), index.findBlock(2, new BigDecimal("60"), new BigDecimal("100")));
+        assertEquals(List.of(16L), index.findBlock(1, new BigDecimal("100"), null));
+        assertTrue(index.findBlock(2, new BigDecimal("100"), null).isEmpty());
+    }
+
+    @Test
+    void testSetFreeUpdatesRunSummary() {
+        index.setFree(2L, true);
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.findBlock(4, null, null));
+
+        index.setFree(12L, false);
+        index.setFree(3L, false);
+        assertTrue(index.findBlock(3, null, null).isEmpty());
+    }
+
+    @Test
+    void testRefreshReadsInventory() {
+        inventory.setState(3L, MatchSeatInventory.HELD);
+        index.refresh(List.of(3L, 4L));
+
+        assertEquals(List.of(11L, 12L), index.findBlock(2, null, null));
+    }
+
+    @Test
+    void testLargeStadium() {
+        // 99 rows of 1,000 seats, everything sold except a block at the end of the last row
+        List<TicketSeatView> seats = new ArrayList<>();
+        long id = 1;
+        for (int row = 1; row <= 99; row++) {
+            for (int number = 1; number <= 1000; number++) {
+                TicketStatus status = row == 99 && number > 996 ? TicketStatus.FREE : TicketStatus.SOLD;
+                seats.add(seat(id++, String.valueOf(row), String.valueOf(number), "100", status));
+            }
+        }
+        MatchSeatInventory largeInventory = MatchSeatInventory.of(2L, seats);
+        SeatBlockIndex largeIndex = SeatBlockIndex.of(largeInventory, seats);
+
+        assertEquals(List.of(98997L, 98998L, 98999L, 99000L), largeIndex.findBlock(4, null, null));
+        assertTrue(largeIndex.findBlock(5, null, null).isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.stadium_tickets.inventory;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reference decoder of the binary {@link SeatMap} format, the model for client implementations.
+ */
+public final class SeatMapDecoder {
+
+    private SeatMapDecoder() {
+    }
+
+    public record Seat(String row, String number) {
+    }
+
+    /**
+     * A decoded seat map, {@code layout} is null when the map was sent without the layout index.
+     * A cached layout can be reused for the bitmap only while its hash equals {@code layoutHash}.
+     */
+    public record DecodedSeatMap(long matchId, int seatCount, int layoutHash, List<Seat> layout, BitSet free) {
+
+        public boolean hasLayout() {
+            return layout != null;
+        }
+
+        public boolean isFree(int seat) {
+            return free.get(seat);
+        }
+
+        public int freeCount() {
+            return free.cardinality();
+        }
+    }
+
+    public static DecodedSeatMap decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            byte[] magic = new byte[SeatMap.MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, SeatMap.MAGIC)) {
+                throw new IllegalArgumentException("Not a seat map");
+            }
+            byte version = buffer.get();
+            if (version != SeatMap.VERSION) {
+                throw new IllegalArgumentException("Unsupported seat map version " + version);
+            }
+            byte flags = buffer.get();
+            long matchId = buffer.getLong();
+            int seatCount = buffer.getInt();
+            int layoutHash = buffer.getInt();
+
+            List<Seat> layout = null;
+            if ((flags & SeatMap.FLAG_LAYOUT) != 0) {
+                int layoutStart = buffer.position();
+                layout = readLayout(buffer);
+                byte[] layoutBytes = Arrays.copyOfRange(bytes, layoutStart, buffer.position());
+                if (SeatMap.layoutHashOf(layoutBytes) != layoutHash) {
+                    throw new IllegalArgumentException("Layout does not match its hash");
+                }
+                if (layout.size() != seatCount) {
+                    throw new IllegalArgumentException("Layout has " + layout.size() + " seats, header says " + seatCount);
+                }
+            }
+
+            byte[] bitmap = new byte[(seatCount + 7) / 8];
+            buffer.get(bitmap);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected bytes after the bitmap");
+            }
+            // BitSet.valueOf reads bytes in the same least significant bit first order
+            return new DecodedSeatMap(matchId, seatCount, layoutHash, layout, BitSet.valueOf(bitmap));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated seat map", e);
+        }
+    }
+
+    private static List<Seat> readLayout(ByteBuffer buffer) {
+        List<Seat> seats = new ArrayList<>();
+        int rowCount = buffer.getInt();
+        for (int r = 0; r < rowCount; r++) {
+            String row = readLabel(buffer);
+            int segmentCount = buffer.getInt();
+            for (int s = 0; s < segmentCount; s++) {
+                byte kind = buffer.get();
+                if (kind == SeatMap.NUMBERED_RUN) {
+                    int first = buffer.getInt();
+                    int count = buffer.getInt();
+                    for (int i = 0; i < count; i++) {
+                        seats.add(new Seat(row, Integer.toString(first + i)));
+                    }
+                } else if (kind == SeatMap.LABELED_SEAT) {
+                    seats.add(new Seat(row, readLabel(buffer)));
+                } else {
+                    throw new IllegalArgumentException("Unknown segment kind " + kind);
+                }
+            }
+        }
+        return seats;
+    }
+
+    private static String readLabel(ByteBuffer buffer) {
+        byte[] label = new byte[Byte.toUnsignedInt(buffer.get())];
+        buffer.get(label);
+        return new String(label, StandardCharsets.UTF_8);
+    }
+}
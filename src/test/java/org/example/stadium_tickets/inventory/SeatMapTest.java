@@ -0,0 +1,108 @@
+package org.example.stadium_tickets.inventory;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.repository.projection.TicketSeatView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.stadium_tickets.inventory.SeatBlockIndexTest.seat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    @Test
+    void testRoundTripWithLayout() {
+        // Shorter labels first: row 10 comes after rows 9 and B, seat 3A after seat 5. Row B has a gap after seat 3
+        List<TicketSeatView> seats = List.of(
+                seat(5L, "B", "5", "80", TicketStatus.SOLD),
+                seat(1L, "B", "1", "80", TicketStatus.FREE),
+                seat(2L, "B", "2", "80", TicketStatus.HELD),
+                seat(3L, "B", "3", "80", TicketStatus.FREE),
+                seat(4L, "B", "3A", "80", TicketStatus.FREE),
+                seat(21L, "10", "1", "50", TicketStatus.REFUNDED),
+                seat(11L, "9", "07", "50", TicketStatus.FREE));
+        MatchSeatInventory inventory = MatchSeatInventory.of(7L, seats);
+
+        SeatMapDecoder.DecodedSeatMap decoded = SeatMapDecoder.decode(SeatMap.of(inventory, seats).encode(true));
+
+        assertEquals(7L, decoded.matchId());
+        assertEquals(7, decoded.seatCount());
+        assertEquals(List.of(
+                new SeatMapDecoder.Seat("9", "07"),
+                new SeatMapDecoder.Seat("B", "1"),
+                new SeatMapDecoder.Seat("B", "2"),
+                new SeatMapDecoder.Seat("B", "3"),
+                new SeatMapDecoder.Seat("B", "5"),
+                new SeatMapDecoder.Seat("B", "3A"),
+                new SeatMapDecoder.Seat("10", "1")), decoded.layout());
+        boolean[] free = {true, true, false, true, false, true, false};
+        for (int seat = 0; seat < free.length; seat++) {
+            assertEquals(free[seat], decoded.isFree(seat), "seat " + seat);
+        }
+    }
+
+    @Test
+    void testBitmapFollowsInventory() {
+        List<TicketSeatView> seats = List.of(
+                seat(1L, "A", "1", "50", TicketStatus.FREE),
+                seat(2L, "A", "2", "50", TicketStatus.FREE));
+        MatchSeatInventory inventory = MatchSeatInventory.of(1L, seats);
+        SeatMap seatMap = SeatMap.of(inventory, seats);
+
+        inventory.setState(2L, MatchSeatInventory.SOLD);
+        SeatMapDecoder.DecodedSeatMap decoded = SeatMapDecoder.decode(seatMap.encode(false));
+
+        assertFalse(decoded.hasLayout());
+        assertTrue(decoded.isFree(0));
+        assertFalse(decoded.isFree(1));
+        assertEquals(seatMap.getLayoutHash(), decoded.layoutHash());
+    }
+
+    @Test
+    void testLayoutHashChangesWithLayout() {
+        List<TicketSeatView> seats = List.of(
+                seat(1L, "A", "1", "50", TicketStatus.FREE),
+                seat(2L, "A", "2", "50", TicketStatus.FREE));
+        List<TicketSeatView> moreSeats = new ArrayList<>(seats);
+        moreSeats.add(seat(3L, "A", "3", "50", TicketStatus.FREE));
+
+        SeatMap seatMap = SeatMap.of(MatchSeatInventory.of(1L, seats), seats);
+        SeatMap sameLayout = SeatMap.of(MatchSeatInventory.of(1L, seats), seats);
+        SeatMap otherLayout = SeatMap.of(MatchSeatInventory.of(1L, moreSeats), moreSeats);
+
+        assertEquals(seatMap.getLayoutHash(), sameLayout.getLayoutHash());
+        assertNotEquals(seatMap.getLayoutHash(), otherLayout.getLayoutHash());
+        assertEquals(otherLayout.getLayoutHash(), SeatMapDecoder.decode(otherLayout.encode(true)).layoutHash());
+    }
+
+    @Test
+    void testLargeStadiumTakesOneBitPerSeat() {
+        // 90,000 seats in 1,800 rows of 50, every other row sold out
+        List<TicketSeatView> seats = new ArrayList<>();
+        long id = 1;
+        for (int row = 1; row <= 1800; row++) {
+            for (int number = 1; number <= 50; number++) {
+                seats.add(seat(id++, "R" + row, Integer.toString(number), "50",
+                        row % 2 == 0 ? TicketStatus.SOLD : TicketStatus.FREE));
+            }
+        }
+        SeatMap seatMap = SeatMap.of(MatchSeatInventory.of(1L, seats), seats);
+
+        byte[] bitmapOnly = seatMap.encode(false);
+        byte[] withLayout = seatMap.encode(true);
+
+        assertEquals(22 + 90_000 / 8, bitmapOnly.length);
+        // One numbered run per row
+        assertTrue(withLayout.length < bitmapOnly.length + 1800 * 20);
+        SeatMapDecoder.DecodedSeatMap decoded = SeatMapDecoder.decode(withLayout);
+        assertEquals(45_000, decoded.freeCount());
+        assertEquals(new SeatMapDecoder.Seat("R1", "50"), decoded.layout().get(49));
+    }
+
+    @Test
+    void testDecoderRejectsOtherData() {
+        assertThrows(IllegalArgumentException.class, () -> SeatMapDecoder.decode("{\"tickets\":[]}".getBytes()));
+    }
+}
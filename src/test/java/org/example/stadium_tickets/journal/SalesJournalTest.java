@@ -0,0 +1,164 @@
+package org.example.stadium_tickets.journal;
+
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendAndReadBack() throws IOException {
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            assertEquals(1, journal.append(11L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+            assertEquals(2, journal.append(12L, 1L, 1001L, MatchSeatInventory.SOLD, MatchSeatInventory.FREE));
+
+            List<JournalRecord> records = journal.readUncheckpointed();
+            assertEquals(2, records.size());
+            assertEquals(new JournalRecord(1, 11L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD,
+                    true, true), records.get(0));
+            assertEquals(12L, records.get(1).ticketId());
+        }
+    }
+
+    @Test
+    void testReopenContinuesAfterLastRecord() throws IOException {
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            journal.append(11L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+            journal.append(12L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+            journal.checkpoint(1);
+        }
+
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            assertEquals(2, journal.lastSequence());
+            assertEquals(1, journal.checkpoint());
+            List<JournalRecord> records = journal.readUncheckpointed();
+            assertEquals(1, records.size());
+            assertEquals(12L, records.get(0).ticketId());
+            assertEquals(3, journal.append(13L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+        }
+    }
+
+    @Test
+    void testTornRecordEndsJournal() throws IOException {
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            journal.append(11L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+            journal.append(12L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+        }
+        // Corrupt the ticket ID of the second record, as a partially written record would be
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.allocate(8).putLong(0, 99L), SalesJournal.RECORD_SIZE + 8);
+        }
+
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            assertEquals(1, journal.lastSequence());
+            assertEquals(1, journal.readUncheckpointed().size());
+        }
+    }
+
+    @Test
+    void testGroupIsReadBackWhole() throws IOException {
+        try (SalesJournal journal = new SalesJournal(directory, 4 * SalesJournal.RECORD_SIZE)) {
+            assertEquals(5, journal.appendGroup(List.of(11L, 12L, 13L, 14L, 15L), 1L, 1000L,
+                    MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+            journal.force(5);
+
+            List<JournalRecord> records = journal.readUncheckpointed();
+            assertEquals(5, records.size());
+            assertTrue(records.get(0).groupStart());
+            assertFalse(records.get(0).groupEnd());
+            assertFalse(records.get(3).groupEnd());
+            assertTrue(records.get(4).groupEnd());
+        }
+    }
+
+    @Test
+    void testIncompleteGroupIsNotReadBack() throws IOException {
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            journal.append(10L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+            journal.appendGroup(List.of(11L, 12L, 13L), 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+        }
+        // Tear the last record of the group, as a crash before its commit marker reached the disk would
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.allocate(8).putLong(0, 99L), 3L * SalesJournal.RECORD_SIZE + 8);
+        }
+
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            assertEquals(3, journal.lastSequence());
+            assertEquals(List.of(10L), journal.readUncheckpointed().stream().map(JournalRecord::ticketId).toList());
+
+            // A group appended after the cut-off one is read back on its own
+            assertEquals(5, journal.appendGroup(List.of(20L, 21L), 1L, 1000L,
+                    MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+            assertEquals(List.of(10L, 20L, 21L),
+                    journal.readUncheckpointed().stream().map(JournalRecord::ticketId).toList());
+        }
+    }
+
+    @Test
+    void testRecordsAfterTornWriteAreDiscarded() throws IOException {
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            for (long ticketId = 1; ticketId <= 3; ticketId++) {
+                journal.append(ticketId, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+            }
+        }
+        // The second record never reached the disk but the third did
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.allocate(SalesJournal.RECORD_SIZE), SalesJournal.RECORD_SIZE);
+        }
+
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            assertEquals(1, journal.lastSequence());
+            assertEquals(2, journal.append(20L, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD));
+        }
+        try (SalesJournal journal = new SalesJournal(directory, 10 * SalesJournal.RECORD_SIZE)) {
+            assertEquals(2, journal.lastSequence());
+            assertEquals(List.of(1L, 20L), journal.readUncheckpointed().stream().map(JournalRecord::ticketId).toList());
+        }
+    }
+
+    @Test
+    void testSegmentsRollAndCompact() throws IOException {
+        try (SalesJournal journal = new SalesJournal(directory, 4 * SalesJournal.RECORD_SIZE)) {
+            for (long ticketId = 1; ticketId <= 10; ticketId++) {
+                journal.append(ticketId, 1L, 1000L, MatchSeatInventory.FREE, MatchSeatInventory.SOLD);
+            }
+            assertEquals(3, journal.segmentCount());
+            assertEquals(10, journal.readUncheckpointed().size());
+
+            journal.checkpoint(6);
+            assertEquals(1, journal.compact());
+            assertEquals(2, journal.segmentCount());
+            assertEquals(4, journal.readUncheckpointed().size());
+
+            journal.checkpoint(10);
+            assertEquals(1, journal.compact());
+            assertTrue(journal.readUncheckpointed().isEmpty());
+        }
+    }
+}
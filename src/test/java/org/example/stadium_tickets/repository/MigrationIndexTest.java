@@ -0,0 +1,182 @@
+package org.example.stadium_tickets.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeps the Flyway migrations and the index and unique constraint annotations of the entities in step.
+ * The query plan tests run on the schema Hibernate generates from the annotations, while production
+ * runs the migrations, so an index that exists on one side only would be tested but not deployed, or
+ * the other way round.
+ */
+class MigrationIndexTest {
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)\\s+ON\\s+(\\w+)\\s*\\(([^)]*)\\)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_INDEX = Pattern.compile(
+            "DROP\\s+INDEX\\s+(?:IF\\s+EXISTS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TABLE_STATEMENT = Pattern.compile(
+            "^\\s*(?:CREATE|ALTER)\\s+TABLE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UNIQUE_CONSTRAINT = Pattern.compile(
+            "CONSTRAINT\\s+(\\w+)\\s+UNIQUE\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_CONSTRAINT = Pattern.compile(
+            "DROP\\s+CONSTRAINT\\s+(?:IF\\s+EXISTS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern VERSION = Pattern.compile("V(\\d+)__");
+    // Partial indexes cannot be declared with @Index
+    private static final Set<String> PARTIAL_INDEXES = Set.of("ticket_free_seats_idx", "ticket_held_seats_idx");
+
+    @Test
+    void testEntityIndexesMatchMigrations() throws IOException {
+        Map<String, String> migrated = migratedIndexes();
+        Map<String, String> annotated = annotatedIndexes();
+
+        for (Map.Entry<String, String> index : annotated.entrySet()) {
+            assertEquals(index.getValue(), migrated.get(index.getKey()),
+                    "Index " + index.getKey() + " is declared on an entity but no migration creates it that way");
+        }
+        for (Map.Entry<String, String> index : migrated.entrySet()) {
+            if (!PARTIAL_INDEXES.contains(index.getKey())) {
+                assertEquals(index.getValue(), annotated.get(index.getKey()),
+                        "Index " + index.getKey() + " is created by a migration but not declared on its entity");
+            }
+        }
+    }
+
+    @Test
+    void testEntityUniqueConstraintsMatchMigrations() throws IOException {
+        Map<String, String> migrated = migratedUniqueConstraints();
+        Map<String, String> annotated = annotatedUniqueConstraints();
+
+        for (Map.Entry<String, String> constraint : annotated.entrySet()) {
+            assertEquals(constraint.getValue(), migrated.get(constraint.getKey()),
+                    "Unique constraint " + constraint.getKey() + " is declared on an entity but no migration adds it that way");
+        }
+        for (Map.Entry<String, String> constraint : migrated.entrySet()) {
+            assertEquals(constraint.getValue(), annotated.get(constraint.getKey()),
+                    "Unique constraint " + constraint.getKey() + " is added by a migration but not declared on its entity");
+        }
+    }
+
+    // Index name to "table(columns)" after running every migration in version order
+    private static Map<String, String> migratedIndexes() throws IOException {
+        Map<String, String> indexes = new HashMap<>();
+        for (String sql : migrationScripts()) {
+            Matcher create = CREATE_INDEX.matcher(sql);
+            while (create.find()) {
+                indexes.put(create.group(1), key(create.group(2), create.group(3)));
+            }
+            Matcher drop = DROP_INDEX.matcher(sql);
+            while (drop.find()) {
+                indexes.remove(drop.group(1));
+            }
+        }
+        return indexes;
+    }
+
+    // Named unique constraint to "table(columns)", from CREATE TABLE and ALTER TABLE statements
+    private static Map<String, String> migratedUniqueConstraints() throws IOException {
+        Map<String, String> constraints = new HashMap<>();
+        for (String sql : migrationScripts()) {
+            for (String statement : sql.split(";")) {
+                Matcher table = TABLE_STATEMENT.matcher(statement);
+                if (table.find()) {
+                    Matcher unique = UNIQUE_CONSTRAINT.matcher(statement);
+                    while (unique.find()) {
+                        constraints.put(unique.group(1), key(table.group(1), unique.group(2)));
+                    }
+                }
+                Matcher drop = DROP_CONSTRAINT.matcher(statement);
+                while (drop.find()) {
+                    constraints.remove(drop.group(1));
+                }
+            }
+        }
+        return constraints;
+    }
+
+    private static Map<String, String> annotatedIndexes() {
+        Map<String, String> indexes = new TreeMap<>();
+        for (Table table : entityTables()) {
+            for (Index index : table.indexes()) {
+                indexes.put(index.name(), key(table.name(), index.columnList()));
+            }
+        }
+        return indexes;
+    }
+
+    // Unnamed constraints get a generated name and are left out
+    private static Map<String, String> annotatedUniqueConstraints() {
+        Map<String, String> constraints = new TreeMap<>();
+        for (Table table : entityTables()) {
+            for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                if (!constraint.name().isEmpty()) {
+                    constraints.put(constraint.name(), key(table.name(), String.join(",", constraint.columnNames())));
+                }
+            }
+        }
+        return constraints;
+    }
+
+    // Migration scripts in version order, without comments
+    private static List<String> migrationScripts() throws IOException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(MigrationIndexTest::versionOf));
+        List<String> scripts = new ArrayList<>();
+        for (Resource migration : migrations) {
+            scripts.add(migration.getContentAsString(StandardCharsets.UTF_8).replaceAll("--[^\\n]*", ""));
+        }
+        return scripts;
+    }
+
+    private static List<Table> entityTables() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        List<Table> tables = new ArrayList<>();
+        for (BeanDefinition entity : scanner.findCandidateComponents("org.example.stadium_tickets.entity")) {
+            try {
+                Table table = Class.forName(entity.getBeanClassName()).getAnnotation(Table.class);
+                if (table != null) {
+                    tables.add(table);
+                }
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return tables;
+    }
+
+    private static String key(String table, String columns) {
+        return (table + "(" + columns.replaceAll("\\s+", "") + ")").toLowerCase(Locale.ROOT);
+    }
+
+    private static int versionOf(Resource migration) {
+        Matcher version = VERSION.matcher(migration.getFilename());
+        assertTrue(version.find(), "Unexpected migration name " + migration.getFilename());
+        return Integer.parseInt(version.group(1));
+    }
+}
@@ -0,0 +1,298 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.repository.projection.MatchStatusCountView;
+import org.example.stadium_tickets.repository.projection.MatchSummaryView;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression suite for the repository methods.
+ * Seeds 200 matches with 1,000 seats each, runs every query through its repository method, captures the SQL
+ * Hibernate sent and checks the EXPLAIN output of that SQL on H2: hot queries must use their index
+ * and no query may fall back to a full table scan.
+ * The indexes come from the entity mappings here and from the Flyway migrations in production,
+ * {@link MigrationIndexTest} checks that both declare the same indexes.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.example.stadium_tickets.repository.QueryPlanTest$CapturingInspector",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int STADIUMS = 20;
+    private static final int MATCHES_PER_STADIUM = 10;
+    private static final int ROWS = 20;
+    private static final int SEATS_PER_ROW = 50;
+    private static final int USERS = 2000;
+    private static final LocalDateTime SEASON_START = LocalDateTime.of(2026, 8, 1, 18, 0);
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Match match;
+    private Stadium stadium;
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            synchronized (statements) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> stadiums = new ArrayList<>();
+        List<Object[]> matches = new ArrayList<>();
+        List<Object[]> tickets = new ArrayList<>();
+        long matchId = 1;
+        long ticketId = 1;
+        for (long stadiumId = 1; stadiumId <= STADIUMS; stadiumId++) {
+            stadiums.add(new Object[] {stadiumId, "Stadium " + stadiumId, "City " + stadiumId, 60000});
+            for (int m = 0; m < MATCHES_PER_STADIUM; m++, matchId++) {
+                matches.add(new Object[] {matchId, "Home " + (matchId % 40), "Away " + (matchId % 37),
+                        Timestamp.valueOf(SEASON_START.plusDays(matchId)), stadiumId});
+                for (int row = 1; row <= ROWS; row++) {
+                    for (int seat = 1; seat <= SEATS_PER_ROW; seat++, ticketId++) {
+                        // Most seats of a match are sold, a few are held, the rest are free
+                        short status = ticketId % 10 < 7 ? TicketStatus.SOLD.getCode()
+                                : ticketId % 10 == 7 ? TicketStatus.HELD.getCode() : TicketStatus.FREE.getCode();
+                        tickets.add(new Object[] {ticketId, matchId, "R" + row, String.valueOf(seat),
+                                new BigDecimal("50.00"), status});
+                    }
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO stadium (id, name, city, capacity) VALUES (?, ?, ?, ?)", stadiums);
+        jdbcTemplate.batchUpdate("INSERT INTO match (id, home_team, away_team, match_date, stadium_id) "
+                + "VALUES (?, ?, ?, ?, ?)", matches);
+        jdbcTemplate.batchUpdate("INSERT INTO ticket (id, match_id, seat_row, seat_number, price, status_code, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0)", tickets);
+
+        List<Object[]> users = new ArrayList<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[] {userId, "user" + userId, "user" + userId + "@example.com",
+                    Timestamp.valueOf(SEASON_START)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, created_at) VALUES (?, ?, ?, ?)", users);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @BeforeEach
+    void setUp() {
+        stadium = stadiumRepository.findById(7L).orElseThrow();
+        match = matchRepository.findById(42L).orElseThrow();
+    }
+
+    @Test
+    void testTicketsOfMatchUseMatchIndex() {
+        assertPlanSearchesIndexOn("MATCH_ID", () -> ticketRepository.findByMatch(match), 42L);
+        assertPlanSearchesIndexOn("MATCH_ID", () -> ticketRepository.existsByMatchId(42L), 42L, 1);
+        assertPlanSearchesIndexOn("MATCH_ID", () -> ticketRepository.findStatusViewsByMatchId(42L), 42L);
+        assertPlanSearchesIndexOn("MATCH_ID", () -> ticketRepository.findSeatViewsByMatchId(42L), 42L);
+    }
+
+    @Test
+    void testAvailabilityCountsAreGroupedByStatus() {
+        Map<TicketStatus, Long> counts = new EnumMap<>(TicketStatus.class);
+        List<MatchStatusCountView> allCounts = ticketRepository.countByMatchIdAndStatus();
+        for (MatchStatusCountView count : allCounts) {
+            if (count.getMatchId() == 42L) {
+                counts.put(count.getStatus(), count.getTickets());
+            }
+        }
+        assertEquals(Map.of(TicketStatus.FREE, 200L, TicketStatus.HELD, 100L, TicketStatus.SOLD, 700L), counts);
+        assertEquals(STADIUMS * MATCHES_PER_STADIUM * 3, allCounts.size());
+    }
+
+    @Test
+    void testTicketsByMatchAndStatusUseStatusIndex() {
+        short free = TicketStatus.FREE.getCode();
+        assertPlan("ticket_match_status_idx",
+                () -> ticketRepository.findByMatchAndStatus(match, TicketStatus.FREE), 42L, free);
+        assertPlan("ticket_match_status_idx",
+                () -> ticketRepository.countByMatchAndStatus(match, TicketStatus.FREE), 42L, free);
+    }
+
+    @Test
+    void testSeatLookupsUseSeatIndex() {
+        assertPlan("ticket_match_seat_key",
+                () -> ticketRepository.findByMatchAndSeatRowAndSeatNumber(match, "R3", "7"), 42L, "R3", "7");
+    }
+
+    @Test
+    void testSeatKeyLookupsUseSeatIndex() {
+        assertPlan("ticket_match_seat_key",
+                () -> ticketRepository.findIdsByMatchIdAndSeats(42L, Set.of(new SeatKey("R3", "7"))), 42L, "R3", "7");
+        assertPlan("ticket_match_seat_key",
+                () -> ticketRepository.findSeatsByMatchIdAndSeats(42L, Set.of(new SeatKey("R3", "7"))), 42L, "R3", "7");
+        // With several seats H2 searches by the match only, on the composite or on the foreign key index
+        assertPlanSearchesIndexOn("MATCH_ID",
+                () -> ticketRepository.findIdsByMatchIdAndSeats(42L, List.of(new SeatKey("R3", "7"), new SeatKey("R4", "8"))),
+                42L, "R3", "7", "R4", "8");
+    }
+
+    @Test
+    void testTicketStatusUpdatesUseKeys() {
+        short free = TicketStatus.FREE.getCode();
+        short sold = TicketStatus.SOLD.getCode();
+        assertPlan("primary_key", () -> ticketRepository.findStatusById(42_000L), 42_000L);
+        // H2 may serve both predicates from ticket_status_id_idx, either way it is a lookup by id
+        assertPlanSearchesIndexOn("ID", () -> ticketRepository.updateStatusIfCurrent(42_000L, TicketStatus.FREE,
+                TicketStatus.SOLD), sold, 42_000L, free);
+        assertPlanSearchesIndexOn("MATCH_ID", () -> ticketRepository.deleteChunkByMatchId(42L, 100), 42L, 100);
+    }
+
+    // Same update as updateStatusIfCurrent, H2 does not explain the update inside a FINAL TABLE query
+    @Test
+    void testStatusUpdateReturnsChangedTicket() {
+        Ticket ticket = ticketRepository.updateStatusIfCurrentReturning(42_009L, TicketStatus.FREE, TicketStatus.SOLD)
+                .orElseThrow();
+
+        assertEquals(TicketStatus.SOLD, ticket.getStatus());
+        assertEquals(1L, ticket.getVersion());
+        assertEquals(43L, ticket.getMatch().getId());
+        assertEquals("R1", ticket.getSeatRow());
+        assertEquals("9", ticket.getSeatNumber());
+        assertEquals(new BigDecimal("50.00"), ticket.getPrice());
+        assertTrue(ticketRepository.updateStatusIfCurrentReturning(42_009L, TicketStatus.FREE, TicketStatus.SOLD).isEmpty());
+    }
+
+    @Test
+    void testMatchQueriesUseIndexes() {
+        assertPlan("match_stadium_id_idx", () -> matchRepository.findByStadium(stadium), 7L);
+        assertPlan("match_stadium_id_idx", () -> matchRepository.findIdsByStadiumId(7L), 7L);
+        assertPlan("match_teams_idx", () -> matchRepository.findByHomeTeam("Home 2"), "Home 2");
+        assertPlan("match_teams_idx",
+                () -> matchRepository.findByHomeTeamAndAwayTeam("Home 2", "Away 5"), "Home 2", "Away 5");
+        assertPlan("match_away_team_idx", () -> matchRepository.findByAwayTeam("Away 5"), "Away 5");
+
+        Timestamp from = Timestamp.valueOf(SEASON_START.plusDays(10));
+        Timestamp to = Timestamp.valueOf(SEASON_START.plusDays(12));
+        assertPlan("match_date_idx", () -> matchRepository.findByMatchDateBetween(
+                from.toLocalDateTime(), to.toLocalDateTime()), from, to);
+    }
+
+    @Test
+    void testMatchSummaryCountsSeatsWithoutScanningTickets() {
+        assertPlanSearchesIndexOn("MATCH_ID", () -> matchRepository.findSummaryById(42L), 42L);
+
+        MatchSummaryView summary = matchRepository.findSummaryById(42L).orElseThrow();
+        assertEquals(42L, summary.getId());
+        assertEquals("Stadium 5", summary.getStadiumName());
+        assertEquals(ROWS * SEATS_PER_ROW, summary.getTotalSeats());
+        assertEquals(200, summary.getFreeSeats());
+        assertEquals(100, summary.getHeldSeats());
+        assertEquals(700, summary.getSoldSeats());
+    }
+
+    @Test
+    void testStadiumQueriesUseIndexes() {
+        assertPlan("stadium_name_idx", () -> stadiumRepository.findByName("Stadium 7"), "Stadium 7");
+        assertPlan("stadium_city_idx", () -> stadiumRepository.findByCity("City 7"), "City 7");
+    }
+
+    @Test
+    void testUserLookupsUseUniqueConstraints() {
+        assertPlan("constraint_", () -> userRepository.findByUsername("user42"), "user42");
+        assertPlan("constraint_", () -> userRepository.findByEmail("user42@example.com"), "user42@example.com");
+        assertPlan("constraint_", () -> userRepository.existsByUsername("user42"), "user42", 1);
+        assertPlan("constraint_", () -> userRepository.existsByEmail("user42@example.com"), "user42@example.com", 1);
+    }
+
+    @Test
+    void testKeysetPagesUseIndexes() {
+        PageRequest page = PageRequest.of(0, 101);
+        short free = TicketStatus.FREE.getCode();
+        assertPlan("primary_key",
+                () -> ticketRepository.findByIdGreaterThanOrderByIdAsc(42_000L, page), 42_000L, 101);
+        assertPlan("ticket_status_id_idx", () -> ticketRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                TicketStatus.FREE, 42_000L, page), free, 42_000L, 101);
+        assertPlan("primary_key", () -> matchRepository.findSummariesAfterId(100L, page), 100L, 101);
+        assertPlan("primary_key", () -> stadiumRepository.findByIdGreaterThanOrderByIdAsc(7L, page), 7L, 101);
+        assertPlan("primary_key", () -> userRepository.findByIdGreaterThanOrderByIdAsc(1000L, page), 1000L, 101);
+    }
+
+    /**
+     * Checks that the plan of the statement sent by the repository call uses the given index.
+     */
+    private void assertPlan(String expectedIndex, Runnable call, Object... parameters) {
+        String plan = explain(call, parameters);
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(expectedIndex.toLowerCase(Locale.ROOT)),
+                "Expected " + expectedIndex + " in the plan:\n" + plan);
+    }
+
+    /**
+     * Checks that the plan searches an index by the given column. Used where H2 has several fitting indexes:
+     * it creates an index for every foreign key and may pick it over the leading column of a composite
+     * index, PostgreSQL does not create foreign key indexes and uses the composite one.
+     */
+    private void assertPlanSearchesIndexOn(String column, Runnable call, Object... parameters) {
+        String plan = explain(call, parameters);
+        assertTrue(Pattern.compile("/\\* PUBLIC\\.\\w+: [^*]*\\b" + column + " = ").matcher(plan).find(),
+                "Expected an index search on " + column + " in the plan:\n" + plan);
+    }
+
+    /**
+     * Runs the repository call and returns the EXPLAIN output of the first statement it sent, with the
+     * given parameters. Fails when the plan contains a table scan.
+     */
+    private String explain(Runnable call, Object... parameters) {
+        synchronized (statements) {
+            statements.clear();
+        }
+        call.run();
+        String sql;
+        synchronized (statements) {
+            assertFalse(statements.isEmpty(), "The repository call did not send a statement");
+            sql = statements.get(0);
+        }
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+        assertFalse(plan.contains("tableScan"), "Table scan in the plan of " + sql + ":\n" + plan);
+        return sql + "\n" + plan;
+    }
+}
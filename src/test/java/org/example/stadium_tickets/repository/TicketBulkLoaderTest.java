@@ -0,0 +1,129 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketBulkLoaderTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TicketBulkLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:bulk_load;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE ticket_id_seq_bigint INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE ticket (id BIGINT PRIMARY KEY, match_id BIGINT, "
+                + "seat_row VARCHAR(5), seat_number VARCHAR(5), price NUMERIC(8,2), status_code SMALLINT, version BIGINT, "
+                + "CONSTRAINT ticket_match_seat_key UNIQUE (match_id, seat_row, seat_number))");
+        loader = new TicketBulkLoader(dataSource, 250);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE ticket");
+        jdbcTemplate.execute("DROP SEQUENCE ticket_id_seq_bigint");
+    }
+
+    // Generates seats on demand and fails if the loader reads further than one chunk ahead of the database
+    private Iterator<TicketRow> seats(int count) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public TicketRow next() {
+                if (next >= count) {
+                    throw new NoSuchElementException();
+                }
+                int written = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket", Integer.class);
+                assertTrue(next - written <= 250, "More than one chunk held in memory");
+                next++;
+                return new TicketRow(1L, "R" + (next / 100), String.valueOf(next % 100 + 1),
+                        new BigDecimal("45.50"), TicketStatus.FREE);
+            }
+        };
+    }
+
+    @Test
+    void testLoadWritesAllRows() {
+        BulkLoadReport report = loader.load(seats(1234));
+
+        assertEquals(1234, report.rows());
+        assertEquals("BATCH", report.method());
+        assertTrue(report.rowsPerSecond() > 0);
+        assertEquals(1234, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ticket WHERE match_id = 1 AND status_code = 0 AND version = 0", Integer.class));
+        assertEquals(1234, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM ticket", Integer.class));
+        assertEquals(new BigDecimal("45.50"), jdbcTemplate.queryForObject(
+                "SELECT price FROM ticket WHERE seat_row = 'R12' AND seat_number = '35'", BigDecimal.class));
+    }
+
+    @Test
+    void testIdsAreDrawnInPooledBlocks() {
+        loader.load(seats(1234));
+
+        // One sequence value per 50 rows, not one per row
+        long lastValue = jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TICKET_ID_SEQ_BIGINT'", Long.class);
+        assertTrue(lastValue <= 27 * TicketBulkLoader.ID_BLOCK_SIZE + 1, "Sequence advanced to " + lastValue);
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT MIN(id) FROM ticket", Long.class));
+        // A value reserved afterwards, as Hibernate would take it, starts a block no row uses
+        long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR ticket_id_seq_bigint", Long.class);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket WHERE id > ?", Integer.class,
+                next - TicketBulkLoader.ID_BLOCK_SIZE));
+    }
+
+    @Test
+    void testLoadJoinsCurrentTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            loader.load(seats(300));
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket", Integer.class));
+    }
+
+    @Test
+    void testLoadFailsOnExistingSeat() {
+        loader.load(seats(300));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        List<TicketRow> rows = List.of(
+                new TicketRow(2L, "R1", "1", new BigDecimal("45.50"), TicketStatus.FREE),
+                new TicketRow(1L, "R1", "1", new BigDecimal("45.50"), TicketStatus.FREE));
+
+        assertThrows(DuplicateKeyException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> loader.load(rows.iterator())));
+
+        assertEquals(300, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket", Integer.class));
+    }
+
+    @Test
+    void testCopyLineEscapesValues() {
+        TicketRow row = new TicketRow(7L, "A\tB", null, new BigDecimal("120.00"), TicketStatus.FREE);
+
+        assertEquals("51\t7\tA\\tB\t\\N\t120.00\t0\t0\n", TicketBulkLoader.copyLine(51L, row));
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.stadium_tickets.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.entity.Ticket;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that bulk ticket creation is sent as batched inserts, counting prepared statements rather than
+ * timing them: IDENTITY ID generation forced one round trip per ticket on every save.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class TicketInsertBatchingTest {
+
+    private static final int TICKETS = 1000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private Statistics statistics;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        Stadium stadium = new Stadium("Batching Stadium", "London", 90000);
+        entityManager.persist(stadium);
+        match = new Match("Home", "Away", LocalDateTime.now(), stadium);
+        entityManager.persist(match);
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private List<Ticket> tickets(String row) {
+        List<Ticket> tickets = new ArrayList<>(TICKETS);
+        for (int i = 1; i <= TICKETS; i++) {
+            tickets.add(new Ticket(match, row + (i / 1000), String.valueOf(i % 1000), new BigDecimal("50.00")));
+        }
+        return tickets;
+    }
+
+    @Test
+    void testInsertsAreBatched() {
+        List<Ticket> perRow = tickets("P");
+        for (Ticket ticket : perRow) {
+            entityManager.persist(ticket);
+            entityManager.flush();
+        }
+        long perRowStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        ticketRepository.saveAll(tickets("B"));
+        entityManager.flush();
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        // One sequence call per 50 IDs and one statement per JDBC batch of 50 inserts
+        assertTrue(batchedStatements <= 2 * TICKETS / 50 + 2, "Inserts were not batched: " + batchedStatements);
+        assertTrue(perRowStatements >= TICKETS);
+        assertEquals(2L * TICKETS, ticketRepository.count());
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.stadium_tickets.repository;
+
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStatusGroupCommitterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TicketStatusGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:group_commit;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ticket (id BIGINT PRIMARY KEY, match_id BIGINT, seat_row VARCHAR(10), "
+                + "seat_number VARCHAR(10), price DECIMAL(10, 2), status_code SMALLINT, version BIGINT)");
+        for (long id = 1; id <= 100; id++) {
+            jdbcTemplate.update("INSERT INTO ticket (id, match_id, seat_row, seat_number, price, status_code, version) "
+                    + "VALUES (?, 7, 'A', ?, 10.00, 0, 0)", id, Long.toString(id));
+        }
+        committer = new TicketStatusGroupCommitter(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), 32, 5000);
+        committer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        committer.stop();
+        jdbcTemplate.execute("DROP TABLE ticket");
+    }
+
+    @Test
+    void testConcurrentChangesAreCommitted() throws Exception {
+        List<CompletableFuture<Optional<Ticket>>> results = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            results.add(committer.submit(id, TicketStatus.FREE, TicketStatus.SOLD));
+        }
+
+        for (CompletableFuture<Optional<Ticket>> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        assertEquals(100, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ticket WHERE status_code = 1 AND version = 1", Integer.class));
+    }
+
+    @Test
+    void testEachChangeGetsItsOwnResult() throws Exception {
+        CompletableFuture<Optional<Ticket>> first = committer.submit(1L, TicketStatus.FREE, TicketStatus.SOLD);
+        CompletableFuture<Optional<Ticket>> second = committer.submit(1L, TicketStatus.FREE, TicketStatus.SOLD);
+        CompletableFuture<Optional<Ticket>> missing = committer.submit(999L, TicketStatus.FREE, TicketStatus.SOLD);
+        CompletableFuture<Optional<Ticket>> other = committer.submit(2L, TicketStatus.FREE, TicketStatus.SOLD);
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(second.get(5, TimeUnit.SECONDS).isEmpty());
+        assertTrue(missing.get(5, TimeUnit.SECONDS).isEmpty());
+        assertTrue(other.get(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    @Test
+    void testChangedTicketIsReturnedFromTheBatch() throws Exception {
+        List<TicketStatusGroupCommitter.StatusChange> batch = new ArrayList<>();
+        batch.add(new TicketStatusGroupCommitter.StatusChange(3L, TicketStatus.FREE, TicketStatus.SOLD, new CompletableFuture<>()));
+        batch.add(new TicketStatusGroupCommitter.StatusChange(3L, TicketStatus.SOLD, TicketStatus.FREE, new CompletableFuture<>()));
+
+        committer.flush(batch);
+
+        Ticket sold = batch.get(0).result().get(5, TimeUnit.SECONDS).orElseThrow();
+        assertEquals(3L, sold.getId());
+        assertEquals(7L, sold.getMatch().getId());
+        assertEquals("3", sold.getSeatNumber());
+        assertEquals(TicketStatus.SOLD, sold.getStatus());
+        assertEquals(1L, sold.getVersion());
+        // The later change of the same ticket in the batch is returned as it left the row
+        Ticket canceled = batch.get(1).result().get(5, TimeUnit.SECONDS).orElseThrow();
+        assertEquals(TicketStatus.FREE, canceled.getStatus());
+        assertEquals(2L, canceled.getVersion());
+    }
+
+    @Test
+    void testFailingChangeDoesNotFailItsBatch() throws Exception {
+        // Ticket 50 cannot change its status, so a batch with it fails
+        jdbcTemplate.execute("ALTER TABLE ticket ADD CHECK (id <> 50 OR status_code = 0)");
+        List<TicketStatusGroupCommitter.StatusChange> batch = new ArrayList<>();
+        for (long id : new long[]{1, 2, 50, 3, 4}) {
+            batch.add(new TicketStatusGroupCommitter.StatusChange(id, TicketStatus.FREE, TicketStatus.SOLD, new CompletableFuture<>()));
+        }
+
+        committer.flush(batch);
+
+        for (TicketStatusGroupCommitter.StatusChange change : batch) {
+            if (change.ticketId() == 50L) {
+                assertThrows(ExecutionException.class, () -> change.result().get(5, TimeUnit.SECONDS));
+            } else {
+                assertTrue(change.result().get(5, TimeUnit.SECONDS).isPresent());
+            }
+        }
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket WHERE status_code = 1", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT status_code FROM ticket WHERE id = 50", Integer.class));
+    }
+
+    @Test
+    void testRejectsChangesAfterStop() throws Exception {
+        committer.stop();
+
+        CompletableFuture<Optional<Ticket>> result = committer.submit(1L, TicketStatus.FREE, TicketStatus.SOLD);
+        assertTrue(result.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.stadium_tickets.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyFilterTest {
+
+    private IdempotencyKeyFilter filter;
+    private AtomicInteger executions;
+    private FilterChain chain;
+    private String lastBody;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyKeyFilter(60, 1_000_000);
+        executions = new AtomicInteger();
+        chain = (request, response) -> {
+            int execution = executions.incrementAndGet();
+            lastBody = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(200);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(("{\"execution\":" + execution + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (key != null) {
+            request.addHeader(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+
+    @Test
+    void testRetryIsReplayed() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/tickets", "abc"), first, chain);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/tickets", "abc"), retry, chain);
+
+        assertEquals(1, executions.get());
+        assertEquals("{\"execution\":1}", first.getContentAsString());
+        assertEquals("{\"execution\":1}", retry.getContentAsString());
+        assertEquals(200, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testKeyReusedForAnotherPathIsRejected() throws Exception {
+        filter.doFilter(request("DELETE", "/api/tickets/1", "abc"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+        filter.doFilter(request("DELETE", "/api/tickets/2", "abc"), reused, chain);
+
+        assertEquals(1, executions.get());
+        assertEquals(422, reused.getStatus());
+    }
+
+    @Test
+    void testKeyReusedForAnotherBodyIsRejected() throws Exception {
+        MockHttpServletRequest first = request("POST", "/api/tickets/cart", "abc");
+        first.setContent("{\"ticketIds\":[1]}".getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(first, new MockHttpServletResponse(), chain);
+        MockHttpServletRequest other = request("POST", "/api/tickets/cart", "abc");
+        other.setContent("{\"ticketIds\":[2]}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+        filter.doFilter(other, reused, chain);
+        MockHttpServletRequest retry = request("POST", "/api/tickets/cart", "abc");
+        retry.setContent("{\"ticketIds\":[1]}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+        filter.doFilter(retry, replayed, chain);
+
+        assertEquals(1, executions.get());
+        assertEquals("{\"ticketIds\":[1]}", lastBody);
+        assertEquals(422, reused.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testRequestsWithoutKeyAreNotCached() throws Exception {
+        filter.doFilter(request("POST", "/api/tickets", null), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/tickets", null), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("GET", "/api/tickets", "abc"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("GET", "/api/tickets", "abc"), new MockHttpServletResponse(), chain);
+
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    void testServerErrorsAreNotCached() throws Exception {
+        FilterChain failingChain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        };
+
+        filter.doFilter(request("POST", "/api/tickets", "abc"), new MockHttpServletResponse(), failingChain);
+        filter.doFilter(request("POST", "/api/tickets", "abc"), new MockHttpServletResponse(), failingChain);
+
+        assertEquals(2, executions.get());
+    }
+}
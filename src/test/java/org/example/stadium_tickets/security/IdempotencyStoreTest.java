@@ -0,0 +1,81 @@
+package org.example.stadium_tickets.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final byte[] FINGERPRINT = {1, 2, 3};
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(1000, 1024);
+    }
+
+    @Test
+    void testReserveAndComplete() {
+        assertNull(store.reserve("key-1", FINGERPRINT, 0));
+        assertTrue(store.reserve("key-1", FINGERPRINT, 10).isInProgress());
+
+        store.complete("key-1", 200, "application/json", "{}".getBytes());
+
+        IdempotencyStore.Entry entry = store.reserve("key-1", FINGERPRINT, 20);
+        assertFalse(entry.isInProgress());
+        assertEquals(200, entry.getStatus());
+        assertEquals("{}", new String(entry.getBody()));
+    }
+
+    @Test
+    void testEntryKeepsRequestFingerprint() {
+        store.reserve("key-1", FINGERPRINT, 0);
+
+        IdempotencyStore.Entry entry = store.reserve("key-1", new byte[] {9}, 10);
+        assertTrue(entry.matches(new byte[] {1, 2, 3}));
+        assertFalse(entry.matches(new byte[] {9}));
+    }
+
+    @Test
+    void testEntriesExpire() {
+        store.reserve("key-1", FINGERPRINT, 0);
+        store.complete("key-1", 200, null, new byte[0]);
+
+        assertNull(store.reserve("key-1", FINGERPRINT, 1000));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testOldestEntriesAreEvictedWhenBytesRunOut() {
+        store.reserve("key-1", FINGERPRINT, 0);
+        store.complete("key-1", 200, null, new byte[400]);
+        store.reserve("key-2", FINGERPRINT, 1);
+        store.complete("key-2", 200, null, new byte[400]);
+        store.reserve("key-3", FINGERPRINT, 2);
+
+        assertEquals(2, store.size());
+        assertTrue(store.usedBytes() <= 1024);
+        assertNull(store.reserve("key-1", FINGERPRINT, 3));
+    }
+
+    @Test
+    void testLargeResponseIsKept() {
+        store.reserve("key-1", FINGERPRINT, 0);
+        store.reserve("key-2", FINGERPRINT, 1);
+        store.complete("key-2", 200, null, new byte[2048]);
+
+        assertEquals(1, store.size());
+        assertEquals(2048, store.reserve("key-2", FINGERPRINT, 2).getBody().length);
+    }
+
+    @Test
+    void testReleaseAllowsRetry() {
+        store.reserve("key-1", FINGERPRINT, 0);
+        store.release("key-1");
+
+        assertNull(store.reserve("key-1", FINGERPRINT, 1));
+        assertEquals(1, store.size());
+    }
+}
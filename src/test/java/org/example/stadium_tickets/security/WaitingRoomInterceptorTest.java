@@ -0,0 +1,129 @@
+package org.example.stadium_tickets.security;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.exception.WaitingRoomException;
+import org.example.stadium_tickets.payload.request.CartPurchaseRequest;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.WaitingRoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WaitingRoomInterceptorTest {
+
+    private WaitingRoomInterceptor interceptor;
+    private WaitingRoomRequestBodyAdvice advice;
+    private MockHttpServletRequest request;
+
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        interceptor = new WaitingRoomInterceptor(waitingRoomService, ticketRepository);
+        advice = new WaitingRoomRequestBodyAdvice(interceptor);
+        request = new MockHttpServletRequest("POST", "/api/tickets/5/purchase");
+        request.addHeader(WaitingRoomInterceptor.QUEUE_TOKEN_HEADER, "token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestAuthentication(new TestUserDetails("user", "password", List.of())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testChecksMatchOfTicketInPath() throws Exception {
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "5"));
+        when(ticketRepository.findMatchIdById(5L)).thenReturn(Optional.of(1L));
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("purchase", Long.class)));
+
+        // The ticket is looked up by the waiting room, only after it has verified and admitted the token
+        ArgumentCaptor<Supplier<Long>> matchId = ArgumentCaptor.forClass(Supplier.class);
+        verify(waitingRoomService).requireAdmitted(eq("token"), matchId.capture(), eq("user"));
+        verify(ticketRepository, never()).findMatchIdById(anyLong());
+        assertEquals(1L, matchId.getValue().get());
+    }
+
+    @Test
+    void testChecksMatchOfRequestBody() throws Exception {
+        HandlerMethod handler = handler("purchaseCart", CartPurchaseRequest.class);
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+        verify(waitingRoomService, never()).requireAdmitted(any(), any(Supplier.class), any());
+
+        CartPurchaseRequest body = new CartPurchaseRequest();
+        body.setMatchId(1L);
+        advice.afterBodyRead(body, null, handler.getMethodParameters()[0], CartPurchaseRequest.class, null);
+
+        verify(waitingRoomService).requireAdmitted(eq("token"), argThat((Supplier<Long> matchId) -> matchId.get() == 1L),
+                eq("user"));
+    }
+
+    @Test
+    void testChecksMatchOfTicketBody() throws Exception {
+        HandlerMethod handler = handler("createTicket", Ticket.class);
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        Match match = new Match();
+        match.setId(2L);
+        Ticket ticket = new Ticket();
+        ticket.setMatch(match);
+
+        advice.afterBodyRead(ticket, null, handler.getMethodParameters()[0], Ticket.class, null);
+
+        verify(waitingRoomService).requireAdmitted(eq("token"), argThat((Supplier<Long> matchId) -> matchId.get() == 2L),
+                eq("user"));
+    }
+
+    @Test
+    void testRejectsRequestWithoutMatch() {
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of());
+
+        assertThrows(WaitingRoomException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+    }
+
+    private HandlerMethod handler(String name, Class<?> parameterType) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name, parameterType));
+    }
+
+    static class Handlers {
+        public void purchase(@PathVariable Long id) {
+        }
+
+        public void purchaseCart(@RequestBody CartPurchaseRequest request) {
+        }
+
+        public void createTicket(@RequestBody Ticket ticket) {
+        }
+    }
+}
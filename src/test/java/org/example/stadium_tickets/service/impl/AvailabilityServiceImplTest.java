@@ -0,0 +1,193 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.inventory.MatchAvailability;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.projection.MatchStatusCountView;
+import org.example.stadium_tickets.repository.projection.TicketStatusView;
+import org.example.stadium_tickets.service.MatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AvailabilityServiceImplTest {
+
+    private AvailabilityServiceImpl availabilityService;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private MatchService matchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        availabilityService = new AvailabilityServiceImpl(ticketRepository, matchService);
+        when(matchService.getMatchById(anyLong())).thenReturn(new Match());
+    }
+
+    @Test
+    void testRebuildCountsAllMatchesWithOneQuery() {
+        when(ticketRepository.countByMatchIdAndStatus()).thenReturn(List.of(
+                count(1L, TicketStatus.FREE, 80), count(1L, TicketStatus.SOLD, 20), count(2L, TicketStatus.HELD, 3)));
+
+        availabilityService.rebuild();
+
+        assertEquals(80, availabilityService.count(1L, TicketStatus.FREE));
+        assertEquals(20, availabilityService.count(1L, TicketStatus.SOLD));
+        assertEquals(0, availabilityService.count(1L, TicketStatus.HELD));
+        assertEquals(100, availabilityService.getAvailability(1L).total());
+        assertEquals(3, availabilityService.count(2L, TicketStatus.HELD));
+        verify(ticketRepository, never()).findStatusViewsByMatchId(anyLong());
+    }
+
+    @Test
+    void testCountersFollowStatusChanges() {
+        when(ticketRepository.countByMatchIdAndStatus()).thenReturn(List.of(count(1L, TicketStatus.FREE, 10)));
+        availabilityService.rebuild();
+
+        availabilityService.onTicketStatusChanged(new TicketStatusChangedEvent(
+                this, 1L, List.of(1L, 2L, 3L), TicketStatus.FREE, TicketStatus.HELD));
+        availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                this, 1L, 1L, TicketStatus.HELD, TicketStatus.SOLD));
+        availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.created(this, 1L, 11L, TicketStatus.FREE));
+        availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.deleted(this, 1L, 2L, TicketStatus.HELD));
+
+        MatchAvailability availability = availabilityService.getAvailability(1L);
+        assertEquals(8, availability.count(TicketStatus.FREE));
+        assertEquals(1, availability.count(TicketStatus.HELD));
+        assertEquals(1, availability.count(TicketStatus.SOLD));
+        assertEquals(10, availability.total());
+        verify(ticketRepository, never()).findStatusViewsByMatchId(anyLong());
+    }
+
+    @Test
+    void testMatchIsLoadedOnFirstRead() {
+        when(ticketRepository.findStatusViewsByMatchId(5L)).thenReturn(List.of(
+                seat(1L, TicketStatus.FREE), seat(2L, TicketStatus.FREE), seat(3L, TicketStatus.SOLD)));
+
+        // Changes of a match that is not loaded are not counted, the load reads them from the table
+        availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                this, 5L, 3L, TicketStatus.FREE, TicketStatus.SOLD));
+        assertEquals(2, availabilityService.count(5L, TicketStatus.FREE));
+        assertEquals(1, availabilityService.count(5L, TicketStatus.SOLD));
+
+        verify(ticketRepository, times(1)).findStatusViewsByMatchId(5L);
+    }
+
+    @Test
+    void testChangesDuringLoadAreReplayedOnce() {
+        when(ticketRepository.findStatusViewsByMatchId(5L)).thenAnswer(invocation -> {
+            // Ticket 1 was sold before the load read it, ticket 2 after
+            availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                    this, 5L, 1L, TicketStatus.FREE, TicketStatus.SOLD));
+            availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                    this, 5L, 2L, TicketStatus.FREE, TicketStatus.SOLD));
+            availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.created(this, 5L, 4L, TicketStatus.FREE));
+            return List.of(seat(1L, TicketStatus.SOLD), seat(2L, TicketStatus.FREE), seat(3L, TicketStatus.FREE));
+        });
+
+        MatchAvailability availability = availabilityService.getAvailability(5L);
+        assertEquals(2, availability.count(TicketStatus.FREE));
+        assertEquals(2, availability.count(TicketStatus.SOLD));
+
+        // Later changes go straight to the counters
+        availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                this, 5L, 3L, TicketStatus.FREE, TicketStatus.HELD));
+        assertEquals(1, availabilityService.count(5L, TicketStatus.HELD));
+        assertEquals(1, availabilityService.count(5L, TicketStatus.FREE));
+        verify(ticketRepository, times(1)).findStatusViewsByMatchId(5L);
+    }
+
+    @Test
+    void testBulkChangeDuringLoadDropsLoadedCounters() {
+        when(ticketRepository.findStatusViewsByMatchId(5L))
+                .thenAnswer(invocation -> {
+                    availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.bulkChange(this, 5L));
+                    return List.of(seat(1L, TicketStatus.FREE));
+                })
+                .thenReturn(List.of(seat(1L, TicketStatus.FREE), seat(2L, TicketStatus.FREE)));
+
+        assertEquals(1, availabilityService.count(5L, TicketStatus.FREE));
+        assertEquals(2, availabilityService.count(5L, TicketStatus.FREE));
+    }
+
+    @Test
+    void testRebuildLeavesOutMatchesChangedMeanwhile() {
+        when(ticketRepository.countByMatchIdAndStatus()).thenAnswer(invocation -> {
+            availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                    this, 1L, 1L, TicketStatus.FREE, TicketStatus.SOLD));
+            return List.of(count(1L, TicketStatus.FREE, 10), count(2L, TicketStatus.FREE, 5));
+        });
+        when(ticketRepository.findStatusViewsByMatchId(1L)).thenReturn(List.of(
+                seat(1L, TicketStatus.SOLD), seat(2L, TicketStatus.FREE)));
+
+        availabilityService.rebuild();
+
+        assertEquals(5, availabilityService.count(2L, TicketStatus.FREE));
+        assertEquals(1, availabilityService.count(1L, TicketStatus.SOLD));
+        verify(ticketRepository, never()).findStatusViewsByMatchId(2L);
+    }
+
+    @Test
+    void testBulkChangeReloadsMatch() {
+        when(ticketRepository.countByMatchIdAndStatus()).thenReturn(List.of(count(1L, TicketStatus.FREE, 10)));
+        when(ticketRepository.findStatusViewsByMatchId(1L)).thenReturn(List.of(seat(1L, TicketStatus.FREE)));
+        availabilityService.rebuild();
+
+        availabilityService.onTicketStatusChanged(TicketStatusChangedEvent.bulkChange(this, 1L));
+
+        assertEquals(1, availabilityService.count(1L, TicketStatus.FREE));
+    }
+
+    @Test
+    void testUnknownMatchIsRejected() {
+        when(matchService.getMatchById(99L)).thenThrow(new RuntimeException("Match not found with id: 99"));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> availabilityService.getAvailability(99L));
+        assertEquals("Match not found with id: 99", exception.getMessage());
+        verify(ticketRepository, never()).findStatusViewsByMatchId(anyLong());
+    }
+
+    private TicketStatusView seat(Long id, TicketStatus status) {
+        return new TicketStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public TicketStatus getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private MatchStatusCountView count(Long matchId, TicketStatus status, long tickets) {
+        return new MatchStatusCountView() {
+            @Override
+            public Long getMatchId() {
+                return matchId;
+            }
+
+            @Override
+            public TicketStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getTickets() {
+                return tickets;
+            }
+        };
+    }
+}
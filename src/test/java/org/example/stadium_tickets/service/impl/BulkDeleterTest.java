@@ -0,0 +1,96 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.repository.MatchRepository;
+import org.example.stadium_tickets.repository.PriceZoneRepository;
+import org.example.stadium_tickets.repository.StadiumRepository;
+import org.example.stadium_tickets.repository.StadiumSectionRepository;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BulkDeleterTest {
+
+    private BulkDeleter bulkDeleter;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private StadiumRepository stadiumRepository;
+
+    @Mock
+    private StadiumSectionRepository sectionRepository;
+
+    @Mock
+    private PriceZoneRepository priceZoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        bulkDeleter = new BulkDeleter(matchRepository, ticketRepository, stadiumRepository, sectionRepository,
+                priceZoneRepository, eventPublisher, transactionManager, 1000);
+    }
+
+    @Test
+    void testDeleteMatchInChunks() {
+        when(ticketRepository.deleteChunkByMatchId(7L, 1000)).thenReturn(1000, 1000, 400);
+        when(ticketRepository.deleteAllByMatchId(7L)).thenReturn(0);
+
+        long deleted = bulkDeleter.deleteMatch(7L);
+
+        assertEquals(2400, deleted);
+        InOrder order = inOrder(ticketRepository, matchRepository);
+        order.verify(ticketRepository, times(3)).deleteChunkByMatchId(7L, 1000);
+        order.verify(ticketRepository).deleteAllByMatchId(7L);
+        order.verify(matchRepository).deleteMatchById(7L);
+        // One transaction per chunk and one for the match
+        verify(transactionManager, times(4)).commit(any(TransactionStatus.class));
+        verify(matchRepository, never()).deleteById(any());
+
+        ArgumentCaptor<TicketStatusChangedEvent> event = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isBulkChange());
+        assertEquals(7L, event.getValue().getMatchId());
+    }
+
+    @Test
+    void testDeleteStadiumDeletesMatchesAndLayout() {
+        when(matchRepository.findIdsByStadiumId(1L)).thenReturn(List.of(7L, 8L));
+
+        bulkDeleter.deleteStadium(1L);
+
+        verify(matchRepository).deleteMatchById(7L);
+        verify(matchRepository).deleteMatchById(8L);
+        InOrder order = inOrder(sectionRepository, priceZoneRepository, stadiumRepository);
+        order.verify(sectionRepository).deleteSeatRangesByStadiumId(1L);
+        order.verify(sectionRepository).deleteAllByStadiumId(1L);
+        order.verify(priceZoneRepository).deleteAllByStadiumId(1L);
+        order.verify(stadiumRepository).deleteStadiumById(1L);
+        verify(eventPublisher, times(2)).publishEvent(any(TicketStatusChangedEvent.class));
+    }
+}
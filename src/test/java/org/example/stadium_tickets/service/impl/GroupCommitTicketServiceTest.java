@@ -0,0 +1,108 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.TicketStatusGroupCommitter;
+import org.example.stadium_tickets.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GroupCommitTicketServiceTest {
+
+    private GroupCommitTicketService groupCommitTicketService;
+    private Ticket testTicket;
+
+    @Mock
+    private TicketService delegate;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TicketStatusGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        groupCommitTicketService = new GroupCommitTicketService(delegate, ticketRepository, eventPublisher, committer, 100);
+
+        Stadium stadium = new Stadium("Test Stadium", "Test City", 10000);
+        Match match = new Match("Home Team", "Away Team", LocalDateTime.now(), stadium);
+        match.setId(1L);
+        testTicket = new Ticket(match, "A", "1", BigDecimal.valueOf(100.0));
+        testTicket.setId(1L);
+    }
+
+    @Test
+    void testPurchaseTicket() {
+        when(committer.submit(1L, TicketStatus.FREE, TicketStatus.SOLD))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(testTicket)));
+
+        assertEquals(testTicket, groupCommitTicketService.purchaseTicket(1L));
+        ArgumentCaptor<TicketStatusChangedEvent> event = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getMatchId());
+        verify(delegate, never()).purchaseTicket(anyLong());
+        // The ticket comes from the committed batch, it is not loaded again
+        verify(delegate, never()).getTicketById(anyLong());
+    }
+
+    @Test
+    void testPurchaseTicketConflict() {
+        when(committer.submit(1L, TicketStatus.FREE, TicketStatus.SOLD))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(ticketRepository.existsById(1L)).thenReturn(true);
+
+        TicketConflictException exception = assertThrows(TicketConflictException.class,
+                () -> groupCommitTicketService.purchaseTicket(1L));
+        assertEquals(1L, exception.getTicketId());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCancelTicketNotFound() {
+        when(committer.submit(99L, TicketStatus.SOLD, TicketStatus.FREE))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(ticketRepository.existsById(99L)).thenReturn(false);
+
+        Exception exception = assertThrows(RuntimeException.class, () -> groupCommitTicketService.cancelTicket(99L));
+        assertTrue(exception.getMessage().contains("Ticket not found"));
+    }
+
+    @Test
+    void testCommitFailureIsPropagated() {
+        when(committer.submit(1L, TicketStatus.FREE, TicketStatus.SOLD))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Ticket status writer is not running")));
+
+        assertThrows(IllegalStateException.class, () -> groupCommitTicketService.purchaseTicket(1L));
+    }
+
+    @Test
+    void testCommitTimeoutReportsUnknownOutcome() {
+        when(committer.submit(1L, TicketStatus.FREE, TicketStatus.SOLD)).thenReturn(new CompletableFuture<>());
+
+        assertThrows(TicketOutcomeUnknownException.class, () -> groupCommitTicketService.purchaseTicket(1L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryVersionServiceImplTest {
+
+    private InventoryVersionServiceImpl inventoryVersionService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryVersionService = new InventoryVersionServiceImpl();
+    }
+
+    @Test
+    void testEveryChangeBumpsVersionOfItsMatch() {
+        assertEquals(0, inventoryVersionService.getVersion(1L));
+
+        inventoryVersionService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                this, 1L, 10L, TicketStatus.FREE, TicketStatus.SOLD));
+        inventoryVersionService.onTicketStatusChanged(TicketStatusChangedEvent.created(this, 1L, 11L, TicketStatus.FREE));
+        inventoryVersionService.onTicketStatusChanged(TicketStatusChangedEvent.bulkChange(this, 1L));
+
+        assertEquals(3, inventoryVersionService.getVersion(1L));
+        assertEquals(0, inventoryVersionService.getVersion(2L));
+    }
+
+    @Test
+    void testETagChangesWithVersion() {
+        String before = inventoryVersionService.getETag(1L);
+        assertEquals(before, inventoryVersionService.getETag(1L));
+        assertTrue(before.startsWith("\"") && before.endsWith("-0\""));
+
+        inventoryVersionService.onTicketStatusChanged(TicketStatusChangedEvent.deleted(this, 1L, 10L, TicketStatus.SOLD));
+
+        assertNotEquals(before, inventoryVersionService.getETag(1L));
+        assertEquals(before, inventoryVersionService.getETag(2L));
+    }
+}
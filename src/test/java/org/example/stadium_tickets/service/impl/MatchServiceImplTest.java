@@ -2,17 +2,25 @@ package org.example.stadium_tickets.service.impl;
 
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.payload.request.FixtureScheduleRequest;
+import org.example.stadium_tickets.payload.request.FixtureScheduleRequest.FixtureDefinition;
+import org.example.stadium_tickets.payload.response.FixtureScheduleResponse;
 import org.example.stadium_tickets.repository.MatchRepository;
+import org.example.stadium_tickets.repository.projection.MatchSummaryView;
 import org.example.stadium_tickets.service.StadiumService;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,10 +37,13 @@ class MatchServiceImplTest {
     @Mock
     private StadiumService stadiumService;
 
+    @Mock
+    private BulkDeleter bulkDeleter;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        matchService = new MatchServiceImpl(matchRepository, stadiumService);
+        matchService = new MatchServiceImpl(matchRepository, stadiumService, bulkDeleter);
         
         testStadium = new Stadium("Test Stadium", "Test City", 10000);
         testStadium.setId(1L);
@@ -41,27 +52,50 @@ class MatchServiceImplTest {
         testMatch.setId(1L);
         
         // Setup mock behavior
-        when(matchRepository.findAll()).thenReturn(new ArrayList<>());
+        when(matchRepository.findSummariesAfterId(anyLong(), any(Pageable.class))).thenReturn(new ArrayList<>());
         when(matchRepository.findById(anyLong())).thenReturn(Optional.of(testMatch));
         when(matchRepository.save(any(Match.class))).thenReturn(testMatch);
         when(stadiumService.getStadiumById(anyLong())).thenReturn(testStadium);
     }
 
     @Test
-    void testGetAllMatches() {
-        // Initially the list should be empty
-        List<Match> matches = matchService.getAllMatches();
-        assertNotNull(matches);
-        assertTrue(matches.isEmpty());
+    void testGetMatches() {
+        // Initially the page should be empty
+        KeysetPage<MatchSummaryView> page = matchService.getMatches(null, 100);
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
 
-        // Add a match and check if it's returned
-        List<Match> matchList = new ArrayList<>();
-        matchList.add(testMatch);
-        when(matchRepository.findAll()).thenReturn(matchList);
-        
-        matches = matchService.getAllMatches();
-        assertEquals(1, matches.size());
-        assertEquals(testMatch, matches.get(0));
+        // A full page returns a cursor that continues after its last id
+        MatchSummaryView first = summary(1L);
+        MatchSummaryView next = summary(2L);
+        when(matchRepository.findSummariesAfterId(0L, PageRequest.of(0, 2))).thenReturn(List.of(first, next));
+        when(matchRepository.findSummariesAfterId(1L, PageRequest.of(0, 2))).thenReturn(List.of(next));
+
+        page = matchService.getMatches(null, 1);
+        assertEquals(List.of(first), page.getItems());
+        assertTrue(page.isHasMore());
+
+        page = matchService.getMatches(page.getNextCursor(), 1);
+        assertEquals(List.of(next), page.getItems());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+
+        assertThrows(RuntimeException.class, () -> matchService.getMatches(null, 0));
+        String ticketCursor = KeysetPage.encodeCursor("tickets", 1L);
+        assertThrows(RuntimeException.class, () -> matchService.getMatches(ticketCursor, 1));
+        // Summaries never load match entities
+        verify(matchRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetMatchSummary() {
+        MatchSummaryView summary = summary(1L);
+        when(matchRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
+        when(matchRepository.findSummaryById(99L)).thenReturn(Optional.empty());
+
+        assertEquals(summary, matchService.getMatchSummary(1L));
+        Exception exception = assertThrows(RuntimeException.class, () -> matchService.getMatchSummary(99L));
+        assertEquals("Match not found with id: 99", exception.getMessage());
     }
 
     @Test
@@ -105,6 +139,72 @@ class MatchServiceImplTest {
         assertTrue(exception.getMessage().contains("Stadium is required"));
     }
 
+    @Test
+    void testCreateFixtures() {
+        LocalDateTime kickOff = LocalDateTime.of(2026, 8, 15, 18, 0);
+        when(stadiumService.findAllByIds(anyCollection())).thenReturn(List.of(testStadium));
+        when(matchRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Match> matches = invocation.getArgument(0);
+            long id = 100;
+            for (Match match : matches) {
+                match.setId(id++);
+            }
+            return matches;
+        });
+
+        FixtureScheduleResponse response = matchService.createFixtures(new FixtureScheduleRequest(List.of(
+                new FixtureDefinition("Home Team", "Away Team", kickOff, 1L),
+                new FixtureDefinition("Other Home", "Other Away", kickOff.plusDays(1), 1L),
+                new FixtureDefinition("Third", "Fourth", kickOff, 2L))));
+
+        assertEquals(3, response.getRequested());
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getRejected());
+        assertEquals(100L, response.getResults().get(0).getMatchId());
+        assertEquals(101L, response.getResults().get(1).getMatchId());
+        assertEquals("Stadium not found with id: 2", response.getResults().get(2).getError());
+        assertEquals(2, response.getResults().get(2).getIndex());
+
+        // Stadiums are resolved with one query instead of one lookup per fixture
+        verify(stadiumService, times(1)).findAllByIds(Set.of(1L, 2L));
+        verify(stadiumService, never()).getStadiumById(anyLong());
+        verify(matchRepository, times(1)).saveAll(anyList());
+        verify(matchRepository, never()).save(any(Match.class));
+    }
+
+    @Test
+    void testCreateFixturesRejectsInvalidAndClashingFixtures() {
+        LocalDateTime kickOff = LocalDateTime.of(2026, 8, 15, 18, 0);
+        when(stadiumService.findAllByIds(anyCollection())).thenReturn(List.of(testStadium));
+        when(matchRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FixtureScheduleResponse response = matchService.createFixtures(new FixtureScheduleRequest(List.of(
+                new FixtureDefinition("Home Team", "Away Team", kickOff, 1L),
+                new FixtureDefinition("Third", "Fourth", kickOff, 1L),
+                new FixtureDefinition("away team", "Fifth", kickOff.plusHours(3), 1L),
+                new FixtureDefinition("Sixth", "sixth ", kickOff.plusDays(1), 1L),
+                new FixtureDefinition(" ", "Seventh", kickOff.plusDays(2), 1L),
+                new FixtureDefinition("Eighth", "Ninth", null, 1L))));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(5, response.getRejected());
+        assertTrue(response.getResults().get(0).isCreated());
+        assertTrue(response.getResults().get(1).getError().contains("already hosts a fixture"));
+        assertTrue(response.getResults().get(2).getError().contains("already plays on 2026-08-15"));
+        assertEquals("A team cannot play against itself", response.getResults().get(3).getError());
+        assertEquals("Home and away team are required", response.getResults().get(4).getError());
+        assertEquals("Match date is required", response.getResults().get(5).getError());
+    }
+
+    @Test
+    void testCreateFixturesWithEmptySchedule() {
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> matchService.createFixtures(new FixtureScheduleRequest(List.of())));
+
+        assertEquals("Schedule contains no fixtures", exception.getMessage());
+        verify(matchRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void testUpdateMatch() {
         Match updatedMatch = new Match("Updated Home", "Updated Away", LocalDateTime.now(), testStadium);
@@ -125,7 +225,8 @@ class MatchServiceImplTest {
         
         matchService.deleteMatch(1L);
         
-        verify(matchRepository, times(1)).deleteById(1L);
+        verify(bulkDeleter, times(1)).deleteMatch(1L);
+        verify(matchRepository, never()).deleteById(anyLong());
     }
 
     @Test
@@ -201,4 +302,10 @@ class MatchServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(testMatch, result.get(0));
     }
-}
\ No newline at end of file
+
+    private MatchSummaryView summary(Long id) {
+        MatchSummaryView summary = mock(MatchSummaryView.class);
+        when(summary.getId()).thenReturn(id);
+        return summary;
+    }
+}
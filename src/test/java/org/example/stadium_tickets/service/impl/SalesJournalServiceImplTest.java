@@ -0,0 +1,98 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SalesJournalServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(ticketRepository.updateStatusIfCurrent(anyLong(), any(TicketStatus.class), any(TicketStatus.class)))
+                .thenReturn(1);
+    }
+
+    private SalesJournalServiceImpl journalService() {
+        return new SalesJournalServiceImpl(ticketRepository, transactionManager, true, directory.toString(), 4000, 60000);
+    }
+
+    @Test
+    void testUnappliedRecordsAreReplayedOnStartup() throws IOException {
+        SalesJournalServiceImpl first = journalService();
+        first.start();
+        assertEquals(2, first.record(1L, List.of(10L, 11L), TicketStatus.FREE, TicketStatus.SOLD));
+        assertEquals(3, first.record(1L, List.of(12L), TicketStatus.FREE, TicketStatus.HELD));
+        first.markApplied(2);
+        // Simulates a crash after the checkpoint of the first two records
+        first.forceAndCheckpoint();
+        first.stop();
+
+        SalesJournalServiceImpl second = journalService();
+        second.start();
+
+        verify(ticketRepository, never()).updateStatusIfCurrent(eq(10L), any(TicketStatus.class),
+                any(TicketStatus.class));
+        verify(ticketRepository, times(1)).updateStatusIfCurrent(12L, TicketStatus.FREE, TicketStatus.HELD);
+        assertEquals(4, second.record(1L, List.of(13L), TicketStatus.FREE, TicketStatus.SOLD));
+        second.stop();
+
+        SalesJournalServiceImpl third = journalService();
+        third.start();
+        // Replayed records are checkpointed, only the newest one is replayed again
+        verify(ticketRepository, times(1)).updateStatusIfCurrent(12L, TicketStatus.FREE, TicketStatus.HELD);
+        verify(ticketRepository, times(1)).updateStatusIfCurrent(13L, TicketStatus.FREE, TicketStatus.SOLD);
+        third.stop();
+    }
+
+    @Test
+    void testReplayAppliesGroupWholeOrNotAtAll() throws IOException {
+        SalesJournalServiceImpl first = journalService();
+        first.start();
+        long sequence = first.record(1L, List.of(10L, 11L, 12L), TicketStatus.FREE, TicketStatus.SOLD);
+        first.makeDurable(sequence);
+        first.stop();
+
+        // The second seat was sold through another path before the group reached the table
+        when(ticketRepository.updateStatusIfCurrent(11L, TicketStatus.FREE, TicketStatus.SOLD)).thenReturn(0);
+        SalesJournalServiceImpl second = journalService();
+        second.start();
+
+        verify(ticketRepository).updateStatusIfCurrent(10L, TicketStatus.FREE, TicketStatus.SOLD);
+        verify(ticketRepository).updateStatusIfCurrent(10L, TicketStatus.SOLD, TicketStatus.FREE);
+        verify(ticketRepository, never()).updateStatusIfCurrent(eq(12L), any(TicketStatus.class),
+                any(TicketStatus.class));
+        second.stop();
+    }
+
+    @Test
+    void testDisabledJournalRecordsNothing() throws IOException {
+        SalesJournalServiceImpl disabled = new SalesJournalServiceImpl(
+                ticketRepository, transactionManager, false, directory.toString(), 4000, 60000);
+        disabled.start();
+
+        assertEquals(0, disabled.record(1L, List.of(10L), TicketStatus.FREE, TicketStatus.SOLD));
+        disabled.stop();
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.inventory.SeatHold;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.projection.TicketSeatView;
+import org.example.stadium_tickets.service.SeatHoldService;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatAllocationServiceImplTest {
+
+    private SeatAllocationServiceImpl seatAllocationService;
+    private MatchSeatInventory inventory;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private static TicketSeatView seat(long id, String row, String number, String price, TicketStatus status) {
+        TicketSeatView seat = mock(TicketSeatView.class);
+        when(seat.getId()).thenReturn(id);
+        when(seat.getStatus()).thenReturn(status);
+        when(seat.getSeatRow()).thenReturn(row);
+        when(seat.getSeatNumber()).thenReturn(number);
+        when(seat.getPrice()).thenReturn(new BigDecimal(price));
+        return seat;
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatAllocationService = new SeatAllocationServiceImpl(seatInventoryService, seatHoldService, ticketRepository);
+
+        List<TicketSeatView> seats = List.of(
+                seat(1L, "A", "1", "50", TicketStatus.FREE),
+                seat(2L, "A", "2", "50", TicketStatus.FREE),
+                seat(3L, "B", "1", "50", TicketStatus.FREE),
+                seat(4L, "B", "2", "50", TicketStatus.FREE));
+        inventory = MatchSeatInventory.of(1L, seats);
+        when(seatInventoryService.getInventory(1L)).thenReturn(inventory);
+        when(ticketRepository.findSeatViewsByMatchId(1L)).thenReturn(seats);
+    }
+
+    @Test
+    void testHoldBestAvailable() {
+        SeatHold hold = new SeatHold("hold-1", 1L, "user", List.of(1L, 2L), Instant.now().plusSeconds(60));
+        when(seatHoldService.createHold(1L, List.of(1L, 2L), "user")).thenReturn(hold);
+
+        assertSame(hold, seatAllocationService.holdBestAvailable(1L, 2, null, null, "user"));
+    }
+
+    @Test
+    void testRetriesNextBlockOnConflict() {
+        // Row A was taken by another buyer after the index was built
+        SeatHold hold = new SeatHold("hold-1", 1L, "user", List.of(3L, 4L), Instant.now().plusSeconds(60));
+        when(seatHoldService.createHold(1L, List.of(1L, 2L), "user")).thenAnswer(invocation -> {
+            inventory.setState(1L, MatchSeatInventory.SOLD);
+            throw new TicketConflictException("Some of the requested seats are not available");
+        });
+        when(seatHoldService.createHold(1L, List.of(3L, 4L), "user")).thenReturn(hold);
+
+        assertSame(hold, seatAllocationService.holdBestAvailable(1L, 2, null, null, "user"));
+        verify(seatHoldService, times(2)).createHold(eq(1L), anyList(), eq("user"));
+    }
+
+    @Test
+    void testIndexFollowsStatusEvents() {
+        seatAllocationService.holdBestAvailable(1L, 1, null, null, "user");
+        seatAllocationService.onTicketStatusChanged(
+                new TicketStatusChangedEvent(this, 1L, List.of(1L, 2L, 3L), TicketStatus.FREE, TicketStatus.SOLD));
+
+        seatAllocationService.holdBestAvailable(1L, 1, null, null, "user");
+        verify(seatHoldService).createHold(1L, List.of(4L), "user");
+        verify(ticketRepository, times(1)).findSeatViewsByMatchId(1L);
+    }
+
+    @Test
+    void testNoBlockAvailable() {
+        assertThrows(TicketConflictException.class,
+                () -> seatAllocationService.holdBestAvailable(1L, 3, null, null, "user"));
+        assertThrows(TicketConflictException.class,
+                () -> seatAllocationService.holdBestAvailable(1L, 1, new BigDecimal("60"), null, "user"));
+        verify(seatHoldService, never()).createHold(anyLong(), anyList(), any());
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(RuntimeException.class, () -> seatAllocationService.holdBestAvailable(1L, 0, null, null, "user"));
+        assertThrows(RuntimeException.class,
+                () -> seatAllocationService.holdBestAvailable(1L, 1, BigDecimal.TEN, BigDecimal.ONE, "user"));
+    }
+}
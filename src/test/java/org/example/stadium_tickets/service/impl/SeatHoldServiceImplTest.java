@@ -0,0 +1,153 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.inventory.SeatHold;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatHoldServiceImplTest {
+
+    private static final long TTL_SECONDS = 60;
+
+    private SeatHoldServiceImpl seatHoldService;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatHoldService = new SeatHoldServiceImpl(seatInventoryService, ticketRepository, TTL_SECONDS, 100, 4);
+        when(seatInventoryService.transitionAll(anyLong(), anyList(), any(TicketStatus.class), any(TicketStatus.class)))
+                .thenReturn(true);
+        when(seatInventoryService.transitionEach(anyLong(), anyCollection(), any(TicketStatus.class),
+                any(TicketStatus.class))).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).size());
+    }
+
+    @Test
+    void testCreateHold() {
+        SeatHold hold = seatHoldService.createHold(1L, List.of(1L, 2L), "user");
+
+        assertNotNull(hold.getId());
+        assertEquals(SeatHold.State.ACTIVE, hold.getState());
+        assertSame(hold, seatHoldService.getHold(hold.getId()));
+        verify(seatInventoryService).transitionAll(1L, List.of(1L, 2L), TicketStatus.FREE, TicketStatus.HELD);
+    }
+
+    @Test
+    void testCreateHoldConflict() {
+        when(seatInventoryService.transitionAll(1L, List.of(1L), TicketStatus.FREE, TicketStatus.HELD))
+                .thenReturn(false);
+
+        assertThrows(TicketConflictException.class, () -> seatHoldService.createHold(1L, List.of(1L), "user"));
+    }
+
+    @Test
+    void testCreateHoldValidation() {
+        assertThrows(RuntimeException.class, () -> seatHoldService.createHold(1L, List.of(), "user"));
+        assertThrows(RuntimeException.class, () -> seatHoldService.createHold(1L, List.of(1L, 2L, 3L, 4L, 5L), "user"));
+        assertThrows(RuntimeException.class, () -> seatHoldService.createHold(1L, List.of(1L, 1L), "user"));
+        assertThrows(RuntimeException.class, () -> seatHoldService.createHold(1L, List.of(1L), null));
+        verify(seatInventoryService, never()).transitionAll(anyLong(), anyList(), any(TicketStatus.class),
+                any(TicketStatus.class));
+    }
+
+    @Test
+    void testConfirmHold() {
+        SeatHold hold = seatHoldService.createHold(1L, List.of(1L, 2L), "user");
+
+        SeatHold confirmed = seatHoldService.confirmHold(hold.getId(), "user");
+
+        assertEquals(SeatHold.State.CONFIRMED, confirmed.getState());
+        verify(seatInventoryService).transitionAll(1L, List.of(1L, 2L), TicketStatus.HELD, TicketStatus.SOLD);
+        assertThrows(RuntimeException.class, () -> seatHoldService.getHold(hold.getId()));
+    }
+
+    @Test
+    void testReleaseHold() {
+        SeatHold hold = seatHoldService.createHold(1L, List.of(1L), "user");
+
+        seatHoldService.releaseHold(hold.getId(), "user");
+
+        assertEquals(SeatHold.State.RELEASED, hold.getState());
+        verify(seatInventoryService).transitionEach(1L, List.of(1L), TicketStatus.HELD, TicketStatus.FREE);
+    }
+
+    @Test
+    void testOnlyOwnerCanConfirmOrReleaseHold() {
+        SeatHold hold = seatHoldService.createHold(1L, List.of(1L), "user");
+
+        assertThrows(AccessDeniedException.class, () -> seatHoldService.confirmHold(hold.getId(), "other"));
+        assertThrows(AccessDeniedException.class, () -> seatHoldService.releaseHold(hold.getId(), "other"));
+        assertThrows(AccessDeniedException.class, () -> seatHoldService.releaseHold(hold.getId(), null));
+
+        assertEquals(SeatHold.State.ACTIVE, hold.getState());
+        verify(seatInventoryService, never()).transitionAll(1L, List.of(1L), TicketStatus.HELD, TicketStatus.SOLD);
+        verify(seatInventoryService, never()).transitionEach(anyLong(), anyCollection(), any(TicketStatus.class),
+                any(TicketStatus.class));
+    }
+
+    @Test
+    void testExpiredHoldsAreReleasedInOneWritePerMatch() {
+        SeatHold first = seatHoldService.createHold(1L, List.of(1L, 2L), "user");
+        SeatHold second = seatHoldService.createHold(1L, List.of(3L), "other");
+        SeatHold third = seatHoldService.createHold(2L, List.of(7L), "user");
+
+        assertEquals(0, seatHoldService.expireHolds(System.currentTimeMillis()));
+        int released = seatHoldService.expireHolds(third.getExpiresAt().toEpochMilli() + 200);
+
+        assertEquals(4, released);
+        assertEquals(SeatHold.State.EXPIRED, first.getState());
+        assertEquals(SeatHold.State.EXPIRED, second.getState());
+        verify(seatInventoryService).transitionEach(1L, List.of(1L, 2L, 3L), TicketStatus.HELD, TicketStatus.FREE);
+        verify(seatInventoryService).transitionEach(2L, List.of(7L), TicketStatus.HELD, TicketStatus.FREE);
+        verify(seatInventoryService, never()).transitionAll(anyLong(), anyList(), eq(TicketStatus.HELD),
+                eq(TicketStatus.FREE));
+    }
+
+    @Test
+    void testConfirmedHoldIsNotExpired() {
+        SeatHold hold = seatHoldService.createHold(1L, List.of(1L), "user");
+        seatHoldService.confirmHold(hold.getId(), "user");
+
+        assertEquals(0, seatHoldService.expireHolds(hold.getExpiresAt().toEpochMilli() + 200));
+        verify(seatInventoryService, never()).transitionEach(anyLong(), anyCollection(), any(TicketStatus.class),
+                any(TicketStatus.class));
+    }
+
+    @Test
+    void testPartialReleaseWhenSeatsChanged() {
+        SeatHold hold = seatHoldService.createHold(1L, List.of(1L, 2L), "user");
+        // The second seat was changed outside of the hold
+        when(seatInventoryService.transitionEach(1L, List.of(1L, 2L), TicketStatus.HELD, TicketStatus.FREE))
+                .thenReturn(1);
+
+        assertEquals(1, seatHoldService.expireHolds(hold.getExpiresAt().toEpochMilli() + 200));
+        verify(seatInventoryService, times(1)).transitionEach(anyLong(), anyCollection(), any(TicketStatus.class),
+                any(TicketStatus.class));
+    }
+
+    @Test
+    void testReleaseOrphanedHolds() {
+        when(ticketRepository.updateAllWithStatus(TicketStatus.HELD, TicketStatus.FREE)).thenReturn(3);
+
+        seatHoldService.releaseOrphanedHolds();
+
+        verify(ticketRepository).updateAllWithStatus(TicketStatus.HELD, TicketStatus.FREE);
+    }
+}
@@ -0,0 +1,282 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketOutcomeUnknownException;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.projection.TicketStatusView;
+import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.SalesJournalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatInventoryServiceImplTest {
+
+    private SeatInventoryServiceImpl seatInventoryService;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SalesJournalService salesJournalService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatInventoryService = new SeatInventoryServiceImpl(
+                ticketRepository, matchService, eventPublisher, salesJournalService, transactionManager, 100, 5000);
+
+        List<TicketStatusView> seats = List.of(view(1L, TicketStatus.FREE), view(2L, TicketStatus.SOLD));
+        when(matchService.getMatchById(1L)).thenReturn(new Match());
+        when(ticketRepository.findStatusViewsByMatchId(1L)).thenReturn(seats);
+        when(ticketRepository.updateStatusIfCurrent(anyLong(), any(TicketStatus.class), any(TicketStatus.class)))
+                .thenReturn(1);
+        seatInventoryService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        seatInventoryService.stop();
+    }
+
+    private static TicketStatusView view(long id, TicketStatus status) {
+        TicketStatusView view = mock(TicketStatusView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getStatus()).thenReturn(status);
+        return view;
+    }
+
+    @Test
+    void testInventoryIsLoadedOnce() {
+        MatchSeatInventory first = seatInventoryService.getInventory(1L);
+        MatchSeatInventory second = seatInventoryService.getInventory(1L);
+
+        assertSame(first, second);
+        assertEquals(2, first.size());
+        verify(ticketRepository, times(1)).findStatusViewsByMatchId(1L);
+    }
+
+    @Test
+    void testMatchOfTicketIsFoundInLoadedInventory() {
+        when(ticketRepository.findMatchIdById(2L)).thenReturn(Optional.of(1L));
+
+        assertEquals(Optional.of(1L), seatInventoryService.findMatchOf(2L));
+        assertEquals(Optional.of(1L), seatInventoryService.findMatchOf(1L));
+        assertEquals(Optional.of(1L), seatInventoryService.findMatchOf(2L));
+        verify(ticketRepository, times(1)).findMatchIdById(anyLong());
+        verify(ticketRepository, times(1)).findStatusViewsByMatchId(1L);
+    }
+
+    @Test
+    void testPurchaseReturnsOnceConditionalUpdateIsCommitted() {
+        assertTrue(seatInventoryService.purchase(1L, 1L));
+
+        verify(ticketRepository, times(1)).updateStatusIfCurrent(1L, TicketStatus.FREE, TicketStatus.SOLD);
+        verify(eventPublisher, times(1)).publishEvent(any(TicketStatusChangedEvent.class));
+        // Writes from after-commit listeners must not join the finished transaction
+        verify(transactionManager, atLeastOnce()).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+
+        // The second buyer is turned away by the inventory, without a database write
+        assertFalse(seatInventoryService.purchase(1L, 1L));
+        verify(ticketRepository, times(1)).updateStatusIfCurrent(anyLong(), any(TicketStatus.class),
+                any(TicketStatus.class));
+    }
+
+    @Test
+    void testTransitionsAreJournaledAndMarkedApplied() {
+        when(salesJournalService.record(1L, List.of(1L), TicketStatus.FREE, TicketStatus.SOLD)).thenReturn(7L);
+
+        assertTrue(seatInventoryService.purchase(1L, 1L));
+
+        verify(salesJournalService).record(1L, List.of(1L), TicketStatus.FREE, TicketStatus.SOLD);
+        verify(salesJournalService).markApplied(7L);
+    }
+
+    @Test
+    void testJournaledPurchaseIsAcknowledgedBeforeCommit() throws InterruptedException {
+        seatInventoryService.stop();
+        seatInventoryService = new SeatInventoryServiceImpl(
+                ticketRepository, matchService, eventPublisher, salesJournalService, transactionManager, 100, 5000);
+        when(salesJournalService.isEnabled()).thenReturn(true);
+        when(salesJournalService.record(1L, List.of(1L), TicketStatus.FREE, TicketStatus.SOLD)).thenReturn(7L);
+
+        // Without a writer the update is not committed, the forced journal record is enough
+        assertTrue(seatInventoryService.purchase(1L, 1L));
+        verify(salesJournalService).makeDurable(7L);
+        verify(ticketRepository, never()).updateStatusIfCurrent(anyLong(), any(TicketStatus.class),
+                any(TicketStatus.class));
+
+        seatInventoryService.flush();
+        verify(ticketRepository).updateStatusIfCurrent(1L, TicketStatus.FREE, TicketStatus.SOLD);
+        verify(salesJournalService).markApplied(7L);
+        verify(eventPublisher).publishEvent(any(TicketStatusChangedEvent.class));
+    }
+
+    @Test
+    void testFailedJournalForceHasUnknownOutcome() {
+        when(salesJournalService.isEnabled()).thenReturn(true);
+        doThrow(new UncheckedIOException(new IOException("disk full")))
+                .when(salesJournalService).makeDurable(anyLong());
+
+        assertThrows(TicketOutcomeUnknownException.class, () -> seatInventoryService.purchase(1L, 1L));
+    }
+
+    @Test
+    void testCancelReleasesSeat() {
+        assertTrue(seatInventoryService.cancel(1L, 2L));
+        assertFalse(seatInventoryService.cancel(1L, 1L));
+
+        verify(ticketRepository, times(1)).updateStatusIfCurrent(2L, TicketStatus.SOLD, TicketStatus.FREE);
+        assertEquals(MatchSeatInventory.FREE, seatInventoryService.getInventory(1L).getState(2L));
+    }
+
+    @Test
+    void testTransitionAllIsAllOrNothing() {
+        List<TicketStatusView> seats = List.of(view(10L, TicketStatus.FREE), view(11L, TicketStatus.FREE),
+                view(12L, TicketStatus.SOLD));
+        when(ticketRepository.findStatusViewsByMatchId(2L)).thenReturn(seats);
+        when(matchService.getMatchById(2L)).thenReturn(new Match());
+
+        assertFalse(seatInventoryService.transitionAll(2L, List.of(10L, 11L, 12L), TicketStatus.FREE,
+                TicketStatus.HELD));
+        MatchSeatInventory inventory = seatInventoryService.getInventory(2L);
+        assertEquals(MatchSeatInventory.FREE, inventory.getState(10L));
+        assertEquals(MatchSeatInventory.FREE, inventory.getState(11L));
+
+        assertTrue(seatInventoryService.transitionAll(2L, List.of(10L, 11L), TicketStatus.FREE, TicketStatus.HELD));
+        assertEquals(2, inventory.count(MatchSeatInventory.HELD));
+        verify(eventPublisher, times(1)).publishEvent(any(TicketStatusChangedEvent.class));
+    }
+
+    @Test
+    void testTransitionEachWritesSeatsOnTheirOwn() throws InterruptedException {
+        seatInventoryService.stop();
+        seatInventoryService = new SeatInventoryServiceImpl(
+                ticketRepository, matchService, eventPublisher, salesJournalService, transactionManager, 100, 5000);
+        List<TicketStatusView> seats = List.of(view(10L, TicketStatus.HELD), view(11L, TicketStatus.HELD),
+                view(12L, TicketStatus.FREE));
+        when(ticketRepository.findStatusViewsByMatchId(2L)).thenReturn(seats);
+        when(matchService.getMatchById(2L)).thenReturn(new Match());
+        // The second seat was sold through the database before the release
+        when(ticketRepository.updateStatusIfCurrent(11L, TicketStatus.HELD, TicketStatus.FREE)).thenReturn(0);
+        when(ticketRepository.findStatusById(11L)).thenReturn(Optional.of(TicketStatus.SOLD));
+
+        // Returns without a writer, the seat not held in memory is skipped
+        assertEquals(2, seatInventoryService.transitionEach(2L, List.of(10L, 11L, 12L), TicketStatus.HELD,
+                TicketStatus.FREE));
+        verify(ticketRepository, never()).updateStatusIfCurrent(anyLong(), any(TicketStatus.class),
+                any(TicketStatus.class));
+
+        seatInventoryService.flush();
+        // The conflicting seat does not put back the other one
+        verify(ticketRepository, never()).updateStatusIfCurrent(10L, TicketStatus.FREE, TicketStatus.HELD);
+        verify(transactionManager, times(1)).getTransaction(any(TransactionDefinition.class));
+        MatchSeatInventory inventory = seatInventoryService.getInventory(2L);
+        assertEquals(MatchSeatInventory.FREE, inventory.getState(10L));
+        assertEquals(MatchSeatInventory.SOLD, inventory.getState(11L));
+        ArgumentCaptor<TicketStatusChangedEvent> events = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(10L), events.getAllValues().get(0).getTicketIds());
+        assertTrue(events.getAllValues().get(1).isBulkChange());
+    }
+
+    @Test
+    void testTransitionAllRejectsForeignTicket() {
+        Exception exception = assertThrows(RuntimeException.class, () ->
+                seatInventoryService.transitionAll(1L, List.of(1L, 99L), TicketStatus.FREE, TicketStatus.HELD));
+
+        assertTrue(exception.getMessage().contains("does not belong to match"));
+        assertEquals(MatchSeatInventory.FREE, seatInventoryService.getInventory(1L).getState(1L));
+    }
+
+    @Test
+    void testSeatSoldThroughAnotherPathIsAConflict() {
+        // The seat was sold through the database before the inventory heard about it
+        when(ticketRepository.updateStatusIfCurrent(1L, TicketStatus.FREE, TicketStatus.SOLD)).thenReturn(0);
+        when(ticketRepository.findStatusById(1L)).thenReturn(Optional.of(TicketStatus.SOLD));
+
+        assertFalse(seatInventoryService.purchase(1L, 1L));
+
+        assertEquals(MatchSeatInventory.SOLD, seatInventoryService.getInventory(1L).getState(1L));
+        // Counters that followed the inventory are told to reload the match
+        ArgumentCaptor<TicketStatusChangedEvent> event = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isBulkChange());
+        assertEquals(1L, event.getValue().getMatchId());
+    }
+
+    @Test
+    void testConflictPutsBackSeatsAlreadyWritten() {
+        List<TicketStatusView> seats = List.of(view(10L, TicketStatus.FREE), view(11L, TicketStatus.FREE));
+        when(ticketRepository.findStatusViewsByMatchId(2L)).thenReturn(seats);
+        when(matchService.getMatchById(2L)).thenReturn(new Match());
+        when(ticketRepository.updateStatusIfCurrent(11L, TicketStatus.FREE, TicketStatus.HELD)).thenReturn(0);
+        when(ticketRepository.findStatusById(10L)).thenReturn(Optional.of(TicketStatus.FREE));
+        when(ticketRepository.findStatusById(11L)).thenReturn(Optional.of(TicketStatus.SOLD));
+
+        assertFalse(seatInventoryService.transitionAll(2L, List.of(10L, 11L), TicketStatus.FREE, TicketStatus.HELD));
+
+        verify(ticketRepository).updateStatusIfCurrent(10L, TicketStatus.HELD, TicketStatus.FREE);
+        MatchSeatInventory inventory = seatInventoryService.getInventory(2L);
+        assertEquals(MatchSeatInventory.FREE, inventory.getState(10L));
+        assertEquals(MatchSeatInventory.SOLD, inventory.getState(11L));
+    }
+
+    @Test
+    void testUnconfirmedWriteHasUnknownOutcome() throws InterruptedException {
+        seatInventoryService.stop();
+        seatInventoryService = new SeatInventoryServiceImpl(
+                ticketRepository, matchService, eventPublisher, salesJournalService, transactionManager, 100, 50);
+
+        // Without a writer the update is never committed
+        assertThrows(TicketOutcomeUnknownException.class, () -> seatInventoryService.purchase(1L, 1L));
+        verify(eventPublisher, never()).publishEvent(any(TicketStatusChangedEvent.class));
+    }
+
+    @Test
+    void testExternalTransitionUpdatesInventory() {
+        seatInventoryService.getInventory(1L);
+
+        seatInventoryService.onTicketStatusChanged(
+                TicketStatusChangedEvent.transition(this, 1L, 1L, TicketStatus.FREE, TicketStatus.SOLD));
+
+        assertEquals(MatchSeatInventory.SOLD, seatInventoryService.getInventory(1L).getState(1L));
+    }
+
+    @Test
+    void testBulkChangeEvictsInventory() {
+        seatInventoryService.getInventory(1L);
+
+        seatInventoryService.onTicketStatusChanged(TicketStatusChangedEvent.bulkChange(this, 1L));
+        seatInventoryService.getInventory(1L);
+
+        verify(ticketRepository, times(2)).findStatusViewsByMatchId(1L);
+    }
+}
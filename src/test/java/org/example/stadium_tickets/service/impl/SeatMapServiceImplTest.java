@@ -0,0 +1,110 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.inventory.MatchSeatInventory;
+import org.example.stadium_tickets.inventory.SeatMapDecoder;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.projection.TicketSeatView;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatMapServiceImplTest {
+
+    private SeatMapServiceImpl seatMapService;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private List<TicketSeatView> seats;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatMapService = new SeatMapServiceImpl(seatInventoryService, ticketRepository);
+        seats = List.of(seat(1L, "1"), seat(2L, "2"));
+        when(ticketRepository.findSeatViewsByMatchId(1L)).thenReturn(seats);
+    }
+
+    @Test
+    void testLayoutIsReadOncePerInventory() {
+        MatchSeatInventory inventory = MatchSeatInventory.of(1L, seats);
+        when(seatInventoryService.getInventory(1L)).thenReturn(inventory);
+
+        seatMapService.getSeatMap(1L, true);
+        inventory.setState(1L, MatchSeatInventory.SOLD);
+        SeatMapDecoder.DecodedSeatMap decoded = SeatMapDecoder.decode(seatMapService.getSeatMap(1L, false));
+
+        assertFalse(decoded.isFree(0));
+        assertTrue(decoded.isFree(1));
+        verify(ticketRepository, times(1)).findSeatViewsByMatchId(1L);
+    }
+
+    @Test
+    void testLayoutIsRebuiltWithReloadedInventory() {
+        when(seatInventoryService.getInventory(1L))
+                .thenReturn(MatchSeatInventory.of(1L, seats), MatchSeatInventory.of(1L, seats));
+
+        seatMapService.getSeatMap(1L, true);
+        seatMapService.getSeatMap(1L, true);
+
+        verify(ticketRepository, times(2)).findSeatViewsByMatchId(1L);
+    }
+
+    @Test
+    void testLayoutIsDroppedWhenTicketsChange() {
+        when(seatInventoryService.getInventory(1L)).thenReturn(MatchSeatInventory.of(1L, seats));
+        seatMapService.getSeatMap(1L, true);
+
+        seatMapService.onTicketStatusChanged(TicketStatusChangedEvent.transition(
+                this, 1L, 1L, TicketStatus.FREE, TicketStatus.SOLD));
+        seatMapService.getSeatMap(1L, true);
+        verify(ticketRepository, times(1)).findSeatViewsByMatchId(1L);
+
+        // Deleting the match is a bulk change
+        seatMapService.onTicketStatusChanged(TicketStatusChangedEvent.bulkChange(this, 1L));
+        seatMapService.getSeatMap(1L, true);
+        verify(ticketRepository, times(2)).findSeatViewsByMatchId(1L);
+    }
+
+    private TicketSeatView seat(long id, String number) {
+        return new TicketSeatView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public TicketStatus getStatus() {
+                return TicketStatus.FREE;
+            }
+
+            @Override
+            public String getSeatRow() {
+                return "A";
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return number;
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return BigDecimal.TEN;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.concurrent.MatchLaneExecutor;
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.service.SeatInventoryService;
+import org.example.stadium_tickets.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ShardedTicketServiceTest {
+
+    private ShardedTicketService shardedTicketService;
+    private MatchLaneExecutor lanes;
+    private Ticket testTicket;
+
+    @Mock
+    private TicketService delegate;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        lanes = spy(new MatchLaneExecutor(2, 10, 1000));
+        shardedTicketService = new ShardedTicketService(delegate, seatInventoryService, lanes);
+
+        Stadium stadium = new Stadium("Test Stadium", "Test City", 10000);
+        Match match = new Match("Home Team", "Away Team", LocalDateTime.now(), stadium);
+        match.setId(1L);
+        testTicket = new Ticket(match, "A", "1", BigDecimal.valueOf(100.0));
+        testTicket.setId(1L);
+
+        when(seatInventoryService.findMatchOf(1L)).thenReturn(Optional.of(1L));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shardedTicketService.stop();
+    }
+
+    @Test
+    void testPurchaseRunsOnMatchLane() {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        when(delegate.purchaseTicket(1L)).thenAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            return testTicket;
+        });
+
+        assertEquals(testTicket, shardedTicketService.purchaseTicket(1L));
+        assertTrue(threadName.get().startsWith("ticket-lane-"));
+    }
+
+    @Test
+    void testCreateAndCartUseMatchOfRequest() {
+        when(delegate.createTicket(testTicket)).thenReturn(testTicket);
+        when(delegate.purchaseTickets(1L, List.of(1L), null)).thenReturn(List.of(testTicket));
+
+        assertEquals(testTicket, shardedTicketService.createTicket(testTicket));
+        assertEquals(List.of(testTicket), shardedTicketService.purchaseTickets(1L, List.of(1L), null));
+        verify(seatInventoryService, never()).findMatchOf(anyLong());
+    }
+
+    @Test
+    void testUnknownTicketIsLeftToDelegate() {
+        when(seatInventoryService.findMatchOf(99L)).thenReturn(Optional.empty());
+        when(delegate.cancelTicket(99L)).thenThrow(new RuntimeException("Ticket not found with id: 99"));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> shardedTicketService.cancelTicket(99L));
+        assertTrue(exception.getMessage().contains("Ticket not found"));
+    }
+
+    @Test
+    void testReadsBypassLanes() {
+        when(delegate.getTicketById(1L)).thenReturn(testTicket);
+
+        assertEquals(testTicket, shardedTicketService.getTicketById(1L));
+        verify(seatInventoryService, never()).findMatchOf(anyLong());
+    }
+
+    @Test
+    void testUpdateWithinMatchRunsOnItsLane() {
+        when(delegate.updateTicket(1L, testTicket)).thenReturn(testTicket);
+
+        assertEquals(testTicket, shardedTicketService.updateTicket(1L, testTicket));
+        verify(lanes, times(1)).execute(eq(1L), any());
+        verify(lanes, never()).executeOnBoth(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testMatchChangeRunsOnBothLanes() {
+        Match otherMatch = new Match("Home Team", "Away Team", LocalDateTime.now(), testTicket.getMatch().getStadium());
+        otherMatch.setId(2L);
+        Ticket moved = new Ticket(otherMatch, "A", "1", BigDecimal.valueOf(100.0));
+        when(delegate.updateTicket(1L, moved)).thenReturn(moved);
+
+        assertEquals(moved, shardedTicketService.updateTicket(1L, moved));
+        verify(lanes, times(1)).executeOnBoth(eq(1L), eq(2L), any());
+    }
+
+    @Test
+    void testTicketMovedWhileQueuedIsRoutedAgain() {
+        when(seatInventoryService.findMatchOf(1L)).thenReturn(Optional.of(1L), Optional.of(2L));
+        when(delegate.purchaseTicket(1L)).thenReturn(testTicket);
+
+        assertEquals(testTicket, shardedTicketService.purchaseTicket(1L));
+        verify(lanes, times(1)).execute(eq(1L), any());
+        verify(lanes, times(1)).execute(eq(2L), any());
+        verify(delegate, times(1)).purchaseTicket(1L);
+    }
+
+    @Test
+    void testDeleteTicket() {
+        shardedTicketService.deleteTicket(1L);
+
+        verify(delegate, times(1)).deleteTicket(1L);
+    }
+}
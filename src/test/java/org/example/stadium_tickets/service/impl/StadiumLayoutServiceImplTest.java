@@ -0,0 +1,211 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.PriceZone;
+import org.example.stadium_tickets.entity.SeatRange;
+import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.entity.StadiumSection;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest.PriceZoneDefinition;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest.SeatRangeDefinition;
+import org.example.stadium_tickets.payload.request.StadiumLayoutRequest.SectionDefinition;
+import org.example.stadium_tickets.payload.response.StadiumLayoutResponse;
+import org.example.stadium_tickets.payload.response.TicketGenerationResponse;
+import org.example.stadium_tickets.repository.BulkLoadReport;
+import org.example.stadium_tickets.repository.PriceZoneRepository;
+import org.example.stadium_tickets.repository.StadiumSectionRepository;
+import org.example.stadium_tickets.repository.TicketBulkLoader;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.TicketRow;
+import org.example.stadium_tickets.service.MatchService;
+import org.example.stadium_tickets.service.StadiumService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StadiumLayoutServiceImplTest {
+
+    private StadiumLayoutServiceImpl stadiumLayoutService;
+    private Stadium stadium;
+    private Match match;
+
+    @Mock
+    private StadiumService stadiumService;
+
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private PriceZoneRepository priceZoneRepository;
+
+    @Mock
+    private StadiumSectionRepository sectionRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketBulkLoader ticketBulkLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        stadiumLayoutService = new StadiumLayoutServiceImpl(stadiumService, matchService, priceZoneRepository,
+                sectionRepository, ticketRepository, ticketBulkLoader, eventPublisher);
+
+        stadium = new Stadium("Wembley", "London", 100);
+        stadium.setId(1L);
+        match = new Match("England", "France", LocalDateTime.now(), stadium);
+        match.setId(7L);
+        when(stadiumService.getStadiumById(1L)).thenReturn(stadium);
+        when(matchService.getMatchById(7L)).thenReturn(match);
+        when(priceZoneRepository.save(any(PriceZone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sectionRepository.save(any(StadiumSection.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static StadiumLayoutRequest layout(SectionDefinition... sections) {
+        return new StadiumLayoutRequest(
+                List.of(new PriceZoneDefinition("Category 1", new BigDecimal("120.00")),
+                        new PriceZoneDefinition("Category 2", new BigDecimal("80.00"))),
+                List.of(sections));
+    }
+
+    private static SectionDefinition section(String name, SeatRangeDefinition... ranges) {
+        return new SectionDefinition(name, "Category 1", List.of(ranges));
+    }
+
+    @Test
+    void testReplaceLayout() {
+        StadiumLayoutResponse response = stadiumLayoutService.replaceLayout(1L, layout(
+                section("101", new SeatRangeDefinition("A", 1, 10, null), new SeatRangeDefinition("B", 1, 12, "Category 2")),
+                section("102", new SeatRangeDefinition("A", 11, 20, null))));
+
+        assertEquals(32, response.getSeatCount());
+        assertEquals(2, response.getPriceZones().size());
+        assertEquals(2, response.getSections().size());
+        SeatRange rowB = response.getSections().get(0).getSeatRanges().get(1);
+        assertEquals(new BigDecimal("80.00"), rowB.effectivePriceZone().getPrice());
+        verify(sectionRepository).deleteByStadiumId(1L);
+        verify(priceZoneRepository).deleteByStadiumId(1L);
+        verify(sectionRepository, times(2)).save(any(StadiumSection.class));
+    }
+
+    @Test
+    void testReplaceLayout_OverlappingRows() {
+        StadiumLayoutRequest request = layout(
+                section("101", new SeatRangeDefinition("A", 1, 10, null)),
+                section("102", new SeatRangeDefinition("A", 10, 20, null)));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stadiumLayoutService.replaceLayout(1L, request));
+
+        assertEquals("Overlapping seat ranges in row A", exception.getMessage());
+        verify(sectionRepository, never()).save(any());
+    }
+
+    @Test
+    void testReplaceLayout_UnknownPriceZone() {
+        StadiumLayoutRequest request = layout(section("101", new SeatRangeDefinition("A", 1, 10, "VIP")));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stadiumLayoutService.replaceLayout(1L, request));
+
+        assertEquals("Unknown price zone for row A: VIP", exception.getMessage());
+    }
+
+    @Test
+    void testReplaceLayout_ExceedsCapacity() {
+        StadiumLayoutRequest request = layout(section("101", new SeatRangeDefinition("A", 1, 101, null)));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stadiumLayoutService.replaceLayout(1L, request));
+
+        assertEquals("Layout has 101 seats, more than the stadium capacity of 100", exception.getMessage());
+    }
+
+    @Test
+    void testGenerateTickets() {
+        PriceZone category1 = new PriceZone(stadium, "Category 1", new BigDecimal("120.00"));
+        PriceZone category2 = new PriceZone(stadium, "Category 2", new BigDecimal("80.00"));
+        StadiumSection section = new StadiumSection(stadium, "101", category1);
+        section.addSeatRange(new SeatRange("A", 1, 3, null));
+        section.addSeatRange(new SeatRange("B", 5, 6, category2));
+        when(sectionRepository.findWithSeatRangesByStadiumId(1L)).thenReturn(List.of(section));
+
+        List<TicketRow> rows = new ArrayList<>();
+        when(ticketBulkLoader.load(any())).thenAnswer(invocation -> {
+            Iterator<TicketRow> seats = invocation.getArgument(0);
+            seats.forEachRemaining(rows::add);
+            return new BulkLoadReport(rows.size(), 10, "BATCH");
+        });
+
+        TicketGenerationResponse response = stadiumLayoutService.generateTickets(7L);
+
+        assertEquals(5, response.getTicketCount());
+        assertEquals(500, response.getRowsPerSecond());
+        assertEquals(new TicketRow(7L, "A", "1", new BigDecimal("120.00"), TicketStatus.FREE), rows.get(0));
+        assertEquals(new TicketRow(7L, "A", "3", new BigDecimal("120.00"), TicketStatus.FREE), rows.get(2));
+        assertEquals(new TicketRow(7L, "B", "5", new BigDecimal("80.00"), TicketStatus.FREE), rows.get(3));
+        assertEquals(new TicketRow(7L, "B", "6", new BigDecimal("80.00"), TicketStatus.FREE), rows.get(4));
+
+        ArgumentCaptor<TicketStatusChangedEvent> event = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isBulkChange());
+        assertEquals(7L, event.getValue().getMatchId());
+    }
+
+    @Test
+    void testGenerateTickets_AlreadyGenerated() {
+        when(ticketRepository.existsByMatchId(7L)).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stadiumLayoutService.generateTickets(7L));
+
+        assertEquals("Tickets have already been generated for match: 7", exception.getMessage());
+        verifyNoInteractions(ticketBulkLoader);
+    }
+
+    @Test
+    void testGenerateTickets_GeneratedConcurrently() {
+        StadiumSection section = new StadiumSection(stadium, "101", new PriceZone(stadium, "Category 1", new BigDecimal("120.00")));
+        section.addSeatRange(new SeatRange("A", 1, 3, null));
+        when(sectionRepository.findWithSeatRangesByStadiumId(1L)).thenReturn(List.of(section));
+        when(ticketBulkLoader.load(any())).thenThrow(new DuplicateKeyException("duplicate seat"));
+
+        TicketConflictException exception = assertThrows(TicketConflictException.class,
+                () -> stadiumLayoutService.generateTickets(7L));
+
+        assertEquals("Tickets have already been generated for match: 7", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testGenerateTickets_NoLayout() {
+        when(sectionRepository.findWithSeatRangesByStadiumId(1L)).thenReturn(List.of());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> stadiumLayoutService.generateTickets(7L));
+
+        assertEquals("Stadium has no seating layout: 1", exception.getMessage());
+    }
+}
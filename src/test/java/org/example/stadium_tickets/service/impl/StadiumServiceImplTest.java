@@ -2,10 +2,13 @@ package org.example.stadium_tickets.service.impl;
 
 import org.example.stadium_tickets.entity.Stadium;
 import org.example.stadium_tickets.repository.StadiumRepository;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,35 +25,50 @@ class StadiumServiceImplTest {
     @Mock
     private StadiumRepository stadiumRepository;
 
+    @Mock
+    private BulkDeleter bulkDeleter;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        stadiumService = new StadiumServiceImpl(stadiumRepository);
+        stadiumService = new StadiumServiceImpl(stadiumRepository, bulkDeleter);
         
         testStadium = new Stadium("Test Stadium", "Test City", 10000);
         testStadium.setId(1L);
         
         // Setup mock behavior
-        when(stadiumRepository.findAll()).thenReturn(new ArrayList<>());
+        when(stadiumRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
         when(stadiumRepository.findById(anyLong())).thenReturn(Optional.of(testStadium));
         when(stadiumRepository.save(any(Stadium.class))).thenReturn(testStadium);
     }
 
     @Test
-    void testGetAllStadiums() {
-        // Initially the list should be empty
-        List<Stadium> stadiums = stadiumService.getAllStadiums();
-        assertNotNull(stadiums);
-        assertTrue(stadiums.isEmpty());
-
-        // Add a stadium and check if it's returned
-        List<Stadium> stadiumList = new ArrayList<>();
-        stadiumList.add(testStadium);
-        when(stadiumRepository.findAll()).thenReturn(stadiumList);
-        
-        stadiums = stadiumService.getAllStadiums();
-        assertEquals(1, stadiums.size());
-        assertEquals(testStadium, stadiums.get(0));
+    void testGetStadiums() {
+        // Initially the page should be empty
+        KeysetPage<Stadium> page = stadiumService.getStadiums(null, 100);
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+
+        // A full page returns a cursor that continues after its last id
+        Stadium next = new Stadium("Other Stadium", "Other City", 20000);
+        next.setId(2L);
+        when(stadiumRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(testStadium, next));
+        when(stadiumRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 2))).thenReturn(List.of(next));
+
+        page = stadiumService.getStadiums(null, 1);
+        assertEquals(List.of(testStadium), page.getItems());
+        assertTrue(page.isHasMore());
+
+        page = stadiumService.getStadiums(page.getNextCursor(), 1);
+        assertEquals(List.of(next), page.getItems());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+
+        assertThrows(RuntimeException.class, () -> stadiumService.getStadiums(null, 0));
+        String ticketCursor = KeysetPage.encodeCursor("tickets", 1L);
+        assertThrows(RuntimeException.class, () -> stadiumService.getStadiums(ticketCursor, 1));
     }
 
     @Test
@@ -71,6 +89,17 @@ class StadiumServiceImplTest {
         assertTrue(exception.getMessage().contains("Stadium not found"));
     }
 
+    @Test
+    void testFindAllByIds() {
+        when(stadiumRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testStadium));
+
+        List<Stadium> stadiums = stadiumService.findAllByIds(List.of(1L, 2L));
+
+        assertEquals(List.of(testStadium), stadiums);
+        verify(stadiumRepository, times(1)).findAllById(List.of(1L, 2L));
+        verify(stadiumRepository, never()).findById(anyLong());
+    }
+
     @Test
     void testCreateStadium() {
         Stadium newStadium = new Stadium("New Stadium", "New City", 20000);
@@ -131,7 +160,8 @@ class StadiumServiceImplTest {
         
         stadiumService.deleteStadium(1L);
         
-        verify(stadiumRepository, times(1)).deleteById(1L);
+        verify(bulkDeleter, times(1)).deleteStadium(1L);
+        verify(stadiumRepository, never()).deleteById(anyLong());
     }
 
     @Test
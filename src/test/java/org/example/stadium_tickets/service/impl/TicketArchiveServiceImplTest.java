@@ -0,0 +1,114 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketArchiveServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-01T12:00:00Z");
+
+    private TicketArchiveServiceImpl ticketArchiveService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ticketArchiveService = new TicketArchiveServiceImpl(jdbcTemplate, eventPublisher, transactionManager,
+                Duration.ofHours(24), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testArchiveFinishedMatches() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT child.relname"), eq(String.class)))
+                .thenReturn(List.of("ticket_default", "ticket_m1", "ticket_m3", "ticket_m4"));
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Timestamp.class), eq(1L)))
+                .thenReturn(List.of(Timestamp.from(NOW.minus(Duration.ofDays(2)))));
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Timestamp.class), eq(3L)))
+                .thenReturn(List.of(Timestamp.from(NOW.minus(Duration.ofHours(1)))));
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Timestamp.class), eq(4L)))
+                .thenReturn(List.of());
+
+        List<Long> archived = ticketArchiveService.archiveFinishedMatches();
+
+        assertEquals(List.of(1L), archived);
+        verify(jdbcTemplate).execute("ALTER TABLE ticket DETACH PARTITION ticket_m1");
+        verify(jdbcTemplate).execute("ALTER TABLE ticket_m1 SET SCHEMA archive");
+        // Match 4 was deleted, its partition is empty
+        verify(jdbcTemplate).execute("DROP TABLE ticket_m4");
+        verify(jdbcTemplate, never()).execute(contains("ticket_m3"));
+        verify(jdbcTemplate, never()).execute(contains("ticket_default"));
+        // Every partition is handled in its own transaction
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+
+        ArgumentCaptor<TicketStatusChangedEvent> event = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getMatchId());
+        assertTrue(event.getValue().isBulkChange());
+    }
+
+    @Test
+    void testFailedPartitionDoesNotStopArchival() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT child.relname"), eq(String.class)))
+                .thenReturn(List.of("ticket_m1", "ticket_m2"));
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Timestamp.class), anyLong()))
+                .thenReturn(List.of(Timestamp.from(NOW.minus(Duration.ofDays(2)))));
+        doThrow(new RuntimeException("deadlock detected"))
+                .when(jdbcTemplate).execute("ALTER TABLE ticket DETACH PARTITION ticket_m1");
+
+        assertEquals(List.of(2L), ticketArchiveService.archiveFinishedMatches());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testCreatePartitions() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT child.relname"), eq(String.class)))
+                .thenReturn(List.of("ticket_default", "ticket_m1"));
+        when(jdbcTemplate.queryForList(eq("SELECT id FROM match WHERE match_date >= ?"), eq(Long.class), any(Timestamp.class)))
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(2L, 3L), ticketArchiveService.createPartitions());
+
+        verify(jdbcTemplate).queryForList("SELECT create_ticket_partition(?)", 2L);
+        verify(jdbcTemplate).queryForList("SELECT create_ticket_partition(?)", 3L);
+        verify(jdbcTemplate, never()).queryForList("SELECT create_ticket_partition(?)", 1L);
+
+        ArgumentCaptor<Timestamp> cutoff = ArgumentCaptor.forClass(Timestamp.class);
+        verify(jdbcTemplate).queryForList(eq("SELECT id FROM match WHERE match_date >= ?"), eq(Long.class), cutoff.capture());
+        assertEquals(NOW.minus(Duration.ofHours(24)), cutoff.getValue().toInstant());
+    }
+
+    @Test
+    void testMatchIdOf() {
+        assertEquals(42L, TicketArchiveServiceImpl.matchIdOf("ticket_m42"));
+        assertNull(TicketArchiveServiceImpl.matchIdOf("ticket_default"));
+        assertNull(TicketArchiveServiceImpl.matchIdOf("ticket_m"));
+        assertNull(TicketArchiveServiceImpl.matchIdOf("ticket_m1; DROP"));
+    }
+}
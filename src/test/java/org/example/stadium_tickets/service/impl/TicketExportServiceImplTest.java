@@ -0,0 +1,69 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketExportServiceImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TicketExportServiceImpl ticketExportService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:ticket_export;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ticket (id BIGINT PRIMARY KEY, match_id BIGINT, seat_row VARCHAR(5), "
+                + "seat_number VARCHAR(5), price NUMERIC(8,2), status_code SMALLINT, version BIGINT)");
+        jdbcTemplate.update("INSERT INTO ticket VALUES (2, 1, 'A', '2', 50.00, 1, 1)");
+        jdbcTemplate.update("INSERT INTO ticket VALUES (1, 1, 'A,B', '1', 50.50, 0, 0)");
+        jdbcTemplate.update("INSERT INTO ticket VALUES (3, 2, 'C', '1', 10.00, 0, 0)");
+        ticketExportService = new TicketExportServiceImpl(dataSource, new DataSourceTransactionManager(dataSource), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE ticket");
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = ticketExportService.exportTickets(1L, "csv", out);
+
+        assertEquals(2, rows);
+        assertEquals("id,seat_row,seat_number,price,status,version\n"
+                + "1,\"A,B\",1,50.50,FREE,0\n"
+                + "2,A,2,50.00,SOLD,1\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = ticketExportService.exportTickets(1L, "ndjson", out);
+
+        assertEquals(2, rows);
+        assertEquals("{\"id\":1,\"seatRow\":\"A,B\",\"seatNumber\":\"1\",\"price\":50.50,\"status\":\"FREE\",\"version\":0}\n"
+                + "{\"id\":2,\"seatRow\":\"A\",\"seatNumber\":\"2\",\"price\":50.00,\"status\":\"SOLD\",\"version\":1}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportUnknownFormat() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> ticketExportService.exportTickets(1L, "xml", new ByteArrayOutputStream()));
+
+        assertEquals("Unsupported export format: xml", exception.getMessage());
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.stadium_tickets.service.impl;
+
+import org.example.stadium_tickets.entity.Match;
+import org.example.stadium_tickets.entity.PriceZone;
+import org.example.stadium_tickets.entity.SeatRange;
+import org.example.stadium_tickets.entity.Stadium;
+import org.example.stadium_tickets.entity.StadiumSection;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.payload.response.TicketImportResponse;
+import org.example.stadium_tickets.repository.BulkLoadReport;
+import org.example.stadium_tickets.repository.SeatKey;
+import org.example.stadium_tickets.repository.StadiumSectionRepository;
+import org.example.stadium_tickets.repository.TicketBulkLoader;
+import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.repository.TicketRow;
+import org.example.stadium_tickets.service.MatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketImportServiceImplTest {
+
+    private TicketImportServiceImpl ticketImportService;
+    private Stadium stadium;
+    private final List<TicketRow> written = new ArrayList<>();
+    private final List<Integer> chunks = new ArrayList<>();
+
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private StadiumSectionRepository sectionRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketBulkLoader ticketBulkLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ticketImportService = new TicketImportServiceImpl(matchService, sectionRepository, ticketRepository,
+                ticketBulkLoader, eventPublisher, 2, 3);
+
+        stadium = new Stadium("Wembley", "London", 90000);
+        stadium.setId(1L);
+        Match match = new Match("England", "France", LocalDateTime.now(), stadium);
+        match.setId(7L);
+        when(matchService.getMatchById(7L)).thenReturn(match);
+        when(sectionRepository.findWithSeatRangesByStadiumId(1L)).thenReturn(List.of());
+
+        // Every written seat exists for the match from then on, like rows written earlier in the same transaction
+        when(ticketRepository.findSeatsByMatchIdAndSeats(eq(7L), anyCollection())).thenAnswer(invocation -> {
+            Collection<SeatKey> keys = invocation.getArgument(1);
+            return written.stream().map(row -> new SeatKey(row.seatRow(), row.seatNumber())).filter(keys::contains).toList();
+        });
+        when(ticketBulkLoader.load(any())).thenAnswer(invocation -> {
+            Iterator<TicketRow> rows = invocation.getArgument(0);
+            int before = written.size();
+            rows.forEachRemaining(written::add);
+            chunks.add(written.size() - before);
+            return new BulkLoadReport(written.size() - before, 1, "BATCH");
+        });
+    }
+
+    private TicketImportResponse importCsv(String csv) {
+        return ticketImportService.importTickets(7L, new StringReader(csv));
+    }
+
+    @Test
+    void testImportWritesValidRowsInChunks() {
+        TicketImportResponse response = importCsv("seat_row,seat_number,price,status\n"
+                + "A,1,50.00,\nA,2,50.00,sold\nA,3,55.50,FREE\nB,1,40,\nB,2,40,\n");
+
+        assertEquals(5, response.getRowsRead());
+        assertEquals(5, response.getImported());
+        assertEquals(0, response.getRejected());
+        assertEquals(List.of(2, 2, 1), chunks);
+        assertEquals(new TicketRow(7L, "A", "2", new BigDecimal("50.00"), TicketStatus.SOLD), written.get(1));
+        verify(eventPublisher).publishEvent(any(TicketStatusChangedEvent.class));
+    }
+
+    @Test
+    void testInvalidRowsAreReported() {
+        TicketImportResponse response = importCsv("seat_row,seat_number,price\n"
+                + "A,1,50\nTOOLONG,1,50\nA,2,abc\nA,3,-1\nA,1,50\n");
+
+        assertEquals(5, response.getRowsRead());
+        assertEquals(1, response.getImported());
+        assertEquals(4, response.getRejected());
+        assertEquals(3, response.getErrors().size());
+        assertTrue(response.isErrorsTruncated());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertEquals("Row label must have 1 to 5 characters", response.getErrors().get(0).getMessage());
+        assertEquals("Invalid price: abc", response.getErrors().get(1).getMessage());
+        assertEquals("Price must be between 0 and 999999.99 with at most 2 decimals",
+                response.getErrors().get(2).getMessage());
+    }
+
+    @Test
+    void testDuplicatesAcrossChunksAndExistingSeats() {
+        written.add(new TicketRow(7L, "Z", "9", BigDecimal.ONE, TicketStatus.FREE));
+
+        TicketImportResponse response = importCsv("seat_row,seat_number,price\n"
+                + "A,1,50\nA,1,50\nA,2,50\nA,1,50\nZ,9,50\n");
+
+        assertEquals(2, response.getImported());
+        assertEquals(3, response.getRejected());
+        assertEquals("Seat A:1 appears more than once, first on line 2", response.getErrors().get(0).getMessage());
+        assertEquals(5, response.getErrors().get(1).getLine());
+        assertEquals("Seat A:1 already exists for this match", response.getErrors().get(1).getMessage());
+        assertEquals("Seat Z:9 already exists for this match", response.getErrors().get(2).getMessage());
+    }
+
+    @Test
+    void testSeatsAreCheckedAgainstTheLayout() {
+        PriceZone zone = new PriceZone(stadium, "Category 1", new BigDecimal("120.00"));
+        StadiumSection section = new StadiumSection(stadium, "101", zone);
+        section.addSeatRange(new SeatRange("A", 1, 10, null));
+        when(sectionRepository.findWithSeatRangesByStadiumId(1L)).thenReturn(List.of(section));
+
+        TicketImportResponse response = importCsv("seat_row,seat_number\nA,5\nA,11\nB,1\n");
+
+        assertEquals(1, response.getImported());
+        assertEquals(new TicketRow(7L, "A", "5", new BigDecimal("120.00"), TicketStatus.FREE), written.get(0));
+        assertEquals("Seat A:11 is not part of the stadium layout", response.getErrors().get(0).getMessage());
+        assertEquals("Seat B:1 is not part of the stadium layout", response.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void testMissingColumns() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> importCsv("seat_row,price\nA,1\n"));
+
+        assertEquals("CSV header must contain the columns seat_row, seat_number and price", exception.getMessage());
+        verifyNoInteractions(ticketBulkLoader);
+    }
+
+    @Test
+    void testEmptyFile() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> importCsv(""));
+
+        assertEquals("CSV file is empty", exception.getMessage());
+    }
+}
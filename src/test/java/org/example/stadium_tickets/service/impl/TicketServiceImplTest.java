@@ -3,18 +3,31 @@ package org.example.stadium_tickets.service.impl;
 import org.example.stadium_tickets.entity.Match;
 import org.example.stadium_tickets.entity.Stadium;
 import org.example.stadium_tickets.entity.Ticket;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.TicketConflictException;
+import org.example.stadium_tickets.payload.request.SeatCoordinate;
+import org.example.stadium_tickets.payload.response.KeysetPage;
+import org.example.stadium_tickets.repository.SeatKey;
 import org.example.stadium_tickets.repository.TicketRepository;
+import org.example.stadium_tickets.service.AvailabilityService;
 import org.example.stadium_tickets.service.MatchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,10 +45,16 @@ class TicketServiceImplTest {
     @Mock
     private MatchService matchService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ticketService = new TicketServiceImpl(ticketRepository, matchService);
+        ticketService = new TicketServiceImpl(ticketRepository, matchService, eventPublisher, availabilityService);
         
         testStadium = new Stadium("Test Stadium", "Test City", 10000);
         testStadium.setId(1L);
@@ -45,30 +64,56 @@ class TicketServiceImplTest {
         
         testTicket = new Ticket(testMatch, "A", "1", BigDecimal.valueOf(100.0));
         testTicket.setId(1L);
-        testTicket.setStatus("FREE");
+        testTicket.setStatus(TicketStatus.FREE);
         
         // Setup mock behavior
-        when(ticketRepository.findAll()).thenReturn(new ArrayList<>());
+        when(ticketRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
         when(ticketRepository.findById(anyLong())).thenReturn(Optional.of(testTicket));
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
         when(matchService.getMatchById(anyLong())).thenReturn(testMatch);
     }
 
     @Test
-    void testGetAllTickets() {
-        // Initially the list should be empty
-        List<Ticket> tickets = ticketService.getAllTickets();
-        assertNotNull(tickets);
-        assertTrue(tickets.isEmpty());
+    void testGetTickets() {
+        // Initially the page should be empty
+        KeysetPage<Ticket> page = ticketService.getTickets(null, null, 2);
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
 
-        // Add a ticket and check if it's returned
-        List<Ticket> ticketList = new ArrayList<>();
-        ticketList.add(testTicket);
-        when(ticketRepository.findAll()).thenReturn(ticketList);
-        
-        tickets = ticketService.getAllTickets();
-        assertEquals(1, tickets.size());
-        assertEquals(testTicket, tickets.get(0));
+        // Three tickets with a limit of two fill the first page and leave one for the next
+        Ticket second = new Ticket(testMatch, "A", "2", BigDecimal.valueOf(100.0));
+        second.setId(2L);
+        Ticket third = new Ticket(testMatch, "A", "3", BigDecimal.valueOf(100.0));
+        third.setId(3L);
+        when(ticketRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(testTicket, second, third));
+        when(ticketRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(third));
+
+        page = ticketService.getTickets(null, null, 2);
+        assertEquals(List.of(testTicket, second), page.getItems());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+
+        page = ticketService.getTickets(null, page.getNextCursor(), 2);
+        assertEquals(List.of(third), page.getItems());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetTicketsRejectsInvalidPage() {
+        Exception exception = assertThrows(RuntimeException.class, () -> ticketService.getTickets(null, null, 0));
+        assertEquals("Page limit must be between 1 and 1000", exception.getMessage());
+        assertThrows(RuntimeException.class, () -> ticketService.getTickets(null, null, 1001));
+
+        exception = assertThrows(RuntimeException.class, () -> ticketService.getTickets(null, "not a cursor", 100));
+        assertEquals("Invalid page cursor", exception.getMessage());
+        String notAnId = Base64.getUrlEncoder().encodeToString("tickets:x".getBytes(StandardCharsets.UTF_8));
+        assertThrows(RuntimeException.class, () -> ticketService.getTickets(null, notAnId, 100));
+        verify(ticketRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class));
     }
 
     @Test
@@ -99,7 +144,7 @@ class TicketServiceImplTest {
         Ticket createdTicket = ticketService.createTicket(newTicket);
         assertNotNull(createdTicket);
         assertEquals(newTicket, createdTicket);
-        assertEquals("FREE", createdTicket.getStatus());
+        assertEquals(TicketStatus.FREE, createdTicket.getStatus());
         
         verify(ticketRepository, times(1)).save(any(Ticket.class));
     }
@@ -132,7 +177,7 @@ class TicketServiceImplTest {
     void testUpdateTicket() {
         Ticket updatedTicket = new Ticket(testMatch, "C", "3", BigDecimal.valueOf(200.0));
         updatedTicket.setId(1L);
-        updatedTicket.setStatus("SOLD");
+        updatedTicket.setStatus(TicketStatus.SOLD);
         
         when(ticketRepository.findByMatchAndSeatRowAndSeatNumber(any(Match.class), anyString(), anyString()))
             .thenReturn(Optional.empty());
@@ -145,6 +190,20 @@ class TicketServiceImplTest {
         verify(ticketRepository, times(1)).save(any(Ticket.class));
     }
 
+    @Test
+    void testUpdateTicketRejectsInvalidStatusTransition() {
+        Ticket updatedTicket = new Ticket(testMatch, "C", "3", BigDecimal.valueOf(200.0));
+        updatedTicket.setStatus(TicketStatus.REFUNDED);
+
+        when(ticketRepository.findByMatchAndSeatRowAndSeatNumber(any(Match.class), anyString(), anyString()))
+            .thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> ticketService.updateTicket(1L, updatedTicket));
+
+        assertEquals("Ticket status cannot change from FREE to REFUNDED", exception.getMessage());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
     @Test
     void testUpdateTicketWithExistingSeat() {
         Ticket existingTicket = new Ticket(testMatch, "D", "4", BigDecimal.valueOf(250.0));
@@ -165,16 +224,15 @@ class TicketServiceImplTest {
 
     @Test
     void testDeleteTicket() {
-        when(ticketRepository.existsById(1L)).thenReturn(true);
-        
         ticketService.deleteTicket(1L);
         
         verify(ticketRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(TicketStatusChangedEvent.class));
     }
 
     @Test
     void testDeleteTicketNotFound() {
-        when(ticketRepository.existsById(99L)).thenReturn(false);
+        when(ticketRepository.findById(99L)).thenReturn(Optional.empty());
         
         Exception exception = assertThrows(RuntimeException.class, () -> {
             ticketService.deleteTicket(99L);
@@ -196,15 +254,20 @@ class TicketServiceImplTest {
     }
 
     @Test
-    void testFindByStatus() {
-        List<Ticket> ticketList = new ArrayList<>();
-        ticketList.add(testTicket);
-        
-        when(ticketRepository.findByStatus("FREE")).thenReturn(ticketList);
-        
-        List<Ticket> result = ticketService.findByStatus("FREE");
-        assertEquals(1, result.size());
-        assertEquals(testTicket, result.get(0));
+    void testGetTicketsByStatus() {
+        when(ticketRepository.findByStatusAndIdGreaterThanOrderByIdAsc(TicketStatus.FREE, 0L, PageRequest.of(0, 101)))
+                .thenReturn(List.of(testTicket));
+
+        KeysetPage<Ticket> page = ticketService.getTickets(TicketStatus.FREE, null, 100);
+        assertEquals(List.of(testTicket), page.getItems());
+        assertFalse(page.isHasMore());
+        verify(ticketRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class));
+
+        // A cursor only continues the listing that issued it
+        String cursor = KeysetPage.encodeCursor("tickets", 1L);
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> ticketService.getTickets(TicketStatus.FREE, cursor, 100));
+        assertEquals("Invalid page cursor", exception.getMessage());
     }
 
     @Test
@@ -212,9 +275,9 @@ class TicketServiceImplTest {
         List<Ticket> ticketList = new ArrayList<>();
         ticketList.add(testTicket);
         
-        when(ticketRepository.findByMatchAndStatus(testMatch, "FREE")).thenReturn(ticketList);
+        when(ticketRepository.findByMatchAndStatus(testMatch, TicketStatus.FREE)).thenReturn(ticketList);
         
-        List<Ticket> result = ticketService.findByMatchAndStatus(testMatch, "FREE");
+        List<Ticket> result = ticketService.findByMatchAndStatus(testMatch, TicketStatus.FREE);
         assertEquals(1, result.size());
         assertEquals(testTicket, result.get(0));
     }
@@ -231,61 +294,138 @@ class TicketServiceImplTest {
 
     @Test
     void testCountByMatchAndStatus() {
-        when(ticketRepository.countByMatchAndStatus(testMatch, "FREE")).thenReturn(5L);
+        when(availabilityService.count(1L, TicketStatus.FREE)).thenReturn(5L);
         
-        long count = ticketService.countByMatchAndStatus(testMatch, "FREE");
+        long count = ticketService.countByMatchAndStatus(testMatch, TicketStatus.FREE);
         assertEquals(5L, count);
+        // Served by the availability counters, the tickets are not counted
+        verify(ticketRepository, never()).countByMatchAndStatus(any(Match.class), any(TicketStatus.class));
     }
 
     @Test
     void testPurchaseTicket() {
-        Ticket soldTicket = new Ticket(testMatch, "A", "1", BigDecimal.valueOf(100.0));
-        soldTicket.setId(1L);
-        soldTicket.setStatus("SOLD");
-        
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(soldTicket);
+        when(ticketRepository.updateStatusIfCurrentReturning(1L, TicketStatus.FREE,
+                TicketStatus.SOLD)).thenAnswer(invocation -> {
+            testTicket.setStatus(TicketStatus.SOLD);
+            return Optional.of(testTicket);
+        });
         
         Ticket result = ticketService.purchaseTicket(1L);
         assertNotNull(result);
-        assertEquals("SOLD", result.getStatus());
+        assertEquals(TicketStatus.SOLD, result.getStatus());
         
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        // The update returns the changed ticket, it is not read again
+        verify(ticketRepository, never()).findById(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(any(TicketStatusChangedEvent.class));
     }
 
     @Test
     void testPurchaseTicketNotAvailable() {
-        testTicket.setStatus("SOLD");
+        when(ticketRepository.updateStatusIfCurrentReturning(1L, TicketStatus.FREE, TicketStatus.SOLD)).thenReturn(Optional.empty());
+        when(ticketRepository.existsById(1L)).thenReturn(true);
         
-        Exception exception = assertThrows(RuntimeException.class, () -> {
+        TicketConflictException exception = assertThrows(TicketConflictException.class, () -> {
             ticketService.purchaseTicket(1L);
         });
         
         assertTrue(exception.getMessage().contains("not available for purchase"));
+        assertEquals(1L, exception.getTicketId());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void testCancelTicket() {
-        testTicket.setStatus("SOLD");
+    void testPurchaseTicketNotFound() {
+        when(ticketRepository.updateStatusIfCurrentReturning(99L, TicketStatus.FREE, TicketStatus.SOLD)).thenReturn(Optional.empty());
+        when(ticketRepository.existsById(99L)).thenReturn(false);
         
-        Ticket canceledTicket = new Ticket(testMatch, "A", "1", BigDecimal.valueOf(100.0));
-        canceledTicket.setId(1L);
-        canceledTicket.setStatus("FREE");
+        Exception exception = assertThrows(RuntimeException.class, () -> {
+            ticketService.purchaseTicket(99L);
+        });
         
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(canceledTicket);
+        assertTrue(exception.getMessage().contains("Ticket not found"));
+    }
+
+    @Test
+    void testCancelTicket() {
+        testTicket.setStatus(TicketStatus.SOLD);
+        when(ticketRepository.updateStatusIfCurrentReturning(1L, TicketStatus.SOLD,
+                TicketStatus.FREE)).thenAnswer(invocation -> {
+            testTicket.setStatus(TicketStatus.FREE);
+            return Optional.of(testTicket);
+        });
         
         Ticket result = ticketService.cancelTicket(1L);
         assertNotNull(result);
-        assertEquals("FREE", result.getStatus());
+        assertEquals(TicketStatus.FREE, result.getStatus());
         
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(ticketRepository, times(1)).updateStatusIfCurrentReturning(1L, TicketStatus.SOLD, TicketStatus.FREE);
     }
 
     @Test
     void testCancelTicketNotSold() {
-        Exception exception = assertThrows(RuntimeException.class, () -> {
+        when(ticketRepository.existsById(1L)).thenReturn(true);
+        
+        Exception exception = assertThrows(TicketConflictException.class, () -> {
             ticketService.cancelTicket(1L);
         });
         
         assertTrue(exception.getMessage().contains("not sold, cannot be canceled"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPurchaseTickets() {
+        when(ticketRepository.findIdsByMatchIdAndSeats(eq(1L), anyCollection())).thenReturn(List.of(3L));
+        when(ticketRepository.updateStatusForMatchIfCurrent(eq(1L), anyCollection(), eq(TicketStatus.FREE),
+                eq(TicketStatus.SOLD)))
+                .thenReturn(3);
+        List<Ticket> soldTickets = List.of(testTicket, testTicket, testTicket);
+        when(ticketRepository.findAllById(anyIterable())).thenReturn(soldTickets);
+
+        List<Ticket> result = ticketService.purchaseTickets(1L, List.of(1L, 2L),
+                List.of(new SeatCoordinate("B", "7")));
+
+        assertEquals(3, result.size());
+        verify(ticketRepository, times(1)).updateStatusForMatchIfCurrent(1L, Set.of(1L, 2L, 3L),
+                TicketStatus.FREE, TicketStatus.SOLD);
+        verify(ticketRepository).findIdsByMatchIdAndSeats(1L, Set.of(new SeatKey("B", "7")));
+        verify(eventPublisher, times(1)).publishEvent(any(TicketStatusChangedEvent.class));
+    }
+
+    @Test
+    void testPurchaseTicketsPartiallyUnavailable() {
+        when(ticketRepository.updateStatusForMatchIfCurrent(eq(1L), anyCollection(), eq(TicketStatus.FREE),
+                eq(TicketStatus.SOLD)))
+                .thenReturn(1);
+
+        TicketConflictException exception = assertThrows(TicketConflictException.class, () -> {
+            ticketService.purchaseTickets(1L, List.of(1L, 2L), null);
+        });
+
+        assertTrue(exception.getMessage().contains("not available"));
+        verify(ticketRepository, never()).findAllById(anyIterable());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPurchaseTicketsUnknownSeat() {
+        when(ticketRepository.findIdsByMatchIdAndSeats(eq(1L), anyCollection())).thenReturn(List.of());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> {
+            ticketService.purchaseTickets(1L, null, List.of(new SeatCoordinate("Z", "99")));
+        });
+
+        assertTrue(exception.getMessage().contains("do not exist"));
+        verify(ticketRepository, never()).updateStatusForMatchIfCurrent(anyLong(), anyCollection(),
+                any(TicketStatus.class), any(TicketStatus.class));
+    }
+
+    @Test
+    void testPurchaseTicketsEmptyCart() {
+        Exception exception = assertThrows(RuntimeException.class, () -> {
+            ticketService.purchaseTickets(1L, List.of(), List.of());
+        });
+
+        assertTrue(exception.getMessage().contains("Cart is empty"));
+    }
+}
@@ -4,11 +4,14 @@ import org.example.stadium_tickets.entity.Role;
 import org.example.stadium_tickets.entity.User;
 import org.example.stadium_tickets.repository.RoleRepository;
 import org.example.stadium_tickets.repository.UserRepository;
+import org.example.stadium_tickets.payload.response.KeysetPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -49,26 +52,37 @@ class UserServiceImplTest {
         testUser.setRoles(roles);
 
         // Setup mock behavior
-        when(userRepository.findAll()).thenReturn(new ArrayList<>());
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(testUser));
         when(userRepository.save(any(User.class))).thenReturn(testUser);
     }
 
     @Test
-    void testGetAllUsers() {
-        // Initially the list should be empty
-        List<User> users = userService.getAllUsers();
-        assertNotNull(users);
-        assertTrue(users.isEmpty());
-
-        // Add a user and check if it's returned
-        List<User> userList = new ArrayList<>();
-        userList.add(testUser);
-        when(userRepository.findAll()).thenReturn(userList);
-
-        users = userService.getAllUsers();
-        assertEquals(1, users.size());
-        assertEquals(testUser, users.get(0));
+    void testGetUsers() {
+        // Initially the page should be empty
+        KeysetPage<User> page = userService.getUsers(null, 100);
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+
+        // A full page returns a cursor that continues after its last id
+        User next = new User("otheruser", "password123", "other@example.com");
+        next.setId(2L);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(testUser, next));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 2))).thenReturn(List.of(next));
+
+        page = userService.getUsers(null, 1);
+        assertEquals(List.of(testUser), page.getItems());
+        assertTrue(page.isHasMore());
+
+        page = userService.getUsers(page.getNextCursor(), 1);
+        assertEquals(List.of(next), page.getItems());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+
+        assertThrows(RuntimeException.class, () -> userService.getUsers(null, 0));
+        assertThrows(RuntimeException.class, () -> userService.getUsers(KeysetPage.encodeCursor("tickets", 1L), 1));
     }
 
     @Test
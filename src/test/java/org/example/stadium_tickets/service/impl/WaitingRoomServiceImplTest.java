@@ -0,0 +1,184 @@
+package org.example.stadium_tickets.service.impl;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.example.stadium_tickets.entity.TicketStatus;
+import org.example.stadium_tickets.event.TicketStatusChangedEvent;
+import org.example.stadium_tickets.exception.WaitingRoomException;
+import org.example.stadium_tickets.payload.response.QueueStatusResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.example.stadium_tickets.service.AvailabilityService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WaitingRoomServiceImplTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast32BytesLong";
+
+    private WaitingRoomServiceImpl waitingRoomService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(availabilityService.getAvailability(99L)).thenThrow(new RuntimeException("Match not found with id: 99"));
+        // One second ticks, between 2 and 10 admissions per second, no headroom, two purchases per token
+        waitingRoomService = new WaitingRoomServiceImpl(availabilityService, SECRET, true, 60, 1000, 2, 10, 1.0, 2);
+    }
+
+    @Test
+    void testJoinAssignsPositions() {
+        QueueStatusResponse first = waitingRoomService.join(1L, "user");
+        QueueStatusResponse second = waitingRoomService.join(1L, "user");
+        QueueStatusResponse otherMatch = waitingRoomService.join(2L, "user");
+
+        assertEquals(1, first.getPosition());
+        assertEquals(2, second.getPosition());
+        assertEquals(1, otherMatch.getPosition());
+        assertFalse(second.isAdmitted());
+        assertEquals(2, waitingRoomService.getStatus(second.getToken()).getPosition());
+    }
+
+    @Test
+    void testAdmitsAtMinimumRate() {
+        QueueStatusResponse first = waitingRoomService.join(1L, "user");
+        waitingRoomService.join(1L, "user");
+        QueueStatusResponse third = waitingRoomService.join(1L, "user");
+
+        assertThrows(WaitingRoomException.class, () -> waitingRoomService.requireAdmitted(first.getToken(), 1L, "user"));
+        waitingRoomService.admit();
+
+        waitingRoomService.requireAdmitted(first.getToken(), 1L, "user");
+        assertTrue(waitingRoomService.getStatus(first.getToken()).isAdmitted());
+        assertEquals(1, waitingRoomService.getStatus(third.getToken()).getPosition());
+    }
+
+    @Test
+    void testAdmissionRateFollowsPurchases() {
+        waitingRoomService.join(1L, "user");
+        // 50 seats sold per second push the rate to its upper bound of 10 admissions per second
+        for (int tick = 0; tick < 10; tick++) {
+            for (int i = 0; i < 50; i++) {
+                waitingRoomService.onTicketStatusChanged(
+                        new TicketStatusChangedEvent(this, 1L, List.of(1L), TicketStatus.FREE, TicketStatus.SOLD));
+            }
+            waitingRoomService.admit();
+        }
+
+        QueueStatusResponse tenth = null;
+        QueueStatusResponse eleventh = null;
+        for (int i = 1; i <= 11; i++) {
+            QueueStatusResponse status = waitingRoomService.join(1L, "user");
+            tenth = i == 10 ? status : tenth;
+            eleventh = i == 11 ? status : eleventh;
+        }
+        waitingRoomService.admit();
+
+        assertTrue(waitingRoomService.getStatus(tenth.getToken()).isAdmitted());
+        assertEquals(1, waitingRoomService.getStatus(eleventh.getToken()).getPosition());
+    }
+
+    @Test
+    void testRejectsInvalidTokens() {
+        assertThrows(WaitingRoomException.class, () -> waitingRoomService.requireAdmitted(null, 1L, "user"));
+        assertThrows(WaitingRoomException.class, () -> waitingRoomService.getStatus("not-a-token"));
+
+        WaitingRoomServiceImpl otherService = new WaitingRoomServiceImpl(availabilityService,
+                "anotherSecretKeyThatIsAtLeast32BytesLong", true, 60, 1000, 2, 10, 1.0, 2);
+        String foreignToken = otherService.join(1L, "user").getToken();
+        assertThrows(WaitingRoomException.class, () -> waitingRoomService.getStatus(foreignToken));
+    }
+
+    @Test
+    void testRejectsTokensWithoutQueueAudience() {
+        // Same key, but not issued by the waiting room, like a login token would be
+        String loginToken = Jwts.builder()
+                .setSubject("user")
+                .claim("matchId", 1L)
+                .claim("seq", 1L)
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(WaitingRoomException.class, () -> waitingRoomService.getStatus(loginToken));
+    }
+
+    @Test
+    void testTokenIsBoundToMatchAndUser() {
+        waitingRoomService.join(2L, "user");
+        QueueStatusResponse status = waitingRoomService.join(1L, "user");
+        waitingRoomService.admit();
+
+        assertThrows(WaitingRoomException.class,
+                () -> waitingRoomService.requireAdmitted(status.getToken(), 2L, "user"));
+        assertThrows(WaitingRoomException.class,
+                () -> waitingRoomService.requireAdmitted(status.getToken(), (Long) null, "user"));
+        assertThrows(WaitingRoomException.class,
+                () -> waitingRoomService.requireAdmitted(status.getToken(), 1L, "someoneElse"));
+        waitingRoomService.requireAdmitted(status.getToken(), 1L, "user");
+    }
+
+    @Test
+    void testTokenHasPurchaseBudget() {
+        QueueStatusResponse status = waitingRoomService.join(1L, "user");
+        waitingRoomService.admit();
+
+        waitingRoomService.requireAdmitted(status.getToken(), 1L, "user");
+        waitingRoomService.requireAdmitted(status.getToken(), 1L, "user");
+        assertThrows(WaitingRoomException.class,
+                () -> waitingRoomService.requireAdmitted(status.getToken(), 1L, "user"));
+    }
+
+    @Test
+    void testMatchIsResolvedOnlyForAdmittedToken() {
+        QueueStatusResponse status = waitingRoomService.join(1L, "user");
+        Supplier<Long> lookup = () -> {
+            throw new AssertionError("Match looked up before the token was admitted");
+        };
+
+        assertThrows(WaitingRoomException.class, () -> waitingRoomService.requireAdmitted("forged", lookup, "user"));
+        assertThrows(WaitingRoomException.class,
+                () -> waitingRoomService.requireAdmitted(status.getToken(), lookup, "user"));
+
+        waitingRoomService.admit();
+        waitingRoomService.requireAdmitted(status.getToken(), () -> 1L, "user");
+    }
+
+    @Test
+    void testJoinRequiresKnownMatch() {
+        assertThrows(RuntimeException.class, () -> waitingRoomService.join(99L, "user"));
+
+        verify(availabilityService).getAvailability(99L);
+    }
+
+    @Test
+    void testExpiredTokensAndQueuesAreEvicted() {
+        QueueStatusResponse status = waitingRoomService.join(1L, "user");
+        waitingRoomService.admit();
+        waitingRoomService.requireAdmitted(status.getToken(), 1L, "user");
+
+        waitingRoomService.evictExpired(System.currentTimeMillis());
+        assertEquals(0, waitingRoomService.getStatus(status.getToken()).getPosition());
+
+        // Tokens live for 60 seconds, once they have all expired the queue is gone
+        waitingRoomService.evictExpired(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(61));
+        QueueStatusResponse rejoined = waitingRoomService.join(1L, "user");
+        assertEquals(1, rejoined.getPosition());
+    }
+
+    @Test
+    void testJoinRequiresUser() {
+        assertThrows(RuntimeException.class, () -> waitingRoomService.join(1L, null));
+    }
+}